@@ -3,8 +3,22 @@
 -- =================================================================
 
 -- Drop tables in reverse order of creation to handle foreign key constraints
+DROP TABLE IF EXISTS `change_log`;
+DROP TABLE IF EXISTS `timed_role_assignments`;
+DROP TABLE IF EXISTS `resource_acls`;
+DROP TABLE IF EXISTS `access_policies`;
+DROP TABLE IF EXISTS `mail_outbox`;
+DROP TABLE IF EXISTS `revoked_tokens`;
+DROP TABLE IF EXISTS `signing_keys`;
 DROP TABLE IF EXISTS `endpoint_permissions`;
+DROP TABLE IF EXISTS `role_inherited_permissions`;
+DROP TABLE IF EXISTS `role_ancestors`;
+DROP TABLE IF EXISTS `role_parents`;
 DROP TABLE IF EXISTS `role_permissions`;
+DROP TABLE IF EXISTS `user_group_roles`;
+DROP TABLE IF EXISTS `group_roles`;
+DROP TABLE IF EXISTS `group_members`;
+DROP TABLE IF EXISTS `user_groups`;
 DROP TABLE IF EXISTS `user_roles`;
 DROP TABLE IF EXISTS `password_reset_otp`;
 DROP TABLE IF EXISTS `permissions`;
@@ -42,6 +56,7 @@ CREATE TABLE `users` (
     `active` BOOLEAN NOT NULL DEFAULT true,
     `password_expired` BOOLEAN NOT NULL DEFAULT false,
     `password_expiry_date` TIMESTAMP NULL,
+    `password_expiry_notified_at` TIMESTAMP NULL,
     `user_locked` BOOLEAN NOT NULL DEFAULT false,
     `failed_login_attempts` INT DEFAULT 0,
     `account_locked_until` TIMESTAMP NULL,
@@ -51,7 +66,10 @@ CREATE TABLE `users` (
     `updated_at` TIMESTAMP NULL ON UPDATE CURRENT_TIMESTAMP,
     `version` INT,
     CONSTRAINT `fk_users_organization` FOREIGN KEY (`organization_id`) REFERENCES `organizations`(`id`),
-    CONSTRAINT `fk_users_created_by` FOREIGN KEY (`created_by`) REFERENCES `users`(`id`)
+    CONSTRAINT `fk_users_created_by` FOREIGN KEY (`created_by`) REFERENCES `users`(`id`),
+    INDEX `idx_users_locked_until` (`user_locked`, `account_locked_until`),
+    INDEX `idx_users_password_expiry` (`password_expired`, `password_expiry_date`),
+    UNIQUE INDEX `idx_users_username` (`username`)
 );
 
 CREATE TABLE `roles` (
@@ -62,13 +80,25 @@ CREATE TABLE `roles` (
     `organization_id` BIGINT NULL,
     `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     `updated_at` TIMESTAMP NULL ON UPDATE CURRENT_TIMESTAMP,
+    `version` INT NOT NULL DEFAULT 0,
     CONSTRAINT `fk_roles_organization` FOREIGN KEY (`organization_id`) REFERENCES `organizations`(`id`)
 );
 
+CREATE TABLE `user_groups` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `name` VARCHAR(255) NOT NULL UNIQUE,
+    `description` VARCHAR(255),
+    `organization_id` BIGINT NULL,
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    `updated_at` TIMESTAMP NULL ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT `fk_usergroups_organization` FOREIGN KEY (`organization_id`) REFERENCES `organizations`(`id`)
+);
+
 CREATE TABLE `applications` (
     `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
     `application_name` VARCHAR(255) NOT NULL,
     `organization_id` BIGINT NOT NULL,
+    `acl_revision` BIGINT NOT NULL DEFAULT 0,
     `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     `updated_at` TIMESTAMP NULL ON UPDATE CURRENT_TIMESTAMP,
     CONSTRAINT `fk_applications_organization` FOREIGN KEY (`organization_id`) REFERENCES `organizations`(`id`)
@@ -91,8 +121,11 @@ CREATE TABLE `password_reset_otp` (
     `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
     `otp` VARCHAR(255) NOT NULL,
     `expiry_date` TIMESTAMP NOT NULL,
-    `user_id` BIGINT NOT NULL,
-    CONSTRAINT `fk_otp_user` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
+    `failed_attempts` INT NOT NULL DEFAULT 0,
+    `user_id` BIGINT NOT NULL UNIQUE,
+    CONSTRAINT `fk_otp_user` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
+    UNIQUE INDEX `uk_password_reset_otp_otp` (`otp`),
+    INDEX `idx_password_reset_otp_expiry_date` (`expiry_date`)
 );
 
 -- Create join tables last
@@ -104,6 +137,32 @@ CREATE TABLE `user_roles` (
     CONSTRAINT `fk_userroles_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE
 );
 
+CREATE TABLE `group_members` (
+    `group_id` BIGINT NOT NULL,
+    `user_id` BIGINT NOT NULL,
+    PRIMARY KEY (`group_id`, `user_id`),
+    INDEX `idx_group_members_user` (`user_id`),
+    CONSTRAINT `fk_groupmembers_group` FOREIGN KEY (`group_id`) REFERENCES `user_groups`(`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_groupmembers_user` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `group_roles` (
+    `group_id` BIGINT NOT NULL,
+    `role_id` BIGINT NOT NULL,
+    PRIMARY KEY (`group_id`, `role_id`),
+    CONSTRAINT `fk_grouproles_group` FOREIGN KEY (`group_id`) REFERENCES `user_groups`(`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_grouproles_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE
+);
+
+-- Roles each user holds through its groups, maintained by GroupMembershipService
+CREATE TABLE `user_group_roles` (
+    `user_id` BIGINT NOT NULL,
+    `role_id` BIGINT NOT NULL,
+    PRIMARY KEY (`user_id`, `role_id`),
+    CONSTRAINT `fk_usergrouproles_user` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_usergrouproles_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE
+);
+
 CREATE TABLE `role_permissions` (
     `role_id` BIGINT NOT NULL,
     `permission_id` BIGINT NOT NULL,
@@ -112,6 +171,30 @@ CREATE TABLE `role_permissions` (
     CONSTRAINT `fk_rolepermissions_permission` FOREIGN KEY (`permission_id`) REFERENCES `permissions`(`id`) ON DELETE CASCADE
 );
 
+CREATE TABLE `role_parents` (
+    `role_id` BIGINT NOT NULL,
+    `parent_role_id` BIGINT NOT NULL,
+    PRIMARY KEY (`role_id`, `parent_role_id`),
+    CONSTRAINT `fk_roleparents_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_roleparents_parent` FOREIGN KEY (`parent_role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `role_ancestors` (
+    `role_id` BIGINT NOT NULL,
+    `ancestor_role_id` BIGINT NOT NULL,
+    PRIMARY KEY (`role_id`, `ancestor_role_id`),
+    INDEX `idx_roleancestors_ancestor` (`ancestor_role_id`),
+    CONSTRAINT `fk_roleancestors_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `role_inherited_permissions` (
+    `role_id` BIGINT NOT NULL,
+    `permission_id` BIGINT NOT NULL,
+    PRIMARY KEY (`role_id`, `permission_id`),
+    CONSTRAINT `fk_roleinheritedpermissions_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_roleinheritedpermissions_permission` FOREIGN KEY (`permission_id`) REFERENCES `permissions`(`id`) ON DELETE CASCADE
+);
+
 CREATE TABLE `endpoint_permissions` (
     `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
     `http_method` VARCHAR(10) NOT NULL,
@@ -119,3 +202,88 @@ CREATE TABLE `endpoint_permissions` (
     `permission_id` BIGINT NOT NULL,
     CONSTRAINT `fk_endpointpermissions_permission` FOREIGN KEY (`permission_id`) REFERENCES `permissions`(`id`) ON DELETE CASCADE
 );
+
+CREATE TABLE `revoked_tokens` (
+    `token_id` VARCHAR(64) PRIMARY KEY,
+    `expires_at` TIMESTAMP NOT NULL,
+    `username` VARCHAR(255),
+    `revoked_at` TIMESTAMP NOT NULL,
+    INDEX `idx_revoked_tokens_expires_at` (`expires_at`),
+    INDEX `idx_revoked_tokens_revoked_at` (`revoked_at`)
+);
+
+CREATE TABLE `signing_keys` (
+    `key_id` VARCHAR(64) PRIMARY KEY,
+    `algorithm` VARCHAR(16) NOT NULL,
+    `status` VARCHAR(16),
+    `private_key` VARBINARY(512) NOT NULL,
+    `public_key` VARBINARY(512) NOT NULL,
+    `activated_at` TIMESTAMP NULL,
+    `retire_at` TIMESTAMP NULL,
+    UNIQUE KEY `uk_signing_keys_status` (`algorithm`, `status`)
+);
+
+CREATE TABLE `mail_outbox` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `recipient` VARCHAR(255) NOT NULL,
+    `subject` VARCHAR(255) NOT NULL,
+    `body` VARCHAR(4000),
+    `status` VARCHAR(16) NOT NULL,
+    `attempts` INT NOT NULL DEFAULT 0,
+    `next_attempt_at` TIMESTAMP NOT NULL,
+    `last_error` VARCHAR(500),
+    `created_at` TIMESTAMP NOT NULL,
+    `sent_at` TIMESTAMP NULL,
+    INDEX `idx_mail_outbox_status_next_attempt` (`status`, `next_attempt_at`),
+    INDEX `idx_mail_outbox_created_at` (`created_at`)
+);
+
+CREATE TABLE `access_policies` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `name` VARCHAR(255) NOT NULL UNIQUE,
+    `description` VARCHAR(255),
+    `source` VARCHAR(8192) NOT NULL,
+    `enabled` BOOLEAN NOT NULL DEFAULT TRUE,
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    `updated_at` TIMESTAMP NULL ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE `resource_acls` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `application_id` BIGINT NOT NULL,
+    `resource_type` VARCHAR(64) NOT NULL,
+    `action` VARCHAR(16) NOT NULL,
+    `principal_type` VARCHAR(16) NOT NULL,
+    `principal_id` BIGINT NOT NULL,
+    `resources` MEDIUMBLOB NOT NULL,
+    `resource_count` BIGINT NOT NULL,
+    `revision` BIGINT NOT NULL,
+    `updated_at` TIMESTAMP(3) NOT NULL,
+    UNIQUE KEY `uk_resource_acls_principal` (`application_id`, `resource_type`, `action`, `principal_type`, `principal_id`),
+    INDEX `idx_resource_acls_application_revision` (`application_id`, `revision`),
+    INDEX `idx_resource_acls_principal` (`principal_type`, `principal_id`),
+    CONSTRAINT `fk_resource_acls_application` FOREIGN KEY (`application_id`) REFERENCES `applications`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `timed_role_assignments` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `user_id` BIGINT NOT NULL,
+    `role_id` BIGINT NOT NULL,
+    `valid_from` TIMESTAMP(3) NOT NULL,
+    `valid_until` TIMESTAMP(3) NOT NULL,
+    `active` BOOLEAN NOT NULL DEFAULT FALSE,
+    `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY `uk_timed_role_assignments_user_role` (`user_id`, `role_id`),
+    INDEX `idx_timed_role_assignments_valid_from` (`active`, `valid_from`),
+    INDEX `idx_timed_role_assignments_valid_until` (`active`, `valid_until`),
+    CONSTRAINT `fk_timed_role_assignments_user` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_timed_role_assignments_role` FOREIGN KEY (`role_id`) REFERENCES `roles`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `change_log` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `change_type` VARCHAR(32) NOT NULL,
+    `entity_id` BIGINT NOT NULL,
+    `created_at` TIMESTAMP(3) NOT NULL,
+    INDEX `idx_change_log_created_at` (`created_at`)
+);
@@ -0,0 +1,51 @@
+package com.example.iamsystem.client;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU cache whose entries also carry an absolute expiry, so cached decisions never outlive
+ * the token they were made for.
+ */
+final class BoundedExpiringCache<K, V> {
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+
+    private final Map<K, Entry<V>> entries;
+    private final Clock clock;
+
+    BoundedExpiringCache(int maximumSize, Clock clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    synchronized void put(K key, V value, Instant expiresAt) {
+        if (expiresAt.isAfter(clock.instant())) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.iamsystem.client;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Decoder for the compact {@code perms} claim: a format tag byte followed by either a bitmap
+ * starting at a varint base id or varint gaps between sorted ids, base64url encoded.
+ */
+final class CompactAuthorities {
+
+    private static final int BITMAP_FORMAT = 1;
+    private static final int DELTA_FORMAT = 2;
+
+    private CompactAuthorities() {
+    }
+
+    static long[] decode(String encoded) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty authorities encoding");
+        }
+        int[] position = {1};
+        return switch (bytes[0]) {
+            case BITMAP_FORMAT -> decodeBitmap(bytes, position);
+            case DELTA_FORMAT -> decodeDelta(bytes, position);
+            default -> throw new IllegalArgumentException("Unknown authorities encoding " + bytes[0]);
+        };
+    }
+
+    private static long[] decodeBitmap(byte[] bytes, int[] position) {
+        long base = readVarLong(bytes, position);
+        long[] ids = new long[(bytes.length - position[0]) * 8];
+        int count = 0;
+        for (int i = position[0]; i < bytes.length; i++) {
+            int bits = bytes[i] & 0xFF;
+            while (bits != 0) {
+                ids[count++] = base + ((long) (i - position[0]) << 3) + Integer.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static long[] decodeDelta(byte[] bytes, int[] position) {
+        long[] ids = new long[bytes.length - position[0]];
+        int count = 0;
+        long previous = 0;
+        while (position[0] < bytes.length) {
+            previous += readVarLong(bytes, position);
+            ids[count++] = previous;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated authorities encoding");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed authorities encoding");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.iamsystem.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Calls the IAM service's regular REST endpoints, {@code /api/auth/authorize},
+ * {@code /api/auth/token/validate}, the key set and the permission catalog.
+ */
+public final class HttpIamTransport implements IamTransport {
+
+    private static final String AUTHORIZE_PATH = "/api/auth/authorize";
+    private static final String VALIDATE_PATH = "/api/auth/token/validate";
+    private static final String KEY_SET_PATH = "/api/auth/.well-known/jwks.json";
+    private static final String CATALOG_PATH = "/api/permissions/catalog";
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public HttpIamTransport(URI baseUri, Duration requestTimeout) {
+        this(HttpClient.newBuilder().connectTimeout(requestTimeout).build(), baseUri, requestTimeout);
+    }
+
+    public HttpIamTransport(HttpClient httpClient, URI baseUri, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public boolean validateToken(String token) {
+        JsonNode response = post(VALIDATE_PATH, null, Map.of("token", token));
+        return response != null && response.path("status").asBoolean(false);
+    }
+
+    @Override
+    public boolean authorize(String token, String serviceName, String action) {
+        JsonNode response = post(AUTHORIZE_PATH, token, Map.of("serviceName", serviceName, "action", action));
+        return response != null && response.path("authorized").asBoolean(false);
+    }
+
+    @Override
+    public String fetchKeySet() {
+        return get(KEY_SET_PATH);
+    }
+
+    @Override
+    public String fetchPermissionCatalog() {
+        return get(CATALOG_PATH);
+    }
+
+    private String get(String path) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString(), path);
+        if (response.statusCode() != 200) {
+            throw new IamTransportException("IAM call to " + path + " returned " + response.statusCode(), null);
+        }
+        return response.body();
+    }
+
+    private JsonNode post(String path, String bearerToken, Map<String, String> body) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            if (bearerToken != null) {
+                request.header("Authorization", "Bearer " + bearerToken);
+            }
+            HttpResponse<byte[]> response = send(request.build(), HttpResponse.BodyHandlers.ofByteArray(), path);
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IamTransportException("IAM call to " + path + " failed", e);
+        }
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler, String path) {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (IOException e) {
+            throw new IamTransportException("IAM call to " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IamTransportException("IAM call to " + path + " was interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.iamsystem.client;
+
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Answers token and permission checks inside the calling service. Tokens are verified locally,
+ * either with a configured key or with the public key set fetched from the IAM service, and
+ * permission checks are answered from the token's {@code authorities} claim; only permissions
+ * registered as sensitive are confirmed with the IAM service, which also catches tokens whose
+ * user {@code version} has since been bumped.
+ */
+public final class IamClient {
+
+    private static final System.Logger LOGGER = System.getLogger(IamClient.class.getName());
+
+    private final TokenVerifier tokenVerifier;
+    private final IamTransport transport;
+    private final Set<String> sensitivePermissions;
+    private final Duration sensitiveDecisionTtl;
+    private final Clock clock;
+    private final BoundedExpiringCache<String, VerifiedToken> verifiedTokens;
+    private final BoundedExpiringCache<String, Boolean> sensitiveDecisions;
+
+    private IamClient(Builder builder) {
+        this.clock = builder.clock;
+        Key staticKey = builder.accessTokenKey;
+        Locator<Key> keyLocator = staticKey != null
+                ? header -> staticKey
+                : new RemoteKeySet(builder.transport, builder.keySetMaxAge, builder.minRefreshInterval, builder.clock);
+        RemotePermissionCatalog permissionCatalog = builder.transport == null
+                ? null
+                : new RemotePermissionCatalog(builder.transport, builder.minRefreshInterval, builder.clock);
+        this.tokenVerifier = new TokenVerifier(keyLocator, permissionCatalog, builder.clock);
+        this.transport = builder.transport;
+        this.sensitivePermissions = Set.copyOf(builder.sensitivePermissions);
+        this.sensitiveDecisionTtl = builder.sensitiveDecisionTtl;
+        this.verifiedTokens = new BoundedExpiringCache<>(builder.cacheSize, builder.clock);
+        this.sensitiveDecisions = new BoundedExpiringCache<>(builder.cacheSize, builder.clock);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = tokenVerifier.verify(token);
+        verifiedTokens.put(token, verified, verified.expiresAt());
+        return verified;
+    }
+
+    public VerifiedToken verifyWithIam(String token) {
+        VerifiedToken verified = verify(token);
+        if (transport == null || !transport.validateToken(token)) {
+            throw new TokenVerificationException("Access token was rejected by the IAM service", null);
+        }
+        return verified;
+    }
+
+    public boolean isAuthorized(String token, String serviceName, String action) {
+        String permission = serviceName + ":" + action;
+        VerifiedToken verified;
+        try {
+            verified = verify(token);
+        } catch (TokenVerificationException e) {
+            LOGGER.log(System.Logger.Level.DEBUG, "Rejecting unverifiable token: {0}", e.getMessage());
+            return false;
+        }
+        if (!sensitivePermissions.contains(permission)) {
+            return verified.hasAuthority(permission);
+        }
+        return confirmWithIam(token, serviceName, action, permission, verified);
+    }
+
+    private boolean confirmWithIam(String token, String serviceName, String action, String permission, VerifiedToken verified) {
+        String cacheKey = permission + '|' + token;
+        Boolean cached = sensitiveDecisions.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (transport == null) {
+            LOGGER.log(System.Logger.Level.WARNING, "No transport configured to confirm sensitive permission {0}", permission);
+            return false;
+        }
+        boolean authorized;
+        try {
+            authorized = transport.authorize(token, serviceName, action);
+        } catch (IamTransportException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not confirm permission {0}: {1}", permission, e.getMessage());
+            return false;
+        }
+        Instant decisionExpiry = clock.instant().plus(sensitiveDecisionTtl);
+        sensitiveDecisions.put(cacheKey, authorized,
+                decisionExpiry.isBefore(verified.expiresAt()) ? decisionExpiry : verified.expiresAt());
+        return authorized;
+    }
+
+    public static final class Builder {
+        private Key accessTokenKey;
+        private IamTransport transport;
+        private final Set<String> sensitivePermissions = new HashSet<>();
+        private Duration sensitiveDecisionTtl = Duration.ofSeconds(5);
+        private Duration keySetMaxAge = Duration.ofHours(1);
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+        private int cacheSize = 10_000;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        public Builder accessTokenSecret(String secret) {
+            this.accessTokenKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        public Builder accessTokenKey(Key key) {
+            this.accessTokenKey = key;
+            return this;
+        }
+
+        public Builder keySetMaxAge(Duration maxAge) {
+            this.keySetMaxAge = maxAge;
+            return this;
+        }
+
+        public Builder minRefreshInterval(Duration interval) {
+            this.minRefreshInterval = interval;
+            return this;
+        }
+
+        public Builder transport(IamTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        public Builder sensitivePermission(String serviceName, String action) {
+            this.sensitivePermissions.add(serviceName + ":" + action);
+            return this;
+        }
+
+        public Builder sensitiveDecisionTtl(Duration ttl) {
+            this.sensitiveDecisionTtl = ttl;
+            return this;
+        }
+
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public IamClient build() {
+            if (accessTokenKey == null) {
+                Objects.requireNonNull(transport, "Either an access token key or a transport to fetch the key set is required");
+            }
+            if (!sensitivePermissions.isEmpty()) {
+                Objects.requireNonNull(transport, "A transport is required to confirm sensitive permissions");
+            }
+            return new IamClient(this);
+        }
+    }
+}
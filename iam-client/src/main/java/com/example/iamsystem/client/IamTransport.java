@@ -0,0 +1,22 @@
+package com.example.iamsystem.client;
+
+/**
+ * Remote calls back to the IAM service. Implementations must fail closed: any transport error is
+ * reported as {@code false} or an {@link IamTransportException}, never as a grant.
+ */
+public interface IamTransport {
+
+    boolean validateToken(String token);
+
+    boolean authorize(String token, String serviceName, String action);
+
+    /**
+     * Returns the JSON key set published at {@code /api/auth/.well-known/jwks.json}.
+     */
+    String fetchKeySet();
+
+    /**
+     * Returns the JSON permission catalog published at {@code /api/permissions/catalog}.
+     */
+    String fetchPermissionCatalog();
+}
@@ -0,0 +1,7 @@
+package com.example.iamsystem.client;
+
+public class IamTransportException extends RuntimeException {
+    public IamTransportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
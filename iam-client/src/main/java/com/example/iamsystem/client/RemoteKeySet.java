@@ -0,0 +1,76 @@
+package com.example.iamsystem.client;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Public signing keys fetched from the IAM service's key set endpoint. The set is refreshed when it
+ * is older than {@code maxAge} or when a token names an unknown key id, at most once per
+ * {@code minRefreshInterval} so tokens with made-up key ids cannot hammer the IAM service.
+ */
+final class RemoteKeySet implements Locator<Key> {
+
+    private static final System.Logger LOGGER = System.getLogger(RemoteKeySet.class.getName());
+
+    private final IamTransport transport;
+    private final Duration maxAge;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private volatile Map<String, Key> keys = Map.of();
+    private volatile Instant fetchedAt = Instant.MIN;
+
+    RemoteKeySet(IamTransport transport, Duration maxAge, Duration minRefreshInterval, Clock clock) {
+        this.transport = transport;
+        this.maxAge = maxAge;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public Key locate(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (keyId == null) {
+            throw new TokenVerificationException("Access token has no key id", null);
+        }
+        Instant now = clock.instant();
+        Key key = keys.get(keyId);
+        if (key == null ? now.isAfter(fetchedAt.plus(minRefreshInterval)) : now.isAfter(fetchedAt.plus(maxAge))) {
+            refresh(now);
+            key = keys.get(keyId);
+        }
+        if (key == null) {
+            throw new TokenVerificationException("Unknown signing key " + keyId, null);
+        }
+        return key;
+    }
+
+    private synchronized void refresh(Instant now) {
+        if (!now.isAfter(fetchedAt.plus(minRefreshInterval))) {
+            return;
+        }
+        try {
+            JwkSet keySet = Jwks.setParser().build().parse(transport.fetchKeySet());
+            Map<String, Key> refreshed = new HashMap<>();
+            for (Jwk<?> jwk : keySet.getKeys()) {
+                if (jwk.getId() != null) {
+                    refreshed.put(jwk.getId(), jwk.toKey());
+                }
+            }
+            keys = Map.copyOf(refreshed);
+        } catch (RuntimeException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not refresh the IAM key set: {0}", e.getMessage());
+        }
+        fetchedAt = now;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.iamsystem.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Permission id to name catalog fetched from the IAM service. It is refetched when a token was
+ * issued against a different catalog version, at most once per {@code minRefreshInterval}.
+ */
+final class RemotePermissionCatalog {
+
+    private static final System.Logger LOGGER = System.getLogger(RemotePermissionCatalog.class.getName());
+
+    private record Snapshot(long version, Map<Long, String> names) {
+    }
+
+    private final IamTransport transport;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile Snapshot snapshot = new Snapshot(-1, Map.of());
+    private volatile Instant fetchedAt = Instant.MIN;
+
+    RemotePermissionCatalog(IamTransport transport, Duration minRefreshInterval, Clock clock) {
+        this.transport = transport;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+    }
+
+    Map<Long, String> names(long version) {
+        Snapshot current = snapshot;
+        if (current.version() != version) {
+            current = refresh(clock.instant());
+        }
+        return current.names();
+    }
+
+    private synchronized Snapshot refresh(Instant now) {
+        if (!now.isAfter(fetchedAt.plus(minRefreshInterval))) {
+            return snapshot;
+        }
+        fetchedAt = now;
+        try {
+            JsonNode catalog = objectMapper.readTree(transport.fetchPermissionCatalog());
+            Map<Long, String> names = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> permissions = catalog.path("permissions").fields();
+            while (permissions.hasNext()) {
+                Map.Entry<String, JsonNode> permission = permissions.next();
+                names.put(Long.parseLong(permission.getKey()), permission.getValue().asText());
+            }
+            snapshot = new Snapshot(catalog.path("version").asLong(), Map.copyOf(names));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not refresh the IAM permission catalog: {0}", e.getMessage());
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.iamsystem.client;
+
+public class TokenVerificationException extends RuntimeException {
+    public TokenVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
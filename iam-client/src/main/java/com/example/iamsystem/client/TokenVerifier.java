@@ -0,0 +1,92 @@
+package com.example.iamsystem.client;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+
+import java.security.Key;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies access tokens in the claim format written by the IAM service's {@code JwtTokenUtil}:
+ * the subject is the username, {@code version} is the user's token version and the grants are
+ * either listed as {@code SERVICE:ACTION} strings in {@code authorities} or encoded as permission
+ * ids in {@code perms}, which are resolved against the IAM permission catalog. Ids missing from the
+ * catalog grant nothing.
+ */
+final class TokenVerifier {
+
+    static final String VERSION = "version";
+    static final String AUTHORITIES = "authorities";
+    static final String PERMISSIONS = "perms";
+    static final String CATALOG_VERSION = "perms_v";
+    private static final String AUTHORITY = "authority";
+
+    private final JwtParser parser;
+    private final RemotePermissionCatalog permissionCatalog;
+
+    TokenVerifier(Locator<Key> keyLocator, RemotePermissionCatalog permissionCatalog, Clock clock) {
+        this.permissionCatalog = permissionCatalog;
+        this.parser = Jwts.parser()
+                .keyLocator(keyLocator)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+    }
+
+    VerifiedToken verify(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                throw new TokenVerificationException("Access token has no expiration", null);
+            }
+            Number version = claims.get(VERSION, Number.class);
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    version == null ? 0 : version.intValue(),
+                    claims.containsKey(PERMISSIONS) ? decodeAuthorities(claims) : parseAuthorities(claims.get(AUTHORITIES)),
+                    claims.getExpiration().toInstant());
+        } catch (TokenVerificationException e) {
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new TokenVerificationException("Access token could not be verified: " + e.getMessage(), e);
+        }
+    }
+
+    private Set<String> decodeAuthorities(Claims claims) {
+        if (permissionCatalog == null) {
+            return Set.of();
+        }
+        Number version = claims.get(CATALOG_VERSION, Number.class);
+        Map<Long, String> names = permissionCatalog.names(version == null ? 0 : version.longValue());
+        Set<String> authorities = new HashSet<>();
+        for (long permissionId : CompactAuthorities.decode(claims.get(PERMISSIONS, String.class))) {
+            String name = names.get(permissionId);
+            if (name != null) {
+                authorities.add(name);
+            }
+        }
+        return Set.copyOf(authorities);
+    }
+
+    static Set<String> parseAuthorities(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return Set.of();
+        }
+        Set<String> authorities = new HashSet<>();
+        for (Object value : values) {
+            if (value instanceof Map<?, ?> map && map.get(AUTHORITY) instanceof String authority) {
+                authorities.add(authority);
+            } else if (value instanceof String authority) {
+                authorities.add(authority);
+            }
+        }
+        return Set.copyOf(authorities);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.iamsystem.client;
+
+import java.time.Instant;
+import java.util.Set;
+
+public record VerifiedToken(String subject, int version, Set<String> authorities, Instant expiresAt) {
+
+    private static final String WILDCARD = "*";
+
+    /**
+     * Checks a concrete {@code SERVICE:ACTION} authority, honouring wildcard grants such as
+     * {@code billing:*}, {@code billing.*:READ} and {@code *:READ}.
+     */
+    public boolean hasAuthority(String authority) {
+        if (authorities.contains(authority)) {
+            return true;
+        }
+        int separator = authority.lastIndexOf(':');
+        if (separator < 0) {
+            return false;
+        }
+        String service = authority.substring(0, separator);
+        String action = authority.substring(separator + 1);
+        if (grantsAction(WILDCARD, action) || authorities.contains(service + ":" + WILDCARD)) {
+            return true;
+        }
+        for (int dot = service.lastIndexOf('.'); dot > 0; dot = service.lastIndexOf('.', dot - 1)) {
+            if (grantsAction(service.substring(0, dot) + ".*", action)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean grantsAction(String service, String action) {
+        return authorities.contains(service + ":" + action) || authorities.contains(service + ":" + WILDCARD);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.iamsystem.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IamClientTest {
+
+    private static final String SECRET = "dGhpc0lzTXlEZWZhdWx0U2VjdXJpdHlKd3RTZWNyZXQ=";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private StubTransport transport;
+    private IamClient client;
+
+    @BeforeEach
+    void setUp() {
+        transport = new StubTransport();
+        client = IamClient.builder()
+                .accessTokenSecret(SECRET)
+                .transport(transport)
+                .sensitivePermission("IAM", "DELETE")
+                .clock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .build();
+    }
+
+    @Test
+    void verify_shouldReadSubjectVersionAndAuthorities() {
+        VerifiedToken verified = client.verify(token(NOW.plus(5, ChronoUnit.MINUTES)));
+
+        assertEquals("alice", verified.subject());
+        assertEquals(3, verified.version());
+        assertTrue(verified.hasAuthority("IAM:READ"));
+        assertTrue(verified.hasAuthority("IAM:DELETE"));
+    }
+
+    @Test
+    void hasAuthority_shouldHonourWildcardGrants() {
+        VerifiedToken verified = new VerifiedToken("alice", 3,
+                Set.of("billing:*", "reports.*:READ", "*:UPDATE"), NOW);
+
+        assertTrue(verified.hasAuthority("billing:DELETE"));
+        assertTrue(verified.hasAuthority("reports.monthly.summary:READ"));
+        assertTrue(verified.hasAuthority("audit:UPDATE"));
+        assertFalse(verified.hasAuthority("reports:READ"));
+        assertFalse(verified.hasAuthority("billing.invoices:READ"));
+        assertFalse(verified.hasAuthority("audit:READ"));
+    }
+
+    @Test
+    void isAuthorized_shouldAnswerFromTokenWithoutCallingIam() {
+        String token = token(NOW.plus(5, ChronoUnit.MINUTES));
+
+        assertTrue(client.isAuthorized(token, "IAM", "READ"));
+        assertFalse(client.isAuthorized(token, "IAM", "WRITE"));
+        assertEquals(0, transport.authorizeCalls.get());
+    }
+
+    @Test
+    void isAuthorized_shouldConfirmSensitivePermissionOnceAndCacheDecision() {
+        String token = token(NOW.plus(5, ChronoUnit.MINUTES));
+        transport.grant = true;
+
+        assertTrue(client.isAuthorized(token, "IAM", "DELETE"));
+        assertTrue(client.isAuthorized(token, "IAM", "DELETE"));
+        assertEquals(1, transport.authorizeCalls.get());
+    }
+
+    @Test
+    void isAuthorized_shouldFailClosedWhenTransportFails() {
+        transport.failure = new IamTransportException("connection refused", null);
+
+        assertFalse(client.isAuthorized(token(NOW.plus(5, ChronoUnit.MINUTES)), "IAM", "DELETE"));
+    }
+
+    @Test
+    void isAuthorized_shouldRejectExpiredAndTamperedTokens() {
+        String expired = token(NOW.minus(1, ChronoUnit.MINUTES));
+        String valid = token(NOW.plus(5, ChronoUnit.MINUTES));
+        String tampered = valid.substring(0, valid.length() - 2) + (valid.endsWith("A") ? "BB" : "AA");
+
+        assertFalse(client.isAuthorized(expired, "IAM", "READ"));
+        assertFalse(client.isAuthorized(tampered, "IAM", "READ"));
+        assertThrows(TokenVerificationException.class, () -> client.verify(tampered));
+    }
+
+    @Test
+    void verifyWithIam_shouldRejectTokenUnknownToIam() {
+        transport.valid = false;
+
+        assertThrows(TokenVerificationException.class, () -> client.verifyWithIam(token(NOW.plus(5, ChronoUnit.MINUTES))));
+    }
+
+    @Test
+    void verify_shouldUseKeySetFetchedFromIamWhenNoKeyIsConfigured() throws Exception {
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        transport.keySet = new ObjectMapper().writeValueAsString(
+                Map.of("keys", List.of(Jwks.builder().key(keyPair.getPublic()).id("es256-1").build())));
+        IamClient keySetClient = IamClient.builder()
+                .transport(transport)
+                .clock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .build();
+
+        VerifiedToken verified = keySetClient.verify(token(NOW.plus(5, ChronoUnit.MINUTES), keyPair.getPrivate(), "es256-1"));
+
+        assertEquals("alice", verified.subject());
+        assertThrows(TokenVerificationException.class,
+                () -> keySetClient.verify(token(NOW.plus(5, ChronoUnit.MINUTES), keyPair.getPrivate(), "es256-2")));
+        assertEquals(1, transport.keySetFetches.get());
+    }
+
+    @Test
+    void isAuthorized_shouldResolveCompactAuthoritiesAgainstCatalog() {
+        // Delta encoding of permission ids 3 and 9
+        String perms = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[]{2, 3, 6});
+        String token = Jwts.builder()
+                .subject("alice")
+                .claim(TokenVerifier.PERMISSIONS, perms)
+                .claim(TokenVerifier.CATALOG_VERSION, 7)
+                .expiration(Date.from(NOW.plus(5, ChronoUnit.MINUTES)))
+                .signWith(KEY)
+                .compact();
+
+        assertTrue(client.isAuthorized(token, "IAM", "READ"));
+        assertTrue(client.isAuthorized(token, "BILLING", "WRITE"));
+        assertFalse(client.isAuthorized(token, "IAM", "WRITE"));
+    }
+
+    private static String token(Instant expiresAt) {
+        return token(expiresAt, KEY, null);
+    }
+
+    private static String token(Instant expiresAt, Key key, String keyId) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .subject("alice")
+                .claim(TokenVerifier.VERSION, 3)
+                .claim(TokenVerifier.AUTHORITIES, List.of(Map.of("authority", "IAM:READ"), Map.of("authority", "IAM:DELETE")))
+                .issuedAt(Date.from(expiresAt.minus(5, ChronoUnit.MINUTES)))
+                .expiration(Date.from(expiresAt))
+                .signWith(key)
+                .compact();
+    }
+
+    private static class StubTransport implements IamTransport {
+        private final AtomicInteger authorizeCalls = new AtomicInteger();
+        private final AtomicInteger keySetFetches = new AtomicInteger();
+        private String keySet = "{\"keys\":[]}";
+        private boolean grant;
+        private boolean valid = true;
+        private IamTransportException failure;
+
+        @Override
+        public boolean validateToken(String token) {
+            return valid;
+        }
+
+        @Override
+        public boolean authorize(String token, String serviceName, String action) {
+            authorizeCalls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return grant;
+        }
+
+        @Override
+        public String fetchPermissionCatalog() {
+            return "{\"version\":7,\"permissions\":{\"3\":\"IAM:READ\",\"9\":\"BILLING:WRITE\"}}";
+        }
+
+        @Override
+        public String fetchKeySet() {
+            keySetFetches.incrementAndGet();
+            return keySet;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Starts the AOT-processed application with its class data sharing archive.
+# Build it first with: ./gradlew bootJar cdsArchive -Pfaststart
+set -euo pipefail
+
+APP_DIR="${APP_DIR:-$(cd "$(dirname "$0")/.." && pwd)/build/faststart}"
+JAR="$(find "$APP_DIR" -maxdepth 1 -name '*.jar' | head -n 1)"
+
+if [[ -z "$JAR" ]]; then
+    echo "No extracted jar in $APP_DIR, run ./gradlew bootJar cdsArchive -Pfaststart" >&2
+    exit 1
+fi
+
+CDS_OPTS=()
+if [[ -f "$APP_DIR/application.jsa" ]]; then
+    CDS_OPTS=(-XX:SharedArchiveFile=application.jsa)
+fi
+
+# the archive only matches the class path it was recorded with, so start from the same directory
+cd "$APP_DIR"
+# shellcheck disable=SC2086
+exec java "${CDS_OPTS[@]}" -Dspring.aot.enabled=true ${JAVA_OPTS:-} -jar "$(basename "$JAR")" "$@"
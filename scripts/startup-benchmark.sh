@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# Measures time to the first successful /api/auth/authenticate call and the resident set size at
+# that moment for every startup mode that has been built:
+#   jvm     plain boot jar                      ./gradlew bootJar
+#   aot     Spring AOT, extracted jar           ./gradlew bootJar extractBootJar -Pfaststart
+#   cds     Spring AOT + AppCDS archive         ./gradlew bootJar cdsArchive -Pfaststart
+#   native  GraalVM native image                ./gradlew nativeCompile -Pnative
+# The database must be running (docker-compose up db) and the credentials must be valid.
+set -uo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+PORT="${PORT:-8080}"
+RUNS="${RUNS:-3}"
+USERNAME="${BENCH_USERNAME:-super_admin}"
+PASSWORD="${BENCH_PASSWORD:-Password123!}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+MODES="${*:-jvm aot cds native}"
+
+BOOT_JAR="$(find "$ROOT/build/libs" -maxdepth 1 -name '*.jar' ! -name '*-plain.jar' 2>/dev/null | head -n 1)"
+FASTSTART_DIR="$ROOT/build/faststart"
+FASTSTART_JAR="$(find "$FASTSTART_DIR" -maxdepth 1 -name '*.jar' 2>/dev/null | head -n 1)"
+NATIVE_BINARY="$ROOT/build/native/nativeCompile/iam-system"
+
+if [[ -f "$ROOT/.env" ]]; then
+    set -a
+    # shellcheck disable=SC1091
+    source "$ROOT/.env"
+    set +a
+fi
+
+now_ms() {
+    local ns
+    ns="$(date +%s%N)"
+    if [[ "$ns" == *N ]]; then
+        python3 -c 'import time; print(int(time.time() * 1000))'
+    else
+        echo $((ns / 1000000))
+    fi
+}
+
+rss_mb() {
+    local kb
+    if [[ -r "/proc/$1/status" ]]; then
+        kb="$(awk '/^VmRSS:/ {print $2}' "/proc/$1/status")"
+    else
+        kb="$(ps -o rss= -p "$1" | tr -d ' ')"
+    fi
+    echo $((kb / 1024))
+}
+
+command_for() {
+    case "$1" in
+        jvm) [[ -n "$BOOT_JAR" ]] && echo "java -jar $BOOT_JAR" ;;
+        # run from the extracted directory with the same relative jar path the archive was recorded with
+        aot) [[ -n "$FASTSTART_JAR" ]] && echo "java -Dspring.aot.enabled=true -jar $(basename "$FASTSTART_JAR")" ;;
+        cds) [[ -n "$FASTSTART_JAR" && -f "$FASTSTART_DIR/application.jsa" ]] &&
+                 echo "java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar $(basename "$FASTSTART_JAR")" ;;
+        native) [[ -x "$NATIVE_BINARY" ]] && echo "$NATIVE_BINARY" ;;
+    esac
+}
+
+run_once() {
+    local command="$1" start pid elapsed rss status deadline
+    start="$(now_ms)"
+    # shellcheck disable=SC2086
+    (cd "$FASTSTART_DIR" 2>/dev/null || cd "$ROOT"; exec $command --server.port="$PORT") >/dev/null 2>&1 &
+    pid=$!
+    deadline=$((start + TIMEOUT_SECONDS * 1000))
+    while true; do
+        status="$(curl -s -o /dev/null -w '%{http_code}' -X POST "http://localhost:$PORT/api/auth/authenticate" \
+            -H 'Content-Type: application/json' \
+            -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" 2>/dev/null)"
+        if [[ "$status" == "200" ]]; then
+            elapsed=$(($(now_ms) - start))
+            rss="$(rss_mb "$pid")"
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null || (($(now_ms) > deadline)); then
+            elapsed="failed"
+            rss="-"
+            break
+        fi
+        sleep 0.05
+    done
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    echo "$elapsed $rss"
+}
+
+printf '%-8s %-6s %-22s %-10s\n' "mode" "run" "first-auth (ms)" "rss (MB)"
+for mode in $MODES; do
+    command="$(command_for "$mode")"
+    if [[ -z "$command" ]]; then
+        printf '%-8s %-6s %-22s %-10s\n' "$mode" "-" "not built" "-"
+        continue
+    fi
+    for run in $(seq 1 "$RUNS"); do
+        read -r elapsed rss <<<"$(run_once "$command")"
+        printf '%-8s %-6s %-22s %-10s\n' "$mode" "$run" "$elapsed" "$rss"
+    done
+done
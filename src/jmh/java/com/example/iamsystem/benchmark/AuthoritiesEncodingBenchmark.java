@@ -0,0 +1,105 @@
+package com.example.iamsystem.benchmark;
+
+import com.example.iamsystem.enums.AuthoritiesEncoding;
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.security.jwt.AuthoritiesCodec;
+import com.example.iamsystem.security.jwt.InMemorySigningKeyStore;
+import com.example.iamsystem.security.jwt.SigningKeyManager;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse time of access tokens whose authorities are listed as JSON objects versus encoded as
+ * permission ids. The Authorization header size of each combination is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthoritiesEncodingBenchmark {
+
+    private static final int CATALOG_SIZE = 5_000;
+
+    @Param({"10", "100", "1000"})
+    private int permissionCount;
+
+    @Param({"LIST", "BITMAP", "DELTA", "COMPACT"})
+    private AuthoritiesEncoding encoding;
+
+    private Map<Long, String> catalog;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        catalog = new HashMap<>();
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            catalog.put(id, "service-" + id + ":READ");
+        }
+        SplittableRandom random = new SplittableRandom(permissionCount);
+        TreeSet<Long> permissionIds = new TreeSet<>();
+        while (permissionIds.size() < permissionCount) {
+            permissionIds.add(1L + random.nextInt(CATALOG_SIZE));
+        }
+
+        SigningKeyManager keyManager = new SigningKeyManager(SigningAlgorithm.ED25519, Duration.ofHours(24),
+                Duration.ofMinutes(10), new InMemorySigningKeyStore());
+        SigningKeyManager.SigningKey signingKey = keyManager.currentKey();
+        var builder = Jwts.builder()
+                .header().keyId(signingKey.id()).and()
+                .subject("benchmark-user")
+                .claim("version", 3)
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+        if (encoding == AuthoritiesEncoding.LIST) {
+            List<Map<String, String>> authorities = new ArrayList<>();
+            permissionIds.forEach(id -> authorities.add(Map.of("authority", catalog.get(id))));
+            builder.claim("authorities", authorities);
+        } else {
+            builder.claim("perms", AuthoritiesCodec.encode(permissionIds, encoding)).claim("perms_v", 1L);
+        }
+        token = builder.signWith(signingKey.signingKey()).compact();
+        parser = Jwts.parser().verifyWith((PublicKey) signingKey.verificationKey()).build();
+        System.out.printf("%n%s with %d permissions: Authorization header is %d bytes%n",
+                encoding, permissionCount, "Bearer ".length() + token.length());
+    }
+
+    @Benchmark
+    public void parseAndDecode(Blackhole blackhole) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (encoding == AuthoritiesEncoding.LIST) {
+            for (Object authority : claims.get("authorities", List.class)) {
+                blackhole.consume(((Map<?, ?>) authority).get("authority"));
+            }
+        } else {
+            for (long permissionId : AuthoritiesCodec.decode(claims.get("perms", String.class))) {
+                blackhole.consume(catalog.get(permissionId));
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.iamsystem.benchmark;
+
+import com.example.iamsystem.policy.engine.AccessRequest;
+import com.example.iamsystem.policy.engine.PolicyDecision;
+import com.example.iamsystem.policy.engine.PolicyEffect;
+import com.example.iamsystem.policy.engine.PolicyIndex;
+import com.example.iamsystem.policy.engine.PolicyParser;
+import com.example.iamsystem.policy.engine.PolicyRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation time of access policies compiled into a {@link PolicyIndex} against random requests,
+ * compared with testing every rule in turn. Each policy targets one of 250 services and is scoped
+ * to an organization, a resource level and office hours; one in ten is a deny rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PolicyEvaluationBenchmark {
+
+    private static final int SERVICES = 250;
+    private static final int ORGANIZATIONS = 100;
+    private static final String[] ACTIONS = {"READ", "WRITE", "UPDATE", "DELETE"};
+    private static final int REQUESTS = 1024;
+
+    @Param({"1000", "10000"})
+    private int policyCount;
+
+    private PolicyIndex index;
+    private PolicyRule[] rules;
+    private AccessRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<PolicyRule> compiled = new ArrayList<>(policyCount);
+        for (int i = 0; i < policyCount; i++) {
+            String source = (random.nextInt(10) == 0 ? "deny " : "permit ")
+                    + "SVC" + random.nextInt(SERVICES) + ":" + ACTIONS[random.nextInt(ACTIONS.length)]
+                    + " when user.organization == " + random.nextInt(ORGANIZATIONS)
+                    + " and resource.level <= " + random.nextInt(5)
+                    + " and env.hour in 8..18";
+            compiled.addAll(PolicyParser.parse((long) i, "policy-" + i, source));
+        }
+        index = PolicyIndex.build(compiled);
+        rules = compiled.toArray(PolicyRule[]::new);
+
+        Instant now = Instant.parse("2026-01-05T10:00:00Z");
+        requests = new AccessRequest[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            String permission = "SVC" + random.nextInt(SERVICES) + ":" + ACTIONS[random.nextInt(ACTIONS.length)];
+            requests[i] = AccessRequest.of((long) i, "user" + i, (long) random.nextInt(ORGANIZATIONS), false, false,
+                    true, permission, Map.of("level", String.valueOf(random.nextInt(5))), "10.0.0.1", now, ZoneOffset.UTC);
+        }
+    }
+
+    @Benchmark
+    public PolicyDecision indexed() {
+        return index.evaluate(nextRequest());
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        AccessRequest request = nextRequest();
+        boolean permitted = false;
+        for (PolicyRule rule : rules) {
+            String target = rule.target();
+            boolean applies = target.equals(request.permission()) || target.equals(request.serviceWildcard()) || target.equals("*");
+            if (applies && rule.matches(request)) {
+                if (rule.effect() == PolicyEffect.DENY) {
+                    return false;
+                }
+                permitted = true;
+            }
+        }
+        return permitted;
+    }
+
+    private AccessRequest nextRequest() {
+        return requests[next++ & (REQUESTS - 1)];
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.iamsystem.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a burst of login-like requests: each one holds a pooled connection for a user lookup
+ * and then blocks on a mail server. Platform threads are capped like Tomcat's default pool of 200
+ * workers, while the connection pool is deliberately small so both models contend on it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class ThreadModelBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threadModel;
+
+    @Param({"2000"})
+    private int concurrentRequests;
+
+    @Param({"10"})
+    private int connectionPoolSize;
+
+    @Param({"2"})
+    private int databaseLatencyMillis;
+
+    @Param({"20"})
+    private int smtpLatencyMillis;
+
+    private HikariDataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:thread-model;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(connectionPoolSize);
+        config.setConnectionTimeout(TimeUnit.MINUTES.toMillis(1));
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, username VARCHAR(255))");
+            statement.execute("DELETE FROM users");
+            statement.execute("INSERT INTO users SELECT x, 'user-' || x FROM SYSTEM_RANGE(1, " + USER_COUNT + ")");
+        }
+        executor = "VIRTUAL".equals(threadModel)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<String>> futures = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures.add(executor.submit(this::handleRequest));
+        }
+        int completed = 0;
+        for (Future<String> future : futures) {
+            if (future.get() != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private String handleRequest() throws SQLException, InterruptedException {
+        String username;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT username FROM users WHERE id = ?")) {
+            statement.setLong(1, ThreadLocalRandom.current().nextInt(1, USER_COUNT + 1));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                username = resultSet.next() ? resultSet.getString(1) : null;
+            }
+            Thread.sleep(databaseLatencyMillis); // network round trip while the connection is held
+        }
+        Thread.sleep(smtpLatencyMillis); // synchronous SMTP send after the transaction
+        return username;
+    }
+}
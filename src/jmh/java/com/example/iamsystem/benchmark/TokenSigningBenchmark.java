@@ -0,0 +1,84 @@
+package com.example.iamsystem.benchmark;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.security.jwt.InMemorySigningKeyStore;
+import com.example.iamsystem.security.jwt.SigningKeyManager;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify throughput of access tokens shaped like the ones {@code JwtTokenUtil} issues,
+ * for each supported signing algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TokenSigningBenchmark {
+
+    @Param({"HS256", "ES256", "ED25519"})
+    private SigningAlgorithm algorithm;
+
+    @Param({"20"})
+    private int authorityCount;
+
+    private SigningKeyManager.SigningKey signingKey;
+    private Map<String, Object> claims;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SigningKeyManager keyManager = new SigningKeyManager(algorithm, Duration.ofHours(24), Duration.ofMinutes(10),
+                new InMemorySigningKeyStore());
+        signingKey = keyManager.currentKey();
+        List<Map<String, String>> authorities = new ArrayList<>();
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add(Map.of("authority", "service-" + i + ":READ"));
+        }
+        claims = Map.of("authorities", authorities, "version", 3);
+        parser = Jwts.parser()
+                .keyLocator(header -> keyManager.verificationKey(signingKey.id()))
+                .build();
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
+                .claims(claims)
+                .subject("benchmark-user")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + TimeUnit.HOURS.toMillis(1)))
+                .signWith(signingKey.signingKey())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
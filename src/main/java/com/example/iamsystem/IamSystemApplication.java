@@ -1,11 +1,16 @@
 package com.example.iamsystem;
 
+import com.example.iamsystem.config.IamRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(IamRuntimeHints.class)
 public class IamSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,6 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.permission.model.PermissionAction;
+
+public record AclKey(Long applicationId, String resourceType, PermissionAction action) {
+}
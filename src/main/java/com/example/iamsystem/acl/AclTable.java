@@ -0,0 +1,98 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.enums.AclPrincipalType;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The grants of one {@link AclKey}: for every user and group, the bitmap of resource ids it is
+ * granted and the revision of the row it was read from. Bitmaps are replaced, never modified, once
+ * they are in the table, so readers need no locking, and an older revision never replaces a newer
+ * one. Resource ids are unsigned 32-bit values. {@link #revision()} is the application ACL revision
+ * the table holds every change up to.
+ */
+final class AclTable {
+
+    private record Grant(long revision, RoaringBitmap resources) {
+    }
+
+    private final Map<Long, Grant> users = new ConcurrentHashMap<>();
+    private final Map<Long, Grant> groups = new ConcurrentHashMap<>();
+    private volatile long revision;
+
+    long revision() {
+        return revision;
+    }
+
+    void advanceTo(long revision) {
+        this.revision = Math.max(this.revision, revision);
+    }
+
+    void put(AclPrincipalType type, Long principalId, long revision, RoaringBitmap resources) {
+        principals(type).merge(principalId, new Grant(revision, resources),
+                (current, updated) -> updated.revision() > current.revision() ? updated : current);
+    }
+
+    void remove(AclPrincipalType type, Long principalId) {
+        principals(type).remove(principalId);
+    }
+
+    boolean isGranted(Long userId, Collection<Long> groupIds, int resource) {
+        if (contains(users.get(userId), resource)) {
+            return true;
+        }
+        for (Long groupId : groupIds) {
+            if (contains(groups.get(groupId), resource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns every resource the user is granted, directly or through a group, as a new bitmap.
+     */
+    RoaringBitmap resources(Long userId, Collection<Long> groupIds) {
+        List<RoaringBitmap> granted = new ArrayList<>(groupIds.size() + 1);
+        add(granted, users.get(userId));
+        for (Long groupId : groupIds) {
+            add(granted, groups.get(groupId));
+        }
+        return switch (granted.size()) {
+            case 0 -> new RoaringBitmap();
+            case 1 -> granted.get(0).clone();
+            default -> FastAggregation.or(granted.toArray(RoaringBitmap[]::new));
+        };
+    }
+
+    List<Long> principals(AclPrincipalType type, int resource) {
+        List<Long> granted = new ArrayList<>();
+        principals(type).forEach((principalId, grant) -> {
+            if (grant.resources().contains(resource)) {
+                granted.add(principalId);
+            }
+        });
+        granted.sort(null);
+        return granted;
+    }
+
+    private Map<Long, Grant> principals(AclPrincipalType type) {
+        return type == AclPrincipalType.USER ? users : groups;
+    }
+
+    private static boolean contains(Grant grant, int resource) {
+        return grant != null && grant.resources().contains(resource);
+    }
+
+    private static void add(List<RoaringBitmap> granted, Grant grant) {
+        if (grant != null && !grant.resources().isEmpty()) {
+            granted.add(grant.resources());
+        }
+    }
+}
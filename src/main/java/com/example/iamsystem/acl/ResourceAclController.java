@@ -0,0 +1,97 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.acl.model.ResourceAclGrantDto;
+import com.example.iamsystem.acl.model.ResourceListDto;
+import com.example.iamsystem.acl.model.ResourcePrincipalsDto;
+import com.example.iamsystem.security.dto.AuthorizationResponse;
+import com.example.iamsystem.util.authorization.RequirePermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static com.example.iamsystem.permission.model.PermissionAction.DELETE;
+import static com.example.iamsystem.permission.model.PermissionAction.READ;
+import static com.example.iamsystem.permission.model.PermissionAction.UPDATE;
+
+@RestController
+@RequestMapping("/api/applications/{applicationId}/acl")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Slf4j
+public class ResourceAclController {
+    private final ResourceAclService aclService;
+
+    @PutMapping("/grants")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Grant an action on resources to a user or group (Requires: IAM:UPDATE)")
+    public ResponseEntity<Void> grant(@PathVariable Long applicationId, @RequestBody @Valid ResourceAclGrantDto grantDto) {
+        log.debug("Received request to grant {} on {} resources in application ID: {}", grantDto.getAction(), grantDto.getResourceType(), applicationId);
+        aclService.grant(applicationId, grantDto);
+        log.info("Successfully granted {} on {} resources in application ID: {}", grantDto.getAction(), grantDto.getResourceType(), applicationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/grants")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = DELETE)
+    @Operation(summary = "Revoke an action on resources from a user or group (Requires: IAM:DELETE)")
+    public ResponseEntity<Void> revoke(@PathVariable Long applicationId, @RequestBody @Valid ResourceAclGrantDto grantDto) {
+        log.debug("Received request to revoke {} on {} resources in application ID: {}", grantDto.getAction(), grantDto.getResourceType(), applicationId);
+        aclService.revoke(applicationId, grantDto);
+        log.info("Successfully revoked {} on {} resources in application ID: {}", grantDto.getAction(), grantDto.getResourceType(), applicationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/check")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Check whether a user may perform an action on a resource (Requires: IAM:READ)")
+    public ResponseEntity<AuthorizationResponse> check(@PathVariable Long applicationId,
+                                                       @RequestParam String resourceType,
+                                                       @RequestParam Long resourceId,
+                                                       @RequestParam String action,
+                                                       @RequestParam Long userId) {
+        log.debug("Received request to check {} on {} {} for user ID: {}", action, resourceType, resourceId, userId);
+        boolean granted = aclService.isGranted(applicationId, resourceType, resourceId, action, userId);
+        return ResponseEntity.ok(new AuthorizationResponse(granted));
+    }
+
+    @GetMapping("/resources")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "List the resources a user may perform an action on (Requires: IAM:READ)")
+    public ResponseEntity<ResourceListDto> resources(@PathVariable Long applicationId,
+                                                     @RequestParam String resourceType,
+                                                     @RequestParam String action,
+                                                     @RequestParam Long userId,
+                                                     @RequestParam(required = false) Long after,
+                                                     @RequestParam(defaultValue = "100") int size) {
+        log.debug("Received request to list {} resources with {} for user ID: {}", resourceType, action, userId);
+        ResourceListDto resources = aclService.resources(applicationId, resourceType, action, userId, after, size);
+        log.info("Returned {} of {} {} resources for user ID: {}", resources.resourceIds().size(), resources.total(), resourceType, userId);
+        return ResponseEntity.ok(resources);
+    }
+
+    @GetMapping("/principals")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "List the users and groups that may perform an action on a resource (Requires: IAM:READ)")
+    public ResponseEntity<ResourcePrincipalsDto> principals(@PathVariable Long applicationId,
+                                                            @RequestParam String resourceType,
+                                                            @RequestParam Long resourceId,
+                                                            @RequestParam String action) {
+        log.debug("Received request to list principals with {} on {} {}", action, resourceType, resourceId);
+        ResourcePrincipalsDto principals = aclService.principals(applicationId, resourceType, resourceId, action);
+        log.info("Found {} users and {} groups with {} on {} {}", principals.userIds().size(), principals.groupIds().size(),
+                action, resourceType, resourceId);
+        return ResponseEntity.ok(principals);
+    }
+}
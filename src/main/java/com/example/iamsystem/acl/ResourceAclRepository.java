@@ -0,0 +1,63 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.acl.model.ResourceAcl;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.permission.model.PermissionAction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResourceAclRepository extends JpaRepository<ResourceAcl, Long> {
+
+    List<ResourceAcl> findAllByApplicationIdAndResourceTypeAndAction(Long applicationId, String resourceType, PermissionAction action);
+
+    List<ResourceAcl> findAllByApplicationIdAndRevisionGreaterThan(Long applicationId, long revision);
+
+    @Query("SELECT DISTINCT a.applicationId FROM ResourceAcl a " +
+            "WHERE a.principalType = :principalType AND a.principalId = :principalId ORDER BY a.applicationId")
+    List<Long> findApplicationIdsByPrincipal(@Param("principalType") AclPrincipalType principalType,
+                                             @Param("principalId") Long principalId);
+
+    /**
+     * Bumps the application's ACL revision. The row lock it takes is held until commit, so the
+     * application's ACL changes are serialized and commit in revision order.
+     */
+    @Modifying
+    @Query(value = "UPDATE applications SET acl_revision = acl_revision + 1 WHERE id = :applicationId", nativeQuery = true)
+    int incrementAclRevision(@Param("applicationId") Long applicationId);
+
+    @Query(value = "SELECT acl_revision FROM applications WHERE id = :applicationId", nativeQuery = true)
+    Optional<Long> findAclRevision(@Param("applicationId") Long applicationId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ResourceAcl a WHERE a.applicationId = :applicationId AND a.resourceType = :resourceType " +
+            "AND a.action = :action AND a.principalType = :principalType AND a.principalId = :principalId")
+    Optional<ResourceAcl> findForUpdate(@Param("applicationId") Long applicationId,
+                                        @Param("resourceType") String resourceType,
+                                        @Param("action") PermissionAction action,
+                                        @Param("principalType") AclPrincipalType principalType,
+                                        @Param("principalId") Long principalId);
+
+    /**
+     * Empties rather than deletes the principal's bitmaps so other instances see the change on
+     * their next refresh.
+     */
+    @Modifying
+    @Query("UPDATE ResourceAcl a SET a.resources = :empty, a.resourceCount = 0, a.revision = :revision, a.updatedAt = :now " +
+            "WHERE a.applicationId = :applicationId AND a.principalType = :principalType AND a.principalId = :principalId")
+    int clearPrincipal(@Param("applicationId") Long applicationId,
+                       @Param("principalType") AclPrincipalType principalType,
+                       @Param("principalId") Long principalId,
+                       @Param("empty") byte[] empty,
+                       @Param("revision") long revision,
+                       @Param("now") Instant now);
+}
@@ -0,0 +1,159 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.acl.model.ResourceAclGrantDto;
+import com.example.iamsystem.acl.model.ResourceListDto;
+import com.example.iamsystem.acl.model.ResourcePrincipalsDto;
+import com.example.iamsystem.application.model.ApplicationRepository;
+import com.example.iamsystem.audit.annotation.Auditable;
+import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.exception.DataNotFoundException;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.group.GroupRepository;
+import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.iamsystem.constant.ErrorMessage.APPLICATION_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.GROUP_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.INVALID_ACTION;
+import static com.example.iamsystem.constant.ErrorMessage.RESOURCE_ID_OUT_OF_RANGE;
+import static com.example.iamsystem.constant.ErrorMessage.USER_NOT_FOUND;
+
+@Service
+@Slf4j
+public class ResourceAclService {
+
+    static final long MAX_RESOURCE_ID = 0xFFFF_FFFFL;
+
+    private final ResourceAclStore aclStore;
+    private final ApplicationRepository applicationRepository;
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final int maxPageSize;
+
+    public ResourceAclService(ResourceAclStore aclStore,
+                              ApplicationRepository applicationRepository,
+                              UserRepository userRepository,
+                              GroupRepository groupRepository,
+                              @Value("${acl.max-page-size:1000}") int maxPageSize) {
+        this.aclStore = aclStore;
+        this.applicationRepository = applicationRepository;
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Auditable(
+            value = AuditEventType.RESOURCE_ACL_GRANTED,
+            target = "#grantDto.principalId",
+            detailsExpression = "T(java.util.Map).of('application_id', #applicationId, 'principal_type', #grantDto.principalType.name(), 'resource_type', #grantDto.resourceType, 'action', #grantDto.action, 'resources_granted', #grantDto.resourceIds.size())"
+    )
+    public long grant(Long applicationId, ResourceAclGrantDto grantDto) {
+        log.debug("Attempting to grant {} on {} {} resources to {} {}", grantDto.getAction(), grantDto.getResourceIds().size(),
+                grantDto.getResourceType(), grantDto.getPrincipalType(), grantDto.getPrincipalId());
+        validateGrant(applicationId, grantDto);
+        long granted = aclStore.grant(key(applicationId, grantDto.getResourceType(), grantDto.getAction()),
+                grantDto.getPrincipalType(), grantDto.getPrincipalId(), resourceIds(grantDto.getResourceIds()));
+        log.info("{} {} now has {} on {} {} resources", grantDto.getPrincipalType(), grantDto.getPrincipalId(),
+                grantDto.getAction(), granted, grantDto.getResourceType());
+        return granted;
+    }
+
+    @Auditable(
+            value = AuditEventType.RESOURCE_ACL_REVOKED,
+            target = "#grantDto.principalId",
+            detailsExpression = "T(java.util.Map).of('application_id', #applicationId, 'principal_type', #grantDto.principalType.name(), 'resource_type', #grantDto.resourceType, 'action', #grantDto.action, 'resources_revoked', #grantDto.resourceIds.size())"
+    )
+    public long revoke(Long applicationId, ResourceAclGrantDto grantDto) {
+        log.debug("Attempting to revoke {} on {} {} resources from {} {}", grantDto.getAction(), grantDto.getResourceIds().size(),
+                grantDto.getResourceType(), grantDto.getPrincipalType(), grantDto.getPrincipalId());
+        validateGrant(applicationId, grantDto);
+        long granted = aclStore.revoke(key(applicationId, grantDto.getResourceType(), grantDto.getAction()),
+                grantDto.getPrincipalType(), grantDto.getPrincipalId(), resourceIds(grantDto.getResourceIds()));
+        log.info("{} {} now has {} on {} {} resources", grantDto.getPrincipalType(), grantDto.getPrincipalId(),
+                grantDto.getAction(), granted, grantDto.getResourceType());
+        return granted;
+    }
+
+    public boolean isGranted(Long applicationId, String resourceType, Long resourceId, String action, Long userId) {
+        AclKey key = key(applicationId, resourceType, action);
+        boolean granted = aclStore.isGranted(key, userId, groupRepository.findGroupIdsByMember(userId), resourceId(resourceId));
+        log.debug("User {} {} {} on {} {}", userId, granted ? "may" : "may not", action, resourceType, resourceId);
+        return granted;
+    }
+
+    /**
+     * Lists the resources the user is granted, directly or through a group, in ascending id order
+     * starting after {@code after}.
+     */
+    public ResourceListDto resources(Long applicationId, String resourceType, String action, Long userId, Long after, int size) {
+        AclKey key = key(applicationId, resourceType, action);
+        RoaringBitmap granted = aclStore.resources(key, userId, groupRepository.findGroupIdsByMember(userId));
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        List<Long> page = new ArrayList<>();
+        Long nextCursor = null;
+        if (after == null || after < MAX_RESOURCE_ID) {
+            PeekableIntIterator iterator = granted.getIntIterator();
+            if (after != null) {
+                iterator.advanceIfNeeded(resourceId(after + 1));
+            }
+            while (iterator.hasNext() && page.size() < pageSize) {
+                page.add(Integer.toUnsignedLong(iterator.next()));
+            }
+            nextCursor = iterator.hasNext() ? page.get(page.size() - 1) : null;
+        }
+        return new ResourceListDto(page, nextCursor, granted.getLongCardinality());
+    }
+
+    public ResourcePrincipalsDto principals(Long applicationId, String resourceType, Long resourceId, String action) {
+        AclKey key = key(applicationId, resourceType, action);
+        int resource = resourceId(resourceId);
+        return new ResourcePrincipalsDto(aclStore.principals(key, AclPrincipalType.USER, resource),
+                aclStore.principals(key, AclPrincipalType.GROUP, resource));
+    }
+
+    private void validateGrant(Long applicationId, ResourceAclGrantDto grantDto) {
+        if (!applicationRepository.existsById(applicationId)) {
+            log.warn("Application not found with ID: {}", applicationId);
+            throw new DataNotFoundException(APPLICATION_NOT_FOUND);
+        }
+        boolean exists = grantDto.getPrincipalType() == AclPrincipalType.USER
+                ? userRepository.existsById(grantDto.getPrincipalId())
+                : groupRepository.existsById(grantDto.getPrincipalId());
+        if (!exists) {
+            log.warn("{} not found with ID: {}", grantDto.getPrincipalType(), grantDto.getPrincipalId());
+            throw new DataNotFoundException(grantDto.getPrincipalType() == AclPrincipalType.USER ? USER_NOT_FOUND : GROUP_NOT_FOUND);
+        }
+    }
+
+    private static AclKey key(Long applicationId, String resourceType, String action) {
+        PermissionAction permissionAction = PermissionAction.valueOf(action);
+        if (permissionAction == PermissionAction.ANY) {
+            throw new UserInputNotValidException(INVALID_ACTION);
+        }
+        return new AclKey(applicationId, resourceType, permissionAction);
+    }
+
+    private static int[] resourceIds(List<Long> resourceIds) {
+        int[] ids = new int[resourceIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = resourceId(resourceIds.get(i));
+        }
+        return ids;
+    }
+
+    private static int resourceId(Long resourceId) {
+        if (resourceId == null || resourceId < 0 || resourceId > MAX_RESOURCE_ID) {
+            throw new UserInputNotValidException(RESOURCE_ID_OUT_OF_RANGE);
+        }
+        return (int) resourceId.longValue();
+    }
+}
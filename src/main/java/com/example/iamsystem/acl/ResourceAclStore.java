@@ -0,0 +1,226 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.acl.model.ResourceAcl;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.exception.DataNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.example.iamsystem.constant.ErrorMessage.APPLICATION_NOT_FOUND;
+
+/**
+ * Keeps resource ACLs in memory as Roaring bitmaps, one {@link AclTable} per application, resource
+ * type and action, loaded on first use. A grant or revoke rewrites only the changed principal's row
+ * and is visible locally once committed. Every change bumps its application's ACL revision, whose
+ * row lock serializes the application's changes until commit, and stamps the changed rows with it,
+ * so revisions are committed in order. Every {@code acl.refresh-interval} the tables read the rows
+ * of their application above the revision they hold, which picks up changes made by other
+ * instances; the tables of an application that no longer exists are dropped.
+ */
+@Component
+@Slf4j
+public class ResourceAclStore {
+
+    private static final byte[] EMPTY = write(new RoaringBitmap());
+
+    private final ResourceAclRepository aclRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<AclKey, AclTable> tables = new ConcurrentHashMap<>();
+
+    public ResourceAclStore(ResourceAclRepository aclRepository, TransactionTemplate transactionTemplate) {
+        this.aclRepository = aclRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isGranted(AclKey key, Long userId, Collection<Long> groupIds, int resource) {
+        return table(key).isGranted(userId, groupIds, resource);
+    }
+
+    public RoaringBitmap resources(AclKey key, Long userId, Collection<Long> groupIds) {
+        return table(key).resources(userId, groupIds);
+    }
+
+    public List<Long> principals(AclKey key, AclPrincipalType type, int resource) {
+        return table(key).principals(type, resource);
+    }
+
+    /**
+     * Returns the number of resources the principal is granted afterwards.
+     */
+    public long grant(AclKey key, AclPrincipalType type, Long principalId, int[] resources) {
+        return update(key, type, principalId, bitmap -> bitmap.add(resources));
+    }
+
+    public long revoke(AclKey key, AclPrincipalType type, Long principalId, int[] resources) {
+        return update(key, type, principalId, bitmap -> bitmap.andNot(RoaringBitmap.bitmapOf(resources)));
+    }
+
+    /**
+     * Clears the principal's grants in the caller's transaction; the loaded tables drop them once it
+     * commits.
+     */
+    public void principalDeleted(AclPrincipalType type, Long principalId) {
+        Integer cleared = transactionTemplate.execute(status -> {
+            int rows = 0;
+            // in id order, so the application rows are locked in the same order everywhere
+            for (Long applicationId : aclRepository.findApplicationIdsByPrincipal(type, principalId)) {
+                Optional<Long> revision = nextRevision(applicationId);
+                if (revision.isPresent()) {
+                    rows += aclRepository.clearPrincipal(applicationId, type, principalId, EMPTY, revision.get(), Instant.now());
+                }
+            }
+            return rows;
+        });
+        afterCommit(() -> {
+            for (AclTable table : tables.values()) {
+                table.remove(type, principalId);
+            }
+        });
+        log.debug("Cleared {} resource ACLs of {} {}", cleared, type, principalId);
+    }
+
+    @Scheduled(fixedDelayString = "${acl.refresh-interval:PT30S}")
+    public void refresh() {
+        try {
+            Map<Long, List<AclTable>> loaded = tables.entrySet().stream().collect(Collectors.groupingBy(
+                    entry -> entry.getKey().applicationId(), Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+            int applied = 0;
+            for (Map.Entry<Long, List<AclTable>> application : loaded.entrySet()) {
+                applied += refresh(application.getKey(), application.getValue());
+            }
+            if (applied > 0) {
+                log.debug("Applied {} changed resource ACLs", applied);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Resource ACLs not refreshed, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    private int refresh(Long applicationId, List<AclTable> loaded) {
+        Optional<Long> revision = aclRepository.findAclRevision(applicationId);
+        if (revision.isEmpty()) {
+            tables.keySet().removeIf(key -> key.applicationId().equals(applicationId));
+            log.info("Dropped the resource ACLs of deleted application {}", applicationId);
+            return 0;
+        }
+        long since = loaded.stream().mapToLong(AclTable::revision).min().orElse(revision.get());
+        if (since >= revision.get()) {
+            return 0;
+        }
+        // every revision up to the one read above has committed, so none is skipped
+        int applied = 0;
+        for (ResourceAcl acl : aclRepository.findAllByApplicationIdAndRevisionGreaterThan(applicationId, since)) {
+            AclTable table = tables.get(key(acl));
+            if (table != null) {
+                table.put(acl.getPrincipalType(), acl.getPrincipalId(), acl.getRevision(), read(acl.getResources()));
+                applied++;
+            }
+        }
+        for (AclTable table : loaded) {
+            table.advanceTo(revision.get());
+        }
+        return applied;
+    }
+
+    private long update(AclKey key, AclPrincipalType type, Long principalId, Consumer<RoaringBitmap> change) {
+        ResourceAcl saved = transactionTemplate.execute(status -> {
+            // taken before the row is read, so concurrent first grants to a principal cannot both insert
+            long revision = nextRevision(key.applicationId())
+                    .orElseThrow(() -> new DataNotFoundException(APPLICATION_NOT_FOUND));
+            ResourceAcl acl = aclRepository.findForUpdate(key.applicationId(), key.resourceType(), key.action(), type, principalId)
+                    .orElseGet(() -> new ResourceAcl(key.applicationId(), key.resourceType(), key.action(), type, principalId));
+            RoaringBitmap bitmap = acl.getResources() == null ? new RoaringBitmap() : read(acl.getResources());
+            change.accept(bitmap);
+            bitmap.runOptimize();
+            acl.setResources(write(bitmap));
+            acl.setResourceCount(bitmap.getLongCardinality());
+            acl.setRevision(revision);
+            acl.setUpdatedAt(Instant.now());
+            return aclRepository.save(acl);
+        });
+        afterCommit(() -> {
+            AclTable table = tables.get(key);
+            if (table != null) {
+                table.put(type, principalId, saved.getRevision(), read(saved.getResources()));
+            }
+        });
+        return saved.getResourceCount();
+    }
+
+    private Optional<Long> nextRevision(Long applicationId) {
+        if (aclRepository.incrementAclRevision(applicationId) == 0) {
+            return Optional.empty();
+        }
+        return aclRepository.findAclRevision(applicationId);
+    }
+
+    private AclTable table(AclKey key) {
+        return tables.computeIfAbsent(key, this::load);
+    }
+
+    private AclTable load(AclKey key) {
+        AclTable table = new AclTable();
+        // read first, so no change the rows below miss is taken as applied
+        aclRepository.findAclRevision(key.applicationId()).ifPresent(table::advanceTo);
+        List<ResourceAcl> acls = aclRepository.findAllByApplicationIdAndResourceTypeAndAction(
+                key.applicationId(), key.resourceType(), key.action());
+        for (ResourceAcl acl : acls) {
+            table.put(acl.getPrincipalType(), acl.getPrincipalId(), acl.getRevision(), read(acl.getResources()));
+        }
+        log.info("Loaded resource ACLs for {} principals of application {}, {} {}",
+                acls.size(), key.applicationId(), key.resourceType(), key.action());
+        return table;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static AclKey key(ResourceAcl acl) {
+        return new AclKey(acl.getApplicationId(), acl.getResourceType(), acl.getAction());
+    }
+
+    static RoaringBitmap read(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        try {
+            bitmap.deserialize(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bitmap;
+    }
+
+    static byte[] write(RoaringBitmap bitmap) {
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.iamsystem.acl.model;
+
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.permission.model.PermissionAction;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The resources of one type a principal may perform one action on, within an application, stored as
+ * a serialized Roaring bitmap of resource ids.
+ */
+@Entity
+@Table(name = "resource_acls",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resource_acls_principal",
+                columnNames = {"application_id", "resource_type", "action", "principal_type", "principal_id"}),
+        indexes = {
+                @Index(name = "idx_resource_acls_application_revision", columnList = "application_id, revision"),
+                @Index(name = "idx_resource_acls_principal", columnList = "principal_type, principal_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ResourceAcl {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Column(name = "resource_type", nullable = false, length = 64)
+    private String resourceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PermissionAction action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "principal_type", nullable = false, length = 16)
+    private AclPrincipalType principalType;
+
+    @Column(name = "principal_id", nullable = false)
+    private Long principalId;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] resources;
+
+    @Column(name = "resource_count", nullable = false)
+    private long resourceCount;
+
+    // the application's ACL revision when the row last changed
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public ResourceAcl(Long applicationId, String resourceType, PermissionAction action,
+                       AclPrincipalType principalType, Long principalId) {
+        this.applicationId = applicationId;
+        this.resourceType = resourceType;
+        this.action = action;
+        this.principalType = principalType;
+        this.principalId = principalId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResourceAcl that = (ResourceAcl) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.iamsystem.acl.model;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.util.validators.action.ValidAction;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceAclGrantDto {
+    @NotBlank(message = ErrorMessage.RESOURCE_TYPE_REQUIRED)
+    @Size(max = 64, message = ErrorMessage.RESOURCE_TYPE_TOO_LONG)
+    private String resourceType;
+    @NotNull(message = ErrorMessage.ACTION_NAME_REQUIRED)
+    @ValidAction
+    private String action;
+    @NotNull(message = ErrorMessage.PRINCIPAL_TYPE_REQUIRED)
+    private AclPrincipalType principalType;
+    @NotNull(message = ErrorMessage.PRINCIPAL_REQUIRED)
+    private Long principalId;
+    @NotNull(message = ErrorMessage.RESOURCE_LIST_REQUIRED)
+    @NotEmpty(message = ErrorMessage.RESOURCE_LIST_NOT_EMPTY)
+    private List<Long> resourceIds;
+}
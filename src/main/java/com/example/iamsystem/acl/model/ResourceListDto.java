@@ -0,0 +1,10 @@
+package com.example.iamsystem.acl.model;
+
+import java.util.List;
+
+/**
+ * One page of resource ids in ascending order. {@code nextCursor} is passed as {@code after} to get
+ * the next page and is null on the last one.
+ */
+public record ResourceListDto(List<Long> resourceIds, Long nextCursor, long total) {
+}
@@ -0,0 +1,9 @@
+package com.example.iamsystem.acl.model;
+
+import java.util.List;
+
+/**
+ * Users granted access directly and groups whose members are granted access.
+ */
+public record ResourcePrincipalsDto(List<Long> userIds, List<Long> groupIds) {
+}
@@ -0,0 +1,74 @@
+package com.example.iamsystem.aspect;
+
+import com.example.iamsystem.security.ratelimit.RateLimitProperties;
+import com.example.iamsystem.security.ratelimit.RateLimiter;
+import com.example.iamsystem.util.ratelimit.RateLimit;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitAspect {
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Before("@annotation(com.example.iamsystem.util.ratelimit.RateLimit) || @annotation(com.example.iamsystem.util.ratelimit.RateLimits)")
+    public void checkRateLimits(JoinPoint joinPoint) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        for (RateLimit rateLimit : signature.getMethod().getAnnotationsByType(RateLimit.class)) {
+            String key = resolveKey(rateLimit.key(), joinPoint.getArgs(), signature.getParameterNames());
+            if (Objects.nonNull(key)) {
+                rateLimiter.acquire(rateLimit.policy(), key);
+            }
+        }
+    }
+
+    private String resolveKey(String spelExpression, Object[] args, String[] parameterNames) {
+        if (spelExpression.isEmpty()) {
+            return clientIp();
+        }
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("clientIp", clientIp());
+        for (int i = 0; i < parameterNames.length; i++) {
+            context.setVariable(parameterNames[i], args[i]);
+        }
+        Object value = expressions.computeIfAbsent(spelExpression, parser::parseExpression).getValue(context);
+        if (Objects.isNull(value)) {
+            log.debug("Rate limit key '{}' resolved to null, skipping", spelExpression);
+            return null;
+        }
+        return value.toString().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String clientIp() {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        return request.getRemoteAddr();
+    }
+}
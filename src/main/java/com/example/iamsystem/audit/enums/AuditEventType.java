@@ -4,11 +4,14 @@ public enum AuditEventType {
     // Authentication
     USER_LOGIN,
     TOKEN_REFRESH,
+    USER_LOGOUT,
+    TOKEN_REVOCATION,
 
     // User Management
     USER_REGISTRATION,
     PASSWORD_CHANGE,
     ROLES_ASSIGNMENT,
+    TIMED_ROLES_ASSIGNMENT,
     ROLES_REMOVAL,
     USER_DELETE,
 
@@ -18,12 +21,35 @@ public enum AuditEventType {
     ROLE_DELETE,
     PERMISSIONS_ASSIGNED_TO_ROLE,
     PERMISSIONS_REMOVED_FROM_ROLE,
+    ROLE_PARENTS_ASSIGNED,
+    ROLE_PARENTS_REMOVED,
+
+    // Group Management
+    GROUP_CREATION,
+    GROUP_UPDATE,
+    GROUP_DELETE,
+    GROUP_MEMBERS_ADDED,
+    GROUP_MEMBERS_REMOVED,
+    ROLES_ASSIGNED_TO_GROUP,
+    ROLES_REMOVED_FROM_GROUP,
 
     // Permission Management
     PERMISSION_CREATE,
     PERMISSION_UPDATE,
     PERMISSION_DELETE,
 
+    // Resource ACLs
+    RESOURCE_ACL_GRANTED,
+    RESOURCE_ACL_REVOKED,
+
+    // Access Review
+    ACCESS_MATRIX_EXPORT,
+
+    // Access Policy Management
+    POLICY_CREATE,
+    POLICY_UPDATE,
+    POLICY_DELETE,
+
     // Password Reset
     PASSWORD_RESET_OTP_REQUEST,
     PASSWORD_RESET
@@ -0,0 +1,175 @@
+package com.example.iamsystem.catalog;
+
+import com.example.iamsystem.changes.ChangeFeed;
+import com.example.iamsystem.changes.ChangeLogRepository;
+import com.example.iamsystem.changes.model.ChangeDto;
+import com.example.iamsystem.enums.ChangeType;
+import com.example.iamsystem.exception.DataNotFoundException;
+import com.example.iamsystem.permission.PermissionRepository;
+import com.example.iamsystem.permission.model.PermissionMapper;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.role.model.RoleMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.iamsystem.constant.ErrorMessage.PERMISSION_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.ROLE_NOT_FOUND;
+
+/**
+ * Serves the role and permission catalog from a {@link CatalogSnapshot}, so repeated reads neither
+ * query nor serialize. The catalog version is the change log sequence of the last role or
+ * permission change, which every instance agrees on; {@code since} requests list what the change
+ * log recorded after a version.
+ * <p>
+ * The snapshot is rebuilt on the next read after the {@link ChangeFeed} reports a role or
+ * permission change, from this or another instance, and at least every
+ * {@code catalog.refresh-interval} to pick up changes made outside the services. Reads inside a
+ * transaction may see uncommitted changes, so their snapshot is built for them and not kept.
+ */
+@Component
+@Slf4j
+public class CatalogCache {
+
+    private static final Set<ChangeType> ROLE_CHANGES = EnumSet.of(ChangeType.ROLE_UPDATED, ChangeType.ROLE_DELETED);
+    private static final Set<ChangeType> PERMISSION_CHANGES = EnumSet.of(ChangeType.PERMISSION_UPDATED, ChangeType.PERMISSION_DELETED);
+    private static final Set<ChangeType> CATALOG_CHANGES = EnumSet.of(ChangeType.ROLE_UPDATED, ChangeType.ROLE_DELETED,
+            ChangeType.PERMISSION_UPDATED, ChangeType.PERMISSION_DELETED);
+    private static final RoleMapper roleMapper = Mappers.getMapper(RoleMapper.class);
+    private static final PermissionMapper permissionMapper = Mappers.getMapper(PermissionMapper.class);
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogCache(RoleRepository roleRepository,
+                        PermissionRepository permissionRepository,
+                        ChangeLogRepository changeLogRepository,
+                        ChangeFeed changeFeed,
+                        ObjectMapper objectMapper,
+                        TransactionTemplate transactionTemplate) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        changeFeed.addListener(this::changed);
+    }
+
+    public CatalogResource roles() {
+        return current().roles();
+    }
+
+    public CatalogResource role(Long id) {
+        return current().role(id).orElseThrow(() -> {
+            log.warn("Role not found with ID: {}", id);
+            return new DataNotFoundException(ROLE_NOT_FOUND);
+        });
+    }
+
+    public CatalogResource role(String name) {
+        return current().role(name).orElseThrow(() -> {
+            log.warn("Role not found with name: {}", name);
+            return new DataNotFoundException(ROLE_NOT_FOUND);
+        });
+    }
+
+    public CatalogResource permissions() {
+        return current().permissions();
+    }
+
+    public CatalogResource permission(Long id) {
+        return current().permission(id).orElseThrow(() -> {
+            log.warn("Permission not found with ID: {}", id);
+            return new DataNotFoundException(PERMISSION_NOT_FOUND);
+        });
+    }
+
+    public CatalogResource servicePermissions(String serviceName) {
+        return current().servicePermissions(serviceName);
+    }
+
+    /**
+     * The roles changed or deleted after catalog version {@code since}.
+     */
+    public CatalogResource roleChanges(long since) {
+        CatalogSnapshot current = current();
+        return current.roleChanges(changedIds(ROLE_CHANGES, since, current.version()));
+    }
+
+    public CatalogResource permissionChanges(long since) {
+        CatalogSnapshot current = current();
+        return current.permissionChanges(changedIds(PERMISSION_CHANGES, since, current.version()));
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval:PT1M}")
+    public void refresh() {
+        invalidate();
+    }
+
+    private void changed(List<ChangeDto> changes) {
+        if (changes.stream().anyMatch(change -> CATALOG_CHANGES.contains(change.type()))) {
+            invalidate();
+        }
+    }
+
+    /**
+     * The ids recorded after {@code since}, or {@code null} if some of those changes were pruned.
+     */
+    private List<Long> changedIds(Set<ChangeType> types, long since, long version) {
+        if (since < changeFeed.retainedAfter()) {
+            return null;
+        }
+        return since >= version ? List.of() : changeLogRepository.findChangedIds(types, since, version);
+    }
+
+    private CatalogSnapshot current() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return build(generation.get());
+        }
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current;
+        }
+        synchronized (this) {
+            long wanted = generation.get();
+            current = snapshot;
+            if (current == null || current.generation() != wanted) {
+                current = readOnlyTransaction.execute(status -> build(wanted));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private CatalogSnapshot build(long generation) {
+        Long last = changeLogRepository.findLastSequence(CATALOG_CHANGES, changeFeed.sequence());
+        long version = last == null ? 0 : last;
+        CatalogSnapshot built = new CatalogSnapshot(generation, version,
+                roleMapper.toDto(roleRepository.findAll()),
+                permissionMapper.toDto(permissionRepository.findAll()),
+                objectMapper);
+        log.debug("Catalog snapshot built at version {}", version);
+        return built;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.iamsystem.catalog;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * A serialized catalog response with its strong ETag, a hash of the body, and the catalog version
+ * it was taken at.
+ */
+public record CatalogResource(long version, String etag, byte[] body) {
+
+    public static final String VERSION_HEADER = "X-Catalog-Version";
+
+    /**
+     * The body with its ETag, or {@code null} once {@code 304 Not Modified} has been set because the
+     * request's {@code If-None-Match} already names it.
+     */
+    public ResponseEntity<byte[]> toResponse(WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .header(VERSION_HEADER, Long.toString(version))
+                .body(body);
+    }
+}
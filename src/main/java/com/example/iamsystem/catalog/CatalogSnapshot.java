@@ -0,0 +1,155 @@
+package com.example.iamsystem.catalog;
+
+import com.example.iamsystem.catalog.model.CatalogDeltaDto;
+import com.example.iamsystem.permission.model.PermissionDto;
+import com.example.iamsystem.role.model.RoleDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Roles and permissions as of one catalog version, serialized once: the full lists, every entry and
+ * the permissions of every service. Entries are ordered by id and permission ids within a role are
+ * sorted, so the same catalog always serializes, and hashes, to the same bytes.
+ * <p>
+ * Never modified once built; the DTOs it holds are not handed out.
+ */
+final class CatalogSnapshot {
+
+    private final long generation;
+    private final long version;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, RoleDto> roles;
+    private final Map<Long, PermissionDto> permissions;
+    private final CatalogResource allRoles;
+    private final CatalogResource allPermissions;
+    private final Map<Long, CatalogResource> roleResources;
+    private final Map<String, Long> roleIdsByName;
+    private final Map<Long, CatalogResource> permissionResources;
+    private final Map<String, CatalogResource> servicePermissions;
+    private final CatalogResource noPermissions;
+
+    CatalogSnapshot(long generation, long version, Collection<RoleDto> roles, Collection<PermissionDto> permissions,
+                    ObjectMapper objectMapper) {
+        this.generation = generation;
+        this.version = version;
+        this.objectMapper = objectMapper;
+        List<RoleDto> sortedRoles = roles.stream().sorted(Comparator.comparing(RoleDto::getId)).toList();
+        sortedRoles.forEach(role -> role.setPermissionIds(new TreeSet<>(role.getPermissionIds())));
+        List<PermissionDto> sortedPermissions = permissions.stream().sorted(Comparator.comparing(PermissionDto::getId)).toList();
+
+        this.roles = byId(sortedRoles, RoleDto::getId);
+        this.permissions = byId(sortedPermissions, PermissionDto::getId);
+        this.allRoles = resource(sortedRoles);
+        this.allPermissions = resource(sortedPermissions);
+        Map<Long, CatalogResource> roleResources = new HashMap<>();
+        Map<String, Long> roleIdsByName = new HashMap<>();
+        for (RoleDto role : sortedRoles) {
+            roleResources.put(role.getId(), resource(role));
+            roleIdsByName.put(role.getName(), role.getId());
+        }
+        Map<Long, CatalogResource> permissionResources = new HashMap<>();
+        Map<String, List<PermissionDto>> byService = new HashMap<>();
+        for (PermissionDto permission : sortedPermissions) {
+            permissionResources.put(permission.getId(), resource(permission));
+            byService.computeIfAbsent(permission.getServiceName(), name -> new ArrayList<>()).add(permission);
+        }
+        Map<String, CatalogResource> servicePermissions = new HashMap<>();
+        byService.forEach((service, list) -> servicePermissions.put(service, resource(list)));
+        this.roleResources = Map.copyOf(roleResources);
+        this.roleIdsByName = Map.copyOf(roleIdsByName);
+        this.permissionResources = Map.copyOf(permissionResources);
+        this.servicePermissions = Map.copyOf(servicePermissions);
+        this.noPermissions = resource(List.of());
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    long version() {
+        return version;
+    }
+
+    CatalogResource roles() {
+        return allRoles;
+    }
+
+    Optional<CatalogResource> role(Long id) {
+        return Optional.ofNullable(roleResources.get(id));
+    }
+
+    Optional<CatalogResource> role(String name) {
+        Long id = roleIdsByName.get(name);
+        return id == null ? Optional.empty() : role(id);
+    }
+
+    CatalogResource permissions() {
+        return allPermissions;
+    }
+
+    Optional<CatalogResource> permission(Long id) {
+        return Optional.ofNullable(permissionResources.get(id));
+    }
+
+    CatalogResource servicePermissions(String serviceName) {
+        return servicePermissions.getOrDefault(serviceName, noPermissions);
+    }
+
+    /**
+     * The roles among {@code changedIds} as they are now, and those no longer present as deleted;
+     * every role if {@code changedIds} is {@code null}.
+     */
+    CatalogResource roleChanges(Collection<Long> changedIds) {
+        return resource(delta(roles, changedIds));
+    }
+
+    CatalogResource permissionChanges(Collection<Long> changedIds) {
+        return resource(delta(permissions, changedIds));
+    }
+
+    private <T> CatalogDeltaDto<T> delta(Map<Long, T> entries, Collection<Long> changedIds) {
+        if (changedIds == null) {
+            return new CatalogDeltaDto<>(version, true, List.copyOf(entries.values()), List.of());
+        }
+        List<T> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Long id : new TreeSet<>(changedIds)) {
+            T entry = entries.get(id);
+            if (entry != null) {
+                changed.add(entry);
+            } else {
+                deleted.add(id);
+            }
+        }
+        return new CatalogDeltaDto<>(version, false, changed, deleted);
+    }
+
+    private CatalogResource resource(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new CatalogResource(version, DigestUtils.md5DigestAsHex(body), body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entries, Function<T, Long> id) {
+        Map<Long, T> byId = new LinkedHashMap<>();
+        entries.forEach(entry -> byId.put(id.apply(entry), entry));
+        return Collections.unmodifiableMap(byId);
+    }
+}
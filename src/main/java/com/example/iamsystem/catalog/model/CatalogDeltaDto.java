@@ -0,0 +1,11 @@
+package com.example.iamsystem.catalog.model;
+
+import java.util.List;
+
+/**
+ * The entries changed after a catalog version, and the ids of those deleted since. {@code version}
+ * is passed as {@code since} on the next request. {@code reset} means changes after the requested
+ * version are no longer known, so {@code changed} holds every entry and the client replaces its copy.
+ */
+public record CatalogDeltaDto<T>(long version, boolean reset, List<T> changed, List<Long> deleted) {
+}
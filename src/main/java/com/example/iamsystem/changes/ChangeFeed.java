@@ -0,0 +1,409 @@
+package com.example.iamsystem.changes;
+
+import com.example.iamsystem.changes.model.ChangeDto;
+import com.example.iamsystem.changes.model.ChangeLogEntry;
+import com.example.iamsystem.changes.model.ChangePageDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Serves the {@code change_log} to clients that cache authorization data, as long-poll pages and as
+ * Server-Sent Events whose ids are sequence numbers, so a client resumes from the last sequence it
+ * saw. Only sequences up to the {@link Watermark} are served, so a change committed late is never
+ * skipped by a client that already moved past it. A change committed after its sequence was given
+ * up on is found by re-reading the skipped sequences every {@code change-feed.poll-interval}, and is
+ * logged again under a new sequence.
+ * <p>
+ * A single dispatcher thread reads new entries, one page of {@code change-feed.batch-size} at a
+ * time, when a local transaction commits a change and every {@code change-feed.poll-interval} for
+ * changes made on other instances, then completes waiting polls and hands new changes to streams.
+ * Each stream is caught up and sent to on its own thread, so a slow client only delays itself; one
+ * that falls more than {@code change-feed.stream-backlog} changes behind is disconnected and resumes
+ * from its last event id. Entries older than {@code change-feed.retention} are pruned; a client
+ * resuming from a pruned sequence is told to reset instead.
+ */
+@Component
+@Slf4j
+public class ChangeFeed {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration maxWait;
+    private final Duration streamTimeout;
+    private final Duration gapTimeout;
+    private final Duration lateCommitTimeout;
+    private final Duration retention;
+    private final int streamBacklog;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("change-feed").daemon().factory());
+    private final AtomicBoolean woken = new AtomicBoolean();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<List<ChangeDto>>> listeners = new CopyOnWriteArrayList<>();
+    private Watermark watermark;
+    private volatile long confirmed = -1;
+    private volatile long retainedAfter;
+
+    public ChangeFeed(ChangeLogRepository changeLogRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${change-feed.batch-size:500}") int batchSize,
+                      @Value("${change-feed.max-wait:PT30S}") Duration maxWait,
+                      @Value("${change-feed.stream-timeout:PT30M}") Duration streamTimeout,
+                      @Value("${change-feed.gap-timeout:PT10S}") Duration gapTimeout,
+                      @Value("${change-feed.late-commit-timeout:PT1H}") Duration lateCommitTimeout,
+                      @Value("${change-feed.retention:P7D}") Duration retention,
+                      @Value("${change-feed.stream-backlog:10000}") int streamBacklog) {
+        this.changeLogRepository = changeLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+        this.streamTimeout = streamTimeout;
+        this.gapTimeout = gapTimeout;
+        this.lateCommitTimeout = lateCommitTimeout;
+        this.retention = retention;
+        this.streamBacklog = streamBacklog;
+    }
+
+    /**
+     * The changes after {@code after}, or after the current sequence if {@code null}. When there are
+     * none yet, the result completes as soon as one is committed, or empty after {@code timeout}.
+     */
+    public DeferredResult<ChangePageDto> poll(Long after, int limit, Duration timeout) {
+        long from = after == null ? sequence() : after;
+        int size = Math.max(1, Math.min(limit, batchSize));
+        Duration wait = timeout.isNegative() ? Duration.ZERO : timeout.compareTo(maxWait) > 0 ? maxWait : timeout;
+        DeferredResult<ChangePageDto> result = new DeferredResult<>(wait.toMillis(),
+                () -> new ChangePageDto(List.of(), from, false));
+        ChangePageDto page = page(from, size);
+        if (!page.changes().isEmpty() || page.reset() || wait.isZero()) {
+            result.setResult(page);
+            return result;
+        }
+        Waiter waiter = new Waiter(from, size, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        if (sequence() > from) {
+            // committed between reading the page and registering
+            result.setResult(page(from, size));
+        }
+        return result;
+    }
+
+    /**
+     * Streams the changes after {@code after}, or after the current sequence if {@code null}: first
+     * those already committed, then each one as it is committed.
+     */
+    public SseEmitter subscribe(Long after) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after == null ? sequence() : after);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> close(subscriber));
+        subscriber.sender.execute(() -> catchUp(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Calls {@code listener} on the dispatcher thread with every page of newly confirmed changes.
+     */
+    public void addListener(Consumer<List<ChangeDto>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Makes the dispatcher read new entries; wake-ups while a read is pending are coalesced.
+     */
+    public void wake() {
+        if (woken.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::dispatch);
+            } catch (RejectedExecutionException e) {
+                woken.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${change-feed.poll-interval:PT1S}")
+    public void refresh() {
+        wake();
+        try {
+            dispatcher.execute(this::recover);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${change-feed.prune-interval:PT1H}")
+    public void prune() {
+        try {
+            int pruned = changeLogRepository.deleteCreatedBefore(Instant.now().minus(retention));
+            retainedAfter = retainedAfter(sequence());
+            if (pruned > 0) {
+                log.info("Pruned {} change log entries older than {}", pruned, retention);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Change log not pruned, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            subscriber.sender.shutdownNow();
+            subscriber.emitter.complete();
+        });
+    }
+
+    /**
+     * The highest confirmed sequence; every change up to it can be served.
+     */
+    public long sequence() {
+        long current = confirmed;
+        return current >= 0 ? current : watermark().confirmed();
+    }
+
+    /**
+     * The sequence before the oldest retained change; changes up to it may have been pruned.
+     */
+    public long retainedAfter() {
+        sequence();
+        return retainedAfter;
+    }
+
+    private synchronized Watermark watermark() {
+        if (watermark == null) {
+            Long last = changeLogRepository.findLastSequence();
+            Watermark initial = new Watermark(last == null ? 0 : last, gapTimeout, lateCommitTimeout);
+            retainedAfter = retainedAfter(initial.confirmed());
+            watermark = initial;
+            confirmed = initial.confirmed();
+        }
+        return watermark;
+    }
+
+    private long retainedAfter(long current) {
+        Long first = changeLogRepository.findFirstSequence();
+        return first == null ? current : first - 1;
+    }
+
+    private ChangePageDto page(long after, int size) {
+        long upTo = sequence();
+        if (after < retainedAfter) {
+            return new ChangePageDto(List.of(), upTo, true);
+        }
+        if (after >= upTo) {
+            // ahead of this instance, which has not confirmed the client's last change yet
+            return new ChangePageDto(List.of(), after, false);
+        }
+        List<ChangeDto> changes = changeLogRepository
+                .findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(after, upTo, PageRequest.ofSize(size)).stream()
+                .map(ChangeDto::of)
+                .toList();
+        long last = changes.size() < size ? upTo : changes.get(changes.size() - 1).sequence();
+        return new ChangePageDto(changes, last, false);
+    }
+
+    private void dispatch() {
+        woken.set(false);
+        try {
+            Watermark current = watermark();
+            long previous = current.confirmed();
+            List<ChangeLogEntry> entries = changeLogRepository.findByIdGreaterThanOrderByIdAsc(previous,
+                    PageRequest.ofSize(batchSize));
+            int accepted = current.advance(entries.stream().map(ChangeLogEntry::getId).toList(), Instant.now());
+            if (accepted == 0) {
+                return;
+            }
+            confirmed = current.confirmed();
+            List<ChangeDto> changes = entries.subList(0, accepted).stream().map(ChangeDto::of).toList();
+            complete(previous, changes);
+            publish(changes);
+            listeners.forEach(listener -> listener.accept(changes));
+            if (accepted == batchSize) {
+                wake();
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Change feed not dispatched, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Logs again, under new sequences, the changes that were committed into a skipped gap. Each is
+     * moved by deleting the original first, so when several instances find it only one logs it.
+     */
+    private void recover() {
+        try {
+            int recovered = 0;
+            for (Watermark.Gap gap : watermark().skipped(Instant.now())) {
+                List<ChangeLogEntry> late = changeLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        gap.from() - 1, gap.to(), PageRequest.ofSize(batchSize));
+                for (ChangeLogEntry entry : late) {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> relog(entry)))) {
+                        recovered++;
+                    }
+                }
+            }
+            if (recovered > 0) {
+                log.info("Logged again {} changes committed after their sequence was skipped", recovered);
+                wake();
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Late changes not recovered, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    private boolean relog(ChangeLogEntry entry) {
+        if (changeLogRepository.deleteEntry(entry.getId()) == 0) {
+            return false;
+        }
+        changeLogRepository.save(new ChangeLogEntry(entry.getType(), entry.getEntityId(), Instant.now()));
+        return true;
+    }
+
+    private void complete(long previous, List<ChangeDto> changes) {
+        for (Waiter waiter : waiters) {
+            if (waiter.after >= confirmed || !waiters.remove(waiter)) {
+                continue;
+            }
+            if (waiter.after == previous) {
+                List<ChangeDto> page = changes.subList(0, Math.min(waiter.size, changes.size()));
+                long last = page.size() < changes.size() ? page.get(page.size() - 1).sequence() : confirmed;
+                waiter.result.setResult(new ChangePageDto(page, last, false));
+            } else {
+                waiter.result.setResult(page(waiter.after, waiter.size));
+            }
+        }
+    }
+
+    private void publish(List<ChangeDto> changes) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.backlog.addAndGet(changes.size()) > streamBacklog) {
+                log.info("Disconnecting change stream more than {} changes behind", streamBacklog);
+                close(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            try {
+                subscriber.sender.execute(() -> {
+                    try {
+                        send(subscriber, changes);
+                    } finally {
+                        subscriber.backlog.addAndGet(-changes.size());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // closed meanwhile
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Runs on the subscriber's sender. Changes published before the subscriber is added are read
+     * from the log by the second pass; those published after are queued behind it, and either way
+     * a change already sent is skipped by its sequence.
+     */
+    private void catchUp(Subscriber subscriber) {
+        try {
+            if (!sendPages(subscriber)) {
+                return;
+            }
+            subscribers.add(subscriber);
+            sendPages(subscriber);
+        } catch (IOException e) {
+            subscriber.emitter.completeWithError(e);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Change stream not started, database unavailable: {}", e.getMessage());
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private boolean sendPages(Subscriber subscriber) throws IOException {
+        ChangePageDto page;
+        do {
+            page = page(subscriber.cursor, batchSize);
+            if (page.reset()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(page.lastSequence()))
+                        .name("reset")
+                        .data(page.lastSequence()));
+                subscriber.cursor = page.lastSequence();
+            }
+            if (!send(subscriber, page.changes())) {
+                return false;
+            }
+            subscriber.cursor = Math.max(subscriber.cursor, page.lastSequence());
+        } while (page.changes().size() == batchSize);
+        return true;
+    }
+
+    private boolean send(Subscriber subscriber, List<ChangeDto> changes) {
+        for (ChangeDto change : changes) {
+            if (change.sequence() > subscriber.cursor && !send(subscriber, change)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean send(Subscriber subscriber, ChangeDto change) {
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(Long.toString(change.sequence()))
+                    .name("change")
+                    .data(change));
+            subscriber.cursor = change.sequence();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.sender.shutdown();
+    }
+
+    private record Waiter(long after, int size, DeferredResult<ChangePageDto> result) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ExecutorService sender = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("change-stream").factory());
+        private final AtomicInteger backlog = new AtomicInteger();
+        private long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
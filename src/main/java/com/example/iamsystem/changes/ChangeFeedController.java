@@ -0,0 +1,52 @@
+package com.example.iamsystem.changes;
+
+import com.example.iamsystem.changes.model.ChangePageDto;
+import com.example.iamsystem.util.authorization.RequirePermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static com.example.iamsystem.permission.model.PermissionAction.READ;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Slf4j
+public class ChangeFeedController {
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ChangeFeed changeFeed;
+
+    @GetMapping
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Long-poll the role, permission and user changes after a sequence number (Requires: IAM:READ)")
+    public DeferredResult<ChangePageDto> changes(@RequestParam(required = false) Long after,
+                                                 @RequestParam(defaultValue = "100") int limit,
+                                                 @RequestParam(defaultValue = "PT30S") Duration timeout) {
+        log.debug("Received request for changes after sequence: {}", after);
+        return changeFeed.poll(after, limit, timeout);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Stream role, permission and user changes as Server-Sent Events (Requires: IAM:READ)")
+    public SseEmitter stream(@RequestParam(required = false) Long after,
+                             @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        Long from = lastEventId != null ? lastEventId : after;
+        log.info("Opening change stream after sequence: {}", from);
+        return changeFeed.subscribe(from);
+    }
+}
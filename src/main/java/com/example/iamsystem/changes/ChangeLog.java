@@ -0,0 +1,84 @@
+package com.example.iamsystem.changes;
+
+import com.example.iamsystem.changes.model.ChangeLogEntry;
+import com.example.iamsystem.enums.ChangeType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records changes to users, roles and permissions in {@code change_log}, in the transaction making
+ * them, so an entry exists exactly when its change was committed. The {@link ChangeFeed} is woken
+ * once the transaction commits.
+ */
+@Component
+@Transactional
+public class ChangeLog {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeFeed changeFeed;
+
+    public ChangeLog(ChangeLogRepository changeLogRepository, ChangeFeed changeFeed) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Records that the users' roles or versions changed; ids of users that no longer exist are skipped.
+     */
+    public void usersChanged(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            changeLogRepository.insertUserChanges(ChangeType.USER_UPDATED.name(), List.copyOf(userIds), Instant.now());
+            wakeAfterCommit();
+        }
+    }
+
+    public void userDeleted(Long userId) {
+        record(ChangeType.USER_DELETED, userId);
+    }
+
+    /**
+     * Records that the roles' effective permissions changed.
+     */
+    public void rolesChanged(Collection<Long> roleIds) {
+        if (!roleIds.isEmpty()) {
+            changeLogRepository.insertRoleChanges(ChangeType.ROLE_UPDATED.name(), List.copyOf(roleIds), Instant.now());
+            wakeAfterCommit();
+        }
+    }
+
+    public void roleDeleted(Long roleId) {
+        record(ChangeType.ROLE_DELETED, roleId);
+    }
+
+    public void permissionChanged(Long permissionId) {
+        record(ChangeType.PERMISSION_UPDATED, permissionId);
+    }
+
+    public void permissionDeleted(Long permissionId) {
+        record(ChangeType.PERMISSION_DELETED, permissionId);
+    }
+
+    private void record(ChangeType type, Long entityId) {
+        changeLogRepository.save(new ChangeLogEntry(type, entityId, Instant.now()));
+        wakeAfterCommit();
+    }
+
+    private void wakeAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeFeed.wake();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeFeed.wake();
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.iamsystem.changes;
+
+import com.example.iamsystem.changes.model.ChangeLogEntry;
+import com.example.iamsystem.enums.ChangeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByIdGreaterThanOrderByIdAsc(long after, Pageable pageable);
+
+    List<ChangeLogEntry> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(long after, long upTo, Pageable pageable);
+
+    @Query("SELECT MIN(e.id) FROM ChangeLogEntry e")
+    Long findFirstSequence();
+
+    @Query("SELECT MAX(e.id) FROM ChangeLogEntry e")
+    Long findLastSequence();
+
+    @Query("SELECT MAX(e.id) FROM ChangeLogEntry e WHERE e.type IN :types AND e.id <= :upTo")
+    Long findLastSequence(@Param("types") Collection<ChangeType> types, @Param("upTo") long upTo);
+
+    @Query("SELECT DISTINCT e.entityId FROM ChangeLogEntry e WHERE e.type IN :types AND e.id > :after AND e.id <= :upTo")
+    List<Long> findChangedIds(@Param("types") Collection<ChangeType> types, @Param("after") long after, @Param("upTo") long upTo);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (change_type, entity_id, created_at) " +
+            "SELECT :type, u.id, :now FROM users u WHERE u.id IN :ids", nativeQuery = true)
+    int insertUserChanges(@Param("type") String type, @Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (change_type, entity_id, created_at) " +
+            "SELECT :type, r.id, :now FROM roles r WHERE r.id IN :ids", nativeQuery = true)
+    int insertRoleChanges(@Param("type") String type, @Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry e WHERE e.id = :id")
+    int deleteEntry(@Param("id") long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChangeLogEntry e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,74 @@
+package com.example.iamsystem.changes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The highest sequence up to which the change log is known to be complete. Sequences are assigned
+ * when a change is written but become visible when its transaction commits, so a transaction that
+ * commits late leaves a temporary gap; entries past a gap are held back until it fills. A gap
+ * still open after {@code gapTimeout} is skipped, but kept as a {@link Gap} for
+ * {@code lateCommitTimeout} so a change committed even later can still be found and logged again;
+ * a gap left by a rolled back transaction simply expires.
+ * <p>
+ * Not thread-safe; only the {@link ChangeFeed} dispatcher uses it.
+ */
+final class Watermark {
+
+    /**
+     * Sequences {@code from} to {@code to} skipped at {@code skippedAt}.
+     */
+    record Gap(long from, long to, Instant skippedAt) {
+    }
+
+    private final Duration gapTimeout;
+    private final Duration lateCommitTimeout;
+    private final List<Gap> skipped = new ArrayList<>();
+    private long confirmed;
+    private long gapAt = -1;
+    private Instant gapSince;
+
+    Watermark(long confirmed, Duration gapTimeout, Duration lateCommitTimeout) {
+        this.confirmed = confirmed;
+        this.gapTimeout = gapTimeout;
+        this.lateCommitTimeout = lateCommitTimeout;
+    }
+
+    long confirmed() {
+        return confirmed;
+    }
+
+    /**
+     * Advances over the leading sequences of {@code sequences}, which are ascending and all above
+     * {@link #confirmed()}, and returns how many of them are now confirmed.
+     */
+    int advance(List<Long> sequences, Instant now) {
+        int accepted = 0;
+        for (long sequence : sequences) {
+            long expected = confirmed + 1;
+            if (sequence != expected) {
+                if (gapAt != expected) {
+                    gapAt = expected;
+                    gapSince = now;
+                }
+                if (Duration.between(gapSince, now).compareTo(gapTimeout) < 0) {
+                    break;
+                }
+                skipped.add(new Gap(expected, sequence - 1, now));
+            }
+            confirmed = sequence;
+            accepted++;
+        }
+        return accepted;
+    }
+
+    /**
+     * The skipped gaps to re-read, dropping those skipped more than {@code lateCommitTimeout} ago.
+     */
+    List<Gap> skipped(Instant now) {
+        skipped.removeIf(gap -> Duration.between(gap.skippedAt(), now).compareTo(lateCommitTimeout) >= 0);
+        return List.copyOf(skipped);
+    }
+}
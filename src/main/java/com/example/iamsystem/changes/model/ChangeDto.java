@@ -0,0 +1,12 @@
+package com.example.iamsystem.changes.model;
+
+import com.example.iamsystem.enums.ChangeType;
+
+import java.time.Instant;
+
+public record ChangeDto(long sequence, ChangeType type, Long entityId, Instant createdAt) {
+
+    public static ChangeDto of(ChangeLogEntry entry) {
+        return new ChangeDto(entry.getId(), entry.getType(), entry.getEntityId(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.iamsystem.changes.model;
+
+import java.util.List;
+
+/**
+ * Changes after the requested sequence, in order. {@code lastSequence} is passed as {@code after}
+ * to get the next page. {@code reset} means changes the client asked for have already been pruned,
+ * so it should drop everything it cached and continue from {@code lastSequence}.
+ */
+public record ChangePageDto(List<ChangeDto> changes, long lastSequence, boolean reset) {
+}
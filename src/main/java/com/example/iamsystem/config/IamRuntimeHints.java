@@ -0,0 +1,82 @@
+package com.example.iamsystem.config;
+
+import com.example.iamsystem.acl.model.ResourceAclGrantDto;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.group.model.GroupDto;
+import com.example.iamsystem.group.model.GroupMemberDto;
+import com.example.iamsystem.group.model.GroupRoleDto;
+import com.example.iamsystem.permission.model.PermissionDto;
+import com.example.iamsystem.policy.model.AccessPolicyDto;
+import com.example.iamsystem.policy.model.PolicyExplainRequest;
+import com.example.iamsystem.review.model.AccessMatrixJobDto;
+import com.example.iamsystem.review.model.HolderDto;
+import com.example.iamsystem.role.model.RoleDto;
+import com.example.iamsystem.role.model.RoleParentDto;
+import com.example.iamsystem.role.model.RoleRow;
+import com.example.iamsystem.security.snapshot.SnapshotLink;
+import com.example.iamsystem.security.snapshot.SnapshotUserRow;
+import com.example.iamsystem.user.lifecycle.UserLifecycleCandidate;
+import com.example.iamsystem.user.model.dto.TimedRoleAssignmentDto;
+import com.example.iamsystem.user.model.dto.UserDto;
+import com.example.iamsystem.user.model.dto.UserRegistrationDto;
+import com.example.iamsystem.user.model.dto.UserRoleAttachmentDto;
+import com.example.iamsystem.user.search.UserSearchRow;
+import com.example.iamsystem.user.util.UserExistenceListener;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reflection the application needs in a native image that AOT processing cannot see: jjwt loads
+ * its implementation by class name, the audit and rate limit aspects evaluate SpEL against DTOs,
+ * and Hibernate instantiates JPQL constructor expressions reflectively.
+ */
+public class IamRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        for (Class<?> type : List.of(UserDto.class, UserRegistrationDto.class, UserRoleAttachmentDto.class,
+                TimedRoleAssignmentDto.class, RoleDto.class, RoleParentDto.class, GroupDto.class, GroupMemberDto.class, GroupRoleDto.class,
+                PermissionDto.class, AccessPolicyDto.class, PolicyExplainRequest.class,
+                ResourceAclGrantDto.class, AclPrincipalType.class, AccessMatrixJobDto.class, Map.class)) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> type : List.of(UserLifecycleCandidate.class, SnapshotUserRow.class, SnapshotLink.class,
+                HolderDto.class, RoleRow.class, UserSearchRow.class)) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        hints.reflection().registerType(UserExistenceListener.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +25,15 @@ public class MailConfig {
     @Value("${spring.mail.password}")
     private String password;
 
+    @Value("${mail.smtp.starttls:true}")
+    private boolean startTls;
+
+    @Value("${mail.smtp.timeout:PT10S}")
+    private Duration timeout;
+
+    @Value("${mail.debug:false}")
+    private boolean debug;
+
     @Bean
     public JavaMailSender javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
@@ -33,11 +43,15 @@ public class MailConfig {
         mailSender.setUsername(username);
         mailSender.setPassword(password);
 
+        String timeoutMillis = String.valueOf(timeout.toMillis());
         Properties props = mailSender.getJavaMailProperties();
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        props.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        props.put("mail.smtp.connectiontimeout", timeoutMillis);
+        props.put("mail.smtp.timeout", timeoutMillis);
+        props.put("mail.smtp.writetimeout", timeoutMillis);
+        props.put("mail.debug", String.valueOf(debug));
 
         return mailSender;
     }
@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 public class ErrorMessage {
     public static final String USERNAME_REQUIRED = "Username is required";
     public static final String USER_NOT_FOUND = "User not found";
+    public static final String USERNAME_NOT_AVAILABLE = "Username not available";
+    public static final String EMAIL_NOT_AVAILABLE = "Email not available";
     public static final String USER_NOT_LOGGED_IN = "No logged in user found";
     public static final String PASSWORD_REQUIRED = "Password is required";
     public static final String PASSWORD_LENGTH = "Password should be between 6 to 15 characters";
@@ -17,16 +19,48 @@ public class ErrorMessage {
     public static final String PERMISSION_NOT_FOUND = "Permission not found";
     public static final String PERMISSION_EXISTS = "Permission already exists";
     public static final String SERVICE_NAME_REQUIRED = "Service name cannot be null or blank";
+    public static final String INVALID_SERVICE_NAME = "Service name must be '*' or dot-separated segments of letters, digits, '_' or '-', optionally ending in '.*'";
     public static final String ACTION_NAME_REQUIRED = "Action cannot be null or blank";
+    public static final String INVALID_ACTION = "Invalid action";
+    public static final String INVALID_PERMISSION_NAME = "Permission must be a concrete SERVICE:ACTION name";
     public static final String PERMISSION_LIST_REQUIRED = "Permission list cannot be null";
     public static final String PERMISSION_LIST_NOT_EMPTY = "Permission list cannot be empty";
     public static final String ROLE_LIST_REQUIRED = "Role list cannot be null";
     public static final String ROLE_LIST_NOT_EMPTY = "Role list cannot be empty";
+    public static final String VALID_UNTIL_REQUIRED = "End of the validity period cannot be null";
+    public static final String VALID_UNTIL_IN_PAST = "End of the validity period must be in the future";
+    public static final String INVALID_VALIDITY_PERIOD = "Start of the validity period must be before its end";
+    public static final String ROLE_ALREADY_ASSIGNED = "Role is already assigned permanently; remove it before assigning it for a limited time";
     public static final String ROLE_NAME_REQUIRED = "Role name cannot be null or blank";
+    public static final String GROUP_NOT_FOUND = "Group not found";
+    public static final String GROUP_REQUIRED = "Group cannot be null";
+    public static final String GROUP_NAME_REQUIRED = "Group name cannot be null or blank";
+    public static final String USER_LIST_REQUIRED = "User list cannot be null";
+    public static final String USER_LIST_NOT_EMPTY = "User list cannot be empty";
+    public static final String ROLE_HIERARCHY_CYCLE = "A role cannot inherit from itself or from a role that inherits from it";
+    public static final String APPLICATION_NOT_FOUND = "Application not found";
+    public static final String ORGANIZATION_NOT_FOUND = "Organization not found";
+    public static final String ACCESS_MATRIX_JOB_NOT_FOUND = "Access matrix job not found";
+    public static final String ACCESS_MATRIX_NOT_READY = "Access matrix has not been written yet";
+    public static final String ACCESS_MATRIX_IN_PROGRESS = "An access matrix of this organization is already being exported";
+    public static final String RESOURCE_TYPE_REQUIRED = "Resource type cannot be null or blank";
+    public static final String RESOURCE_TYPE_TOO_LONG = "Resource type cannot be longer than 64 characters";
+    public static final String RESOURCE_LIST_REQUIRED = "Resource list cannot be null";
+    public static final String RESOURCE_LIST_NOT_EMPTY = "Resource list cannot be empty";
+    public static final String RESOURCE_ID_OUT_OF_RANGE = "Resource ids must be between 0 and 4294967295";
+    public static final String PRINCIPAL_TYPE_REQUIRED = "Principal type cannot be null";
+    public static final String PRINCIPAL_REQUIRED = "Principal cannot be null";
+    public static final String POLICY_NOT_FOUND = "Access policy not found";
+    public static final String POLICY_NAME_REQUIRED = "Policy name cannot be null or blank";
+    public static final String POLICY_SOURCE_REQUIRED = "Policy source cannot be null or blank";
+    public static final String POLICY_SOURCE_TOO_LONG = "Policy source cannot be longer than 8192 characters";
     public static final String TOKEN_REQUIRED = "Token cannot be null or blank";
+    public static final String SEARCH_QUERY_REQUIRED = "Search query cannot be null or blank";
+    public static final String SEARCH_QUERY_TOO_LONG = "Search query cannot be longer than 128 characters";
     public static final String NO_PERMISSION = "Do not have permission to perform this operation";
     public static final String PASSWORD_POLICY_VIOLATION = "Password must be at least 8 characters long and contain at least one uppercase letter, one lowercase letter, one number, and one special character.";
     public static final String ACCOUNT_LOCKED = "Account is locked. Please try again later.";
     public static final String INVALID_OLD_PASSWORD = "Invalid old password";
+    public static final String TOO_MANY_REQUESTS = "Too many requests. Please try again later.";
 }
 
@@ -0,0 +1,14 @@
+package com.example.iamsystem.constant;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserLifecycleConstants {
+
+    // Email Subjects
+    public static final String PASSWORD_EXPIRY_NOTICE_SUBJECT = "Your password is about to expire";
+
+    // Email Bodies
+    public static final String PASSWORD_EXPIRY_NOTICE_BODY = "Your password expires on %s. Please change it before then to keep access to your account.";
+}
@@ -0,0 +1,27 @@
+package com.example.iamsystem.dataset;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("dataset")
+@ConfigurationProperties(prefix = "dataset.generator")
+@Getter
+@Setter
+public class DatasetGeneratorProperties {
+    private long seed = 42L;
+    private int organizations = 10;
+    private int usersPerOrganization = 10_000;
+    private int treeDepth = 8;
+    private int applicationsPerOrganization = 5;
+    private int services = 250;
+    private int rolesPerOrganization = 100;
+    private int rolesPerUser = 3;
+    private int permissionFanOut = 200;
+    private double permissionSkew = 3.0; // Higher values concentrate most roles on few permissions
+    private int batchSize = 1_000;
+    private String password = "Password123!";
+}
@@ -0,0 +1,243 @@
+package com.example.iamsystem.dataset;
+
+import com.example.iamsystem.permission.model.PermissionAction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+@Component
+@Profile("dataset")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDatasetGenerator {
+
+    private static final String INSERT_ORGANIZATION =
+            "INSERT INTO organizations (id, name, status, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_SERVICE =
+            "INSERT INTO services (id, service_name, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_PERMISSION =
+            "INSERT INTO permissions (id, service_name, action, description, service_id, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_APPLICATION =
+            "INSERT INTO applications (id, application_name, organization_id, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ROLE =
+            "INSERT INTO roles (id, name, description, is_global, organization_id, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ROLE_PERMISSION =
+            "INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)";
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, username, password, full_name, email, is_root_user, is_super_user, active, " +
+                    "password_expired, password_expiry_date, user_locked, failed_login_attempts, organization_id, " +
+                    "created_by, created_at, version) VALUES (?, ?, ?, ?, ?, ?, false, true, false, ?, false, 0, ?, ?, ?, 0)";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String ACTIVE = "ACTIVE";
+    private static final String EMAIL_DOMAIN = "@synthetic.example.com";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DatasetGeneratorProperties properties;
+
+    public DatasetSummary generate() {
+        log.info("Generating synthetic dataset with seed {}: {} organizations x {} users, tree depth {}, {} roles per organization",
+                properties.getSeed(), properties.getOrganizations(), properties.getUsersPerOrganization(),
+                properties.getTreeDepth(), properties.getRolesPerOrganization());
+        Instant start = Instant.now();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        Timestamp now = Timestamp.from(start);
+        Timestamp passwordExpiry = Timestamp.from(start.plus(365, ChronoUnit.DAYS));
+        // BCrypt is deliberately slow, so every generated user shares one hash
+        String encodedPassword = passwordEncoder.encode(properties.getPassword());
+
+        long[] permissionIds = insertPermissionCatalog(now);
+
+        long organizationId = nextId("organizations");
+        long applicationId = nextId("applications");
+        long roleId = nextId("roles");
+        long userId = nextId("users");
+        long rolePermissionCount = 0;
+        long userRoleCount = 0;
+
+        BatchWriter organizations = new BatchWriter(INSERT_ORGANIZATION);
+        BatchWriter applications = new BatchWriter(INSERT_APPLICATION);
+        BatchWriter roles = new BatchWriter(INSERT_ROLE);
+        BatchWriter rolePermissions = new BatchWriter(INSERT_ROLE_PERMISSION);
+        BatchWriter users = new BatchWriter(INSERT_USER);
+        BatchWriter userRoles = new BatchWriter(INSERT_USER_ROLE);
+
+        for (int org = 0; org < properties.getOrganizations(); org++, organizationId++) {
+            organizations.add(organizationId, "synthetic-org-" + organizationId, ACTIVE, now);
+            organizations.flush();
+
+            for (int app = 0; app < properties.getApplicationsPerOrganization(); app++, applicationId++) {
+                applications.add(applicationId, "synthetic-app-" + applicationId, organizationId, now);
+            }
+            applications.flush();
+
+            long[] organizationRoles = new long[properties.getRolesPerOrganization()];
+            for (int r = 0; r < organizationRoles.length; r++, roleId++) {
+                organizationRoles[r] = roleId;
+                roles.add(roleId, "synthetic-role-" + roleId, "Synthetic role", false, organizationId, now);
+                for (long permissionId : samplePermissions(random, permissionIds)) {
+                    rolePermissions.add(roleId, permissionId);
+                    rolePermissionCount++;
+                }
+            }
+            roles.flush();
+            rolePermissions.flush();
+
+            long firstUserId = userId;
+            int[] parents = buildDelegationTree(random, properties.getUsersPerOrganization(), properties.getTreeDepth());
+            for (int u = 0; u < parents.length; u++, userId++) {
+                Long createdBy = parents[u] < 0 ? null : firstUserId + parents[u];
+                users.add(userId, "user-" + userId, encodedPassword, "Synthetic User " + userId,
+                        "user-" + userId + EMAIL_DOMAIN, createdBy == null, passwordExpiry, organizationId, createdBy, now);
+            }
+            users.flush();
+
+            for (long id = firstUserId; id < userId; id++) {
+                for (long assignedRole : sampleRoles(random, organizationRoles)) {
+                    userRoles.add(id, assignedRole);
+                    userRoleCount++;
+                }
+            }
+            userRoles.flush();
+            log.info("Generated organization {}/{} ({} users so far)", org + 1, properties.getOrganizations(),
+                    (long) (org + 1) * properties.getUsersPerOrganization());
+        }
+
+        DatasetSummary summary = new DatasetSummary(
+                properties.getOrganizations(),
+                (long) properties.getOrganizations() * properties.getUsersPerOrganization(),
+                properties.getOrganizations() * properties.getRolesPerOrganization(),
+                permissionIds.length,
+                properties.getOrganizations() * properties.getApplicationsPerOrganization(),
+                rolePermissionCount,
+                userRoleCount,
+                Duration.between(start, Instant.now()));
+        log.info("Synthetic dataset generated: {}", summary);
+        return summary;
+    }
+
+    /**
+     * Returns the parent index of every user, or -1 for the organization's root user. The first
+     * {@code depth} users form a chain so the tree always reaches the requested depth; the rest
+     * attach to a random earlier user that still has room below it.
+     */
+    static int[] buildDelegationTree(SplittableRandom random, int userCount, int requestedDepth) {
+        int depth = Math.max(requestedDepth, 2);
+        int[] parents = new int[userCount];
+        int[] levels = new int[userCount];
+        int[] candidates = new int[userCount];
+        int candidateCount = 0;
+        for (int i = 0; i < userCount; i++) {
+            if (i == 0) {
+                parents[i] = -1;
+            } else if (i < depth) {
+                parents[i] = i - 1;
+                levels[i] = i;
+            } else {
+                int parent = candidates[random.nextInt(candidateCount)];
+                parents[i] = parent;
+                levels[i] = levels[parent] + 1;
+            }
+            if (levels[i] < depth - 1) {
+                candidates[candidateCount++] = i;
+            }
+        }
+        return parents;
+    }
+
+    private long[] insertPermissionCatalog(Timestamp now) {
+        PermissionAction[] actions = Arrays.stream(PermissionAction.values())
+                .filter(action -> action != PermissionAction.ANY)
+                .toArray(PermissionAction[]::new);
+        long serviceId = nextId("services");
+        long permissionId = nextId("permissions");
+        long[] permissionIds = new long[properties.getServices() * actions.length];
+        BatchWriter services = new BatchWriter(INSERT_SERVICE);
+        BatchWriter permissions = new BatchWriter(INSERT_PERMISSION);
+        int index = 0;
+        for (int s = 0; s < properties.getServices(); s++, serviceId++) {
+            String serviceName = "synthetic-service-" + serviceId;
+            services.add(serviceId, serviceName, now);
+            for (PermissionAction action : actions) {
+                permissions.add(permissionId, serviceName, action.name(), "Synthetic permission", serviceId, now);
+                permissionIds[index++] = permissionId++;
+            }
+        }
+        services.flush();
+        permissions.flush();
+        log.info("Inserted permission catalog of {} permissions across {} services", permissionIds.length, properties.getServices());
+        return permissionIds;
+    }
+
+    private Set<Long> samplePermissions(SplittableRandom random, long[] permissionIds) {
+        int maxFanOut = Math.min(properties.getPermissionFanOut(), permissionIds.length);
+        int count = 1 + (int) ((maxFanOut - 1) * Math.pow(random.nextDouble(), properties.getPermissionSkew()));
+        return sample(random, permissionIds, count);
+    }
+
+    private Set<Long> sampleRoles(SplittableRandom random, long[] roleIds) {
+        return sample(random, roleIds, Math.min(properties.getRolesPerUser(), roleIds.length));
+    }
+
+    private static Set<Long> sample(SplittableRandom random, long[] values, int count) {
+        Set<Long> sample = new HashSet<>();
+        int target = Math.min(count, values.length);
+        while (sample.size() < target) {
+            sample.add(values[random.nextInt(values.length)]);
+        }
+        return sample;
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (maxId == null ? 0 : maxId) + 1;
+    }
+
+    private class BatchWriter {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private BatchWriter(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    public record DatasetSummary(int organizations,
+                                 long users,
+                                 int roles,
+                                 int permissions,
+                                 int applications,
+                                 long rolePermissions,
+                                 long userRoles,
+                                 Duration elapsed) {
+    }
+}
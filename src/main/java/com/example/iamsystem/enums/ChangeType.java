@@ -0,0 +1,5 @@
+package com.example.iamsystem.enums;
+
+public enum ChangeType {
+    USER_UPDATED, USER_DELETED, ROLE_UPDATED, ROLE_DELETED, PERMISSION_UPDATED, PERMISSION_DELETED
+}
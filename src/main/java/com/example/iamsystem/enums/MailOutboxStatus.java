@@ -0,0 +1,5 @@
+package com.example.iamsystem.enums;
+
+public enum MailOutboxStatus {
+    PENDING, SENT, FAILED
+}
@@ -0,0 +1,5 @@
+package com.example.iamsystem.enums;
+
+public enum SigningAlgorithm {
+    HS256, ES256, ED25519
+}
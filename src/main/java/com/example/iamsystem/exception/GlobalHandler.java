@@ -4,6 +4,8 @@ import com.example.iamsystem.constant.ErrorMessage;
 import io.jsonwebtoken.security.SignatureException;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AccountExpiredException;
@@ -21,6 +23,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
@@ -34,6 +37,21 @@ public class GlobalHandler {
         return buildExceptionResponse(exception, BAD_REQUEST);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ExceptionResponse> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
+        // a registration that raced past the availability check hits the unique keys of users
+        String message = String.valueOf(exception.getMostSpecificCause().getMessage());
+        if (message.endsWith("key 'users.idx_users_username'") || message.endsWith("key 'idx_users_username'")) {
+            log.warn("Username already exists: {}", message);
+            return buildExceptionResponse(new UserAlreadyExistsException(ErrorMessage.USERNAME_NOT_AVAILABLE), BAD_REQUEST);
+        }
+        if (message.endsWith("key 'users.email'") || message.endsWith("key 'email'")) {
+            log.warn("Email already exists: {}", message);
+            return buildExceptionResponse(new UserAlreadyExistsException(ErrorMessage.EMAIL_NOT_AVAILABLE), BAD_REQUEST);
+        }
+        return exceptionHandler(exception);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(UNPROCESSABLE_ENTITY)
     public ResponseEntity<ExceptionResponse> validationExceptionHandler(MethodArgumentNotValidException exception) {
@@ -128,6 +146,16 @@ public class GlobalHandler {
         return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    public ResponseEntity<ExceptionResponse> rateLimitExceededExceptionHandler(RateLimitExceededException exception) {
+        long retryAfterSeconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+        ExceptionResponse response = new ExceptionResponse(TOO_MANY_REQUESTS.value(), exception.getMessage());
+        return ResponseEntity.status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(INTERNAL_SERVER_ERROR)
     public ResponseEntity<ExceptionResponse> exceptionHandler(Exception exception) {
@@ -0,0 +1,127 @@
+package com.example.iamsystem.group;
+
+import com.example.iamsystem.group.model.GroupDto;
+import com.example.iamsystem.group.model.GroupMemberDto;
+import com.example.iamsystem.group.model.GroupRoleDto;
+import com.example.iamsystem.util.authorization.RequirePermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static com.example.iamsystem.permission.model.PermissionAction.DELETE;
+import static com.example.iamsystem.permission.model.PermissionAction.READ;
+import static com.example.iamsystem.permission.model.PermissionAction.UPDATE;
+import static com.example.iamsystem.permission.model.PermissionAction.WRITE;
+
+@RestController
+@RequestMapping("/api/groups")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Slf4j
+public class GroupController {
+    private final GroupService groupService;
+
+    @GetMapping
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Get all groups (Requires: IAM:READ)")
+    public ResponseEntity<List<GroupDto>> getAllGroups() {
+        log.debug("Received request to get all groups");
+        List<GroupDto> groups = groupService.getGroups();
+        log.info("Successfully retrieved {} groups", groups.size());
+        return ResponseEntity.ok(groups);
+    }
+
+    @PostMapping
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = WRITE)
+    @Operation(summary = "Create a new group (Requires: IAM:WRITE)")
+    public ResponseEntity<GroupDto> createGroup(@RequestBody @Valid GroupDto groupDto) {
+        log.debug("Received request to create group: {}", groupDto.getName());
+        GroupDto createdGroup = groupService.createGroup(groupDto);
+        log.info("Successfully created group with ID: {}", createdGroup.getId());
+        return ResponseEntity.ok(createdGroup);
+    }
+
+    @GetMapping("/{id}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Get a group by ID (Requires: IAM:READ)")
+    public ResponseEntity<GroupDto> getGroupById(@PathVariable Long id) {
+        log.debug("Received request to get group by ID: {}", id);
+        GroupDto group = groupService.getGroup(id);
+        log.info("Successfully retrieved group with ID: {}", id);
+        return ResponseEntity.ok(group);
+    }
+
+    @PutMapping("/{id}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Update a group (Requires: IAM:UPDATE)")
+    public ResponseEntity<GroupDto> updateGroup(@PathVariable Long id, @RequestBody @Valid GroupDto groupDto) {
+        log.debug("Received request to update group with ID: {}", id);
+        GroupDto updatedGroup = groupService.updateGroup(id, groupDto);
+        log.info("Successfully updated group with ID: {}", id);
+        return ResponseEntity.ok(updatedGroup);
+    }
+
+    @DeleteMapping("/{id}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = DELETE)
+    @Operation(summary = "Delete a group by ID (Requires: IAM:DELETE)")
+    public ResponseEntity<Void> deleteGroupById(@PathVariable Long id) {
+        log.debug("Received request to delete group with ID: {}", id);
+        groupService.deleteGroup(id);
+        log.info("Successfully deleted group with ID: {}", id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/members")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Add users to a group (Requires: IAM:UPDATE)")
+    public ResponseEntity<Void> addMembers(@RequestBody @Valid GroupMemberDto groupMemberDto) {
+        log.debug("Received request to add members to group ID: {}", groupMemberDto.getGroupId());
+        groupService.addMembers(groupMemberDto);
+        log.info("Successfully added members to group ID: {}", groupMemberDto.getGroupId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/members")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = DELETE)
+    @Operation(summary = "Remove users from a group (Requires: IAM:DELETE)")
+    public ResponseEntity<Void> removeMembers(@RequestBody @Valid GroupMemberDto groupMemberDto) {
+        log.debug("Received request to remove members from group ID: {}", groupMemberDto.getGroupId());
+        groupService.removeMembers(groupMemberDto);
+        log.info("Successfully removed members from group ID: {}", groupMemberDto.getGroupId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/roles")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Grant roles to every member of a group (Requires: IAM:UPDATE)")
+    public ResponseEntity<Void> assignRoles(@RequestBody @Valid GroupRoleDto groupRoleDto) {
+        log.debug("Received request to assign roles to group ID: {}", groupRoleDto.getGroupId());
+        groupService.assignRoles(groupRoleDto);
+        log.info("Successfully assigned roles to group ID: {}", groupRoleDto.getGroupId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/roles")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = DELETE)
+    @Operation(summary = "Remove roles from a group (Requires: IAM:DELETE)")
+    public ResponseEntity<Void> removeRoles(@RequestBody @Valid GroupRoleDto groupRoleDto) {
+        log.debug("Received request to remove roles from group ID: {}", groupRoleDto.getGroupId());
+        groupService.removeRoles(groupRoleDto);
+        log.info("Successfully removed roles from group ID: {}", groupRoleDto.getGroupId());
+        return ResponseEntity.noContent().build();
+    }
+}
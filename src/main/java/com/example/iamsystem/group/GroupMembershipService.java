@@ -0,0 +1,140 @@
+package com.example.iamsystem.group;
+
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.review.AccessIndex;
+import com.example.iamsystem.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps {@code user_group_roles}, the roles each user holds through its groups, in step with
+ * memberships and group role grants, so permission checks read one eagerly loaded set instead of
+ * walking groups. Every change only touches the (user, role) pairs it can affect: additions insert
+ * the missing pairs, removals delete the pairs no other membership still grants.
+ * <p>
+ * Users whose effective roles changed get their version bumped, which invalidates the tokens that
+ * carry their old authorities. Both the SQL and the invalidation run in batches of
+ * {@code groups.membership.batch-size} users.
+ */
+@Service
+@Slf4j
+public class GroupMembershipService {
+
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final AccessIndex accessIndex;
+    private final ChangeLog changeLog;
+    private final int batchSize;
+
+    public GroupMembershipService(GroupRepository groupRepository,
+                                  UserRepository userRepository,
+                                  AccessIndex accessIndex,
+                                  ChangeLog changeLog,
+                                  @Value("${groups.membership.batch-size:1000}") int batchSize) {
+        this.groupRepository = groupRepository;
+        this.userRepository = userRepository;
+        this.accessIndex = accessIndex;
+        this.changeLog = changeLog;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public int addMembers(Long groupId, Collection<Long> userIds) {
+        int added = 0;
+        boolean changed = false;
+        for (List<Long> batch : partition(userIds)) {
+            added += groupRepository.insertMembers(groupId, batch);
+            if (groupRepository.materializeForMembers(groupId, batch) > 0) {
+                userRepository.incrementVersions(batch);
+                changeLog.usersChanged(batch);
+                changed = true;
+            }
+        }
+        if (changed) {
+            accessIndex.groupRolesChanged(groupRepository.findRoleIds(groupId));
+        }
+        log.debug("Added {} members to group {}", added, groupId);
+        return added;
+    }
+
+    @Transactional
+    public int removeMembers(Long groupId, Collection<Long> userIds) {
+        List<Long> roleIds = groupRepository.findRoleIds(groupId);
+        int removed = 0;
+        boolean changed = false;
+        for (List<Long> batch : partition(userIds)) {
+            removed += groupRepository.deleteMembers(groupId, batch);
+            if (!roleIds.isEmpty() && groupRepository.pruneForMembers(batch, roleIds) > 0) {
+                userRepository.incrementVersions(batch);
+                changeLog.usersChanged(batch);
+                changed = true;
+            }
+        }
+        if (changed) {
+            accessIndex.groupRolesChanged(roleIds);
+        }
+        log.debug("Removed {} members from group {}", removed, groupId);
+        return removed;
+    }
+
+    @Transactional
+    public void grantRoles(Long groupId, Collection<Long> roleIds) {
+        if (groupRepository.insertRoles(groupId, roleIds) > 0
+                && groupRepository.materializeForRoles(groupId, roleIds) > 0) {
+            invalidateMembers(groupId);
+            accessIndex.groupRolesChanged(roleIds);
+        }
+    }
+
+    @Transactional
+    public void revokeRoles(Long groupId, Collection<Long> roleIds) {
+        if (groupRepository.deleteRoles(groupId, roleIds) > 0
+                && groupRepository.pruneForGroup(groupId, roleIds) > 0) {
+            invalidateMembers(groupId);
+            accessIndex.groupRolesChanged(roleIds);
+        }
+    }
+
+    /**
+     * Withdraws everything the group grants; the caller deletes the group afterwards.
+     */
+    @Transactional
+    public void groupDeleted(Long groupId) {
+        List<Long> roleIds = groupRepository.findRoleIds(groupId);
+        if (!roleIds.isEmpty()) {
+            revokeRoles(groupId, roleIds);
+        }
+    }
+
+    private void invalidateMembers(Long groupId) {
+        long afterId = 0;
+        int invalidated = 0;
+        List<Long> page;
+        do {
+            page = groupRepository.findMemberIds(groupId, afterId, PageRequest.ofSize(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            invalidated += userRepository.incrementVersions(page);
+            changeLog.usersChanged(page);
+            afterId = page.get(page.size() - 1);
+        } while (page.size() == batchSize);
+        log.debug("Invalidated tokens of {} members of group {}", invalidated, groupId);
+    }
+
+    private List<List<Long>> partition(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += batchSize) {
+            batches.add(all.subList(from, Math.min(from + batchSize, all.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.iamsystem.group;
+
+import com.example.iamsystem.group.model.UserGroup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Memberships, grants and the materialized {@code user_group_roles} table are maintained with
+ * set-based SQL so that adding a group to a role, or thousands of users to a group, is a handful of
+ * statements instead of one write per user.
+ */
+public interface GroupRepository extends JpaRepository<UserGroup, Long> {
+    Optional<UserGroup> findByName(String name);
+
+    @Query("SELECT m.id FROM UserGroup g JOIN g.members m WHERE g.id = :groupId AND m.id > :afterId ORDER BY m.id")
+    List<Long> findMemberIds(@Param("groupId") Long groupId, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT g.id FROM UserGroup g JOIN g.members m WHERE m.id = :userId")
+    List<Long> findGroupIdsByMember(@Param("userId") Long userId);
+
+    @Query("SELECT r.id FROM UserGroup g JOIN g.roles r WHERE g.id = :groupId")
+    List<Long> findRoleIds(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_members (group_id, user_id) SELECT :groupId, u.id FROM users u " +
+            "WHERE u.id IN (:userIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM group_members gm WHERE gm.group_id = :groupId AND gm.user_id = u.id)", nativeQuery = true)
+    int insertMembers(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_members WHERE group_id = :groupId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteMembers(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM group_members WHERE user_id = :userId", nativeQuery = true)
+    int deleteMemberships(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_roles (group_id, role_id) SELECT :groupId, r.id FROM roles r " +
+            "WHERE r.id IN (:roleIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM group_roles gr WHERE gr.group_id = :groupId AND gr.role_id = r.id)", nativeQuery = true)
+    int insertRoles(@Param("groupId") Long groupId, @Param("roleIds") Collection<Long> roleIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_roles WHERE group_id = :groupId AND role_id IN (:roleIds)", nativeQuery = true)
+    int deleteRoles(@Param("groupId") Long groupId, @Param("roleIds") Collection<Long> roleIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_group_roles (user_id, role_id) " +
+            "SELECT DISTINCT gm.user_id, gr.role_id FROM group_members gm JOIN group_roles gr ON gr.group_id = gm.group_id " +
+            "WHERE gm.group_id = :groupId AND gm.user_id IN (:userIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM user_group_roles ugr WHERE ugr.user_id = gm.user_id AND ugr.role_id = gr.role_id)", nativeQuery = true)
+    int materializeForMembers(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_group_roles (user_id, role_id) " +
+            "SELECT DISTINCT gm.user_id, gr.role_id FROM group_members gm JOIN group_roles gr ON gr.group_id = gm.group_id " +
+            "WHERE gm.group_id = :groupId AND gr.role_id IN (:roleIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM user_group_roles ugr WHERE ugr.user_id = gm.user_id AND ugr.role_id = gr.role_id)", nativeQuery = true)
+    int materializeForRoles(@Param("groupId") Long groupId, @Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * Drops the given users' materialized roles that no remaining membership grants.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_group_roles WHERE user_id IN (:userIds) AND role_id IN (:roleIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM group_members gm JOIN group_roles gr ON gr.group_id = gm.group_id " +
+            "WHERE gm.user_id = user_group_roles.user_id AND gr.role_id = user_group_roles.role_id)", nativeQuery = true)
+    int pruneForMembers(@Param("userIds") Collection<Long> userIds, @Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * Drops the materialized roles of the group's members that no remaining membership grants.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_group_roles WHERE role_id IN (:roleIds) " +
+            "AND user_id IN (SELECT m.user_id FROM group_members m WHERE m.group_id = :groupId) AND NOT EXISTS " +
+            "(SELECT 1 FROM group_members gm JOIN group_roles gr ON gr.group_id = gm.group_id " +
+            "WHERE gm.user_id = user_group_roles.user_id AND gr.role_id = user_group_roles.role_id)", nativeQuery = true)
+    int pruneForGroup(@Param("groupId") Long groupId, @Param("roleIds") Collection<Long> roleIds);
+}
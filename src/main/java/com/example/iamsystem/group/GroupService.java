@@ -0,0 +1,160 @@
+package com.example.iamsystem.group;
+
+import com.example.iamsystem.acl.ResourceAclStore;
+import com.example.iamsystem.audit.annotation.Auditable;
+import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.exception.DataNotFoundException;
+import com.example.iamsystem.group.model.GroupDto;
+import com.example.iamsystem.group.model.GroupMapper;
+import com.example.iamsystem.group.model.GroupMemberDto;
+import com.example.iamsystem.group.model.GroupRoleDto;
+import com.example.iamsystem.group.model.UserGroup;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.iamsystem.constant.ErrorMessage.GROUP_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.ROLE_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.USER_NOT_FOUND;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GroupService {
+    private final GroupRepository groupRepository;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final GroupMembershipService groupMembershipService;
+    private final ResourceAclStore resourceAclStore;
+    private static final GroupMapper groupMapper = Mappers.getMapper(GroupMapper.class);
+
+    @Auditable(
+            value = AuditEventType.GROUP_CREATION,
+            target = "#groupDto.name",
+            detailsExpression = "T(java.util.Map).of('group_id', #result.id, 'group_name', #result.name)"
+    )
+    public GroupDto createGroup(GroupDto groupDto) {
+        log.debug("Attempting to create group: {}", groupDto.getName());
+        UserGroup group = groupRepository.save(groupMapper.toEntity(groupDto));
+        log.info("Group created successfully with ID: {}", group.getId());
+        return groupMapper.toDto(group);
+    }
+
+    @Auditable(
+            value = AuditEventType.GROUP_UPDATE,
+            target = "#groupDto.name",
+            detailsExpression = "T(java.util.Map).of('group_id', #id, 'group_name', #groupDto.name)"
+    )
+    @Transactional
+    public GroupDto updateGroup(Long id, GroupDto groupDto) {
+        log.debug("Attempting to update group with ID: {}", id);
+        UserGroup group = findGroupById(id);
+        groupMapper.toUpdateEntity(group, groupDto);
+        UserGroup updatedGroup = groupRepository.save(group);
+        log.info("Group with ID: {} updated successfully", id);
+        return groupMapper.toDto(updatedGroup);
+    }
+
+    @Auditable(
+            value = AuditEventType.GROUP_DELETE,
+            target = "#id"
+    )
+    @Transactional
+    public void deleteGroup(Long id) {
+        log.debug("Attempting to delete group with ID: {}", id);
+        findGroupById(id);
+        groupMembershipService.groupDeleted(id);
+        resourceAclStore.principalDeleted(AclPrincipalType.GROUP, id);
+        groupRepository.deleteById(id);
+        log.info("Group with ID: {} deleted successfully", id);
+    }
+
+    @Transactional(readOnly = true)
+    public GroupDto getGroup(Long id) {
+        log.debug("Attempting to retrieve group by ID: {}", id);
+        return groupMapper.toDto(findGroupById(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<GroupDto> getGroups() {
+        log.debug("Attempting to retrieve all groups");
+        List<GroupDto> groups = groupMapper.toDto(groupRepository.findAll());
+        log.info("Retrieved {} total groups", groups.size());
+        return groups;
+    }
+
+    @Auditable(
+            value = AuditEventType.GROUP_MEMBERS_ADDED,
+            target = "#groupMemberDto.groupId",
+            detailsExpression = "T(java.util.Map).of('group_id', #groupMemberDto.groupId, 'members_added', #groupMemberDto.userIds.size())"
+    )
+    @Transactional
+    public void addMembers(GroupMemberDto groupMemberDto) {
+        log.debug("Attempting to add {} members to group ID: {}", groupMemberDto.getUserIds().size(), groupMemberDto.getGroupId());
+        findGroupById(groupMemberDto.getGroupId());
+        if (userRepository.countByIdIn(groupMemberDto.getUserIds()) != groupMemberDto.getUserIds().size()) {
+            log.warn("Some users not found for IDs: {}", groupMemberDto.getUserIds());
+            throw new DataNotFoundException(USER_NOT_FOUND);
+        }
+        int added = groupMembershipService.addMembers(groupMemberDto.getGroupId(), groupMemberDto.getUserIds());
+        log.info("{} members added to group ID: {}", added, groupMemberDto.getGroupId());
+    }
+
+    @Auditable(
+            value = AuditEventType.GROUP_MEMBERS_REMOVED,
+            target = "#groupMemberDto.groupId",
+            detailsExpression = "T(java.util.Map).of('group_id', #groupMemberDto.groupId, 'members_removed', #groupMemberDto.userIds.size())"
+    )
+    @Transactional
+    public void removeMembers(GroupMemberDto groupMemberDto) {
+        log.debug("Attempting to remove {} members from group ID: {}", groupMemberDto.getUserIds().size(), groupMemberDto.getGroupId());
+        findGroupById(groupMemberDto.getGroupId());
+        int removed = groupMembershipService.removeMembers(groupMemberDto.getGroupId(), groupMemberDto.getUserIds());
+        log.info("{} members removed from group ID: {}", removed, groupMemberDto.getGroupId());
+    }
+
+    @Auditable(
+            value = AuditEventType.ROLES_ASSIGNED_TO_GROUP,
+            target = "#groupRoleDto.groupId",
+            detailsExpression = "T(java.util.Map).of('group_id', #groupRoleDto.groupId, 'roles_assigned', #groupRoleDto.roleIds.![toString()].join(','))"
+    )
+    @Transactional
+    public void assignRoles(GroupRoleDto groupRoleDto) {
+        log.debug("Attempting to assign roles {} to group ID: {}", groupRoleDto.getRoleIds(), groupRoleDto.getGroupId());
+        findGroupById(groupRoleDto.getGroupId());
+        if (roleRepository.findAllById(groupRoleDto.getRoleIds()).size() != groupRoleDto.getRoleIds().size()) {
+            log.warn("Some roles not found for IDs: {}", groupRoleDto.getRoleIds());
+            throw new DataNotFoundException(ROLE_NOT_FOUND);
+        }
+        groupMembershipService.grantRoles(groupRoleDto.getGroupId(), groupRoleDto.getRoleIds());
+        log.info("Roles assigned successfully to group ID: {}", groupRoleDto.getGroupId());
+    }
+
+    @Auditable(
+            value = AuditEventType.ROLES_REMOVED_FROM_GROUP,
+            target = "#groupRoleDto.groupId",
+            detailsExpression = "T(java.util.Map).of('group_id', #groupRoleDto.groupId, 'roles_removed', #groupRoleDto.roleIds.![toString()].join(','))"
+    )
+    @Transactional
+    public void removeRoles(GroupRoleDto groupRoleDto) {
+        log.debug("Attempting to remove roles {} from group ID: {}", groupRoleDto.getRoleIds(), groupRoleDto.getGroupId());
+        findGroupById(groupRoleDto.getGroupId());
+        groupMembershipService.revokeRoles(groupRoleDto.getGroupId(), groupRoleDto.getRoleIds());
+        log.info("Roles removed successfully from group ID: {}", groupRoleDto.getGroupId());
+    }
+
+    private UserGroup findGroupById(Long id) {
+        return groupRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Group not found with ID: {}", id);
+                    return new DataNotFoundException(GROUP_NOT_FOUND);
+                });
+    }
+}
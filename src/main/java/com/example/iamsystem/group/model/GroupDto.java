@@ -0,0 +1,21 @@
+package com.example.iamsystem.group.model;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupDto {
+    private Long id;
+    @NotNull(message = ErrorMessage.GROUP_NAME_REQUIRED)
+    private String name;
+    private String description;
+    private Set<Long> roleIds = Collections.emptySet();
+}
@@ -0,0 +1,35 @@
+package com.example.iamsystem.group.model;
+
+import com.example.iamsystem.role.model.Role;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Mapper(componentModel = "spring")
+public interface GroupMapper {
+    @Mapping(target = "roleIds", source = ".", qualifiedByName = "SetRoles")
+    GroupDto toDto(UserGroup group);
+
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "members", ignore = true)
+    UserGroup toEntity(GroupDto groupDto);
+
+    List<GroupDto> toDto(List<UserGroup> groups);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "members", ignore = true)
+    void toUpdateEntity(@MappingTarget UserGroup group, GroupDto groupDto);
+
+    @Named("SetRoles")
+    default Set<Long> setRoles(UserGroup group) {
+        return group.getRoles().stream()
+                .map(Role::getId)
+                .collect(Collectors.toSet());
+    }
+}
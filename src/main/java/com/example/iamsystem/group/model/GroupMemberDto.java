@@ -0,0 +1,21 @@
+package com.example.iamsystem.group.model;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMemberDto {
+    @NotNull(message = ErrorMessage.GROUP_REQUIRED)
+    private Long groupId;
+    @NotNull(message = ErrorMessage.USER_LIST_REQUIRED)
+    @NotEmpty(message = ErrorMessage.USER_LIST_NOT_EMPTY)
+    private Set<Long> userIds;
+}
@@ -0,0 +1,171 @@
+package com.example.iamsystem.mail.outbox;
+
+import com.example.iamsystem.enums.MailOutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Drains the mail outbox in batches. Each batch goes out through a single
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, which opens one SMTP connection for the
+ * whole batch. Messages the server rejected are retried with exponential backoff until
+ * {@code mail.outbox.max-attempts} is reached. Rows stay locked while their batch is sent, so
+ * several instances can run the dispatcher without sending a message twice.
+ */
+@Component
+@Slf4j
+public class MailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public MailOutboxDispatcher(MailOutboxRepository outboxRepository,
+                                JavaMailSender mailSender,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${mail.outbox.batch-size:50}") int batchSize,
+                                @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                                @Value("${mail.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                                @Value("${mail.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                                @Value("${mail.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.sentCounter = meterRegistry.counter("iam.mail.outbox.sent");
+        this.failedCounter = meterRegistry.counter("iam.mail.outbox.failed");
+        meterRegistry.gauge("iam.mail.outbox.pending", outboxRepository,
+                repository -> repository.countByStatus(MailOutboxStatus.PENDING));
+    }
+
+    @Scheduled(initialDelayString = "${mail.outbox.poll-interval:PT2S}", fixedDelayString = "${mail.outbox.poll-interval:PT2S}")
+    public void dispatch() {
+        int processed;
+        do {
+            processed = Objects.requireNonNullElse(transactionTemplate.execute(status -> dispatchBatch(Instant.now())), 0);
+        } while (processed == batchSize);
+    }
+
+    int dispatchBatch(Instant now) {
+        List<MailOutboxMessage> batch = outboxRepository.findDue(MailOutboxStatus.PENDING, now, PageRequest.ofSize(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < mails.length; i++) {
+            mails[i] = toMail(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        MailException batchFailure = null;
+        try {
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+
+        int sent = 0;
+        for (int i = 0; i < mails.length; i++) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(mails[i]);
+            if (failure == null) {
+                markSent(batch.get(i), now);
+                sent++;
+            } else {
+                markFailed(batch.get(i), failure, now);
+            }
+        }
+        log.info("Mail outbox batch: {} sent, {} failed", sent, batch.size() - sent);
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.purge-interval:PT1H}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteCompletedBefore(Instant.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} completed mail outbox entries", deleted);
+        }
+    }
+
+    private static SimpleMailMessage toMail(MailOutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        return mail;
+    }
+
+    private void markSent(MailOutboxMessage message, Instant now) {
+        message.setStatus(MailOutboxStatus.SENT);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setSentAt(now);
+        message.setBody(null);
+        message.setLastError(null);
+        sentCounter.increment();
+    }
+
+    private void markFailed(MailOutboxMessage message, Exception failure, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+        failedCounter.increment();
+        if (attempts >= maxAttempts) {
+            message.setStatus(MailOutboxStatus.FAILED);
+            message.setBody(null);
+            log.error("Giving up on mail {} to {} after {} attempts: {}", message.getId(), message.getRecipient(),
+                    attempts, failure.getMessage());
+            return;
+        }
+        Duration backoff = backoff(attempts);
+        message.setNextAttemptAt(now.plus(backoff));
+        log.warn("Mail {} to {} failed (attempt {}), retrying in {}: {}", message.getId(), message.getRecipient(),
+                attempts, backoff, failure.getMessage());
+    }
+
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << shift);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
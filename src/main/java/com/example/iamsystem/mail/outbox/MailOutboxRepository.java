@@ -0,0 +1,35 @@
+package com.example.iamsystem.mail.outbox;
+
+import com.example.iamsystem.enums.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    /**
+     * Locks the next due messages, skipping rows another instance is already sending
+     * (a lock timeout of -2 is rendered as {@code SKIP LOCKED}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<MailOutboxMessage> findDue(@Param("status") MailOutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(MailOutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM MailOutboxMessage m WHERE m.status <> com.example.iamsystem.enums.MailOutboxStatus.PENDING AND m.createdAt < :instant")
+    int deleteCompletedBefore(@Param("instant") Instant instant);
+}
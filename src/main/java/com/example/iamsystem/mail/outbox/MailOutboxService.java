@@ -0,0 +1,26 @@
+package com.example.iamsystem.mail.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailOutboxService {
+
+    private final MailOutboxRepository outboxRepository;
+
+    /**
+     * Queues a message in the caller's transaction, so it is only sent if the surrounding change
+     * commits. Delivery happens later on the {@link MailOutboxDispatcher}.
+     */
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        MailOutboxMessage message = outboxRepository.save(new MailOutboxMessage(recipient, subject, body, Instant.now()));
+        log.debug("Queued mail {} for {}", message.getId(), recipient);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.iamsystem.permission;
+
+import com.example.iamsystem.permission.model.Permission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Maps permission ids to their {@code SERVICE:ACTION} names so compact token authorities can be
+ * decoded. The version is a checksum of the catalog content, so every instance derives the same
+ * version for the same catalog.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionCatalog {
+
+    private final PermissionRepository permissionRepository;
+    private volatile Snapshot snapshot;
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Seeds the catalog before the database has been read, e.g. from an authorization snapshot at
+     * startup. Has no effect once the catalog is loaded.
+     */
+    public synchronized void warm(Map<Long, String> permissions) {
+        if (snapshot == null) {
+            snapshot = of(new TreeMap<>(permissions));
+            log.info("Permission catalog warmed with {} permissions, version {}", permissions.size(), snapshot.version());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${permission.catalog.refresh-interval:PT1M}")
+    public void refresh() {
+        reload();
+    }
+
+    private synchronized Snapshot reload() {
+        TreeMap<Long, String> names = new TreeMap<>();
+        for (Permission permission : permissionRepository.findAll()) {
+            names.put(permission.getId(), permission.permissionName());
+        }
+        Snapshot reloaded = of(names);
+        if (snapshot == null || snapshot.version() != reloaded.version()) {
+            log.info("Permission catalog loaded with {} permissions, version {}", names.size(), reloaded.version());
+        }
+        snapshot = reloaded;
+        return reloaded;
+    }
+
+    private static Snapshot of(TreeMap<Long, String> names) {
+        CRC32 checksum = new CRC32();
+        names.forEach((id, name) -> checksum.update((id + "=" + name + "\n").getBytes(StandardCharsets.UTF_8)));
+        return new Snapshot(checksum.getValue(), Map.copyOf(names));
+    }
+
+    public record Snapshot(long version, Map<Long, String> permissions) {
+    }
+}
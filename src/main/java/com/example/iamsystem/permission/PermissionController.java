@@ -1,5 +1,7 @@
 package com.example.iamsystem.permission;
 
+import com.example.iamsystem.catalog.CatalogCache;
+import com.example.iamsystem.catalog.CatalogResource;
 import com.example.iamsystem.permission.model.PermissionDto;
 import com.example.iamsystem.util.authorization.RequirePermission;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,9 +17,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
 import static com.example.iamsystem.permission.model.PermissionAction.DELETE;
@@ -32,15 +34,23 @@ import static com.example.iamsystem.permission.model.PermissionAction.WRITE;
 @Slf4j
 public class PermissionController {
     private final PermissionService permissionService;
+    private final CatalogCache catalogCache;
 
     @GetMapping
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
-    @Operation(summary = "Get all permissions (Requires: IAM:READ)")
-    public ResponseEntity<List<PermissionDto>> getAllPermissions() {
-        log.debug("Received request to get all permissions");
-        List<PermissionDto> permissions = permissionService.getAllPermissions();
-        log.info("Successfully retrieved {} permissions", permissions.size());
-        return ResponseEntity.ok(permissions);
+    @Operation(summary = "Get all permissions, or with since the permissions changed after a catalog version (Requires: IAM:READ)")
+    public ResponseEntity<byte[]> getAllPermissions(@RequestParam(required = false) Long since, WebRequest request) {
+        log.debug("Received request to get all permissions, since catalog version: {}", since);
+        CatalogResource permissions = since == null ? catalogCache.permissions() : catalogCache.permissionChanges(since);
+        log.info("Successfully retrieved permissions at catalog version {}", permissions.version());
+        return permissions.toResponse(request);
+    }
+
+    @GetMapping("/catalog")
+    @Operation(summary = "Permission id to name catalog used to decode compact token authorities")
+    public ResponseEntity<PermissionCatalog.Snapshot> getPermissionCatalog() {
+        log.debug("Received request to get the permission catalog");
+        return ResponseEntity.ok(permissionService.getPermissionCatalog());
     }
 
     @PostMapping
@@ -56,11 +66,11 @@ public class PermissionController {
     @GetMapping("/{id}")
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
     @Operation(summary = "Get a permission by ID (Requires: IAM:READ)")
-    public ResponseEntity<PermissionDto> getPermissionById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getPermissionById(@PathVariable Long id, WebRequest request) {
         log.debug("Received request to get permission by ID: {}", id);
-        PermissionDto permission = permissionService.getPermissionById(id);
+        CatalogResource permission = catalogCache.permission(id);
         log.info("Successfully retrieved permission with ID: {}", id);
-        return ResponseEntity.ok(permission);
+        return permission.toResponse(request);
     }
 
     @PutMapping("/{id}")
@@ -86,10 +96,10 @@ public class PermissionController {
     @GetMapping("/name/{serviceName}")
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
     @Operation(summary = "Get permissions by service name (Requires: IAM:READ)")
-    public ResponseEntity<List<PermissionDto>> getPermissionByServiceName(@PathVariable String serviceName) {
+    public ResponseEntity<byte[]> getPermissionByServiceName(@PathVariable String serviceName, WebRequest request) {
         log.debug("Received request to get permissions by service name: {}", serviceName);
-        List<PermissionDto> permissions = permissionService.getPermissionByServiceName(serviceName);
-        log.info("Successfully retrieved {} permissions for service name: {}", permissions.size(), serviceName);
-        return ResponseEntity.ok(permissions);
+        CatalogResource permissions = catalogCache.servicePermissions(serviceName);
+        log.info("Successfully retrieved permissions for service name: {}", serviceName);
+        return permissions.toResponse(request);
     }
 }
@@ -3,6 +3,8 @@ package com.example.iamsystem.permission;
 import com.example.iamsystem.permission.model.Permission;
 import com.example.iamsystem.permission.model.PermissionAction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +12,7 @@ import java.util.Optional;
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
     List<Permission> findAllByServiceName(String name);
     Optional<Permission> findByServiceNameAndAction(String serviceName, PermissionAction action);
+
+    @Query("SELECT r.id FROM Role r JOIN r.permissions p WHERE p.id = :permissionId")
+    List<Long> findRoleIds(@Param("permissionId") Long permissionId);
 }
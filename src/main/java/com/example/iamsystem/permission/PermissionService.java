@@ -2,12 +2,14 @@ package com.example.iamsystem.permission;
 
 import com.example.iamsystem.audit.annotation.Auditable;
 import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.changes.ChangeLog;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.exception.PermissionAlreadyExistsException;
 import com.example.iamsystem.permission.model.Permission;
 import com.example.iamsystem.permission.model.PermissionAction;
 import com.example.iamsystem.permission.model.PermissionDto;
 import com.example.iamsystem.permission.model.PermissionMapper;
+import com.example.iamsystem.review.AccessIndex;
 import com.example.iamsystem.security.user.DefaultUserDetails;
 import com.example.iamsystem.user.model.entity.User;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +29,10 @@ import static com.example.iamsystem.constant.ErrorMessage.PERMISSION_NOT_FOUND;
 @Slf4j
 public class PermissionService {
     private final PermissionRepository permissionRepository;
+    private final PermissionCatalog permissionCatalog;
+    private final AccessIndex accessIndex;
+    private final ChangeLog changeLog;
     private static final PermissionMapper permissionMapper = Mappers.getMapper(PermissionMapper.class);
-    private static final String PERMISSION_TEMPLATE = "%s:%s";
 
     @Auditable(
             value = AuditEventType.PERMISSION_CREATE,
@@ -40,6 +44,8 @@ public class PermissionService {
         validateDuplicatePermission(permissionDto);
         Permission entity = permissionMapper.toEntity(permissionDto);
         Permission permission = permissionRepository.save(entity);
+        permissionCatalog.invalidate();
+        changeLog.permissionChanged(permission.getId());
         log.info("Permission saved successfully with ID: {}", permission.getId());
         return permissionMapper.toDto(permission);
     }
@@ -58,6 +64,9 @@ public class PermissionService {
                 });
         permissionMapper.toUpdateEntity(permission, permissionDto);
         Permission updatedPermission = permissionRepository.save(permission);
+        permissionCatalog.invalidate();
+        accessIndex.permissionsChanged();
+        changeLog.permissionChanged(id);
         log.info("Permission with ID: {} updated successfully", id);
         return permissionMapper.toDto(updatedPermission);
     }
@@ -68,37 +77,26 @@ public class PermissionService {
     )
     public void deletePermissionById(Long id) {
         log.debug("Attempting to delete permission by ID: {}", id);
+        List<Long> roleIds = permissionRepository.findRoleIds(id);
         permissionRepository.deleteById(id);
+        permissionCatalog.invalidate();
+        accessIndex.permissionsChanged();
+        changeLog.permissionDeleted(id);
+        changeLog.rolesChanged(roleIds);
         log.info("Permission with ID: {} deleted successfully", id);
     }
 
-    public PermissionDto getPermissionById(Long id) {
-        log.debug("Attempting to retrieve permission by ID: {}", id);
-        return permissionRepository.findById(id)
-                .map(permissionMapper::toDto)
-                .orElseThrow(() -> {
-                    log.warn("Permission not found with ID: {}", id);
-                    return new DataNotFoundException(PERMISSION_NOT_FOUND);
-                });
-    }
-
-    public List<PermissionDto> getPermissionByServiceName(String name) {
-        log.debug("Attempting to retrieve permissions by service name: {}", name);
-        List<PermissionDto> permissions = permissionMapper.toDto(permissionRepository.findAllByServiceName(name));
-        log.info("Retrieved {} permissions for service name: {}", permissions.size(), name);
-        return permissions;
-    }
-
-    public List<PermissionDto> getAllPermissions() {
-        log.debug("Attempting to retrieve all permissions");
-        List<PermissionDto> permissions = permissionMapper.toDto(permissionRepository.findAll());
-        log.info("Retrieved {} total permissions", permissions.size());
-        return permissions;
+    public PermissionCatalog.Snapshot getPermissionCatalog() {
+        log.debug("Attempting to retrieve the permission catalog");
+        return permissionCatalog.snapshot();
     }
 
     public boolean hasPermission(String requiredPermission) {
         log.debug("Checking if current user has permission: {}", requiredPermission);
-        User user = getCurrentUser();
+        return hasPermission(getCurrentUser(), requiredPermission);
+    }
+
+    public boolean hasPermission(User user, String requiredPermission) {
         if(Objects.isNull(user)) {
             log.error("Non authenticated user trying to access: {}", requiredPermission);
             return false;
@@ -107,10 +105,8 @@ public class PermissionService {
             log.info("Root user has all permissions. Granting access for: {}", requiredPermission);
             return true;
         }
-        boolean hasPermission = user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(permission -> String.format(PERMISSION_TEMPLATE, permission.getServiceName(), permission.getAction()))
-                .anyMatch(requiredPermission::equals);
+        boolean hasPermission = user.effectiveRoles()
+                .anyMatch(role -> role.grants(requiredPermission));
         if (hasPermission) {
             log.info("User '{}' has permission: {}", user.getUsername(), requiredPermission);
         } else {
@@ -121,7 +117,7 @@ public class PermissionService {
 
     private void validateDuplicatePermission(PermissionDto permissionDto) {
         log.debug("Validating for duplicate permission: {}", permissionDto.getServiceName() + ":" + permissionDto.getAction());
-        PermissionAction action = PermissionAction.valueOf(permissionDto.getAction());
+        PermissionAction action = PermissionAction.of(permissionDto.getAction());
         permissionRepository.findByServiceNameAndAction(permissionDto.getServiceName(), action)
                 .ifPresent(permission -> {
                     log.warn("Attempted to create duplicate permission: {}", permissionDto.getServiceName() + ":" + permissionDto.getAction());
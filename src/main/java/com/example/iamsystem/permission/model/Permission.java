@@ -57,6 +57,13 @@ public class Permission implements Serializable {
     @UpdateTimestamp
     private Instant updatedAt;
 
+    /**
+     * {@code SERVICE:ACTION}, where either part may be a wildcard.
+     */
+    public String permissionName() {
+        return serviceName + ":" + action.symbol();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -4,5 +4,22 @@ public enum PermissionAction {
     READ,
     WRITE,
     UPDATE,
-    DELETE;
+    DELETE,
+    /**
+     * Grants every action of a service; written {@code *} in permission names.
+     */
+    ANY;
+
+    public static final String WILDCARD = "*";
+
+    public String symbol() {
+        return this == ANY ? WILDCARD : name();
+    }
+
+    /**
+     * Parses an action name or {@code *}.
+     */
+    public static PermissionAction of(String symbol) {
+        return WILDCARD.equals(symbol) ? ANY : valueOf(symbol);
+    }
 }
@@ -3,6 +3,7 @@ package com.example.iamsystem.permission.model;
 import com.example.iamsystem.constant.ErrorMessage;
 import com.example.iamsystem.util.validators.action.ValidAction;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,9 +14,10 @@ import lombok.NoArgsConstructor;
 public class PermissionDto {
     private Long id;
     @NotNull(message = ErrorMessage.SERVICE_NAME_REQUIRED)
+    @Pattern(regexp = PermissionSet.SERVICE_PATTERN, message = ErrorMessage.INVALID_SERVICE_NAME)
     private String serviceName;
     @NotNull(message = ErrorMessage.ACTION_NAME_REQUIRED)
-    @ValidAction
+    @ValidAction(wildcard = true)
     private String action;
     private String description;
 }
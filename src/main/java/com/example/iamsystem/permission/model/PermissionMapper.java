@@ -8,15 +8,15 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface PermissionMapper {
-    @Mapping(target = "action", expression = "java(permission.getAction().name())")
+    @Mapping(target = "action", expression = "java(permission.getAction().symbol())")
     PermissionDto toDto(Permission permission);
 
-    @Mapping(target = "action", expression = "java(PermissionAction.valueOf(permissionDto.getAction()))")
+    @Mapping(target = "action", expression = "java(PermissionAction.of(permissionDto.getAction()))")
     Permission toEntity(PermissionDto permissionDto);
 
     List<PermissionDto> toDto(List<Permission> permissions);
 
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "action", expression = "java(PermissionAction.valueOf(permissionDto.getAction()))")
+    @Mapping(target = "action", expression = "java(PermissionAction.of(permissionDto.getAction()))")
     void toUpdateEntity(@MappingTarget Permission permission, PermissionDto permissionDto);
 }
@@ -0,0 +1,138 @@
+package com.example.iamsystem.permission.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A set of granted permissions compiled for constant-time checks. Service names are dot-separated
+ * ({@code billing.invoices}). Besides concrete grants, a grant may name every action of a service
+ * ({@code billing:*}), every service below a prefix ({@code billing.*:READ}, which does not cover
+ * {@code billing} itself) or every service ({@code *:READ}, {@code *:*}).
+ * <p>
+ * Concrete grants are kept by name. Wildcard grants are folded into action bitmasks per service, per
+ * service prefix and for all services, so a check is one set lookup and, only if wildcards were
+ * granted, one map lookup per level of the required service name.
+ */
+public final class PermissionSet {
+
+    public static final String SERVICE_PATTERN = "\\*|[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*(\\.\\*)?";
+
+    private static final String SUBTREE = ".*";
+    private static final PermissionAction[] ACTIONS = PermissionAction.values();
+    private static final int ALL_ACTIONS = (1 << PermissionAction.ANY.ordinal()) - 1;
+
+    public static final PermissionSet EMPTY = of(Stream.empty());
+
+    private final Set<String> names;
+    private final Map<String, Integer> serviceActions;
+    private final Map<String, Integer> subtreeActions;
+    private final int globalActions;
+    private final boolean wildcards;
+
+    private PermissionSet(Set<String> names, Map<String, Integer> serviceActions, Map<String, Integer> subtreeActions,
+                          int globalActions) {
+        this.names = names;
+        this.serviceActions = serviceActions;
+        this.subtreeActions = subtreeActions;
+        this.globalActions = globalActions;
+        this.wildcards = !serviceActions.isEmpty() || !subtreeActions.isEmpty() || globalActions != 0;
+    }
+
+    public static PermissionSet of(Stream<Permission> permissions) {
+        Set<String> names = new HashSet<>();
+        Map<String, Integer> serviceActions = new HashMap<>();
+        Map<String, Integer> subtreeActions = new HashMap<>();
+        int globalActions = 0;
+        for (Permission permission : (Iterable<Permission>) permissions::iterator) {
+            String service = permission.getServiceName();
+            int actions = actions(permission.getAction());
+            if (PermissionAction.WILDCARD.equals(service)) {
+                globalActions |= actions;
+            } else if (service.endsWith(SUBTREE)) {
+                subtreeActions.merge(service.substring(0, service.length() - SUBTREE.length()), actions, (a, b) -> a | b);
+            } else if (permission.getAction() == PermissionAction.ANY) {
+                serviceActions.merge(service, actions, (a, b) -> a | b);
+            } else {
+                names.add(permission.permissionName());
+            }
+        }
+        return new PermissionSet(Set.copyOf(names), Map.copyOf(serviceActions), Map.copyOf(subtreeActions), globalActions);
+    }
+
+    /**
+     * Checks a concrete {@code SERVICE:ACTION} permission.
+     */
+    public boolean grants(String permission) {
+        if (names.contains(permission)) {
+            return true;
+        }
+        if (!wildcards) {
+            return false;
+        }
+        int separator = permission.lastIndexOf(':');
+        if (separator < 0) {
+            return false;
+        }
+        int action = action(permission.substring(separator + 1));
+        if (action == 0) {
+            return false;
+        }
+        if ((globalActions & action) != 0) {
+            return true;
+        }
+        String service = permission.substring(0, separator);
+        if ((serviceActions.getOrDefault(service, 0) & action) != 0) {
+            return true;
+        }
+        if (!subtreeActions.isEmpty()) {
+            for (int dot = service.lastIndexOf('.'); dot > 0; dot = service.lastIndexOf('.', dot - 1)) {
+                if ((subtreeActions.getOrDefault(service.substring(0, dot), 0) & action) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The grants that cover a concrete {@code SERVICE:ACTION} permission: the permission itself and
+     * every wildcard matching it, most specific first.
+     */
+    public static List<String> grantsOf(String permission) {
+        int separator = permission.lastIndexOf(':');
+        if (separator < 0) {
+            return List.of(permission);
+        }
+        String service = permission.substring(0, separator);
+        String action = permission.substring(separator + 1);
+        List<String> grants = new ArrayList<>();
+        grants.add(permission);
+        grants.add(service + ":" + PermissionAction.WILDCARD);
+        for (int dot = service.lastIndexOf('.'); dot > 0; dot = service.lastIndexOf('.', dot - 1)) {
+            String subtree = service.substring(0, dot) + SUBTREE;
+            grants.add(subtree + ":" + action);
+            grants.add(subtree + ":" + PermissionAction.WILDCARD);
+        }
+        grants.add(PermissionAction.WILDCARD + ":" + action);
+        grants.add(PermissionAction.WILDCARD + ":" + PermissionAction.WILDCARD);
+        return grants;
+    }
+
+    private static int actions(PermissionAction action) {
+        return action == PermissionAction.ANY ? ALL_ACTIONS : 1 << action.ordinal();
+    }
+
+    private static int action(String name) {
+        for (PermissionAction action : ACTIONS) {
+            if (action != PermissionAction.ANY && action.name().equals(name)) {
+                return 1 << action.ordinal();
+            }
+        }
+        return 0;
+    }
+}
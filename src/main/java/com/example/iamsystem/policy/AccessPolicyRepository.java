@@ -0,0 +1,10 @@
+package com.example.iamsystem.policy;
+
+import com.example.iamsystem.policy.model.AccessPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AccessPolicyRepository extends JpaRepository<AccessPolicy, Long> {
+    List<AccessPolicy> findAllByEnabledTrueOrderByIdAsc();
+}
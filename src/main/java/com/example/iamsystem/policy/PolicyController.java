@@ -0,0 +1,100 @@
+package com.example.iamsystem.policy;
+
+import com.example.iamsystem.policy.model.AccessPolicyDto;
+import com.example.iamsystem.policy.model.PolicyExplainRequest;
+import com.example.iamsystem.policy.model.PolicyExplanation;
+import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.util.authorization.RequirePermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static com.example.iamsystem.permission.model.PermissionAction.DELETE;
+import static com.example.iamsystem.permission.model.PermissionAction.READ;
+import static com.example.iamsystem.permission.model.PermissionAction.UPDATE;
+import static com.example.iamsystem.permission.model.PermissionAction.WRITE;
+
+@RestController
+@RequestMapping("/api/policies")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Slf4j
+public class PolicyController {
+    private final PolicyService policyService;
+
+    @GetMapping
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Get all access policies (Requires: IAM:READ)")
+    public ResponseEntity<List<AccessPolicyDto>> getAllPolicies() {
+        log.debug("Received request to get all access policies");
+        List<AccessPolicyDto> policies = policyService.getPolicies();
+        log.info("Successfully retrieved {} access policies", policies.size());
+        return ResponseEntity.ok(policies);
+    }
+
+    @PostMapping
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = WRITE)
+    @Operation(summary = "Create a new access policy (Requires: IAM:WRITE)")
+    public ResponseEntity<AccessPolicyDto> createPolicy(@RequestBody @Valid AccessPolicyDto policyDto) {
+        log.debug("Received request to create access policy: {}", policyDto.getName());
+        AccessPolicyDto createdPolicy = policyService.createPolicy(policyDto);
+        log.info("Successfully created access policy with ID: {}", createdPolicy.getId());
+        return ResponseEntity.ok(createdPolicy);
+    }
+
+    @GetMapping("/{id}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Get an access policy by ID (Requires: IAM:READ)")
+    public ResponseEntity<AccessPolicyDto> getPolicyById(@PathVariable Long id) {
+        log.debug("Received request to get access policy by ID: {}", id);
+        AccessPolicyDto policy = policyService.getPolicy(id);
+        log.info("Successfully retrieved access policy with ID: {}", id);
+        return ResponseEntity.ok(policy);
+    }
+
+    @PutMapping("/{id}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Update an access policy (Requires: IAM:UPDATE)")
+    public ResponseEntity<AccessPolicyDto> updatePolicy(@PathVariable Long id, @RequestBody @Valid AccessPolicyDto policyDto) {
+        log.debug("Received request to update access policy with ID: {}", id);
+        AccessPolicyDto updatedPolicy = policyService.updatePolicy(id, policyDto);
+        log.info("Successfully updated access policy with ID: {}", id);
+        return ResponseEntity.ok(updatedPolicy);
+    }
+
+    @DeleteMapping("/{id}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = DELETE)
+    @Operation(summary = "Delete an access policy by ID (Requires: IAM:DELETE)")
+    public ResponseEntity<Void> deletePolicyById(@PathVariable Long id) {
+        log.debug("Received request to delete access policy with ID: {}", id);
+        policyService.deletePolicy(id);
+        log.info("Successfully deleted access policy with ID: {}", id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/explain")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Show which policy rule decides a request (Requires: IAM:READ)")
+    public ResponseEntity<PolicyExplanation> explain(@RequestBody @Valid PolicyExplainRequest request,
+                                                     @AuthenticationPrincipal DefaultUserDetails userDetails) {
+        log.debug("Received request to explain {}:{} for user ID: {}", request.getServiceName(), request.getAction(), request.getUserId());
+        PolicyExplanation explanation = policyService.explain(request, userDetails.user());
+        log.info("Explained {}:{}: authorized={}", request.getServiceName(), request.getAction(), explanation.authorized());
+        return ResponseEntity.ok(explanation);
+    }
+}
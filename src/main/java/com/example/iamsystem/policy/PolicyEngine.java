@@ -0,0 +1,87 @@
+package com.example.iamsystem.policy;
+
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.policy.engine.AccessRequest;
+import com.example.iamsystem.policy.engine.PolicyDecision;
+import com.example.iamsystem.policy.engine.PolicyIndex;
+import com.example.iamsystem.policy.engine.PolicyParser;
+import com.example.iamsystem.policy.engine.PolicyRule;
+import com.example.iamsystem.policy.model.AccessPolicy;
+import com.example.iamsystem.user.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the enabled access policies compiled into a {@link PolicyIndex}. The index is rebuilt after
+ * every policy change on this instance and every {@code policy.refresh-interval} to pick up changes
+ * made elsewhere. If the database cannot be read the previous index stays in use.
+ */
+@Component
+@Slf4j
+public class PolicyEngine {
+
+    private final AccessPolicyRepository policyRepository;
+    private final ZoneId zone;
+    private volatile PolicyIndex index;
+
+    public PolicyEngine(AccessPolicyRepository policyRepository,
+                        @Value("${policy.time-zone:UTC}") ZoneId zone) {
+        this.policyRepository = policyRepository;
+        this.zone = zone;
+    }
+
+    public PolicyDecision evaluate(User user, String permission, Map<String, String> resource, String ip) {
+        return evaluate(AccessRequest.of(user, permission, resource, ip, Instant.now(), zone));
+    }
+
+    public PolicyDecision evaluate(AccessRequest request) {
+        PolicyIndex current = index;
+        return (current != null ? current : reload()).evaluate(request);
+    }
+
+    public void invalidate() {
+        index = null;
+    }
+
+    @Scheduled(fixedDelayString = "${policy.refresh-interval:PT1M}")
+    public void refresh() {
+        reload();
+    }
+
+    private synchronized PolicyIndex reload() {
+        List<AccessPolicy> policies;
+        try {
+            policies = policyRepository.findAllByEnabledTrueOrderByIdAsc();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Access policies not reloaded, database unavailable: {}", e.getMessage());
+            if (index == null) {
+                index = PolicyIndex.EMPTY;
+            }
+            return index;
+        }
+        List<PolicyRule> rules = new ArrayList<>();
+        for (AccessPolicy policy : policies) {
+            try {
+                rules.addAll(PolicyParser.parse(policy.getId(), policy.getName(), policy.getSource()));
+            } catch (UserInputNotValidException e) {
+                log.error("Skipping access policy {}: {}", policy.getId(), e.getMessage());
+            }
+        }
+        PolicyIndex reloaded = PolicyIndex.build(rules);
+        if (index == null || index.size() != reloaded.size()) {
+            log.info("Access policies loaded: {} policies, {} rules", policies.size(), reloaded.size());
+        }
+        index = reloaded;
+        return reloaded;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.iamsystem.policy;
+
+import com.example.iamsystem.audit.annotation.Auditable;
+import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.exception.DataNotFoundException;
+import com.example.iamsystem.permission.PermissionService;
+import com.example.iamsystem.policy.engine.PolicyDecision;
+import com.example.iamsystem.policy.engine.PolicyParser;
+import com.example.iamsystem.policy.model.AccessPolicy;
+import com.example.iamsystem.policy.model.AccessPolicyDto;
+import com.example.iamsystem.policy.model.AccessPolicyMapper;
+import com.example.iamsystem.policy.model.PolicyExplainRequest;
+import com.example.iamsystem.policy.model.PolicyExplanation;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.iamsystem.constant.ErrorMessage.POLICY_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.USER_NOT_FOUND;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyService {
+    private final AccessPolicyRepository policyRepository;
+    private final UserRepository userRepository;
+    private final PermissionService permissionService;
+    private final PolicyEngine policyEngine;
+    private static final AccessPolicyMapper policyMapper = Mappers.getMapper(AccessPolicyMapper.class);
+
+    @Auditable(
+            value = AuditEventType.POLICY_CREATE,
+            target = "#policyDto.name",
+            detailsExpression = "T(java.util.Map).of('policy_id', #result.id, 'policy_name', #result.name)"
+    )
+    public AccessPolicyDto createPolicy(AccessPolicyDto policyDto) {
+        log.debug("Attempting to create access policy: {}", policyDto.getName());
+        PolicyParser.parse(null, policyDto.getName(), policyDto.getSource());
+        AccessPolicy policy = policyRepository.save(policyMapper.toEntity(policyDto));
+        policyEngine.invalidate();
+        log.info("Access policy created successfully with ID: {}", policy.getId());
+        return policyMapper.toDto(policy);
+    }
+
+    @Auditable(
+            value = AuditEventType.POLICY_UPDATE,
+            target = "#policyDto.name",
+            detailsExpression = "T(java.util.Map).of('policy_id', #id, 'policy_name', #policyDto.name)"
+    )
+    public AccessPolicyDto updatePolicy(Long id, AccessPolicyDto policyDto) {
+        log.debug("Attempting to update access policy with ID: {}", id);
+        AccessPolicy policy = findPolicyById(id);
+        PolicyParser.parse(id, policyDto.getName(), policyDto.getSource());
+        policyMapper.toUpdateEntity(policy, policyDto);
+        AccessPolicy updatedPolicy = policyRepository.save(policy);
+        policyEngine.invalidate();
+        log.info("Access policy with ID: {} updated successfully", id);
+        return policyMapper.toDto(updatedPolicy);
+    }
+
+    @Auditable(
+            value = AuditEventType.POLICY_DELETE,
+            target = "#id"
+    )
+    public void deletePolicy(Long id) {
+        log.debug("Attempting to delete access policy with ID: {}", id);
+        findPolicyById(id);
+        policyRepository.deleteById(id);
+        policyEngine.invalidate();
+        log.info("Access policy with ID: {} deleted successfully", id);
+    }
+
+    public AccessPolicyDto getPolicy(Long id) {
+        log.debug("Attempting to retrieve access policy by ID: {}", id);
+        return policyMapper.toDto(findPolicyById(id));
+    }
+
+    public List<AccessPolicyDto> getPolicies() {
+        log.debug("Attempting to retrieve all access policies");
+        List<AccessPolicyDto> policies = policyMapper.toDto(policyRepository.findAll());
+        log.info("Retrieved {} total access policies", policies.size());
+        return policies;
+    }
+
+    /**
+     * Evaluates a request against the roles and the loaded policies without acting on the result.
+     * Without a user id the request is evaluated for {@code caller}.
+     */
+    @Transactional(readOnly = true)
+    public PolicyExplanation explain(PolicyExplainRequest request, User caller) {
+        User user = request.getUserId() == null ? caller : userRepository.findById(request.getUserId())
+                .orElseThrow(() -> {
+                    log.warn("User not found with ID: {}", request.getUserId());
+                    return new DataNotFoundException(USER_NOT_FOUND);
+                });
+        String permission = request.getServiceName() + ":" + request.getAction();
+        boolean grantedByRoles = permissionService.hasPermission(user, permission);
+        PolicyDecision decision = policyEngine.evaluate(user, permission, request.getResource(), request.getIp());
+        log.info("Explained '{}' for user '{}': {} after {} rules", permission, user.getUsername(),
+                decision.effect(), decision.evaluatedRules());
+        return PolicyExplanation.of(decision, grantedByRoles);
+    }
+
+    private AccessPolicy findPolicyById(Long id) {
+        return policyRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Access policy not found with ID: {}", id);
+                    return new DataNotFoundException(POLICY_NOT_FOUND);
+                });
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.iamsystem.policy.engine;
+
+import com.example.iamsystem.user.model.entity.User;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everything a policy can look at, flattened once per request so rule conditions read plain fields.
+ */
+public record AccessRequest(Long userId,
+                            String username,
+                            Long organizationId,
+                            boolean rootUser,
+                            boolean superUser,
+                            boolean active,
+                            String service,
+                            String action,
+                            String permission,
+                            String serviceWildcard,
+                            Map<String, String> resource,
+                            String ip,
+                            long epochSecond,
+                            int hour,
+                            int dayOfWeek) {
+
+    public static AccessRequest of(User user, String permission, Map<String, String> resource, String ip,
+                                   Instant time, ZoneId zone) {
+        Long organizationId = user.getOrganization() != null ? user.getOrganization().getId() : null;
+        return of(user.getId(), user.getUsername(), organizationId, user.isRootUser(), user.isSuperUser(), user.isActive(),
+                permission, resource, ip, time, zone);
+    }
+
+    public static AccessRequest of(Long userId, String username, Long organizationId, boolean rootUser, boolean superUser,
+                                   boolean active, String permission, Map<String, String> resource, String ip,
+                                   Instant time, ZoneId zone) {
+        int separator = permission.indexOf(':');
+        String service = separator < 0 ? permission : permission.substring(0, separator);
+        String action = separator < 0 ? "" : permission.substring(separator + 1);
+        ZonedDateTime local = time.atZone(zone);
+        return new AccessRequest(userId, username, organizationId, rootUser, superUser, active, service, action,
+                permission, service + ":*", Objects.requireNonNullElse(resource, Map.of()), ip,
+                time.getEpochSecond(), local.getHour(), local.getDayOfWeek().getValue());
+    }
+}
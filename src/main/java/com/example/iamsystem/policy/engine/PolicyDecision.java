@@ -0,0 +1,16 @@
+package com.example.iamsystem.policy.engine;
+
+/**
+ * Outcome of evaluating the policies for one request. {@code rule} is the deciding rule and is null
+ * when no rule applied; {@code evaluatedRules} counts the conditions that were tested.
+ */
+public record PolicyDecision(PolicyEffect effect, PolicyRule rule, int evaluatedRules) {
+
+    /**
+     * Combines the policy outcome with the role based check: a matching deny rule always wins, a
+     * matching permit rule grants access the roles do not, otherwise the roles decide.
+     */
+    public boolean authorized(boolean grantedByRoles) {
+        return effect == PolicyEffect.PERMIT || (effect == PolicyEffect.NOT_APPLICABLE && grantedByRoles);
+    }
+}
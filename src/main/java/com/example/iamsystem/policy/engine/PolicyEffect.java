@@ -0,0 +1,5 @@
+package com.example.iamsystem.policy.engine;
+
+public enum PolicyEffect {
+    PERMIT, DENY, NOT_APPLICABLE
+}
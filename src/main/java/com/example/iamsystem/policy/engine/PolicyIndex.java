@@ -0,0 +1,133 @@
+package com.example.iamsystem.policy.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decision structure over compiled rules. Rules are first bucketed by target, so a request only
+ * sees the rules for its exact permission, its service wildcard and {@code *}. Inside a bucket the
+ * attribute that most rules compare by equality becomes a discriminator: those rules are kept in a
+ * hash map by the literal they require and only the branch for the request's value is visited.
+ * Rules without that equality are checked for every request of the bucket.
+ * <p>
+ * Deny overrides permit: evaluation stops at the first matching deny rule; otherwise the first
+ * matching permit rule decides.
+ */
+public final class PolicyIndex {
+
+    public static final PolicyIndex EMPTY = build(List.of());
+
+    private static final PolicyRule[] NO_RULES = new PolicyRule[0];
+
+    private final Map<String, Bucket> buckets;
+    private final int size;
+
+    private PolicyIndex(Map<String, Bucket> buckets, int size) {
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    public static PolicyIndex build(Collection<PolicyRule> rules) {
+        Map<String, List<PolicyRule>> byTarget = new LinkedHashMap<>();
+        for (PolicyRule rule : rules) {
+            byTarget.computeIfAbsent(rule.target(), target -> new ArrayList<>()).add(rule);
+        }
+        Map<String, Bucket> buckets = new HashMap<>();
+        byTarget.forEach((target, targetRules) -> buckets.put(target, Bucket.of(targetRules)));
+        return new PolicyIndex(buckets, rules.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PolicyDecision evaluate(AccessRequest request) {
+        Evaluation evaluation = new Evaluation();
+        if (evaluation.visit(buckets.get(request.permission()), request)
+                || evaluation.visit(buckets.get(request.serviceWildcard()), request)
+                || evaluation.visit(buckets.get("*"), request)) {
+            return new PolicyDecision(PolicyEffect.DENY, evaluation.deny, evaluation.evaluated);
+        }
+        if (evaluation.permit != null) {
+            return new PolicyDecision(PolicyEffect.PERMIT, evaluation.permit, evaluation.evaluated);
+        }
+        return new PolicyDecision(PolicyEffect.NOT_APPLICABLE, null, evaluation.evaluated);
+    }
+
+    private static final class Evaluation {
+        private PolicyRule permit;
+        private PolicyRule deny;
+        private int evaluated;
+
+        /**
+         * Returns true once a deny rule matched.
+         */
+        boolean visit(Bucket bucket, AccessRequest request) {
+            if (bucket == null) {
+                return false;
+            }
+            if (bucket.discriminator != null) {
+                String value = PolicyParser.text(bucket.discriminator.apply(request));
+                if (value != null && visit(bucket.branches.getOrDefault(value, NO_RULES), request)) {
+                    return true;
+                }
+            }
+            return visit(bucket.residual, request);
+        }
+
+        private boolean visit(PolicyRule[] rules, AccessRequest request) {
+            for (PolicyRule rule : rules) {
+                if (rule.effect() == PolicyEffect.PERMIT && permit != null) {
+                    continue;
+                }
+                evaluated++;
+                if (rule.matches(request)) {
+                    if (rule.effect() == PolicyEffect.DENY) {
+                        deny = rule;
+                        return true;
+                    }
+                    permit = rule;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Bucket(Function<AccessRequest, Object> discriminator,
+                          Map<String, PolicyRule[]> branches,
+                          PolicyRule[] residual) {
+
+        static Bucket of(List<PolicyRule> rules) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (PolicyRule rule : rules) {
+                rule.equalities().keySet().forEach(attribute -> counts.merge(attribute, 1, Integer::sum));
+            }
+            String attribute = counts.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 1)
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            if (attribute == null) {
+                return new Bucket(null, Map.of(), rules.toArray(NO_RULES));
+            }
+            Map<String, List<PolicyRule>> branches = new HashMap<>();
+            List<PolicyRule> residual = new ArrayList<>();
+            for (PolicyRule rule : rules) {
+                String value = rule.equalities().get(attribute);
+                if (value != null) {
+                    branches.computeIfAbsent(value, key -> new ArrayList<>()).add(rule);
+                } else {
+                    residual.add(rule);
+                }
+            }
+            Map<String, PolicyRule[]> compiled = new HashMap<>();
+            branches.forEach((value, branch) -> compiled.put(value, branch.toArray(NO_RULES)));
+            return new Bucket(PolicyParser.accessor(attribute), compiled, residual.toArray(NO_RULES));
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.example.iamsystem.policy.engine;
+
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.permission.model.PermissionAction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the policy language into {@link PolicyRule}s. A policy is a list of rules, one per line:
+ * <pre>
+ * # comment
+ * permit DOCS:READ when resource.owner == user.username
+ * deny DOCS:* when env.ip not within "10.0.0.0/8"
+ * permit REPORTS:READ when user.organization == 42 and env.hour in 9..17
+ * deny * when not user.active
+ * </pre>
+ * A target is {@code SERVICE:ACTION}, {@code SERVICE:*} or {@code *}. Conditions combine comparisons
+ * ({@code == != < <= > >=}), {@code in [..]}, {@code in a..b}, {@code within "cidr"} and bare boolean
+ * attributes with {@code and}, {@code or}, {@code not} and parentheses. Attributes are
+ * {@code user.*}, {@code resource.<name>}, {@code env.*} and {@code request.*}. A missing attribute
+ * never compares equal to anything.
+ * <p>
+ * Every condition is compiled to a tree of lambdas once, so evaluation does no parsing, reflection
+ * or expression interpretation.
+ */
+public final class PolicyParser {
+
+    private static final Map<String, Function<AccessRequest, Object>> ATTRIBUTES = Map.ofEntries(
+            attribute("user.id", AccessRequest::userId),
+            attribute("user.username", AccessRequest::username),
+            attribute("user.organization", AccessRequest::organizationId),
+            attribute("user.rootUser", AccessRequest::rootUser),
+            attribute("user.superUser", AccessRequest::superUser),
+            attribute("user.active", AccessRequest::active),
+            attribute("request.service", AccessRequest::service),
+            attribute("request.action", AccessRequest::action),
+            attribute("env.ip", AccessRequest::ip),
+            attribute("env.hour", request -> (long) request.hour()),
+            attribute("env.dayOfWeek", request -> (long) request.dayOfWeek()),
+            attribute("env.time", AccessRequest::epochSecond)
+    );
+    private static final String RESOURCE_PREFIX = "resource.";
+
+    private PolicyParser() {
+    }
+
+    private static Map.Entry<String, Function<AccessRequest, Object>> attribute(String name, Function<AccessRequest, Object> accessor) {
+        return Map.entry(name, accessor);
+    }
+
+    public static List<PolicyRule> parse(Long policyId, String policyName, String source) {
+        List<PolicyRule> rules = new ArrayList<>();
+        String[] lines = source.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(new LineParser(policyId, policyName, i + 1, line).parse());
+            } catch (SyntaxError e) {
+                throw new UserInputNotValidException("Policy '%s' line %d, column %d: %s"
+                        .formatted(policyName, i + 1, e.column + 1, e.getMessage()));
+            }
+        }
+        return rules;
+    }
+
+    static Function<AccessRequest, Object> accessor(String name) {
+        if (name.startsWith(RESOURCE_PREFIX) && name.length() > RESOURCE_PREFIX.length()) {
+            String key = name.substring(RESOURCE_PREFIX.length());
+            return request -> request.resource().get(key);
+        }
+        return ATTRIBUTES.get(name);
+    }
+
+    /**
+     * Canonical text of an attribute or literal value; equality is defined on it.
+     */
+    static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    static Long number(Object value) {
+        if (value instanceof Long number) {
+            return number;
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private enum Kind {
+        WORD, STRING, NUMBER, SYMBOL, END
+    }
+
+    private record Token(Kind kind, String text, int column) {
+        boolean is(String value) {
+            return (kind == Kind.WORD || kind == Kind.SYMBOL) && text.equals(value);
+        }
+    }
+
+    /**
+     * A compiled condition and the equality terms that must hold for it to be true.
+     */
+    private record Expression(Predicate<AccessRequest> predicate, Map<String, String> equalities) {
+        static Expression of(Predicate<AccessRequest> predicate) {
+            return new Expression(predicate, Map.of());
+        }
+    }
+
+    /**
+     * Either an attribute ({@code name} set) or a literal value.
+     */
+    private record Operand(String name, Function<AccessRequest, Object> accessor, Object literal, int column) {
+        boolean isAttribute() {
+            return name != null;
+        }
+    }
+
+    private static final class SyntaxError extends RuntimeException {
+        private final int column;
+
+        SyntaxError(String message, int column) {
+            super(message);
+            this.column = column;
+        }
+    }
+
+    private static final class LineParser {
+        private final Long policyId;
+        private final String policyName;
+        private final int lineNumber;
+        private final String line;
+        private final List<Token> tokens;
+        private int position;
+
+        LineParser(Long policyId, String policyName, int lineNumber, String line) {
+            this.policyId = policyId;
+            this.policyName = policyName;
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.tokens = tokenize(line);
+        }
+
+        PolicyRule parse() {
+            Token effectToken = next();
+            PolicyEffect effect = switch (effectToken.text()) {
+                case "permit" -> PolicyEffect.PERMIT;
+                case "deny" -> PolicyEffect.DENY;
+                default -> throw new SyntaxError("expected 'permit' or 'deny'", effectToken.column());
+            };
+            String target = target();
+            Expression condition = Expression.of(request -> true);
+            if (peek().is("when")) {
+                next();
+                condition = or();
+            }
+            Token end = peek();
+            if (end.kind() != Kind.END) {
+                throw new SyntaxError("unexpected '" + end.text() + "'", end.column());
+            }
+            return new PolicyRule(policyId, policyName, lineNumber, line, effect, target, condition.predicate(),
+                    condition.equalities());
+        }
+
+        private String target() {
+            Token first = next();
+            if (first.is("*")) {
+                return "*";
+            }
+            if (first.kind() != Kind.WORD) {
+                throw new SyntaxError("expected a target such as SERVICE:ACTION, SERVICE:* or *", first.column());
+            }
+            expect(":");
+            Token action = next();
+            if (action.is("*")) {
+                return first.text() + ":*";
+            }
+            if (action.kind() != Kind.WORD || !isAction(action.text())) {
+                throw new SyntaxError("unknown action '" + action.text() + "'", action.column());
+            }
+            return first.text() + ":" + action.text();
+        }
+
+        private Expression or() {
+            Expression left = and();
+            while (peek().is("or")) {
+                next();
+                Predicate<AccessRequest> first = left.predicate();
+                Predicate<AccessRequest> second = and().predicate();
+                left = Expression.of(request -> first.test(request) || second.test(request));
+            }
+            return left;
+        }
+
+        private Expression and() {
+            Expression left = unary();
+            while (peek().is("and")) {
+                next();
+                Expression right = unary();
+                Predicate<AccessRequest> first = left.predicate();
+                Predicate<AccessRequest> second = right.predicate();
+                Map<String, String> equalities = new LinkedHashMap<>(right.equalities());
+                equalities.putAll(left.equalities());
+                left = new Expression(request -> first.test(request) && second.test(request), equalities);
+            }
+            return left;
+        }
+
+        private Expression unary() {
+            if (peek().is("not")) {
+                next();
+                Predicate<AccessRequest> negated = unary().predicate();
+                return Expression.of(request -> !negated.test(request));
+            }
+            if (peek().is("(")) {
+                next();
+                Expression inner = or();
+                expect(")");
+                return inner;
+            }
+            return comparison();
+        }
+
+        private Expression comparison() {
+            Operand left = operand();
+            Token operator = peek();
+            if (operator.is("not")) {
+                next();
+                Token negated = peek();
+                if (!negated.is("in") && !negated.is("within")) {
+                    throw new SyntaxError("expected 'in' or 'within' after 'not'", negated.column());
+                }
+                Predicate<AccessRequest> membership = membership(left);
+                return Expression.of(request -> !membership.test(request));
+            }
+            if (operator.is("in") || operator.is("within")) {
+                return Expression.of(membership(left));
+            }
+            if (operator.kind() == Kind.SYMBOL && List.of("==", "!=", "<", "<=", ">", ">=").contains(operator.text())) {
+                next();
+                return compare(left, operator.text(), operand());
+            }
+            if (!left.isAttribute()) {
+                if (left.literal() instanceof Boolean value) {
+                    return Expression.of(request -> value);
+                }
+                throw new SyntaxError("expected a condition", left.column());
+            }
+            Function<AccessRequest, Object> accessor = left.accessor();
+            return Expression.of(request -> "true".equals(text(accessor.apply(request))));
+        }
+
+        private Predicate<AccessRequest> membership(Operand left) {
+            Token operator = next();
+            Function<AccessRequest, Object> accessor = requireAttribute(left);
+            if (operator.is("within")) {
+                Token cidr = next();
+                if (cidr.kind() != Kind.STRING) {
+                    throw new SyntaxError("expected a quoted CIDR block", cidr.column());
+                }
+                CidrBlock block;
+                try {
+                    block = CidrBlock.parse(cidr.text());
+                } catch (IllegalArgumentException e) {
+                    throw new SyntaxError(e.getMessage(), cidr.column());
+                }
+                return request -> {
+                    String ip = text(accessor.apply(request));
+                    return ip != null && block.contains(ip);
+                };
+            }
+            if (peek().kind() == Kind.NUMBER) {
+                long from = Long.parseLong(next().text());
+                expect("..");
+                Token upper = next();
+                if (upper.kind() != Kind.NUMBER) {
+                    throw new SyntaxError("expected a number", upper.column());
+                }
+                long to = Long.parseLong(upper.text());
+                return request -> {
+                    Long value = number(accessor.apply(request));
+                    return value != null && value >= from && value <= to;
+                };
+            }
+            expect("[");
+            Set<String> values = new HashSet<>();
+            do {
+                Operand value = operand();
+                if (value.isAttribute()) {
+                    throw new SyntaxError("expected a literal", value.column());
+                }
+                values.add(text(value.literal()));
+            } while (accept(","));
+            expect("]");
+            return request -> {
+                String value = text(accessor.apply(request));
+                return value != null && values.contains(value);
+            };
+        }
+
+        private Expression compare(Operand left, String operator, Operand right) {
+            if (!left.isAttribute() && right.isAttribute()) {
+                return compare(right, mirror(operator), left);
+            }
+            Function<AccessRequest, Object> first = left.isAttribute() ? left.accessor() : request -> left.literal();
+            switch (operator) {
+                case "==", "!=" -> {
+                    Predicate<AccessRequest> equal;
+                    Map<String, String> equalities = Map.of();
+                    if (right.isAttribute()) {
+                        Function<AccessRequest, Object> second = right.accessor();
+                        equal = request -> {
+                            String value = text(first.apply(request));
+                            return value != null && value.equals(text(second.apply(request)));
+                        };
+                    } else {
+                        String literal = text(right.literal());
+                        equal = request -> literal.equals(text(first.apply(request)));
+                        if (left.isAttribute()) {
+                            equalities = Map.of(left.name(), literal);
+                        }
+                    }
+                    if (operator.equals("==")) {
+                        return new Expression(equal, equalities);
+                    }
+                    Predicate<AccessRequest> notEqual = equal;
+                    return Expression.of(request -> !notEqual.test(request));
+                }
+                default -> {
+                    Function<AccessRequest, Object> second = right.isAttribute() ? right.accessor() : request -> right.literal();
+                    if (!right.isAttribute() && number(right.literal()) == null) {
+                        throw new SyntaxError("'" + operator + "' needs a number", right.column());
+                    }
+                    IntPredicate outcome = switch (operator) {
+                        case "<" -> comparison -> comparison < 0;
+                        case "<=" -> comparison -> comparison <= 0;
+                        case ">" -> comparison -> comparison > 0;
+                        default -> comparison -> comparison >= 0;
+                    };
+                    return Expression.of(request -> {
+                        Long a = number(first.apply(request));
+                        Long b = number(second.apply(request));
+                        return a != null && b != null && outcome.test(Long.compare(a, b));
+                    });
+                }
+            }
+        }
+
+        private static String mirror(String operator) {
+            return switch (operator) {
+                case "<" -> ">";
+                case "<=" -> ">=";
+                case ">" -> "<";
+                case ">=" -> "<=";
+                default -> operator;
+            };
+        }
+
+        private Operand operand() {
+            Token token = next();
+            return switch (token.kind()) {
+                case STRING -> new Operand(null, null, token.text(), token.column());
+                case NUMBER -> new Operand(null, null, Long.parseLong(token.text()), token.column());
+                case WORD -> {
+                    if (token.is("true") || token.is("false")) {
+                        yield new Operand(null, null, Boolean.parseBoolean(token.text()), token.column());
+                    }
+                    yield new Operand(token.text(), accessor(token), null, token.column());
+                }
+                default -> throw new SyntaxError("expected an attribute or a value", token.column());
+            };
+        }
+
+        private static Function<AccessRequest, Object> accessor(Token token) {
+            Function<AccessRequest, Object> accessor = PolicyParser.accessor(token.text());
+            if (accessor == null) {
+                throw new SyntaxError("unknown attribute '" + token.text() + "'", token.column());
+            }
+            return accessor;
+        }
+
+        private static Function<AccessRequest, Object> requireAttribute(Operand operand) {
+            if (!operand.isAttribute()) {
+                throw new SyntaxError("expected an attribute", operand.column());
+            }
+            return operand.accessor();
+        }
+
+        private static boolean isAction(String action) {
+            for (PermissionAction value : PermissionAction.values()) {
+                if (value != PermissionAction.ANY && value.name().equals(action)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return tokens.get(position);
+        }
+
+        private Token next() {
+            Token token = tokens.get(position);
+            if (token.kind() == Kind.END) {
+                throw new SyntaxError("unexpected end of rule", token.column());
+            }
+            position++;
+            return token;
+        }
+
+        private boolean accept(String symbol) {
+            if (peek().is(symbol)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String symbol) {
+            Token token = peek();
+            if (!token.is(symbol)) {
+                throw new SyntaxError("expected '" + symbol + "'", token.column());
+            }
+            position++;
+        }
+
+        private static List<Token> tokenize(String line) {
+            List<Token> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < line.length()) {
+                char c = line.charAt(i);
+                int start = i;
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '#') {
+                    break;
+                } else if (Character.isLetter(c) || c == '_') {
+                    while (i < line.length() && (Character.isLetterOrDigit(line.charAt(i)) || line.charAt(i) == '_'
+                            || line.charAt(i) == '.' || line.charAt(i) == '-')) {
+                        i++;
+                    }
+                    tokens.add(new Token(Kind.WORD, line.substring(start, i), start));
+                } else if (Character.isDigit(c) || (c == '-' && i + 1 < line.length() && Character.isDigit(line.charAt(i + 1)))) {
+                    i++;
+                    while (i < line.length() && Character.isDigit(line.charAt(i))) {
+                        i++;
+                    }
+                    tokens.add(new Token(Kind.NUMBER, line.substring(start, i), start));
+                } else if (c == '"') {
+                    StringBuilder value = new StringBuilder();
+                    i++;
+                    while (i < line.length() && line.charAt(i) != '"') {
+                        if (line.charAt(i) == '\\' && i + 1 < line.length()) {
+                            i++;
+                        }
+                        value.append(line.charAt(i++));
+                    }
+                    if (i == line.length()) {
+                        throw new SyntaxError("unterminated string", start);
+                    }
+                    i++;
+                    tokens.add(new Token(Kind.STRING, value.toString(), start));
+                } else {
+                    String pair = i + 1 < line.length() ? line.substring(i, i + 2) : "";
+                    if (List.of("==", "!=", "<=", ">=", "..").contains(pair)) {
+                        tokens.add(new Token(Kind.SYMBOL, pair, start));
+                        i += 2;
+                    } else if ("()[],<>:*".indexOf(c) >= 0) {
+                        tokens.add(new Token(Kind.SYMBOL, String.valueOf(c), start));
+                        i++;
+                    } else {
+                        throw new SyntaxError("unexpected character '" + c + "'", start);
+                    }
+                }
+            }
+            tokens.add(new Token(Kind.END, "", line.length()));
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.iamsystem.policy.engine;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * One compiled line of a policy. {@code equalities} holds the {@code attribute == literal} terms
+ * the condition requires, keyed by attribute with the literal in its canonical text form, so the
+ * rule can be indexed by any of them.
+ */
+public record PolicyRule(Long policyId,
+                         String policyName,
+                         int line,
+                         String text,
+                         PolicyEffect effect,
+                         String target,
+                         Predicate<AccessRequest> condition,
+                         Map<String, String> equalities) {
+
+    public boolean matches(AccessRequest request) {
+        return condition.test(request);
+    }
+}
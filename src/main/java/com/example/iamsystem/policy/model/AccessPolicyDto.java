@@ -0,0 +1,23 @@
+package com.example.iamsystem.policy.model;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccessPolicyDto {
+    private Long id;
+    @NotNull(message = ErrorMessage.POLICY_NAME_REQUIRED)
+    private String name;
+    private String description;
+    @NotBlank(message = ErrorMessage.POLICY_SOURCE_REQUIRED)
+    @Size(max = 8192, message = ErrorMessage.POLICY_SOURCE_TOO_LONG)
+    private String source;
+    private boolean enabled = true;
+}
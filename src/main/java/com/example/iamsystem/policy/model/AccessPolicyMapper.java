@@ -0,0 +1,23 @@
+package com.example.iamsystem.policy.model;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AccessPolicyMapper {
+    AccessPolicyDto toDto(AccessPolicy policy);
+
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    AccessPolicy toEntity(AccessPolicyDto policyDto);
+
+    List<AccessPolicyDto> toDto(List<AccessPolicy> policies);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void toUpdateEntity(@MappingTarget AccessPolicy policy, AccessPolicyDto policyDto);
+}
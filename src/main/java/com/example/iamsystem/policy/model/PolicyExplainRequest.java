@@ -0,0 +1,27 @@
+package com.example.iamsystem.policy.model;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import com.example.iamsystem.util.validators.action.ValidAction;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A hypothetical authorization request; {@code userId} defaults to the caller.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyExplainRequest {
+    private Long userId;
+    @NotNull(message = ErrorMessage.SERVICE_NAME_REQUIRED)
+    private String serviceName;
+    @NotNull(message = ErrorMessage.ACTION_NAME_REQUIRED)
+    @ValidAction
+    private String action;
+    private Map<String, String> resource;
+    private String ip;
+}
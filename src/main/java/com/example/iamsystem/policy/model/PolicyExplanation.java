@@ -0,0 +1,30 @@
+package com.example.iamsystem.policy.model;
+
+import com.example.iamsystem.policy.engine.PolicyDecision;
+import com.example.iamsystem.policy.engine.PolicyEffect;
+import com.example.iamsystem.policy.engine.PolicyRule;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Which rule decided a request, if any, and how it combined with the user's roles.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PolicyExplanation(boolean authorized,
+                                boolean grantedByRoles,
+                                PolicyEffect effect,
+                                Long policyId,
+                                String policyName,
+                                Integer line,
+                                String rule,
+                                int evaluatedRules) {
+
+    public static PolicyExplanation of(PolicyDecision decision, boolean grantedByRoles) {
+        PolicyRule rule = decision.rule();
+        return new PolicyExplanation(decision.authorized(grantedByRoles), grantedByRoles, decision.effect(),
+                rule != null ? rule.policyId() : null,
+                rule != null ? rule.policyName() : null,
+                rule != null ? rule.line() : null,
+                rule != null ? rule.text() : null,
+                decision.evaluatedRules());
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.iamsystem.review;
+
+import com.example.iamsystem.permission.PermissionCatalog;
+import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.security.snapshot.SnapshotLink;
+import com.example.iamsystem.security.snapshot.SnapshotUserRow;
+import com.example.iamsystem.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "who holds permission X" and "who has role R" from a {@link HolderIndex} kept in memory,
+ * so access reviews never walk users and their eagerly loaded role graphs. The index is built on
+ * first use by paging through users in id order, then kept current by the services that change
+ * role assignments, role permissions and group roles; their changes are applied once committed.
+ * Changes made on other instances are picked up by a rebuild every
+ * {@code access-review.refresh-interval}. Changes committed while a rebuild runs are replayed onto
+ * the rebuilt index, so none are lost.
+ * <p>
+ * User ids are kept as unsigned 32-bit values.
+ */
+@Component
+@Slf4j
+public class AccessIndex {
+
+    /**
+     * The roles granting a permission and the users holding it through them or as root users.
+     */
+    public record Holders(List<Long> roleIds, RoaringBitmap userIds) {
+    }
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PermissionCatalog permissionCatalog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final Object buildLock = new Object();
+    private volatile HolderIndex index;
+    private List<Consumer<HolderIndex>> replay;
+
+    public AccessIndex(UserRepository userRepository,
+                       RoleRepository roleRepository,
+                       PermissionCatalog permissionCatalog,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${access-review.batch-size:1000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.permissionCatalog = permissionCatalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    public Holders permissionHolders(String permission) {
+        HolderIndex current = loaded();
+        synchronized (this) {
+            List<Long> roleIds = current.roles(permission);
+            return new Holders(roleIds, current.holders(roleIds, true));
+        }
+    }
+
+    public RoaringBitmap roleHolders(Long roleId) {
+        HolderIndex current = loaded();
+        synchronized (this) {
+            return current.holders(List.of(roleId), false);
+        }
+    }
+
+    /**
+     * The names of the permissions each role grants, directly or inherited, wildcards included.
+     */
+    public Map<Long, Set<String>> rolePermissions() {
+        HolderIndex current = loaded();
+        synchronized (this) {
+            return current.permissionsByRole();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${access-review.refresh-interval:PT5M}",
+            initialDelayString = "${access-review.refresh-interval:PT5M}")
+    public void refresh() {
+        if (index == null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Access index not rebuilt, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records the current effective permissions of roles whose permissions or parents changed.
+     */
+    public void rolesChanged(Collection<Role> roles) {
+        Map<Long, Set<String>> permissions = new HashMap<>();
+        for (Role role : roles) {
+            permissions.put(role.getId(), role.effectivePermissions()
+                    .map(Permission::permissionName)
+                    .collect(Collectors.toSet()));
+        }
+        afterCommit(() -> apply(current -> permissions.forEach(current::setPermissions)));
+    }
+
+    public void roleDeleted(Long roleId) {
+        afterCommit(() -> apply(current -> current.removeRole(roleId)));
+    }
+
+    /**
+     * Re-reads the permissions of every role, after permissions were renamed or deleted.
+     */
+    public void permissionsChanged() {
+        afterCommit(() -> {
+            if (!tracking()) {
+                return;
+            }
+            try {
+                Map<Long, Set<String>> permissions = readOnlyTransaction.execute(status -> loadRolePermissions());
+                apply(current -> current.replacePermissions(permissions));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Access index not updated after a permission change: {}", e.getMessage());
+            }
+        });
+    }
+
+    public void rolesGranted(Long userId, Collection<Long> roleIds) {
+        List<Long> granted = List.copyOf(roleIds);
+        afterCommit(() -> apply(current -> granted.forEach(roleId -> current.grant(roleId, user(userId)))));
+    }
+
+    public void rolesRevoked(Long userId, Collection<Long> roleIds) {
+        List<Long> revoked = List.copyOf(roleIds);
+        afterCommit(() -> apply(current -> revoked.forEach(roleId -> current.revoke(roleId, user(userId)))));
+    }
+
+    /**
+     * Re-reads who holds the roles through groups, after memberships or group grants changed.
+     */
+    public void groupRolesChanged(Collection<Long> roleIds) {
+        List<Long> changed = List.copyOf(roleIds);
+        afterCommit(() -> {
+            if (!tracking() || changed.isEmpty()) {
+                return;
+            }
+            try {
+                Map<Long, RoaringBitmap> holders = readOnlyTransaction.execute(status -> {
+                    Map<Long, RoaringBitmap> loaded = new HashMap<>();
+                    for (Long roleId : changed) {
+                        RoaringBitmap users = new RoaringBitmap();
+                        userRepository.findGroupRoleHolderIds(roleId).forEach(userId -> users.add(user(userId)));
+                        loaded.put(roleId, users);
+                    }
+                    return loaded;
+                });
+                apply(current -> holders.forEach((roleId, users) -> current.setGroupHolders(roleId, users.clone())));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Access index not updated after a group change: {}", e.getMessage());
+            }
+        });
+    }
+
+    public void userRegistered(Long userId, boolean rootUser) {
+        if (rootUser) {
+            afterCommit(() -> apply(current -> current.setRoot(user(userId), true)));
+        }
+    }
+
+    public void userDeleted(Long userId) {
+        afterCommit(() -> apply(current -> current.removeUser(user(userId))));
+    }
+
+    void rebuild() {
+        synchronized (buildLock) {
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            HolderIndex rebuilt;
+            try {
+                rebuilt = readOnlyTransaction.execute(status -> load());
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    replay = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                replay.forEach(change -> change.accept(rebuilt));
+                replay = null;
+                index = rebuilt;
+            }
+        }
+    }
+
+    private HolderIndex loaded() {
+        HolderIndex current = index;
+        if (current == null) {
+            synchronized (buildLock) {
+                if (index == null) {
+                    rebuild();
+                }
+            }
+            current = index;
+        }
+        return current;
+    }
+
+    private synchronized boolean tracking() {
+        return index != null || replay != null;
+    }
+
+    private synchronized void apply(Consumer<HolderIndex> change) {
+        if (index != null) {
+            change.accept(index);
+        }
+        if (replay != null) {
+            replay.add(change);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private HolderIndex load() {
+        HolderIndex loaded = new HolderIndex();
+        loaded.replacePermissions(loadRolePermissions());
+        Map<Long, RoaringBitmap> groupHolders = new HashMap<>();
+        long afterId = 0;
+        int users = 0;
+        List<SnapshotUserRow> page;
+        do {
+            page = userRepository.findSnapshotUsers(afterId, PageRequest.ofSize(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(page.size());
+            for (SnapshotUserRow row : page) {
+                ids.add(row.id());
+                loaded.setRoot(user(row.id()), row.rootUser());
+            }
+            for (SnapshotLink link : userRepository.findRoleLinks(ids)) {
+                loaded.grant(link.toId(), user(link.fromId()));
+            }
+            for (SnapshotLink link : userRepository.findGroupRoleLinks(ids)) {
+                groupHolders.computeIfAbsent(link.toId(), roleId -> new RoaringBitmap()).add(user(link.fromId()));
+            }
+            users += page.size();
+            afterId = page.get(page.size() - 1).id();
+        } while (page.size() == batchSize);
+        groupHolders.forEach(loaded::setGroupHolders);
+        log.info("Access index built for {} users", users);
+        return loaded;
+    }
+
+    private Map<Long, Set<String>> loadRolePermissions() {
+        Map<Long, String> names = permissionCatalog.snapshot().permissions();
+        List<SnapshotLink> links = new ArrayList<>(roleRepository.findPermissionLinks());
+        links.addAll(roleRepository.findInheritedPermissionLinks());
+        Map<Long, Set<String>> permissions = new HashMap<>();
+        for (SnapshotLink link : links) {
+            String name = names.get(link.toId());
+            if (name != null) {
+                permissions.computeIfAbsent(link.fromId(), roleId -> new HashSet<>()).add(name);
+            }
+        }
+        return permissions;
+    }
+
+    private static int user(Long userId) {
+        return (int) userId.longValue();
+    }
+}
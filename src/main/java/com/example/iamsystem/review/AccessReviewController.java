@@ -0,0 +1,99 @@
+package com.example.iamsystem.review;
+
+import com.example.iamsystem.review.model.HolderDto;
+import com.example.iamsystem.review.model.HolderPageDto;
+import com.example.iamsystem.util.authorization.RequirePermission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static com.example.iamsystem.permission.model.PermissionAction.READ;
+
+@RestController
+@RequestMapping("/api/access-review")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Slf4j
+public class AccessReviewController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private final AccessReviewService accessReviewService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/permission-holders")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "List the users holding a permission, with the roles granting it (Requires: IAM:READ)")
+    public ResponseEntity<HolderPageDto> permissionHolders(@RequestParam String permission,
+                                                           @RequestParam(required = false) Long after,
+                                                           @RequestParam(defaultValue = "100") int size) {
+        log.debug("Received request to list holders of permission: {}", permission);
+        HolderPageDto holders = accessReviewService.permissionHolders(permission, after, size);
+        log.info("Returned {} of {} holders of permission: {}", holders.holders().size(), holders.total(), permission);
+        return ResponseEntity.ok(holders);
+    }
+
+    @GetMapping("/permission-holders/stream")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Stream every user holding a permission as newline-delimited JSON (Requires: IAM:READ)")
+    public ResponseEntity<StreamingResponseBody> streamPermissionHolders(@RequestParam String permission) {
+        log.debug("Received request to stream holders of permission: {}", permission);
+        return stream(accessReviewService.permissionHolderIds(permission));
+    }
+
+    @GetMapping("/roles/{roleId}/holders")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "List the users holding a role directly or through a group (Requires: IAM:READ)")
+    public ResponseEntity<HolderPageDto> roleHolders(@PathVariable Long roleId,
+                                                     @RequestParam(required = false) Long after,
+                                                     @RequestParam(defaultValue = "100") int size) {
+        log.debug("Received request to list holders of role ID: {}", roleId);
+        HolderPageDto holders = accessReviewService.roleHolders(roleId, after, size);
+        log.info("Returned {} of {} holders of role ID: {}", holders.holders().size(), holders.total(), roleId);
+        return ResponseEntity.ok(holders);
+    }
+
+    @GetMapping("/roles/{roleId}/holders/stream")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Stream every user holding a role as newline-delimited JSON (Requires: IAM:READ)")
+    public ResponseEntity<StreamingResponseBody> streamRoleHolders(@PathVariable Long roleId) {
+        log.debug("Received request to stream holders of role ID: {}", roleId);
+        return stream(accessReviewService.roleHolderIds(roleId));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(RoaringBitmap userIds) {
+        StreamingResponseBody body = out -> {
+            accessReviewService.streamHolders(userIds, holder -> write(out, holder));
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(TOTAL_COUNT_HEADER, Long.toString(userIds.getLongCardinality()))
+                .body(body);
+    }
+
+    private void write(OutputStream out, HolderDto holder) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(holder));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
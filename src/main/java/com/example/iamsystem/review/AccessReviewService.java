@@ -0,0 +1,130 @@
+package com.example.iamsystem.review;
+
+import com.example.iamsystem.exception.DataNotFoundException;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.permission.model.PermissionSet;
+import com.example.iamsystem.review.model.HolderDto;
+import com.example.iamsystem.review.model.HolderPageDto;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.example.iamsystem.constant.ErrorMessage.INVALID_PERMISSION_NAME;
+import static com.example.iamsystem.constant.ErrorMessage.ROLE_NOT_FOUND;
+
+/**
+ * Lists who holds a permission or a role, from the {@link AccessIndex}. Counts come straight from
+ * the index; only the users on the requested page, or in the current batch of a stream, are read
+ * from the database, and only their id and username.
+ */
+@Service
+@Slf4j
+public class AccessReviewService {
+
+    static final long MAX_USER_ID = 0xFFFF_FFFFL;
+
+    private final AccessIndex accessIndex;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final int maxPageSize;
+
+    public AccessReviewService(AccessIndex accessIndex,
+                               UserRepository userRepository,
+                               RoleRepository roleRepository,
+                               @Value("${access-review.max-page-size:1000}") int maxPageSize) {
+        this.accessIndex = accessIndex;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Lists the users holding a concrete {@code SERVICE:ACTION} permission through a role, a group
+     * or as root users, in ascending id order starting after {@code after}.
+     */
+    public HolderPageDto permissionHolders(String permission, Long after, int size) {
+        AccessIndex.Holders holders = accessIndex.permissionHolders(validatePermission(permission));
+        return page(holders.roleIds(), holders.userIds(), after, size);
+    }
+
+    public HolderPageDto roleHolders(Long roleId, Long after, int size) {
+        validateRole(roleId);
+        return page(List.of(roleId), accessIndex.roleHolders(roleId), after, size);
+    }
+
+    public RoaringBitmap permissionHolderIds(String permission) {
+        return accessIndex.permissionHolders(validatePermission(permission)).userIds();
+    }
+
+    public RoaringBitmap roleHolderIds(Long roleId) {
+        validateRole(roleId);
+        return accessIndex.roleHolders(roleId);
+    }
+
+    /**
+     * Passes every holder to {@code sink} in ascending id order, reading usernames a page at a time.
+     * Users deleted since the ids were taken are skipped.
+     */
+    public void streamHolders(RoaringBitmap userIds, Consumer<HolderDto> sink) {
+        PeekableIntIterator iterator = userIds.getIntIterator();
+        List<Long> batch = new ArrayList<>(maxPageSize);
+        while (iterator.hasNext()) {
+            batch.add(Integer.toUnsignedLong(iterator.next()));
+            if (batch.size() == maxPageSize || !iterator.hasNext()) {
+                userRepository.findHolders(batch).forEach(sink);
+                batch.clear();
+            }
+        }
+    }
+
+    private HolderPageDto page(List<Long> roleIds, RoaringBitmap userIds, Long after, int size) {
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        List<Long> page = new ArrayList<>();
+        Long nextCursor = null;
+        if (after == null || after < MAX_USER_ID) {
+            PeekableIntIterator iterator = userIds.getIntIterator();
+            if (after != null && after >= 0) {
+                iterator.advanceIfNeeded((int) (after + 1));
+            }
+            while (iterator.hasNext() && page.size() < pageSize) {
+                page.add(Integer.toUnsignedLong(iterator.next()));
+            }
+            nextCursor = iterator.hasNext() ? page.get(page.size() - 1) : null;
+        }
+        List<HolderDto> holders = page.isEmpty() ? List.of() : userRepository.findHolders(page);
+        return new HolderPageDto(roleIds, holders, nextCursor, userIds.getLongCardinality());
+    }
+
+    private static String validatePermission(String permission) {
+        int separator = permission == null ? -1 : permission.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new UserInputNotValidException(INVALID_PERMISSION_NAME);
+        }
+        String service = permission.substring(0, separator);
+        String action = permission.substring(separator + 1);
+        boolean concreteAction = Arrays.stream(PermissionAction.values())
+                .anyMatch(value -> value != PermissionAction.ANY && value.name().equals(action));
+        if (!concreteAction || service.contains(PermissionAction.WILDCARD) || !service.matches(PermissionSet.SERVICE_PATTERN)) {
+            log.warn("Rejected access review of permission '{}'", permission);
+            throw new UserInputNotValidException(INVALID_PERMISSION_NAME);
+        }
+        return permission;
+    }
+
+    private void validateRole(Long roleId) {
+        if (!roleRepository.existsById(roleId)) {
+            log.warn("Role not found with ID: {}", roleId);
+            throw new DataNotFoundException(ROLE_NOT_FOUND);
+        }
+    }
+}
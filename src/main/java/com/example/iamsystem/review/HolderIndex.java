@@ -0,0 +1,133 @@
+package com.example.iamsystem.review;
+
+import com.example.iamsystem.permission.model.PermissionSet;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inverted index from permission names to the roles that grant them, and from roles to the users
+ * holding them, directly or through a group, as bitmaps of user ids. Wildcard grants are indexed
+ * under their own name and found through {@link PermissionSet#grantsOf(String)}.
+ * <p>
+ * Not thread-safe; {@link AccessIndex} synchronizes access.
+ */
+final class HolderIndex {
+
+    private final Map<String, Set<Long>> rolesByPermission = new HashMap<>();
+    private final Map<Long, Set<String>> permissionsByRole = new HashMap<>();
+    private final Map<Long, RoaringBitmap> directHolders = new HashMap<>();
+    private final Map<Long, RoaringBitmap> groupHolders = new HashMap<>();
+    private final RoaringBitmap rootUsers = new RoaringBitmap();
+
+    void setPermissions(Long roleId, Set<String> permissions) {
+        Set<String> previous = permissionsByRole.remove(roleId);
+        if (previous != null) {
+            for (String permission : previous) {
+                Set<Long> roles = rolesByPermission.get(permission);
+                roles.remove(roleId);
+                if (roles.isEmpty()) {
+                    rolesByPermission.remove(permission);
+                }
+            }
+        }
+        if (!permissions.isEmpty()) {
+            permissionsByRole.put(roleId, Set.copyOf(permissions));
+            for (String permission : permissions) {
+                rolesByPermission.computeIfAbsent(permission, name -> new HashSet<>()).add(roleId);
+            }
+        }
+    }
+
+    void replacePermissions(Map<Long, Set<String>> permissions) {
+        rolesByPermission.clear();
+        permissionsByRole.clear();
+        permissions.forEach(this::setPermissions);
+    }
+
+    void grant(Long roleId, int user) {
+        directHolders.computeIfAbsent(roleId, id -> new RoaringBitmap()).add(user);
+    }
+
+    void revoke(Long roleId, int user) {
+        RoaringBitmap holders = directHolders.get(roleId);
+        if (holders != null) {
+            holders.remove(user);
+        }
+    }
+
+    void setGroupHolders(Long roleId, RoaringBitmap users) {
+        if (users.isEmpty()) {
+            groupHolders.remove(roleId);
+        } else {
+            groupHolders.put(roleId, users);
+        }
+    }
+
+    void setRoot(int user, boolean root) {
+        if (root) {
+            rootUsers.add(user);
+        } else {
+            rootUsers.remove(user);
+        }
+    }
+
+    void removeUser(int user) {
+        directHolders.values().forEach(holders -> holders.remove(user));
+        groupHolders.values().forEach(holders -> holders.remove(user));
+        rootUsers.remove(user);
+    }
+
+    void removeRole(Long roleId) {
+        setPermissions(roleId, Set.of());
+        directHolders.remove(roleId);
+        groupHolders.remove(roleId);
+    }
+
+    Map<Long, Set<String>> permissionsByRole() {
+        return Map.copyOf(permissionsByRole);
+    }
+
+    /**
+     * The roles granting a concrete {@code SERVICE:ACTION} permission, in id order.
+     */
+    List<Long> roles(String permission) {
+        Set<Long> roles = new TreeSet<>();
+        for (String grant : PermissionSet.grantsOf(permission)) {
+            roles.addAll(rolesByPermission.getOrDefault(grant, Set.of()));
+        }
+        return List.copyOf(roles);
+    }
+
+    /**
+     * The users holding any of the roles, plus root users if {@code includeRoot}. Returns a new bitmap.
+     */
+    RoaringBitmap holders(Collection<Long> roleIds, boolean includeRoot) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        if (includeRoot) {
+            bitmaps.add(rootUsers);
+        }
+        for (Long roleId : roleIds) {
+            RoaringBitmap direct = directHolders.get(roleId);
+            if (direct != null) {
+                bitmaps.add(direct);
+            }
+            RoaringBitmap group = groupHolders.get(roleId);
+            if (group != null) {
+                bitmaps.add(group);
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return bitmaps.size() == 1 ? bitmaps.get(0).clone() : FastAggregation.or(bitmaps.toArray(RoaringBitmap[]::new));
+    }
+}
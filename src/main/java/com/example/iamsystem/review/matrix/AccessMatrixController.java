@@ -0,0 +1,69 @@
+package com.example.iamsystem.review.matrix;
+
+import com.example.iamsystem.review.model.AccessMatrixJobDto;
+import com.example.iamsystem.util.authorization.RequirePermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static com.example.iamsystem.permission.model.PermissionAction.READ;
+
+@RestController
+@RequestMapping("/api/access-review/matrix")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Slf4j
+public class AccessMatrixController {
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final AccessMatrixService accessMatrixService;
+
+    @PostMapping
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Start exporting the access matrix of an organization (Requires: IAM:READ)")
+    public ResponseEntity<AccessMatrixJobDto> start(@RequestParam Long organizationId) {
+        log.debug("Received request to export the access matrix of organization ID: {}", organizationId);
+        AccessMatrixJobDto job = accessMatrixService.start(organizationId);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Get the progress of an access matrix export (Requires: IAM:READ)")
+    public ResponseEntity<AccessMatrixJobDto> status(@PathVariable String jobId) {
+        log.debug("Received request for the status of access matrix job: {}", jobId);
+        return ResponseEntity.ok(accessMatrixService.status(jobId));
+    }
+
+    @GetMapping("/{jobId}/file")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Download a completed access matrix (Requires: IAM:READ)")
+    public ResponseEntity<Resource> file(@PathVariable String jobId) {
+        log.debug("Received request to download access matrix job: {}", jobId);
+        Path file = accessMatrixService.file(jobId);
+        log.info("Serving access matrix {}", file.getFileName());
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString())
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.iamsystem.review.matrix;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped, tab-separated access matrix. After a {@code #} header line, each line starts with its
+ * record type:
+ * <pre>
+ * P  column  permission               one per permission column
+ * R  roleId  name  permission,...     the permissions each role grants
+ * D  roleId  +permission,-permission  role changes since the previous matrix of the organization
+ * U  userId  username  roleId,...  column,first-last,...
+ * </pre>
+ * User rows list columns, with consecutive columns collapsed into ranges, so a user holding every
+ * permission takes one short line however wide the matrix is.
+ */
+final class AccessMatrixFile implements Closeable {
+
+    private static final char SEPARATOR = '\t';
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedWriter writer;
+
+    private AccessMatrixFile(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    static AccessMatrixFile create(Path path) throws IOException {
+        return new AccessMatrixFile(new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Reads the permissions of each role from the {@code R} lines of a matrix, stopping at the first user row.
+     */
+    static Map<Long, Set<String>> readRoles(Path path) throws IOException {
+        Map<Long, Set<String>> roles = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null && !line.startsWith("U"); line = reader.readLine()) {
+                if (line.startsWith("R")) {
+                    String[] fields = line.split("\t", -1);
+                    Set<String> permissions = new LinkedHashSet<>();
+                    if (!fields[3].isEmpty()) {
+                        permissions.addAll(List.of(fields[3].split(",")));
+                    }
+                    roles.put(Long.parseLong(fields[1]), permissions);
+                }
+            }
+        }
+        return roles;
+    }
+
+    void header(Long organizationId, Instant createdAt, long users, int permissions) throws IOException {
+        writer.write("# access matrix organization=" + organizationId + " created=" + createdAt
+                + " users=" + users + " permissions=" + permissions);
+        writer.write('\n');
+    }
+
+    void column(int column, String permission) throws IOException {
+        line("P", Integer.toString(column), permission);
+    }
+
+    void role(Long roleId, String name, Collection<String> permissions) throws IOException {
+        line("R", roleId.toString(), clean(name), String.join(",", permissions));
+    }
+
+    /**
+     * Writes a {@code D} line if the role's permissions differ from {@code previous}; a role missing
+     * from the previous matrix is compared against no permissions.
+     */
+    boolean diff(Long roleId, Set<String> previous, Collection<String> current) throws IOException {
+        Set<String> added = new TreeSet<>(current);
+        added.removeAll(previous);
+        Set<String> removed = new TreeSet<>(previous);
+        removed.removeAll(current);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return false;
+        }
+        StringBuilder changes = new StringBuilder();
+        added.forEach(permission -> changes.append(changes.isEmpty() ? "" : ",").append('+').append(permission));
+        removed.forEach(permission -> changes.append(changes.isEmpty() ? "" : ",").append('-').append(permission));
+        line("D", roleId.toString(), changes.toString());
+        return true;
+    }
+
+    void user(Long userId, String username, Collection<Long> roleIds, RoaringBitmap columns) throws IOException {
+        StringBuilder roles = new StringBuilder();
+        for (Long roleId : roleIds) {
+            roles.append(roles.isEmpty() ? "" : ",").append(roleId);
+        }
+        line("U", userId.toString(), clean(username), roles.toString(), ranges(columns));
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    static String ranges(RoaringBitmap columns) {
+        StringBuilder ranges = new StringBuilder();
+        IntIterator iterator = columns.getIntIterator();
+        int first = -1;
+        int last = -1;
+        while (iterator.hasNext()) {
+            int column = iterator.next();
+            if (column != last + 1 || first < 0) {
+                appendRange(ranges, first, last);
+                first = column;
+            }
+            last = column;
+        }
+        appendRange(ranges, first, last);
+        return ranges.toString();
+    }
+
+    private static void appendRange(StringBuilder ranges, int first, int last) {
+        if (first < 0) {
+            return;
+        }
+        if (!ranges.isEmpty()) {
+            ranges.append(',');
+        }
+        ranges.append(first);
+        if (last > first) {
+            ranges.append('-').append(last);
+        }
+    }
+
+    private void line(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(fields[i]);
+        }
+        writer.write('\n');
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
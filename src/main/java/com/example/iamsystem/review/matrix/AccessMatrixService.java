@@ -0,0 +1,370 @@
+package com.example.iamsystem.review.matrix;
+
+import com.example.iamsystem.audit.annotation.Auditable;
+import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.enums.AccessMatrixJobStatus;
+import com.example.iamsystem.exception.DataNotFoundException;
+import com.example.iamsystem.exception.NoAccessException;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.organization.model.OrganizationRepository;
+import com.example.iamsystem.permission.PermissionCatalog;
+import com.example.iamsystem.review.model.AccessMatrixJobDto;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.role.model.RoleRow;
+import com.example.iamsystem.security.snapshot.SnapshotLink;
+import com.example.iamsystem.security.snapshot.SnapshotUserRow;
+import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.entity.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.example.iamsystem.constant.ErrorMessage.ACCESS_MATRIX_IN_PROGRESS;
+import static com.example.iamsystem.constant.ErrorMessage.ACCESS_MATRIX_JOB_NOT_FOUND;
+import static com.example.iamsystem.constant.ErrorMessage.ACCESS_MATRIX_NOT_READY;
+import static com.example.iamsystem.constant.ErrorMessage.NO_PERMISSION;
+import static com.example.iamsystem.constant.ErrorMessage.ORGANIZATION_NOT_FOUND;
+
+/**
+ * Exports the effective permissions of every user of an organization as an {@link AccessMatrixFile}.
+ * Role permissions are read with the users and compiled once into column bitmaps; users are then read in chunks of {@code access-review.matrix.chunk-size}, and the rows of a chunk
+ * are computed on a fork/join pool while the next chunk is read. Only two chunks are held at a
+ * time, so memory does not grow with the number of users.
+ * <p>
+ * Exports run one at a time, from a single read-only transaction, and are written to a temporary
+ * file that is renamed once complete. An organization has at most one export queued or running. Each matrix also records how every role changed since the
+ * previous matrix of the same organization. Only the latest {@code access-review.matrix.retention}
+ * finished exports of an organization, and their files, are kept.
+ * <p>
+ * An organization's matrices are only available to its own users and to super users. Jobs are only
+ * known to the instance that started them; the files are shared through the directory, but status
+ * and download requests must reach the same instance.
+ */
+@Service
+@Slf4j
+public class AccessMatrixService {
+
+    private static final String FILE_PREFIX = "access-matrix-";
+    private static final String FILE_SUFFIX = ".tsv.gz";
+
+    private final PermissionCatalog permissionCatalog;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final OrganizationRepository organizationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final int chunkSize;
+    private final int retention;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("access-matrix").daemon().factory());
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public AccessMatrixService(PermissionCatalog permissionCatalog,
+                               UserRepository userRepository,
+                               RoleRepository roleRepository,
+                               OrganizationRepository organizationRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${access-review.matrix.directory:data/access-matrix}") Path directory,
+                               @Value("${access-review.matrix.chunk-size:1000}") int chunkSize,
+                               @Value("${access-review.matrix.parallelism:0}") int parallelism,
+                               @Value("${access-review.matrix.retention:10}") int retention) {
+        this.permissionCatalog = permissionCatalog;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.organizationRepository = organizationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.retention = Math.max(retention, 1);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Auditable(
+            value = AuditEventType.ACCESS_MATRIX_EXPORT,
+            target = "#organizationId",
+            detailsExpression = "T(java.util.Map).of('job_id', #result.id())"
+    )
+    public AccessMatrixJobDto start(Long organizationId) {
+        validateOrganizationAccess(organizationId);
+        if (!organizationRepository.existsById(organizationId)) {
+            log.warn("Organization not found with ID: {}", organizationId);
+            throw new DataNotFoundException(ORGANIZATION_NOT_FOUND);
+        }
+        Job job = new Job(UUID.randomUUID().toString(), organizationId);
+        synchronized (jobs) {
+            if (jobs.values().stream().anyMatch(other -> other.organizationId.equals(organizationId) && other.finishedAt == null)) {
+                log.warn("Access matrix of organization {} is already being exported", organizationId);
+                throw new UserInputNotValidException(ACCESS_MATRIX_IN_PROGRESS);
+            }
+            jobs.put(job.id, job);
+        }
+        runner.execute(() -> run(job));
+        log.info("Queued access matrix {} for organization {}", job.id, organizationId);
+        return job.toDto();
+    }
+
+    public AccessMatrixJobDto status(String jobId) {
+        Job job = job(jobId);
+        validateOrganizationAccess(job.organizationId);
+        return job.toDto();
+    }
+
+    public Path file(String jobId) {
+        Job job = job(jobId);
+        validateOrganizationAccess(job.organizationId);
+        if (job.status != AccessMatrixJobStatus.COMPLETED) {
+            throw new DataNotFoundException(ACCESS_MATRIX_NOT_READY);
+        }
+        return job.file;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    void run(Job job) {
+        job.startedAt = Instant.now();
+        job.status = AccessMatrixJobStatus.RUNNING;
+        Path target = directory.resolve(FILE_PREFIX + job.organizationId + "-" + job.startedAt.toEpochMilli() + FILE_SUFFIX);
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            Files.createDirectories(directory);
+            Optional<Map<Long, Set<String>>> previous = previousRoles(job.organizationId);
+            readOnlyTransaction.executeWithoutResult(status -> write(job, partial, previous));
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            job.file = target;
+            job.status = AccessMatrixJobStatus.COMPLETED;
+            log.info("Wrote access matrix of {} users of organization {} to {}", job.processedUsers.get(), job.organizationId, target);
+        } catch (IOException | RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = AccessMatrixJobStatus.FAILED;
+            log.error("Access matrix {} of organization {} failed", job.id, job.organizationId, e);
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // left behind; never picked up as a previous matrix
+            }
+        } finally {
+            job.finishedAt = Instant.now();
+            prune(job.organizationId);
+        }
+    }
+
+    /**
+     * Drops all but the latest {@code retention} finished jobs and matrix files of an organization.
+     */
+    void prune(Long organizationId) {
+        jobs.values().stream()
+                .filter(job -> job.organizationId.equals(organizationId) && job.finishedAt != null)
+                .sorted(Comparator.comparing((Job job) -> job.finishedAt).reversed())
+                .skip(retention)
+                .forEach(job -> jobs.remove(job.id));
+        String prefix = FILE_PREFIX + organizationId + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> expired = files.filter(file -> isMatrix(file, prefix))
+                    .sorted(Comparator.comparingLong((Path file) -> createdAt(file, prefix)).reversed())
+                    .skip(retention)
+                    .toList();
+            for (Path file : expired) {
+                Files.deleteIfExists(file);
+                log.debug("Deleted expired access matrix {}", file.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("Expired access matrices of organization {} not deleted: {}", organizationId, e.getMessage());
+        }
+    }
+
+    private void write(Job job, Path path, Optional<Map<Long, Set<String>>> previous) {
+        Map<Long, String> names = permissionCatalog.snapshot().permissions();
+        PermissionColumns columns = new PermissionColumns(names.values(), rolePermissions(names));
+        job.totalUsers = userRepository.countByOrganizationId(job.organizationId);
+        try (AccessMatrixFile file = AccessMatrixFile.create(path)) {
+            file.header(job.organizationId, job.startedAt, job.totalUsers, columns.size());
+            for (int column = 0; column < columns.size(); column++) {
+                file.column(column, columns.name(column));
+            }
+            int changedRoles = 0;
+            for (RoleRow role : roleRepository.findOrganizationRoles(job.organizationId)) {
+                List<String> granted = columns.roleNames(role.id());
+                file.role(role.id(), role.name(), granted);
+                if (previous.isPresent() && file.diff(role.id(), previous.get().getOrDefault(role.id(), Set.of()), granted)) {
+                    changedRoles++;
+                }
+            }
+            job.changedRoles = previous.isPresent() ? changedRoles : null;
+
+            Chunk chunk = fetch(job.organizationId, 0);
+            while (chunk != null) {
+                Chunk current = chunk;
+                ForkJoinTask<RoaringBitmap[]> rows = pool.submit(() -> current.rows(columns));
+                Chunk next = current.users.size() < chunkSize ? null : fetch(job.organizationId, current.lastId());
+                RoaringBitmap[] computed = rows.join();
+                for (int i = 0; i < computed.length; i++) {
+                    SnapshotUserRow user = current.users.get(i);
+                    file.user(user.id(), user.username(), current.roleIds.get(i), computed[i]);
+                }
+                job.processedUsers.addAndGet(computed.length);
+                chunk = next;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The names of the permissions each role grants, directly or inherited, read in the export's
+     * transaction so they are consistent with the users and roles it reads.
+     */
+    private Map<Long, Set<String>> rolePermissions(Map<Long, String> names) {
+        List<SnapshotLink> links = new ArrayList<>(roleRepository.findPermissionLinks());
+        links.addAll(roleRepository.findInheritedPermissionLinks());
+        Map<Long, Set<String>> permissions = new HashMap<>();
+        for (SnapshotLink link : links) {
+            String name = names.get(link.toId());
+            if (name != null) {
+                permissions.computeIfAbsent(link.fromId(), roleId -> new HashSet<>()).add(name);
+            }
+        }
+        return permissions;
+    }
+
+    private Chunk fetch(Long organizationId, long afterId) {
+        List<SnapshotUserRow> users = userRepository.findOrganizationUsers(organizationId, afterId, PageRequest.ofSize(chunkSize));
+        if (users.isEmpty()) {
+            return null;
+        }
+        List<Long> ids = users.stream().map(SnapshotUserRow::id).toList();
+        Map<Long, Set<Long>> roles = new HashMap<>();
+        List<SnapshotLink> links = new ArrayList<>(userRepository.findRoleLinks(ids));
+        links.addAll(userRepository.findGroupRoleLinks(ids));
+        for (SnapshotLink link : links) {
+            roles.computeIfAbsent(link.fromId(), id -> new TreeSet<>()).add(link.toId());
+        }
+        List<Set<Long>> roleIds = ids.stream().map(id -> roles.getOrDefault(id, Set.of())).toList();
+        return new Chunk(users, roleIds);
+    }
+
+    private Optional<Map<Long, Set<String>>> previousRoles(Long organizationId) throws IOException {
+        String prefix = FILE_PREFIX + organizationId + "-";
+        Optional<Path> latest;
+        try (Stream<Path> files = Files.list(directory)) {
+            latest = files.filter(file -> isMatrix(file, prefix))
+                    .max((a, b) -> Long.compare(createdAt(a, prefix), createdAt(b, prefix)));
+        }
+        return latest.isPresent() ? Optional.of(AccessMatrixFile.readRoles(latest.get())) : Optional.empty();
+    }
+
+    private static boolean isMatrix(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        return name.startsWith(prefix) && name.endsWith(FILE_SUFFIX);
+    }
+
+    private static long createdAt(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private void validateOrganizationAccess(Long organizationId) {
+        User currentUser = getCurrentUser();
+        if (Objects.isNull(currentUser)) {
+            throw new NoAccessException(NO_PERMISSION);
+        }
+        if (currentUser.isSuperUser()) {
+            return;
+        }
+        if (currentUser.getOrganization() == null || !organizationId.equals(currentUser.getOrganization().getId())) {
+            log.warn("User '{}' attempted to access the access matrix of organization {}", currentUser.getUsername(), organizationId);
+            throw new NoAccessException(NO_PERMISSION);
+        }
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof DefaultUserDetails userDetails) {
+            return userDetails.user();
+        }
+        return null;
+    }
+
+    private Job job(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new DataNotFoundException(ACCESS_MATRIX_JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    private record Chunk(List<SnapshotUserRow> users, List<Set<Long>> roleIds) {
+
+        RoaringBitmap[] rows(PermissionColumns columns) {
+            return IntStream.range(0, users.size())
+                    .parallel()
+                    .mapToObj(i -> columns.user(roleIds.get(i), users.get(i).rootUser()))
+                    .toArray(RoaringBitmap[]::new);
+        }
+
+        long lastId() {
+            return users.get(users.size() - 1).id();
+        }
+    }
+
+    static final class Job {
+        private final String id;
+        private final Long organizationId;
+        private final AtomicLong processedUsers = new AtomicLong();
+        private volatile AccessMatrixJobStatus status = AccessMatrixJobStatus.QUEUED;
+        private volatile long totalUsers;
+        private volatile Integer changedRoles;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Path file;
+        private volatile String error;
+
+        Job(String id, Long organizationId) {
+            this.id = id;
+            this.organizationId = organizationId;
+        }
+
+        AccessMatrixJobDto toDto() {
+            return new AccessMatrixJobDto(id, organizationId, status, totalUsers, processedUsers.get(), changedRoles,
+                    startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.iamsystem.review.matrix;
+
+import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.permission.model.PermissionSet;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The columns of an access matrix, one per concrete permission in name order, and for every role
+ * the columns it grants as a bitmap, wildcard grants expanded. A user's row is the union of the
+ * bitmaps of their roles, so it costs one OR per role regardless of how many permissions exist.
+ * <p>
+ * Immutable once built; rows can be computed from any number of threads.
+ */
+final class PermissionColumns {
+
+    private final List<String> names;
+    private final Map<Long, RoaringBitmap> roleColumns;
+    private final RoaringBitmap all;
+
+    PermissionColumns(Collection<String> permissions, Map<Long, Set<String>> rolePermissions) {
+        this.names = permissions.stream()
+                .filter(name -> !name.contains(PermissionAction.WILDCARD))
+                .distinct()
+                .sorted()
+                .toList();
+        Map<String, Set<Long>> rolesByGrant = new HashMap<>();
+        rolePermissions.forEach((roleId, grants) ->
+                grants.forEach(grant -> rolesByGrant.computeIfAbsent(grant, name -> new HashSet<>()).add(roleId)));
+        Map<Long, RoaringBitmap> columns = new HashMap<>();
+        for (int column = 0; column < names.size(); column++) {
+            for (String grant : PermissionSet.grantsOf(names.get(column))) {
+                for (Long roleId : rolesByGrant.getOrDefault(grant, Set.of())) {
+                    columns.computeIfAbsent(roleId, id -> new RoaringBitmap()).add(column);
+                }
+            }
+        }
+        columns.values().forEach(RoaringBitmap::runOptimize);
+        this.roleColumns = Map.copyOf(columns);
+        this.all = new RoaringBitmap();
+        this.all.add(0L, names.size());
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    String name(int column) {
+        return names.get(column);
+    }
+
+    List<String> names() {
+        return names;
+    }
+
+    RoaringBitmap role(Long roleId) {
+        return roleColumns.getOrDefault(roleId, new RoaringBitmap());
+    }
+
+    /**
+     * The permission names a role grants, in column order.
+     */
+    List<String> roleNames(Long roleId) {
+        List<String> granted = new ArrayList<>();
+        role(roleId).forEach((int column) -> granted.add(names.get(column)));
+        return granted;
+    }
+
+    /**
+     * The columns of a user holding the roles; root users hold every permission. Returns a new bitmap.
+     */
+    RoaringBitmap user(Collection<Long> roleIds, boolean root) {
+        if (root) {
+            return all.clone();
+        }
+        List<RoaringBitmap> bitmaps = new ArrayList<>(roleIds.size());
+        for (Long roleId : roleIds) {
+            RoaringBitmap columns = roleColumns.get(roleId);
+            if (columns != null) {
+                bitmaps.add(columns);
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return bitmaps.size() == 1 ? bitmaps.get(0).clone() : FastAggregation.or(bitmaps.toArray(RoaringBitmap[]::new));
+    }
+}
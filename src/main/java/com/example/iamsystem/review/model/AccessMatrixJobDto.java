@@ -0,0 +1,14 @@
+package com.example.iamsystem.review.model;
+
+import com.example.iamsystem.enums.AccessMatrixJobStatus;
+
+import java.time.Instant;
+
+/**
+ * Progress of an access matrix export. {@code changedRoles} counts the roles whose permissions
+ * differ from the previous matrix of the organization and is null if there was none.
+ */
+public record AccessMatrixJobDto(String id, Long organizationId, AccessMatrixJobStatus status, long totalUsers,
+                                 long processedUsers, Integer changedRoles, Instant startedAt, Instant finishedAt,
+                                 String error) {
+}
@@ -0,0 +1,4 @@
+package com.example.iamsystem.review.model;
+
+public record HolderDto(Long id, String username) {
+}
@@ -0,0 +1,11 @@
+package com.example.iamsystem.review.model;
+
+import java.util.List;
+
+/**
+ * One page of the users holding a permission or role, in ascending id order, with the roles that
+ * grant it. {@code nextCursor} is passed as {@code after} to get the next page and is null on the
+ * last one.
+ */
+public record HolderPageDto(List<Long> roleIds, List<HolderDto> holders, Long nextCursor, long total) {
+}
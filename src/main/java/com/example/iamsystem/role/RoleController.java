@@ -1,6 +1,9 @@
 package com.example.iamsystem.role;
 
+import com.example.iamsystem.catalog.CatalogCache;
+import com.example.iamsystem.catalog.CatalogResource;
 import com.example.iamsystem.role.model.RoleDto;
+import com.example.iamsystem.role.model.RoleParentDto;
 import com.example.iamsystem.role.model.RolePermissionDto;
 import com.example.iamsystem.util.authorization.RequirePermission;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,9 +19,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
 import static com.example.iamsystem.permission.model.PermissionAction.DELETE;
@@ -33,15 +36,16 @@ import static com.example.iamsystem.permission.model.PermissionAction.WRITE;
 @Slf4j
 public class RoleController {
     private final RoleService roleService;
+    private final CatalogCache catalogCache;
 
     @GetMapping
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
-    @Operation(summary = "Get all roles (Requires: IAM:READ)")
-    public ResponseEntity<List<RoleDto>> getAllRoles() {
-        log.debug("Received request to get all roles");
-        List<RoleDto> roles = roleService.getRoles();
-        log.info("Successfully retrieved {} roles", roles.size());
-        return ResponseEntity.ok(roles);
+    @Operation(summary = "Get all roles, or with since the roles changed after a catalog version (Requires: IAM:READ)")
+    public ResponseEntity<byte[]> getAllRoles(@RequestParam(required = false) Long since, WebRequest request) {
+        log.debug("Received request to get all roles, since catalog version: {}", since);
+        CatalogResource roles = since == null ? catalogCache.roles() : catalogCache.roleChanges(since);
+        log.info("Successfully retrieved roles at catalog version {}", roles.version());
+        return roles.toResponse(request);
     }
 
     @PostMapping
@@ -57,11 +61,11 @@ public class RoleController {
     @GetMapping("/{id}")
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
     @Operation(summary = "Get a role by ID (Requires: IAM:READ)")
-    public ResponseEntity<RoleDto> getRoleById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getRoleById(@PathVariable Long id, WebRequest request) {
         log.debug("Received request to get role by ID: {}", id);
-        RoleDto role = roleService.getRole(id);
+        CatalogResource role = catalogCache.role(id);
         log.info("Successfully retrieved role with ID: {}", id);
-        return ResponseEntity.ok(role);
+        return role.toResponse(request);
     }
 
     @PutMapping("/{id}")
@@ -87,11 +91,11 @@ public class RoleController {
     @GetMapping("/name/{name}")
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
     @Operation(summary = "Get a role by name (Requires: IAM:READ)")
-    public ResponseEntity<RoleDto> getRoleByName(@PathVariable String name) {
+    public ResponseEntity<byte[]> getRoleByName(@PathVariable String name, WebRequest request) {
         log.debug("Received request to get role by name: {}", name);
-        RoleDto role = roleService.getRoleByName(name);
+        CatalogResource role = catalogCache.role(name);
         log.info("Successfully retrieved role with name: {}", name);
-        return ResponseEntity.ok(role);
+        return role.toResponse(request);
     }
 
     @PutMapping("/permissions")
@@ -113,4 +117,24 @@ public class RoleController {
         log.info("Successfully removed permissions from role ID: {}", rolePermissionDto.getRoleId());
         return ResponseEntity.noContent().build();
     }
+
+    @PutMapping("/parents")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Make a role inherit the permissions of parent roles (Requires: IAM:UPDATE)")
+    public ResponseEntity<Void> assignParents(@RequestBody @Valid RoleParentDto roleParentDto) {
+        log.debug("Received request to assign parent roles to role ID: {}", roleParentDto.getRoleId());
+        roleService.assignParents(roleParentDto);
+        log.info("Successfully assigned parent roles to role ID: {}", roleParentDto.getRoleId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/parents")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = DELETE)
+    @Operation(summary = "Remove parent roles from a role (Requires: IAM:DELETE)")
+    public ResponseEntity<Void> removeParents(@RequestBody @Valid RoleParentDto roleParentDto) {
+        log.debug("Received request to remove parent roles from role ID: {}", roleParentDto.getRoleId());
+        roleService.removeParents(roleParentDto);
+        log.info("Successfully removed parent roles from role ID: {}", roleParentDto.getRoleId());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,163 @@
+package com.example.iamsystem.role;
+
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.review.AccessIndex;
+import com.example.iamsystem.role.model.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.iamsystem.constant.ErrorMessage.ROLE_HIERARCHY_CYCLE;
+
+/**
+ * Maintains the materialized closure of the role hierarchy: for every role the ids of all roles it
+ * inherits from ({@code role_ancestors}) and the permissions it gets through them
+ * ({@code role_inherited_permissions}). Only the roles below a changed role are touched. Additions
+ * are applied as set unions; removals recompute the affected roles from their parents, which are
+ * either unaffected or recomputed first.
+ * <p>
+ * Every change runs in a caller's transaction that must be retried on an optimistic locking
+ * failure: roles are versioned, and the roles whose closure is read without being written have
+ * their version bumped, so two concurrent changes to overlapping parts of the hierarchy, such as
+ * A inheriting from B while B inherits from A, cannot both commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoleHierarchyService {
+
+    private final RoleRepository roleRepository;
+    private final AccessIndex accessIndex;
+    private final ChangeLog changeLog;
+
+    @Transactional
+    public void addParents(Role role, Collection<Role> parents) {
+        for (Role parent : parents) {
+            if (parent.getId().equals(role.getId()) || parent.getAncestorRoleIds().contains(role.getId())) {
+                log.warn("Rejected role inheritance {} -> {}: it would create a cycle", role.getId(), parent.getId());
+                throw new UserInputNotValidException(ROLE_HIERARCHY_CYCLE);
+            }
+        }
+        roleRepository.findAllForVersionIncrement(parents.stream().map(Role::getId).toList());
+        List<Role> affected = withDescendants(role);
+        for (Role parent : parents) {
+            if (!role.getParentRoles().add(parent)) {
+                continue;
+            }
+            for (Role descendant : affected) {
+                descendant.getAncestorRoleIds().add(parent.getId());
+                descendant.getAncestorRoleIds().addAll(parent.getAncestorRoleIds());
+                descendant.getInheritedPermissions().addAll(parent.getPermissions());
+                descendant.getInheritedPermissions().addAll(parent.getInheritedPermissions());
+            }
+        }
+        rolesChanged(affected);
+        log.debug("Role {} now inherits from {} roles, {} roles updated", role.getId(), role.getAncestorRoleIds().size(), affected.size());
+    }
+
+    @Transactional
+    public void removeParents(Role role, Collection<Role> parents) {
+        if (role.getParentRoles().removeAll(parents)) {
+            List<Role> affected = withDescendants(role);
+            recompute(affected);
+            rolesChanged(affected);
+        }
+    }
+
+    @Transactional
+    public void permissionsAdded(Role role, Collection<Permission> permissions) {
+        List<Role> affected = withDescendants(role);
+        for (Role descendant : affected.subList(1, affected.size())) {
+            descendant.getInheritedPermissions().addAll(permissions);
+        }
+        rolesChanged(affected);
+    }
+
+    @Transactional
+    public void permissionsRemoved(Role role) {
+        List<Role> affected = withDescendants(role);
+        recompute(affected.subList(1, affected.size()));
+        rolesChanged(affected);
+    }
+
+    /**
+     * Unlinks a role that is about to be deleted and recomputes the roles that inherited from it.
+     */
+    @Transactional
+    public void roleDeleted(Role role) {
+        List<Role> descendants = roleRepository.findDescendants(role.getId());
+        for (Role descendant : descendants) {
+            descendant.getParentRoles().remove(role);
+        }
+        recompute(descendants);
+        role.getParentRoles().clear();
+        rolesChanged(descendants);
+    }
+
+    private void rolesChanged(List<Role> roles) {
+        accessIndex.rolesChanged(roles);
+        changeLog.rolesChanged(roles.stream().map(Role::getId).toList());
+    }
+
+    private List<Role> withDescendants(Role role) {
+        List<Role> roles = new ArrayList<>(roleRepository.findDescendants(role.getId()));
+        roles.add(0, role);
+        return roles;
+    }
+
+    private void recompute(List<Role> affected) {
+        Map<Long, Role> pending = new HashMap<>();
+        for (Role role : affected) {
+            pending.put(role.getId(), role);
+        }
+        Set<Long> done = new HashSet<>();
+        for (Role role : affected) {
+            recompute(role, pending, done);
+        }
+        Set<Long> readOnly = new HashSet<>();
+        for (Role role : affected) {
+            for (Role parent : role.getParentRoles()) {
+                if (!pending.containsKey(parent.getId())) {
+                    readOnly.add(parent.getId());
+                }
+            }
+        }
+        if (!readOnly.isEmpty()) {
+            roleRepository.findAllForVersionIncrement(readOnly);
+        }
+    }
+
+    private void recompute(Role role, Map<Long, Role> pending, Set<Long> done) {
+        if (!done.add(role.getId())) {
+            return;
+        }
+        Set<Long> ancestorIds = new HashSet<>();
+        Set<Permission> inherited = new HashSet<>();
+        for (Role directParent : role.getParentRoles()) {
+            Role parent = pending.getOrDefault(directParent.getId(), directParent);
+            if (pending.containsKey(parent.getId())) {
+                recompute(parent, pending, done);
+            }
+            ancestorIds.add(parent.getId());
+            ancestorIds.addAll(parent.getAncestorRoleIds());
+            inherited.addAll(parent.getPermissions());
+            inherited.addAll(parent.getInheritedPermissions());
+        }
+        // update in place so only the difference is written
+        role.getAncestorRoleIds().retainAll(ancestorIds);
+        role.getAncestorRoleIds().addAll(ancestorIds);
+        role.getInheritedPermissions().retainAll(inherited);
+        role.getInheritedPermissions().addAll(inherited);
+    }
+}
@@ -1,10 +1,39 @@
 package com.example.iamsystem.role;
 
 import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.role.model.RoleRow;
+import com.example.iamsystem.security.snapshot.SnapshotLink;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
+
+    @Query("SELECT r FROM Role r JOIN r.ancestorRoleIds a WHERE a = :roleId")
+    List<Role> findDescendants(@Param("roleId") Long roleId);
+
+    /**
+     * Bumps the version of roles that are read but not written, so a concurrent change to them
+     * fails one of the two transactions instead of leaving a stale closure.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Role r WHERE r.id IN :ids")
+    List<Role> findAllForVersionIncrement(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.iamsystem.security.snapshot.SnapshotLink(r.id, p.id) FROM Role r JOIN r.permissions p")
+    List<SnapshotLink> findPermissionLinks();
+
+    @Query("SELECT new com.example.iamsystem.security.snapshot.SnapshotLink(r.id, p.id) FROM Role r JOIN r.inheritedPermissions p")
+    List<SnapshotLink> findInheritedPermissionLinks();
+
+    @Query("SELECT new com.example.iamsystem.role.model.RoleRow(r.id, r.name) FROM Role r LEFT JOIN r.organization o " +
+            "WHERE o.id = :organizationId OR o IS NULL ORDER BY r.id")
+    List<RoleRow> findOrganizationRoles(@Param("organizationId") Long organizationId);
 }
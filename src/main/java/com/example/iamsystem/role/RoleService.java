@@ -2,17 +2,22 @@ package com.example.iamsystem.role;
 
 import com.example.iamsystem.audit.annotation.Auditable;
 import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.changes.ChangeLog;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.permission.PermissionRepository;
 import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.review.AccessIndex;
 import com.example.iamsystem.role.model.Role;
 import com.example.iamsystem.role.model.RoleDto;
 import com.example.iamsystem.role.model.RoleMapper;
+import com.example.iamsystem.role.model.RoleParentDto;
 import com.example.iamsystem.role.model.RolePermissionDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.factory.Mappers;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Set;
@@ -25,7 +30,12 @@ import static com.example.iamsystem.constant.ErrorMessage.ROLE_NOT_FOUND;
 public class RoleService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final RoleHierarchyService roleHierarchyService;
+    private final AccessIndex accessIndex;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
     private static final RoleMapper roleMapper = Mappers.getMapper(RoleMapper.class);
+    private static final int HIERARCHY_ATTEMPTS = 3;
 
     @Auditable(
             value = AuditEventType.ROLE_CREATION,
@@ -36,6 +46,7 @@ public class RoleService {
         log.debug("Attempting to create role: {}", roleDto.getName());
         Role role = roleMapper.toEntity(roleDto);
         Role savedRole = roleRepository.save(role);
+        changeLog.rolesChanged(List.of(savedRole.getId()));
         log.info("Role created successfully with ID: {}", savedRole.getId());
         return roleMapper.toDto(savedRole);
     }
@@ -54,6 +65,7 @@ public class RoleService {
                 });
         roleMapper.toUpdateEntity(role, roleDto);
         Role updatedRole = roleRepository.save(role);
+        changeLog.rolesChanged(List.of(id));
         log.info("Role with ID: {} updated successfully", id);
         return roleMapper.toDto(updatedRole);
     }
@@ -64,7 +76,17 @@ public class RoleService {
     )
     public void deleteRole(Long id) {
         log.debug("Attempting to delete role with ID: {}", id);
-        roleRepository.deleteById(id);
+        inHierarchyTransaction(() -> {
+            Role role = roleRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.warn("Role not found for deletion with ID: {}", id);
+                        return new DataNotFoundException(ROLE_NOT_FOUND);
+                    });
+            roleHierarchyService.roleDeleted(role);
+            roleRepository.delete(role);
+            accessIndex.roleDeleted(id);
+            changeLog.roleDeleted(id);
+        });
         log.info("Role with ID: {} deleted successfully", id);
     }
 
@@ -75,10 +97,13 @@ public class RoleService {
     )
     public void assignPermissions(RolePermissionDto rolePermissionDto) {
         log.debug("Attempting to assign permissions to role ID: {}", rolePermissionDto.getRoleId());
-        Role role = findRoleById(rolePermissionDto);
+        inHierarchyTransaction(() -> {
+            Role role = findRoleById(rolePermissionDto.getRoleId());
 
-        attachPermissionToRole(role, rolePermissionDto.getPermissionIds());
-        roleRepository.save(role);
+            List<Permission> permissions = attachPermissionToRole(role, rolePermissionDto.getPermissionIds());
+            roleRepository.save(role);
+            roleHierarchyService.permissionsAdded(role, permissions);
+        });
         log.info("Permissions assigned successfully to role ID: {}", rolePermissionDto.getRoleId());
     }
 
@@ -89,58 +114,89 @@ public class RoleService {
     )
     public void removePermissions(RolePermissionDto rolePermissionDto) {
         log.debug("Attempting to remove permissions from role ID: {}", rolePermissionDto.getRoleId());
-        Role role = findRoleById(rolePermissionDto);
+        inHierarchyTransaction(() -> {
+            Role role = findRoleById(rolePermissionDto.getRoleId());
 
-        detachPermissionFromRole(role, rolePermissionDto.getPermissionIds());
-        roleRepository.save(role);
+            detachPermissionFromRole(role, rolePermissionDto.getPermissionIds());
+            roleRepository.save(role);
+            roleHierarchyService.permissionsRemoved(role);
+        });
         log.info("Permissions removed successfully from role ID: {}", rolePermissionDto.getRoleId());
     }
 
-
-    public RoleDto getRole(Long id) {
-        log.debug("Attempting to retrieve role by ID: {}", id);
-        Role role = roleRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Role not found with ID: {}", id);
-                    return new DataNotFoundException(ROLE_NOT_FOUND);
-                });
-        log.info("Successfully retrieved role with ID: {}", id);
-        return roleMapper.toDto(role);
+    @Auditable(
+            value = AuditEventType.ROLE_PARENTS_ASSIGNED,
+            target = "#roleParentDto.roleId",
+            detailsExpression = "T(java.util.Map).of('role_id', #roleParentDto.roleId, 'parents_assigned', #roleParentDto.parentRoleIds.![toString()].join(','))"
+    )
+    public void assignParents(RoleParentDto roleParentDto) {
+        log.debug("Attempting to assign parent roles {} to role ID: {}", roleParentDto.getParentRoleIds(), roleParentDto.getRoleId());
+        inHierarchyTransaction(() -> {
+            Role role = findRoleById(roleParentDto.getRoleId());
+            roleHierarchyService.addParents(role, getRoles(roleParentDto.getParentRoleIds()));
+            roleRepository.save(role);
+        });
+        log.info("Parent roles assigned successfully to role ID: {}", roleParentDto.getRoleId());
     }
 
-    public RoleDto getRoleByName(String name) {
-        log.debug("Attempting to retrieve role by name: {}", name);
-        Role role = roleRepository.findByName(name)
-                .orElseThrow(() -> {
-                    log.warn("Role not found with name: {}", name);
-                    return new DataNotFoundException(ROLE_NOT_FOUND);
-                });
-        log.info("Successfully retrieved role with name: {}", name);
-        return roleMapper.toDto(role);
+    @Auditable(
+            value = AuditEventType.ROLE_PARENTS_REMOVED,
+            target = "#roleParentDto.roleId",
+            detailsExpression = "T(java.util.Map).of('role_id', #roleParentDto.roleId, 'parents_removed', #roleParentDto.parentRoleIds.![toString()].join(','))"
+    )
+    public void removeParents(RoleParentDto roleParentDto) {
+        log.debug("Attempting to remove parent roles {} from role ID: {}", roleParentDto.getParentRoleIds(), roleParentDto.getRoleId());
+        inHierarchyTransaction(() -> {
+            Role role = findRoleById(roleParentDto.getRoleId());
+            roleHierarchyService.removeParents(role, getRoles(roleParentDto.getParentRoleIds()));
+            roleRepository.save(role);
+        });
+        log.info("Parent roles removed successfully from role ID: {}", roleParentDto.getRoleId());
     }
 
-    public List<RoleDto> getRoles() {
-        log.debug("Attempting to retrieve all roles");
-        List<Role> roles = roleRepository.findAll();
-        log.info("Retrieved {} total roles", roles.size());
-        return roleMapper.toDto(roles);
+    /**
+     * Runs a change to the role hierarchy in its own transaction, retrying it on fresh data if a
+     * concurrent change to the same roles committed first (see {@link RoleHierarchyService}).
+     */
+    private void inHierarchyTransaction(Runnable change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> change.run());
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= HIERARCHY_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Role hierarchy changed concurrently, retrying (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
     }
 
-    private Role findRoleById(RolePermissionDto rolePermissionDto) {
-        log.debug("Finding role by ID: {}", rolePermissionDto.getRoleId());
-        return roleRepository.findById(rolePermissionDto.getRoleId())
+    private Role findRoleById(Long roleId) {
+        log.debug("Finding role by ID: {}", roleId);
+        return roleRepository.findById(roleId)
                 .orElseThrow(() -> {
-                    log.warn("Role not found for permission assignment/removal with ID: {}", rolePermissionDto.getRoleId());
+                    log.warn("Role not found for permission or parent assignment/removal with ID: {}", roleId);
                     return new DataNotFoundException(ROLE_NOT_FOUND);
                 });
     }
 
-    private void attachPermissionToRole(Role role, Set<Long> permissionIds) {
+    private List<Role> getRoles(Set<Long> roleIds) {
+        List<Role> roles = roleRepository.findAllById(roleIds);
+        if (roles.size() != roleIds.size()) {
+            log.warn("Some roles not found for IDs: {}", roleIds);
+            throw new DataNotFoundException(ROLE_NOT_FOUND);
+        }
+        return roles;
+    }
+
+    private List<Permission> attachPermissionToRole(Role role, Set<Long> permissionIds) {
         log.debug("Attaching permissions {} to role ID: {}", permissionIds, role.getId());
         List<Permission> permissions = getPermissions(permissionIds);
 
         role.getPermissions().addAll(permissions);
         log.debug("Permissions attached to role ID: {}", role.getId());
+        return permissions;
     }
 
     private void detachPermissionFromRole(Role role, Set<Long> permissionIds) {
@@ -2,7 +2,10 @@ package com.example.iamsystem.role.model;
 
 import com.example.iamsystem.organization.model.Organization;
 import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.permission.model.PermissionSet;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +16,9 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,6 +33,7 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Entity
 @Table(name = "roles")
@@ -57,12 +64,62 @@ public class Role implements Serializable {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Set<Permission> permissions = new HashSet<>();
 
+    // roles whose permissions this role inherits
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "role_parents",
+            joinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"),
+            inverseJoinColumns = @JoinColumn(name = "parent_role_id", referencedColumnName = "id")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Set<Role> parentRoles = new HashSet<>();
+
+    // transitive closure of parentRoles, maintained by RoleHierarchyService
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "role_ancestors", joinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
+    @Column(name = "ancestor_role_id")
+    private Set<Long> ancestorRoleIds = new HashSet<>();
+
+    // permissions granted through ancestors, maintained by RoleHierarchyService
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(
+            name = "role_inherited_permissions",
+            joinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"),
+            inverseJoinColumns = @JoinColumn(name = "permission_id", referencedColumnName = "id")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Set<Permission> inheritedPermissions = new HashSet<>();
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient PermissionSet effectivePermissionSet;
+
     @CreationTimestamp
     private Instant createdAt;
 
     @UpdateTimestamp
     private Instant updatedAt;
 
+    @Version
+    private int version;
+
+    /**
+     * Direct and inherited permissions; a permission can appear in both.
+     */
+    public Stream<Permission> effectivePermissions() {
+        return Stream.concat(permissions.stream(), inheritedPermissions.stream());
+    }
+
+    public boolean grants(String permissionName) {
+        PermissionSet granted = effectivePermissionSet;
+        if (granted == null) {
+            granted = PermissionSet.of(effectivePermissions());
+            effectivePermissionSet = granted;
+        }
+        return granted.grants(permissionName);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
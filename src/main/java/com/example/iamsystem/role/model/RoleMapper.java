@@ -16,6 +16,9 @@ public interface RoleMapper {
     RoleDto toDto(Role role);
 
     @Mapping(target = "permissions", ignore = true)
+    @Mapping(target = "parentRoles", ignore = true)
+    @Mapping(target = "ancestorRoleIds", ignore = true)
+    @Mapping(target = "inheritedPermissions", ignore = true)
     Role toEntity(RoleDto roleDto);
 
     List<RoleDto> toDto(List<Role> roles);
@@ -0,0 +1,21 @@
+package com.example.iamsystem.role.model;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleParentDto {
+    @NotNull(message = ErrorMessage.ROLE_LIST_REQUIRED)
+    private Long roleId;
+    @NotNull(message = ErrorMessage.ROLE_LIST_REQUIRED)
+    @NotEmpty(message = ErrorMessage.ROLE_LIST_NOT_EMPTY)
+    private Set<Long> parentRoleIds;
+}
@@ -0,0 +1,4 @@
+package com.example.iamsystem.role.model;
+
+public record RoleRow(Long id, String name) {
+}
@@ -2,6 +2,7 @@ package com.example.iamsystem.security.config;
 
 import com.example.iamsystem.security.JwtAuthenticationEntryPoint;
 import com.example.iamsystem.security.filter.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -50,7 +51,8 @@ public class AuthorizationConfig {
 
 
     private static final String[] SPECIAL_PRIVATE_APIS = {
-            "/api/auth/authorize"
+            "/api/auth/authorize",
+            "/api/auth/logout"
     };
 
     @Bean
@@ -60,6 +62,8 @@ public class AuthorizationConfig {
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(request -> {
+                            // long-polls and streams complete in an async dispatch of an already authorized request
+                            request.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                             request.requestMatchers(SPECIAL_PRIVATE_APIS).authenticated();
                             log.debug("Permitting access to special private APIs: {}", String.join(", ", SPECIAL_PRIVATE_APIS));
                             request.requestMatchers(WHITELISTED_OPENAPI_ENDPOINTS).permitAll();
@@ -3,31 +3,49 @@ package com.example.iamsystem.security.controller;
 import com.example.iamsystem.audit.annotation.Auditable;
 import com.example.iamsystem.audit.enums.AuditEventType;
 import com.example.iamsystem.constant.ErrorMessage;
+import com.example.iamsystem.constant.JwtConstant;
 import com.example.iamsystem.exception.JwtException;
 import com.example.iamsystem.permission.PermissionService;
+import com.example.iamsystem.policy.PolicyEngine;
+import com.example.iamsystem.policy.engine.PolicyDecision;
 import com.example.iamsystem.security.dto.AuthorizationRequest;
 import com.example.iamsystem.security.dto.AuthorizationResponse;
 import com.example.iamsystem.security.dto.JwtRefreshTokenDto;
 import com.example.iamsystem.security.dto.JwtResponse;
+import com.example.iamsystem.security.dto.LogoutRequest;
+import com.example.iamsystem.security.dto.TokenRevocationRequest;
 import com.example.iamsystem.security.dto.TokenValidationRequest;
 import com.example.iamsystem.security.dto.TokenValidationResponse;
 import com.example.iamsystem.security.jwt.JwtTokenUtil;
+import com.example.iamsystem.security.jwt.SigningKeyManager;
+import com.example.iamsystem.security.revocation.TokenRevocationService;
+import com.example.iamsystem.security.user.DefaultUserDetails;
 import com.example.iamsystem.security.user.DefaultUserDetailsService;
 import com.example.iamsystem.user.model.dto.UserLoginDto;
+import com.example.iamsystem.util.ratelimit.RateLimit;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.util.Map;
+
 import static com.example.iamsystem.enums.TokenType.ACCESS_TOKEN;
 import static com.example.iamsystem.enums.TokenType.REFRESH_TOKEN;
 
@@ -40,11 +58,19 @@ public class AuthController {
     private final DefaultUserDetailsService userDetailsService;
     private final JwtTokenUtil jwtTokenUtil;
     private final PermissionService permissionService;
+    private final SigningKeyManager signingKeyManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final PolicyEngine policyEngine;
+
+    @Value("${jwt.signing.key-set-max-age:PT1H}")
+    private Duration keySetMaxAge;
 
     @Auditable(
             value = AuditEventType.USER_LOGIN,
             target = "#userLoginDto.username"
     )
+    @RateLimit(policy = "login-ip")
+    @RateLimit(policy = "login-username", key = "#userLoginDto.username")
     @PostMapping("/authenticate")
     @Operation(summary = "User authentication")
     public ResponseEntity<JwtResponse> createAuthenticationToken(@Valid @RequestBody UserLoginDto userLoginDto) {
@@ -62,6 +88,8 @@ public class AuthController {
             value = AuditEventType.TOKEN_REFRESH,
             target = "#refreshTokenDto.username"
     )
+    @RateLimit(policy = "refresh-ip")
+    @RateLimit(policy = "refresh-username", key = "#refreshTokenDto.username")
     @PostMapping("/token/refresh")
     @Operation(summary = "Refresh token")
     public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody JwtRefreshTokenDto refreshTokenDto) {
@@ -78,6 +106,28 @@ public class AuthController {
         throw new JwtException(ErrorMessage.INVALID_TOKEN);
     }
 
+    @Auditable(value = AuditEventType.USER_LOGOUT)
+    @PostMapping("/logout")
+    @Operation(summary = "Logout, revoking the current access token and optionally the refresh token")
+    public ResponseEntity<Void> logout(@RequestHeader(JwtConstant.REQUEST_HEADER) String authorizationHeader,
+                                       @AuthenticationPrincipal UserDetails userDetails,
+                                       @RequestBody(required = false) LogoutRequest logoutRequest) {
+        log.debug("Logout request received for user: {}", userDetails.getUsername());
+        String accessToken = authorizationHeader.replace(JwtConstant.BEARER, "");
+        String refreshToken = logoutRequest == null ? null : logoutRequest.getRefreshToken();
+        tokenRevocationService.logout(userDetails.getUsername(), accessToken, refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Auditable(value = AuditEventType.TOKEN_REVOCATION)
+    @PostMapping("/token/revoke")
+    @Operation(summary = "Token revocation")
+    public ResponseEntity<Void> revokeToken(@Valid @RequestBody TokenRevocationRequest request) {
+        log.debug("Token revocation request received.");
+        tokenRevocationService.revoke(request.getToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/token/validate")
     @Operation(summary = "Token validation")
     public ResponseEntity<TokenValidationResponse> validateToken(@Valid @RequestBody TokenValidationRequest request) {
@@ -89,12 +139,31 @@ public class AuthController {
 
     @PostMapping("/authorize")
     @Operation(summary = "User authorization")
-    public ResponseEntity<AuthorizationResponse> authorize(@Valid @RequestBody AuthorizationRequest authorizationRequest) {
+    public ResponseEntity<AuthorizationResponse> authorize(@Valid @RequestBody AuthorizationRequest authorizationRequest,
+                                                           @AuthenticationPrincipal UserDetails userDetails,
+                                                           HttpServletRequest request) {
         log.debug("Authorization request received for service: {} and action: {}", authorizationRequest.getServiceName(), authorizationRequest.getAction());
         String requiredPermission = authorizationRequest.getServiceName() + ":" + authorizationRequest.getAction();
         boolean permission = permissionService.hasPermission(requiredPermission);
+        Long snapshotAgeSeconds = null;
+        if (userDetails instanceof DefaultUserDetails details) {
+            String ip = authorizationRequest.getIp() != null ? authorizationRequest.getIp() : request.getRemoteAddr();
+            PolicyDecision decision = policyEngine.evaluate(details.user(), requiredPermission,
+                    authorizationRequest.getResource(), ip);
+            permission = decision.authorized(permission);
+            snapshotAgeSeconds = details.snapshotAgeSeconds();
+        }
         log.info("Authorization result for permission '{}': {}", requiredPermission, permission);
-        return ResponseEntity.ok(new AuthorizationResponse(permission));
+        return ResponseEntity.ok(new AuthorizationResponse(permission, snapshotAgeSeconds));
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Public keys for access token verification")
+    public ResponseEntity<Map<String, Object>> keySet() {
+        log.debug("Key set request received.");
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(keySetMaxAge).cachePublic())
+                .body(signingKeyManager.publicKeySet());
     }
 
     private JwtResponse getTokens(UserDetails userDetails, String username) {
@@ -0,0 +1,71 @@
+package com.example.iamsystem.security.decision;
+
+import com.example.iamsystem.permission.PermissionService;
+import com.example.iamsystem.policy.PolicyEngine;
+import com.example.iamsystem.security.jwt.JwtTokenUtil;
+import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.security.user.DefaultUserDetailsService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+import static com.example.iamsystem.enums.TokenType.ACCESS_TOKEN;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationDecisionEngine {
+
+    public enum Decision {
+        ALLOW, DENY, UNAUTHENTICATED
+    }
+
+    /**
+     * {@code snapshotAgeSeconds} is set when the decision was made from the authorization snapshot.
+     */
+    public record Outcome(Decision decision, Long snapshotAgeSeconds) {
+        private static final Outcome UNAUTHENTICATED = new Outcome(Decision.UNAUTHENTICATED, null);
+    }
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final DefaultUserDetailsService userDetailsService;
+    private final PermissionService permissionService;
+    private final PolicyEngine policyEngine;
+
+    /**
+     * {@code resource} holds the attributes of the resource acted on, if any, and {@code ip} the
+     * address of the client the decision is made for.
+     */
+    public Outcome authorize(String token, String requiredPermission, Map<String, String> resource, String ip) {
+        DefaultUserDetails userDetails = authenticate(token);
+        if (userDetails == null) {
+            return Outcome.UNAUTHENTICATED;
+        }
+        boolean granted = permissionService.hasPermission(userDetails.user(), requiredPermission);
+        granted = policyEngine.evaluate(userDetails.user(), requiredPermission, resource, ip).authorized(granted);
+        Decision decision = granted ? Decision.ALLOW : Decision.DENY;
+        return new Outcome(decision, userDetails.snapshotAgeSeconds());
+    }
+
+    public boolean validateToken(String token) {
+        return jwtTokenUtil.validateToken(token, ACCESS_TOKEN);
+    }
+
+    private DefaultUserDetails authenticate(String token) {
+        try {
+            String username = jwtTokenUtil.getUsernameFromToken(token, ACCESS_TOKEN);
+            UserDetails userDetails = userDetailsService.loadUserForToken(username);
+            if (jwtTokenUtil.validateToken(token, userDetails, ACCESS_TOKEN)) {
+                return (DefaultUserDetails) userDetails;
+            }
+        } catch (JwtException | IllegalArgumentException | AuthenticationException e) {
+            log.warn("Decision request rejected: {}", e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.iamsystem.security.decision;
+
+import com.example.iamsystem.constant.JwtConstant;
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshotService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Dedicated listener for the two highest-volume calls, {@code /authorize} and {@code /token/validate}.
+ * It skips the security filter chain, the DispatcherServlet, Jackson and the AOP proxies but reuses
+ * the same token and permission checks as {@code AuthController}.
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.decision-server.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationDecisionServer implements SmartLifecycle {
+
+    private static final String AUTHORIZE_PATH = "/authorize";
+    private static final String VALIDATE_PATH = "/token/validate";
+    private static final String POST = "POST";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String TEXT_PLAIN = "text/plain; charset=US-ASCII";
+
+    private final AuthorizationDecisionEngine decisionEngine;
+
+    @Value("${authorization.decision-server.port:8081}")
+    private int port;
+
+    @Value("${authorization.decision-server.backlog:1024}")
+    private int backlog;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), backlog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not bind authorization decision server to port " + port, e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(AUTHORIZE_PATH, this::handleAuthorize);
+        server.createContext(VALIDATE_PATH, this::handleValidate);
+        server.start();
+        running = true;
+        log.info("Authorization decision server listening on port {}", port);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        log.info("Authorization decision server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void handleAuthorize(HttpExchange exchange) throws IOException {
+        try {
+            if (!POST.equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, DecisionCodec.METHOD_NOT_ALLOWED);
+                return;
+            }
+            String token = DecisionCodec.extractBearerToken(exchange.getRequestHeaders().getFirst(JwtConstant.REQUEST_HEADER));
+            if (token == null) {
+                respond(exchange, 401, DecisionCodec.UNAUTHENTICATED);
+                return;
+            }
+            byte[] body = DecisionCodec.readBody(exchange.getRequestBody());
+            String permission = DecisionCodec.parsePermission(body);
+            if (permission == null) {
+                respond(exchange, 400, DecisionCodec.BAD_REQUEST);
+                return;
+            }
+            AuthorizationDecisionEngine.Outcome outcome = decisionEngine.authorize(token, permission,
+                    DecisionCodec.parseResource(body), clientIp(exchange));
+            if (outcome.snapshotAgeSeconds() != null) {
+                exchange.getResponseHeaders().set(AuthorizationSnapshotService.SNAPSHOT_AGE_HEADER,
+                        String.valueOf(outcome.snapshotAgeSeconds()));
+            }
+            switch (outcome.decision()) {
+                case ALLOW -> respond(exchange, 200, DecisionCodec.ALLOW);
+                case DENY -> respond(exchange, 403, DecisionCodec.DENY);
+                case UNAUTHENTICATED -> respond(exchange, 401, DecisionCodec.UNAUTHENTICATED);
+            }
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, DecisionCodec.BAD_REQUEST);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleValidate(HttpExchange exchange) throws IOException {
+        try {
+            if (!POST.equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, DecisionCodec.METHOD_NOT_ALLOWED);
+                return;
+            }
+            String token = DecisionCodec.parseToken(DecisionCodec.readBody(exchange.getRequestBody()));
+            if (token == null) {
+                respond(exchange, 400, DecisionCodec.BAD_REQUEST);
+                return;
+            }
+            respond(exchange, 200, decisionEngine.validateToken(token) ? DecisionCodec.VALID : DecisionCodec.INVALID);
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, DecisionCodec.BAD_REQUEST);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String clientIp(HttpExchange exchange) {
+        String clientIp = exchange.getRequestHeaders().getFirst(DecisionCodec.CLIENT_IP_HEADER);
+        if (clientIp != null && !clientIp.isBlank()) {
+            return clientIp.strip();
+        }
+        return exchange.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set(CONTENT_TYPE, TEXT_PLAIN);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
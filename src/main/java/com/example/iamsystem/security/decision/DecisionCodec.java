@@ -0,0 +1,91 @@
+package com.example.iamsystem.security.decision;
+
+import com.example.iamsystem.constant.JwtConstant;
+import com.example.iamsystem.permission.model.PermissionAction;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Wire format of the decision server. Requests carry the bearer token in the {@code Authorization}
+ * header; the authorize body is a plain {@code SERVICE:ACTION} line, optionally followed by one
+ * {@code name=value} line per resource attribute, and the validate body is the raw token. A caller
+ * deciding on behalf of a client sends the client's address in {@link #CLIENT_IP_HEADER}. Responses
+ * are fixed ASCII words so nothing is serialized per decision.
+ */
+@UtilityClass
+public class DecisionCodec {
+
+    public static final int MAX_BODY_BYTES = 8 * 1024;
+    public static final String CLIENT_IP_HEADER = "X-Client-IP";
+
+    static final byte[] ALLOW = ascii("ALLOW");
+    static final byte[] DENY = ascii("DENY");
+    static final byte[] VALID = ascii("VALID");
+    static final byte[] INVALID = ascii("INVALID");
+    static final byte[] UNAUTHENTICATED = ascii("UNAUTHENTICATED");
+    static final byte[] BAD_REQUEST = ascii("BAD_REQUEST");
+    static final byte[] METHOD_NOT_ALLOWED = ascii("METHOD_NOT_ALLOWED");
+
+    public static byte[] readBody(InputStream inputStream) throws IOException {
+        byte[] body = inputStream.readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new IllegalArgumentException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+        }
+        return body;
+    }
+
+    public static String parsePermission(byte[] body) {
+        String value = new String(body, StandardCharsets.US_ASCII).strip().lines().findFirst().orElse("").strip();
+        int separator = value.indexOf(':');
+        if (separator <= 0 || separator != value.lastIndexOf(':') || separator == value.length() - 1) {
+            return null;
+        }
+        String action = value.substring(separator + 1);
+        for (PermissionAction permissionAction : PermissionAction.values()) {
+            if (permissionAction != PermissionAction.ANY && permissionAction.name().equals(action)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The resource attributes following the permission line, or {@code null} if there are none.
+     */
+    public static Map<String, String> parseResource(byte[] body) {
+        Map<String, String> resource = new HashMap<>();
+        new String(body, StandardCharsets.UTF_8).strip().lines().skip(1).map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .forEach(line -> {
+                    int separator = line.indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("Malformed resource attribute: " + line);
+                    }
+                    resource.put(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+                });
+        return resource.isEmpty() ? null : resource;
+    }
+
+    public static String parseToken(byte[] body) {
+        String token = new String(body, StandardCharsets.US_ASCII).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    public static String extractBearerToken(String authorizationHeader) {
+        if (Objects.isNull(authorizationHeader) || !authorizationHeader.startsWith(JwtConstant.BEARER)) {
+            return null;
+        }
+        String token = authorizationHeader.substring(JwtConstant.BEARER.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -5,6 +5,8 @@ import com.example.iamsystem.util.validators.action.ValidAction;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 public class AuthorizationRequest {
     @NotNull(message = ErrorMessage.SERVICE_NAME_REQUIRED)
@@ -12,4 +14,9 @@ public class AuthorizationRequest {
     @NotNull(message = ErrorMessage.ACTION_NAME_REQUIRED)
     @ValidAction
     private String action;
+    private Map<String, String> resource;
+    /**
+     * Address of the client the decision is made for, when the caller is not that client.
+     */
+    private String ip;
 }
@@ -1,16 +1,26 @@
 package com.example.iamsystem.security.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
 public class AuthorizationResponse {
     private boolean authorized;
     private String message;
+    private boolean degraded;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long snapshotAgeSeconds;
     private static final String ACCESS_DENIED = "Access denied";
     private static final String ACCESS_GRANTED = "Access granted";
 
     public AuthorizationResponse(boolean authorized) {
+        this(authorized, null);
+    }
+
+    public AuthorizationResponse(boolean authorized, Long snapshotAgeSeconds) {
         this.authorized = authorized;
         this.message = authorized ? ACCESS_GRANTED : ACCESS_DENIED;
+        this.degraded = snapshotAgeSeconds != null;
+        this.snapshotAgeSeconds = snapshotAgeSeconds;
     }
 }
@@ -0,0 +1,10 @@
+package com.example.iamsystem.security.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class LogoutRequest {
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+}
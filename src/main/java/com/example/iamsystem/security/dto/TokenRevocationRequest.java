@@ -0,0 +1,11 @@
+package com.example.iamsystem.security.dto;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TokenRevocationRequest {
+    @NotBlank(message = ErrorMessage.TOKEN_REQUIRED)
+    private String token;
+}
@@ -1,6 +1,7 @@
 package com.example.iamsystem.security.event;
 
 import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.util.UserExistenceFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +18,7 @@ import java.time.temporal.ChronoUnit;
 public class AuthenticationFailureListener {
 
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
 
     @Value("${security.max-failed-attempts:5}")
     private int maxFailedAttempts;
@@ -28,6 +30,9 @@ public class AuthenticationFailureListener {
     public void onAuthenticationFailure(AuthenticationFailureBadCredentialsEvent event) {
         String username = (String) event.getAuthentication().getPrincipal();
         log.warn("Authentication failed for user: {}", username);
+        if (!userExistenceFilter.mightContainUsername(username)) {
+            return;
+        }
 
         userRepository.findByUsername(username).ifPresent(user -> {
             int newAttempts = user.getFailedLoginAttempts() + 1;
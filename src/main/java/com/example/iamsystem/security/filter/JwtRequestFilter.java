@@ -3,7 +3,10 @@ package com.example.iamsystem.security.filter;
 import com.example.iamsystem.constant.ErrorMessage;
 import com.example.iamsystem.constant.JwtConstant;
 import com.example.iamsystem.security.jwt.JwtTokenUtil;
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshotService;
+import com.example.iamsystem.security.user.DefaultUserDetails;
 import com.example.iamsystem.security.user.DefaultUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +23,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 import static com.example.iamsystem.enums.TokenType.ACCESS_TOKEN;
 
@@ -38,10 +42,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         String jwtToken = extractToken(request);
         if (Objects.nonNull(jwtToken)) {
             try {
-                String username = tokenUtil.getUsernameFromToken(jwtToken, ACCESS_TOKEN);
+                Claims claims = tokenUtil.getClaimFromToken(jwtToken, Function.identity(), ACCESS_TOKEN);
+                String username = claims.getSubject();
                 if (Objects.nonNull(username) && Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
                     log.debug("Authenticating user: {}", username);
-                    authenticateUser(request, jwtToken, username);
+                    authenticateUser(request, response, claims, username);
                     log.info("User '{}' authenticated successfully.", username);
                 }
             } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
@@ -65,13 +70,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         return authorizationHeader.replace(JwtConstant.BEARER, "");
     }
 
-    private void authenticateUser(HttpServletRequest request, String jwtToken, String username) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        if (tokenUtil.validateToken(jwtToken, userDetails, ACCESS_TOKEN)) {
+    private void authenticateUser(HttpServletRequest request, HttpServletResponse response, Claims claims, String username) {
+        UserDetails userDetails = userDetailsService.loadUserForToken(username);
+        if (tokenUtil.validateClaims(claims, userDetails, ACCESS_TOKEN)) {
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    userDetails, null, tokenUtil.getAuthorities(claims, userDetails));
             authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            if (userDetails instanceof DefaultUserDetails details && details.isDegraded()) {
+                response.setHeader(AuthorizationSnapshotService.SNAPSHOT_AGE_HEADER, String.valueOf(details.snapshotAgeSeconds()));
+            }
             log.debug("SecurityContextHolder updated with authentication for user: {}", username);
         } else {
             log.warn("JWT token validation failed for user: {}", username);
@@ -0,0 +1,130 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.AuthoritiesEncoding;
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Compact encodings of a user's permission ids for the access token. The first byte tags the
+ * format: a bitmap starting at a varint base id, or a list of varint-encoded gaps between the
+ * sorted ids. Either way the result is base64url encoded without padding.
+ */
+@UtilityClass
+public class AuthoritiesCodec {
+
+    static final int BITMAP_FORMAT = 1;
+    static final int DELTA_FORMAT = 2;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static String encode(Collection<Long> permissionIds, AuthoritiesEncoding encoding) {
+        long[] ids = permissionIds.stream().mapToLong(Long::longValue).filter(id -> id > 0).sorted().distinct().toArray();
+        byte[] encoded = switch (encoding) {
+            case BITMAP -> encodeBitmap(ids);
+            case DELTA -> encodeDelta(ids);
+            case COMPACT -> {
+                byte[] bitmap = encodeBitmap(ids);
+                byte[] delta = encodeDelta(ids);
+                yield bitmap.length < delta.length ? bitmap : delta;
+            }
+            case LIST -> throw new IllegalArgumentException("LIST authorities are not encoded");
+        };
+        return ENCODER.encodeToString(encoded);
+    }
+
+    public static long[] decode(String encoded) {
+        byte[] bytes = DECODER.decode(encoded);
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty authorities encoding");
+        }
+        int[] position = {1};
+        return switch (bytes[0]) {
+            case BITMAP_FORMAT -> decodeBitmap(bytes, position);
+            case DELTA_FORMAT -> decodeDelta(bytes, position);
+            default -> throw new IllegalArgumentException("Unknown authorities encoding " + bytes[0]);
+        };
+    }
+
+    private static byte[] encodeBitmap(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BITMAP_FORMAT);
+        if (ids.length == 0) {
+            writeVarLong(out, 0);
+            return out.toByteArray();
+        }
+        long base = ids[0] & ~7L;
+        writeVarLong(out, base);
+        byte[] bitmap = new byte[(int) ((ids[ids.length - 1] - base) >>> 3) + 1];
+        for (long id : ids) {
+            long offset = id - base;
+            bitmap[(int) (offset >>> 3)] |= (byte) (1 << (offset & 7));
+        }
+        out.writeBytes(bitmap);
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeDelta(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(DELTA_FORMAT);
+        long previous = 0;
+        for (long id : ids) {
+            writeVarLong(out, id - previous);
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    private static long[] decodeBitmap(byte[] bytes, int[] position) {
+        long base = readVarLong(bytes, position);
+        long[] ids = new long[(bytes.length - position[0]) * 8];
+        int count = 0;
+        for (int i = position[0]; i < bytes.length; i++) {
+            int bits = bytes[i] & 0xFF;
+            while (bits != 0) {
+                int bit = Integer.numberOfTrailingZeros(bits);
+                ids[count++] = base + ((long) (i - position[0]) << 3) + bit;
+                bits &= bits - 1;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static long[] decodeDelta(byte[] bytes, int[] position) {
+        long[] ids = new long[bytes.length - position[0]];
+        int count = 0;
+        long previous = 0;
+        while (position[0] < bytes.length) {
+            previous += readVarLong(bytes, position);
+            ids[count++] = previous;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated authorities encoding");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed authorities encoding");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.enums.SigningKeyStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the key ring in memory. Keys are lost on restart and are not shared between instances, so
+ * this store only suits a single instance that can afford to invalidate its tokens on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.signing.key-store", havingValue = "memory")
+public class InMemorySigningKeyStore implements SigningKeyStore {
+
+    private final List<StoredSigningKey> keys = new ArrayList<>();
+
+    @Override
+    public synchronized List<StoredSigningKey> load(SigningAlgorithm algorithm, Instant now) {
+        return keys.stream()
+                .filter(key -> key.getAlgorithm() == algorithm)
+                .filter(key -> key.getStatus() != null || key.getRetireAt().isAfter(now))
+                .toList();
+    }
+
+    @Override
+    public synchronized boolean initialize(StoredSigningKey current, StoredSigningKey next) {
+        if (find(current.getAlgorithm(), SigningKeyStatus.CURRENT) != null) {
+            return false;
+        }
+        keys.add(current);
+        keys.add(next);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean rotate(SigningAlgorithm algorithm, Instant activatedBefore, Instant retireAt,
+                                       Supplier<StoredSigningKey> nextKey) {
+        StoredSigningKey current = find(algorithm, SigningKeyStatus.CURRENT);
+        StoredSigningKey next = find(algorithm, SigningKeyStatus.NEXT);
+        if (current == null || next == null || current.getActivatedAt().isAfter(activatedBefore)) {
+            return false;
+        }
+        Instant now = Instant.now();
+        current.setStatus(null);
+        current.setRetireAt(retireAt);
+        next.setStatus(SigningKeyStatus.CURRENT);
+        next.setActivatedAt(now);
+        keys.add(nextKey.get());
+        keys.removeIf(key -> key.getStatus() == null && !key.getRetireAt().isAfter(now));
+        return true;
+    }
+
+    private StoredSigningKey find(SigningAlgorithm algorithm, SigningKeyStatus status) {
+        return keys.stream()
+                .filter(key -> key.getAlgorithm() == algorithm && key.getStatus() == status)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.enums.SigningKeyStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the key ring in the {@code signing_keys} table. A rotation locks the current and next
+ * rows, so concurrent rotations are serialized and only the first one finds the current key due.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.signing.key-store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaSigningKeyStore implements SigningKeyStore {
+
+    private final StoredSigningKeyRepository signingKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public List<StoredSigningKey> load(SigningAlgorithm algorithm, Instant now) {
+        return signingKeyRepository.findValid(algorithm, now);
+    }
+
+    @Override
+    public boolean initialize(StoredSigningKey current, StoredSigningKey next) {
+        try {
+            // the unique status constraint rejects the second of two instances starting together
+            transactionTemplate.executeWithoutResult(status -> {
+                signingKeyRepository.saveAndFlush(current);
+                signingKeyRepository.saveAndFlush(next);
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean rotate(SigningAlgorithm algorithm, Instant activatedBefore, Instant retireAt,
+                          Supplier<StoredSigningKey> nextKey) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<StoredSigningKey> active = signingKeyRepository.findActiveForUpdate(algorithm);
+            StoredSigningKey current = find(active, SigningKeyStatus.CURRENT);
+            StoredSigningKey next = find(active, SigningKeyStatus.NEXT);
+            if (current == null || next == null || current.getActivatedAt().isAfter(activatedBefore)) {
+                return false;
+            }
+            Instant now = Instant.now();
+            signingKeyRepository.updateStatus(current.getKeyId(), null, current.getActivatedAt(), retireAt);
+            signingKeyRepository.updateStatus(next.getKeyId(), SigningKeyStatus.CURRENT, now, null);
+            signingKeyRepository.saveAndFlush(nextKey.get());
+            signingKeyRepository.deleteRetired(algorithm, now);
+            return true;
+        }));
+    }
+
+    private static StoredSigningKey find(List<StoredSigningKey> keys, SigningKeyStatus status) {
+        return keys.stream().filter(key -> Objects.equals(key.getStatus(), status)).findFirst().orElse(null);
+    }
+}
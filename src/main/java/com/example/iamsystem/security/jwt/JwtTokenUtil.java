@@ -1,25 +1,42 @@
 package com.example.iamsystem.security.jwt;
 
+import com.example.iamsystem.enums.AuthoritiesEncoding;
 import com.example.iamsystem.enums.TokenType;
+import com.example.iamsystem.permission.PermissionCatalog;
+import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.security.revocation.TokenRevocationStore;
 import com.example.iamsystem.security.user.DefaultUserDetails;
 import com.example.iamsystem.user.model.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Function;
 
-import static com.example.iamsystem.constant.JwtConstant.ACCESS_TOKEN_SECRET_KEY;
 import static com.example.iamsystem.constant.JwtConstant.JWT_ACCESS_TOKEN_VALIDITY;
 import static com.example.iamsystem.constant.JwtConstant.JWT_REFRESH_TOKEN_VALIDITY;
 import static com.example.iamsystem.constant.JwtConstant.REFRESH_TOKEN_SECRET;
@@ -31,6 +48,33 @@ public class JwtTokenUtil implements Serializable {
 
     public static final String VERSION = "version";
     public static final String AUTHORITIES = "authorities";
+    public static final String PERMISSIONS = "perms";
+    public static final String CATALOG_VERSION = "perms_v";
+
+    private final transient SigningKeyManager signingKeyManager;
+    private final transient TokenRevocationStore revocationStore;
+    private final transient PermissionCatalog permissionCatalog;
+    private final AuthoritiesEncoding authoritiesEncoding;
+    private final transient JwtParser accessTokenParser;
+    private final transient SecretKey refreshTokenKey;
+    private final transient JwtParser refreshTokenParser;
+
+    public JwtTokenUtil(SigningKeyManager signingKeyManager,
+                        TokenRevocationStore revocationStore,
+                        PermissionCatalog permissionCatalog,
+                        @Value("${jwt.authorities.encoding:COMPACT}") AuthoritiesEncoding authoritiesEncoding) {
+        this.signingKeyManager = signingKeyManager;
+        this.revocationStore = revocationStore;
+        this.permissionCatalog = permissionCatalog;
+        this.authoritiesEncoding = authoritiesEncoding;
+        this.accessTokenParser = Jwts.parser()
+                .keyLocator(this::locateAccessTokenKey)
+                .build();
+        this.refreshTokenKey = Keys.hmacShaKeyFor(REFRESH_TOKEN_SECRET.getBytes(StandardCharsets.UTF_8));
+        this.refreshTokenParser = Jwts.parser()
+                .verifyWith(refreshTokenKey)
+                .build();
+    }
 
     public String getUsernameFromToken(String token, TokenType tokenType) {
         log.debug("Extracting username from token of type: {}", tokenType);
@@ -55,15 +99,12 @@ public class JwtTokenUtil implements Serializable {
 
     private Claims getAllClaimsFromToken(String token, TokenType tokenType) {
         log.debug("Getting all claims from token of type: {}", tokenType);
-        return Jwts.parser()
-                .verifyWith(getSecretKey(tokenType))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JwtParser parser = tokenType.equals(ACCESS_TOKEN) ? accessTokenParser : refreshTokenParser;
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Boolean isTokenExpired(String token, TokenType tokenType) {
-        final Date expiration = getExpirationDateFromToken(token, tokenType);
+    private Boolean isTokenExpired(Claims claims, TokenType tokenType) {
+        final Date expiration = claims.getExpiration();
         boolean expired = expiration.before(new Date());
         if (expired) {
             log.debug("Token of type {} is expired.", tokenType);
@@ -76,38 +117,87 @@ public class JwtTokenUtil implements Serializable {
     public String generateToken(UserDetails userDetails, TokenType tokenType) {
         log.debug("Generating {} token for user: {}", tokenType, userDetails.getUsername());
         Map<String, Object> claims = new HashMap<>();
+        User user = getUser(userDetails);
         if (tokenType.equals(ACCESS_TOKEN)) {
-            claims.put(AUTHORITIES, userDetails.getAuthorities());
+            putAuthorities(claims, userDetails, user);
         }
-        User user = getUser(userDetails);
         claims.put(VERSION, user.getVersion());
         String token = doGenerateToken(claims, userDetails.getUsername(), tokenType);
         log.info("Successfully generated {} token for user: {}", tokenType, userDetails.getUsername());
         return token;
     }
 
+    private void putAuthorities(Map<String, Object> claims, UserDetails userDetails, User user) {
+        if (authoritiesEncoding == AuthoritiesEncoding.LIST) {
+            claims.put(AUTHORITIES, userDetails.getAuthorities());
+            return;
+        }
+        List<Long> permissionIds = user.effectiveRoles()
+                .flatMap(Role::effectivePermissions)
+                .map(Permission::getId)
+                .distinct()
+                .toList();
+        claims.put(PERMISSIONS, AuthoritiesCodec.encode(permissionIds, authoritiesEncoding));
+        claims.put(CATALOG_VERSION, permissionCatalog.snapshot().version());
+    }
+
+    /**
+     * Returns the authorities carried by an access token, falling back to the user's current
+     * authorities when the token uses the list format or names a permission the catalog does not know.
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities(Claims claims, UserDetails userDetails) {
+        String encoded = claims.get(PERMISSIONS, String.class);
+        if (Objects.isNull(encoded)) {
+            return userDetails.getAuthorities();
+        }
+        Map<Long, String> catalog = permissionCatalog.snapshot().permissions();
+        long[] permissionIds = AuthoritiesCodec.decode(encoded);
+        List<GrantedAuthority> authorities = new ArrayList<>(permissionIds.length);
+        for (long permissionId : permissionIds) {
+            String name = catalog.get(permissionId);
+            if (Objects.isNull(name)) {
+                log.debug("Permission {} is not in the catalog, using the user's current authorities.", permissionId);
+                return userDetails.getAuthorities();
+            }
+            authorities.add(new SimpleGrantedAuthority(name));
+        }
+        return authorities;
+    }
+
     private String doGenerateToken(Map<String, Object> claims, String subject, TokenType tokenType) {
         long expiryTime = tokenType.equals(ACCESS_TOKEN) ? JWT_ACCESS_TOKEN_VALIDITY : JWT_REFRESH_TOKEN_VALIDITY;
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiryTime * 1000))
-                .signWith(getSecretKey(tokenType))
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + expiryTime * 1000));
+        if (tokenType.equals(ACCESS_TOKEN)) {
+            SigningKeyManager.SigningKey signingKey = signingKeyManager.currentKey();
+            builder.header().keyId(signingKey.id()).and().signWith(signingKey.signingKey());
+        } else {
+            builder.signWith(refreshTokenKey);
+        }
+        return builder.compact();
     }
 
     public boolean validateToken(String token, UserDetails userDetails, TokenType tokenType) {
+        return validateClaims(getAllClaimsFromToken(token, tokenType), userDetails, tokenType);
+    }
+
+    public boolean validateClaims(Claims claims, UserDetails userDetails, TokenType tokenType) {
         log.debug("Validating {} token for user: {}", tokenType, userDetails.getUsername());
-        final String username = getUsernameFromToken(token, tokenType);
         User user = getUser(userDetails);
-        int version = getVersionFromToken(token, tokenType);
+        int version = (int) claims.getOrDefault(VERSION, 0);
         if(user.getVersion() != version) {
             log.error("Token version mismatch. Extracted version: {}, user version: {}", version, user.getVersion());
             return false;
         }
-        boolean isValid = (username.equals(userDetails.getUsername()) && !isTokenExpired(token, tokenType));
+        if (isRevoked(claims, tokenType)) {
+            return false;
+        }
+        boolean isValid = (userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims, tokenType));
         if (isValid) {
             log.info("{} token is valid for user: {}", tokenType, userDetails.getUsername());
         } else {
@@ -124,7 +214,10 @@ public class JwtTokenUtil implements Serializable {
     public boolean validateToken(String token, TokenType tokenType) {
         log.debug("Validating {} token without user details.", tokenType);
         try {
-            getAllClaimsFromToken(token, tokenType);
+            Claims claims = getAllClaimsFromToken(token, tokenType);
+            if (isRevoked(claims, tokenType)) {
+                return false;
+            }
             log.info("{} token is valid.", tokenType);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
@@ -133,10 +226,20 @@ public class JwtTokenUtil implements Serializable {
         }
     }
 
-    private SecretKey getSecretKey(TokenType tokenType) {
-        if (tokenType.equals(ACCESS_TOKEN)) {
-            return Keys.hmacShaKeyFor(ACCESS_TOKEN_SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private boolean isRevoked(Claims claims, TokenType tokenType) {
+        boolean revoked = revocationStore.isRevoked(claims.getId(), claims.getExpiration().toInstant());
+        if (revoked) {
+            log.warn("{} token {} for user {} has been revoked.", tokenType, claims.getId(), claims.getSubject());
+        }
+        return revoked;
+    }
+
+    private Key locateAccessTokenKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        Key key = signingKeyManager.verificationKey(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown or retired signing key: " + keyId);
         }
-        return Keys.hmacShaKeyFor(REFRESH_TOKEN_SECRET.getBytes(StandardCharsets.UTF_8));
+        return key;
     }
 }
@@ -0,0 +1,231 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.enums.SigningKeyStatus;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.example.iamsystem.constant.JwtConstant.ACCESS_TOKEN_SECRET_KEY;
+
+/**
+ * Holds the access token signing keys. Besides the key currently signing, the ring always contains
+ * the next key, which is published before it signs anything so that consumers caching the key set
+ * already know it after a rotation, and retired keys, which stay valid for the overlap window so
+ * tokens signed just before a rotation keep verifying until they expire.
+ * <p>
+ * The ring lives in a {@link SigningKeyStore} shared by every instance, so they all sign with and
+ * publish the same keys and a restart keeps outstanding tokens valid. Every instance reloads the
+ * ring each {@code jwt.signing.refresh-interval} and, once the current key has signed for a
+ * rotation interval, races the others to rotate it; the store lets only one of them win. An
+ * instance may sign with the previous key for up to one refresh interval after a rotation, which
+ * the overlap covers, and the other instances already verify the new key as the published next key.
+ */
+@Component
+@Slf4j
+public class SigningKeyManager {
+
+    private static final String HMAC_KEY_ID = "hs256-default";
+    private static final String SIGNATURE_USE = "sig";
+
+    private final SigningAlgorithm algorithm;
+    private final Duration rotationInterval;
+    private final Duration overlap;
+    private final SigningKeyStore keyStore;
+    private volatile KeyRing keyRing;
+
+    public SigningKeyManager(@Value("${jwt.signing.algorithm:ED25519}") SigningAlgorithm algorithm,
+                             @Value("${jwt.signing.rotation-interval:PT24H}") Duration rotationInterval,
+                             @Value("${jwt.signing.overlap:PT10M}") Duration overlap,
+                             SigningKeyStore keyStore) {
+        this.algorithm = algorithm;
+        this.rotationInterval = rotationInterval;
+        this.overlap = overlap;
+        this.keyStore = keyStore;
+        if (algorithm == SigningAlgorithm.HS256) {
+            SigningKey hmacKey = hmacKey();
+            this.keyRing = new KeyRing(hmacKey, hmacKey, List.of());
+        } else {
+            this.keyRing = loadRing();
+            if (keyRing == null) {
+                if (keyStore.initialize(storedKey(SigningKeyStatus.CURRENT, Instant.now()),
+                        storedKey(SigningKeyStatus.NEXT, null))) {
+                    log.info("Created the first {} signing keys", algorithm);
+                }
+                this.keyRing = loadRing();
+            }
+            if (keyRing == null) {
+                throw new IllegalStateException("No " + algorithm + " signing keys could be loaded");
+            }
+        }
+        log.info("Access tokens are signed with {} using key {}", algorithm, keyRing.current().id());
+    }
+
+    public SigningKey currentKey() {
+        return keyRing.current();
+    }
+
+    public Key verificationKey(String keyId) {
+        KeyRing ring = keyRing;
+        if (keyId == null) {
+            return null;
+        }
+        if (keyId.equals(ring.current().id())) {
+            return ring.current().verificationKey();
+        }
+        if (keyId.equals(ring.next().id())) {
+            return ring.next().verificationKey();
+        }
+        Instant now = Instant.now();
+        for (RetiredKey retired : ring.retired()) {
+            if (keyId.equals(retired.key().id()) && now.isBefore(retired.retireAt())) {
+                return retired.key().verificationKey();
+            }
+        }
+        return null;
+    }
+
+    public Map<String, Object> publicKeySet() {
+        KeyRing ring = keyRing;
+        List<PublicJwk<?>> keys = new ArrayList<>();
+        if (algorithm != SigningAlgorithm.HS256) {
+            keys.add(ring.current().jwk());
+            keys.add(ring.next().jwk());
+            Instant now = Instant.now();
+            ring.retired().stream()
+                    .filter(retired -> now.isBefore(retired.retireAt()))
+                    .forEach(retired -> keys.add(retired.key().jwk()));
+        }
+        return Map.of("keys", keys);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval:PT1M}",
+            initialDelayString = "${jwt.signing.refresh-interval:PT1M}")
+    public void refresh() {
+        if (algorithm == SigningAlgorithm.HS256) {
+            return;
+        }
+        try {
+            rotate(Instant.now().minus(rotationInterval));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Signing keys not refreshed, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rotates now, whether or not the current key is due.
+     */
+    public void rotate() {
+        if (algorithm == SigningAlgorithm.HS256) {
+            log.debug("Skipping key rotation, the shared HMAC secret is not rotated.");
+            return;
+        }
+        rotate(Instant.now());
+    }
+
+    private synchronized void rotate(Instant activatedBefore) {
+        String previous = keyRing.current().id();
+        Instant now = Instant.now();
+        if (keyStore.rotate(algorithm, activatedBefore, now.plus(overlap), () -> storedKey(SigningKeyStatus.NEXT, null))) {
+            log.info("Rotated access token signing key {}", previous);
+        }
+        KeyRing ring = loadRing();
+        if (ring != null) {
+            keyRing = ring;
+        }
+    }
+
+    private KeyRing loadRing() {
+        Map<String, SigningKey> loaded = new HashMap<>();
+        KeyRing previous = keyRing;
+        if (previous != null) {
+            loaded.put(previous.current().id(), previous.current());
+            loaded.put(previous.next().id(), previous.next());
+            previous.retired().forEach(retired -> loaded.put(retired.key().id(), retired.key()));
+        }
+        SigningKey current = null;
+        SigningKey next = null;
+        List<RetiredKey> retired = new ArrayList<>();
+        for (StoredSigningKey stored : keyStore.load(algorithm, Instant.now())) {
+            // keys are decoded once and then carried over from the previous ring
+            SigningKey key = loaded.computeIfAbsent(stored.getKeyId(), id -> decode(stored));
+            if (stored.getStatus() == SigningKeyStatus.CURRENT) {
+                current = key;
+            } else if (stored.getStatus() == SigningKeyStatus.NEXT) {
+                next = key;
+            } else {
+                retired.add(new RetiredKey(key, stored.getRetireAt()));
+            }
+        }
+        return current == null || next == null ? null : new KeyRing(current, next, List.copyOf(retired));
+    }
+
+    private StoredSigningKey storedKey(SigningKeyStatus status, Instant activatedAt) {
+        SigningKey key = generateKey();
+        return new StoredSigningKey(key.id(), algorithm, status, key.signingKey().getEncoded(),
+                key.verificationKey().getEncoded(), activatedAt, null);
+    }
+
+    private SigningKey decode(StoredSigningKey stored) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm == SigningAlgorithm.ES256 ? "EC" : "Ed25519");
+            KeyPair keyPair = new KeyPair(keyFactory.generatePublic(new X509EncodedKeySpec(stored.getPublicKey())),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(stored.getPrivateKey())));
+            return signingKey(stored.getKeyId(), keyPair);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signing key " + stored.getKeyId() + " could not be decoded", e);
+        }
+    }
+
+    private SigningKey generateKey() {
+        KeyPair keyPair = algorithm == SigningAlgorithm.ES256
+                ? Jwts.SIG.ES256.keyPair().build()
+                : Jwks.CRV.Ed25519.keyPair().build();
+        return signingKey(algorithm.name().toLowerCase() + "-" + UUID.randomUUID(), keyPair);
+    }
+
+    private static SigningKey signingKey(String keyId, KeyPair keyPair) {
+        PublicJwk<?> jwk = Jwks.builder()
+                .key(keyPair.getPublic())
+                .id(keyId)
+                .publicKeyUse(SIGNATURE_USE)
+                .build();
+        return new SigningKey(keyId, keyPair.getPrivate(), keyPair.getPublic(), jwk);
+    }
+
+    private static SigningKey hmacKey() {
+        Key key = Keys.hmacShaKeyFor(ACCESS_TOKEN_SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        return new SigningKey(HMAC_KEY_ID, key, key, null);
+    }
+
+    public record SigningKey(String id, Key signingKey, Key verificationKey, PublicJwk<?> jwk) {
+    }
+
+    private record RetiredKey(SigningKey key, Instant retireAt) {
+    }
+
+    private record KeyRing(SigningKey current, SigningKey next, List<RetiredKey> retired) {
+    }
+}
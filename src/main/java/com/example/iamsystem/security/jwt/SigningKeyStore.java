@@ -0,0 +1,35 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Storage for the signing key ring shared by every instance. Instances race for the writes; each
+ * write is applied at most once and the losers see its result on their next {@link #load}.
+ */
+public interface SigningKeyStore {
+
+    /**
+     * The current and next key of the algorithm and the retired keys still inside their overlap
+     * at {@code now}.
+     */
+    List<StoredSigningKey> load(SigningAlgorithm algorithm, Instant now);
+
+    /**
+     * Stores the first current and next key. Returns {@code false} without storing anything if
+     * the algorithm already has keys.
+     */
+    boolean initialize(StoredSigningKey current, StoredSigningKey next);
+
+    /**
+     * Promotes the next key, retires the current key until {@code retireAt} and stores a new next
+     * key from {@code nextKey}, provided the current key was activated no later than
+     * {@code activatedBefore}. Returns {@code false} if it was not, typically because another
+     * instance rotated first.
+     */
+    boolean rotate(SigningAlgorithm algorithm, Instant activatedBefore, Instant retireAt,
+                   Supplier<StoredSigningKey> nextKey);
+}
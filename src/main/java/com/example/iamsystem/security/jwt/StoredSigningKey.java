@@ -0,0 +1,54 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.enums.SigningKeyStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A signing key pair, encoded as PKCS#8 and X.509. A retired key has no status, so the unique
+ * constraint allows one current and one next key per algorithm and any number of retired ones.
+ */
+@Entity
+@Table(name = "signing_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_signing_keys_status", columnNames = {"algorithm", "status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredSigningKey {
+
+    @Id
+    @Column(name = "key_id", length = 64)
+    private String keyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "algorithm", nullable = false, length = 16)
+    private SigningAlgorithm algorithm;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16)
+    private SigningKeyStatus status;
+
+    @Column(name = "private_key", nullable = false, length = 512)
+    private byte[] privateKey;
+
+    @Column(name = "public_key", nullable = false, length = 512)
+    private byte[] publicKey;
+
+    @Column(name = "activated_at")
+    private Instant activatedAt;
+
+    @Column(name = "retire_at")
+    private Instant retireAt;
+}
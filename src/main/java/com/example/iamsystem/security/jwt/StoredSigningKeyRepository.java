@@ -0,0 +1,41 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import com.example.iamsystem.enums.SigningKeyStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StoredSigningKeyRepository extends JpaRepository<StoredSigningKey, String> {
+
+    @Query("SELECT k FROM StoredSigningKey k WHERE k.algorithm = :algorithm AND (k.status IS NOT NULL OR k.retireAt > :now)")
+    List<StoredSigningKey> findValid(@Param("algorithm") SigningAlgorithm algorithm, @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT k FROM StoredSigningKey k WHERE k.algorithm = :algorithm AND k.status IS NOT NULL")
+    List<StoredSigningKey> findActiveForUpdate(@Param("algorithm") SigningAlgorithm algorithm);
+
+    /**
+     * Statuses are changed with statements rather than through the entities, so they run in this
+     * order and the unique constraint never sees two current or two next keys.
+     */
+    @Modifying
+    @Query("UPDATE StoredSigningKey k SET k.status = :status, k.activatedAt = :activatedAt, k.retireAt = :retireAt " +
+            "WHERE k.keyId = :keyId")
+    int updateStatus(@Param("keyId") String keyId,
+                     @Param("status") SigningKeyStatus status,
+                     @Param("activatedAt") Instant activatedAt,
+                     @Param("retireAt") Instant retireAt);
+
+    @Modifying
+    @Query("DELETE FROM StoredSigningKey k WHERE k.algorithm = :algorithm AND k.status IS NULL AND k.retireAt <= :now")
+    int deleteRetired(@Param("algorithm") SigningAlgorithm algorithm, @Param("now") Instant now);
+}
@@ -0,0 +1,41 @@
+package com.example.iamsystem.security.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private Map<String, Policy> policies = new HashMap<>(Map.of(
+            "login-ip", new Policy(30, Duration.ofMinutes(1), 0),
+            "login-username", new Policy(10, Duration.ofMinutes(1), 0),
+            "refresh-ip", new Policy(60, Duration.ofMinutes(1), 0),
+            "refresh-username", new Policy(20, Duration.ofMinutes(1), 0),
+            "password-reset-ip", new Policy(20, Duration.ofHours(1), 0),
+            "password-reset-email", new Policy(3, Duration.ofMinutes(15), 0),
+            "password-reset-verify", new Policy(5, Duration.ofMinutes(15), 0),
+            "password-reset-verify-email", new Policy(10, Duration.ofMinutes(15), 0)
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        private int requests;
+        private Duration period;
+        private int burst; // Defaults to requests when 0
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.iamsystem.security.ratelimit;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import com.example.iamsystem.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets implemented with the generic cell rate algorithm: each key only stores the
+ * theoretical arrival time of its next request, updated with a compare-and-set, so no lock is held
+ * on the request path. A bucket whose arrival time has passed is full again and can be dropped
+ * without changing any answer, which keeps the map bounded by the number of recently active keys.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("iam.rate_limit.keys", Tags.empty(), buckets);
+    }
+
+    public void acquire(String policyName, String key) {
+        RateLimitProperties.Policy policy = properties.getPolicies().get(policyName);
+        if (policy == null) {
+            throw new IllegalStateException("No rate limit policy named " + policyName);
+        }
+        long waitNanos = tryAcquire(policyName + '|' + key, policy, System.nanoTime());
+        if (waitNanos > 0) {
+            rejections.computeIfAbsent(policyName, name -> Counter.builder("iam.rate_limit.rejected")
+                    .tag("policy", name)
+                    .register(meterRegistry)).increment();
+            log.warn("Rate limit {} exceeded for key {}", policyName, key);
+            throw new RateLimitExceededException(ErrorMessage.TOO_MANY_REQUESTS, Duration.ofNanos(waitNanos));
+        }
+    }
+
+    long tryAcquire(String bucketKey, RateLimitProperties.Policy policy, long now) {
+        long emissionInterval = policy.getPeriod().toNanos() / policy.getRequests();
+        int burst = policy.getBurst() > 0 ? policy.getBurst() : policy.getRequests();
+        long tolerance = emissionInterval * (burst - 1);
+        AtomicLong bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxKeys()) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long base = Math.max(arrival, now);
+            long allowedAt = base - tolerance;
+            if (now < allowedAt) {
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(arrival, base + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        evict(System.nanoTime());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+            // Still full of active keys: forget some of them rather than grow without bound
+            int target = properties.getMaxKeys() * 9 / 10;
+            Iterator<String> keys = buckets.keySet().iterator();
+            while (buckets.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
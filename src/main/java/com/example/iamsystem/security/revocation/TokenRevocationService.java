@@ -0,0 +1,122 @@
+package com.example.iamsystem.security.revocation;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import com.example.iamsystem.enums.TokenType;
+import com.example.iamsystem.exception.JwtException;
+import com.example.iamsystem.security.jwt.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+import static com.example.iamsystem.enums.TokenType.ACCESS_TOKEN;
+import static com.example.iamsystem.enums.TokenType.REFRESH_TOKEN;
+
+/**
+ * Revokes tokens by id in {@code revoked_tokens} and in the in-memory {@link TokenRevocationStore}.
+ * Revocations made on other instances are read every {@code token.revocation.sync-interval} from the
+ * rows revoked since the last sync; the lookback is widened by {@code token.revocation.sync-overlap}
+ * to tolerate clock differences and commit delays between instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationStore revocationStore;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @Value("${token.revocation.sync-overlap:PT10S}")
+    private Duration syncOverlap;
+    private volatile Instant syncedAt;
+
+    @PostConstruct
+    void loadRevocations() {
+        Instant startedAt = Instant.now();
+        int loaded = 0;
+        for (RevokedToken revokedToken : revokedTokenRepository.findByExpiresAtAfter(startedAt)) {
+            revocationStore.revoke(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+            loaded++;
+        }
+        syncedAt = startedAt;
+        log.info("Loaded {} active token revocations.", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${token.revocation.sync-interval:PT5S}")
+    public void sync() {
+        Instant startedAt = Instant.now();
+        try {
+            int loaded = 0;
+            for (RevokedToken revokedToken : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                    syncedAt.minus(syncOverlap), startedAt)) {
+                revocationStore.revoke(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+                loaded++;
+            }
+            syncedAt = startedAt;
+            log.trace("Synced {} token revocations", loaded);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Token revocations not synced, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    public void revoke(String token) {
+        try {
+            revoke(token, ACCESS_TOKEN);
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
+            log.debug("Token is not an access token, trying refresh token: {}", e.getMessage());
+            try {
+                revoke(token, REFRESH_TOKEN);
+            } catch (io.jsonwebtoken.JwtException | IllegalArgumentException ex) {
+                log.warn("Token revocation failed: {}", ex.getMessage());
+                throw new JwtException(ErrorMessage.INVALID_TOKEN);
+            }
+        }
+    }
+
+    public void logout(String username, String accessToken, String refreshToken) {
+        revoke(accessToken, ACCESS_TOKEN);
+        if (Objects.nonNull(refreshToken)) {
+            String refreshTokenOwner = jwtTokenUtil.getUsernameFromToken(refreshToken, REFRESH_TOKEN);
+            if (!username.equals(refreshTokenOwner)) {
+                log.warn("User {} tried to revoke a refresh token belonging to {}", username, refreshTokenOwner);
+                throw new JwtException(ErrorMessage.INVALID_TOKEN);
+            }
+            revoke(refreshToken, REFRESH_TOKEN);
+        }
+        log.info("User {} logged out.", username);
+    }
+
+    public void revoke(String token, TokenType tokenType) {
+        Claims claims = jwtTokenUtil.getClaimFromToken(token, c -> c, tokenType);
+        if (Objects.isNull(claims.getId())) {
+            log.warn("{} token for user {} has no id and cannot be revoked individually.", tokenType, claims.getSubject());
+            throw new JwtException(ErrorMessage.INVALID_TOKEN);
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(new RevokedToken(claims.getId(), expiresAt, claims.getSubject(), Instant.now()));
+        revocationStore.revoke(claims.getId(), expiresAt);
+        log.info("Revoked {} token {} for user {}", tokenType, claims.getId(), claims.getSubject());
+    }
+
+    @Scheduled(fixedDelayString = "${token.revocation.sweep-interval:PT1M}")
+    @Transactional
+    public void evictExpired() {
+        Instant now = Instant.now();
+        int evicted = revocationStore.evictExpired(now);
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (evicted > 0 || deleted > 0) {
+            log.info("Removed expired token revocations: {} from memory, {} from the database", evicted, deleted);
+        }
+    }
+}
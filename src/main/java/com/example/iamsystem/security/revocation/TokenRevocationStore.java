@@ -0,0 +1,91 @@
+package com.example.iamsystem.security.revocation;
+
+import com.example.iamsystem.util.filter.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory denylist of revoked token ids. Entries are bucketed by the minute their token expires,
+ * so whole buckets are dropped once the tokens in them could no longer be used anyway. A Bloom
+ * filter in front answers the common "not revoked" case without touching the buckets.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    private final NavigableMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+    private int filterCapacity;
+    private int size;
+
+    public TokenRevocationStore(@Value("${token.revocation.expected-revocations:100000}") int expectedRevocations,
+                                @Value("${token.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filterCapacity = expectedRevocations;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(expiresAt));
+        return bucket != null && bucket.contains(tokenId);
+    }
+
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        Set<String> bucket = buckets.computeIfAbsent(bucketOf(expiresAt), minute -> ConcurrentHashMap.newKeySet());
+        if (!bucket.add(tokenId)) {
+            return;
+        }
+        size++;
+        if (size > filterCapacity) {
+            rebuildFilter();
+        } else {
+            filter.put(tokenId);
+        }
+    }
+
+    public synchronized int evictExpired(Instant now) {
+        Map<Long, Set<String>> expired = buckets.headMap(bucketOf(now), false);
+        int evicted = 0;
+        for (Set<String> bucket : expired.values()) {
+            evicted += bucket.size();
+        }
+        if (evicted > 0) {
+            expired.clear();
+            size -= evicted;
+            rebuildFilter();
+            log.debug("Evicted {} expired token revocations, {} remaining", evicted, size);
+        }
+        return evicted;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void rebuildFilter() {
+        filterCapacity = Math.max(expectedRevocations, size * 2);
+        BloomFilter rebuilt = BloomFilter.create(filterCapacity, falsePositiveRate);
+        for (Set<String> bucket : buckets.values()) {
+            bucket.forEach(rebuilt::put);
+        }
+        filter = rebuilt;
+    }
+
+    private static long bucketOf(Instant expiresAt) {
+        return Math.floorDiv(expiresAt.getEpochSecond(), 60);
+    }
+}
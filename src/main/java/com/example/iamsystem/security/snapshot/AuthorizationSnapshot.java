@@ -0,0 +1,235 @@
+package com.example.iamsystem.security.snapshot;
+
+import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.user.model.entity.User;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view of a snapshot file, memory-mapped so user entries stay in the page cache rather
+ * than on the heap. Only the permission names and role grants are decoded up front; users are
+ * found through an open-addressing table of offsets into the mapped payload and decoded on lookup.
+ * <p>
+ * Layout: a {@value #HEADER_BYTES}-byte header (magic, format version, creation time in epoch
+ * millis, CRC32 of the payload, payload length) followed by the payload sections: permissions
+ * ({@code id, name}), roles ({@code id, permission ids}) and users ({@code id, username, version,
+ * flags, role ids}) up to the end of the file.
+ */
+public final class AuthorizationSnapshot {
+
+    static final int MAGIC = 0x49414D53;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 26;
+
+    static final int LOCKED = 1;
+    static final int PASSWORD_EXPIRED = 1 << 1;
+    static final int ACTIVE = 1 << 2;
+    static final int ROOT_USER = 1 << 3;
+
+    private final Instant createdAt;
+    private final ByteBuffer payload;
+    private final Map<Long, String> permissionNames;
+    private final Map<Long, Role> roles;
+    private final int[] userTable;
+    private final int userCount;
+
+    private AuthorizationSnapshot(Instant createdAt, ByteBuffer payload) {
+        this.createdAt = createdAt;
+        this.payload = payload;
+        ByteBuffer cursor = payload.duplicate();
+
+        Map<Long, String> names = new HashMap<>();
+        Map<Long, Permission> permissions = new HashMap<>();
+        for (int i = cursor.getInt(); i > 0; i--) {
+            long id = cursor.getLong();
+            String name = readString(cursor);
+            names.put(id, name);
+            permissions.put(id, toPermission(id, name));
+        }
+        this.permissionNames = Map.copyOf(names);
+
+        Map<Long, Role> decodedRoles = new HashMap<>();
+        for (int i = cursor.getInt(); i > 0; i--) {
+            Role role = new Role();
+            role.setId(cursor.getLong());
+            Set<Permission> granted = new HashSet<>();
+            for (int j = cursor.getInt(); j > 0; j--) {
+                Permission permission = permissions.get(cursor.getLong());
+                if (permission != null) {
+                    granted.add(permission);
+                }
+            }
+            role.setPermissions(Set.copyOf(granted));
+            decodedRoles.put(role.getId(), role);
+        }
+        this.roles = Map.copyOf(decodedRoles);
+
+        int usersStart = cursor.position();
+        int count = 0;
+        while (cursor.hasRemaining()) {
+            skipUser(cursor);
+            count++;
+        }
+        this.userCount = count;
+        this.userTable = new int[Integer.highestOneBit(Math.max(1, count)) << 2];
+        cursor.position(usersStart);
+        while (cursor.hasRemaining()) {
+            int offset = cursor.position();
+            int slot = slotOf(usernameBytes(offset));
+            while (userTable[slot] != 0) {
+                slot = (slot + 1) & (userTable.length - 1);
+            }
+            userTable[slot] = offset + 1;
+            skipUser(cursor);
+        }
+    }
+
+    /**
+     * Maps and verifies a snapshot file. The mapping stays valid after the file is replaced by a newer snapshot.
+     */
+    public static AuthorizationSnapshot read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Authorization snapshot has an invalid size: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != FORMAT_VERSION) {
+            throw new IOException("Not an authorization snapshot of format " + FORMAT_VERSION + ": " + path);
+        }
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong(6));
+        int expectedChecksum = buffer.getInt(14);
+        long payloadLength = buffer.getLong(18);
+        if (payloadLength != buffer.capacity() - HEADER_BYTES) {
+            throw new IOException("Authorization snapshot is truncated: " + path);
+        }
+        ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadLength);
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.duplicate());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Authorization snapshot checksum mismatch: " + path);
+        }
+        try {
+            return new AuthorizationSnapshot(createdAt, payload);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Authorization snapshot is malformed: " + path, e);
+        }
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    public Map<Long, String> permissionNames() {
+        return permissionNames;
+    }
+
+    /**
+     * Returns a detached user carrying what the token and permission checks read: id, username,
+     * version, the lock, expiry, active and root flags, and roles with their permissions.
+     */
+    public Optional<User> findUser(String username) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        for (int slot = slotOf(key); userTable[slot] != 0; slot = (slot + 1) & (userTable.length - 1)) {
+            int offset = userTable[slot] - 1;
+            if (Arrays.equals(usernameBytes(offset), key)) {
+                return Optional.of(decodeUser(offset, key.length));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private User decodeUser(int offset, int usernameLength) {
+        User user = new User();
+        user.setId(payload.getLong(offset));
+        int position = offset + Long.BYTES;
+        user.setUsername(readString(payload, position));
+        position += Short.BYTES + usernameLength;
+        user.setVersion(payload.getInt(position));
+        position += Integer.BYTES;
+        int flags = payload.get(position);
+        position += 1;
+        user.setUserLocked((flags & LOCKED) != 0);
+        user.setPasswordExpired((flags & PASSWORD_EXPIRED) != 0);
+        user.setActive((flags & ACTIVE) != 0);
+        user.setRootUser((flags & ROOT_USER) != 0);
+        int roleCount = payload.getInt(position);
+        position += Integer.BYTES;
+        Set<Role> userRoles = new HashSet<>();
+        for (int i = 0; i < roleCount; i++, position += Long.BYTES) {
+            Role role = roles.get(payload.getLong(position));
+            if (role != null) {
+                userRoles.add(role);
+            }
+        }
+        user.setRoles(userRoles);
+        return user;
+    }
+
+    private byte[] usernameBytes(int offset) {
+        int position = offset + Long.BYTES;
+        byte[] bytes = new byte[Short.toUnsignedInt(payload.getShort(position))];
+        payload.get(position + Short.BYTES, bytes);
+        return bytes;
+    }
+
+    private int slotOf(byte[] username) {
+        int hash = Arrays.hashCode(username);
+        return (hash ^ (hash >>> 16)) & (userTable.length - 1);
+    }
+
+    private static void skipUser(ByteBuffer cursor) {
+        cursor.position(cursor.position() + Long.BYTES);
+        int usernameLength = Short.toUnsignedInt(cursor.getShort());
+        cursor.position(cursor.position() + usernameLength + Integer.BYTES + 1);
+        int roleCount = cursor.getInt();
+        if (roleCount < 0) {
+            throw new IllegalArgumentException("Negative role count");
+        }
+        cursor.position(cursor.position() + roleCount * Long.BYTES);
+    }
+
+    private static Permission toPermission(long id, String name) {
+        int separator = name.lastIndexOf(':');
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setServiceName(name.substring(0, separator));
+        permission.setAction(PermissionAction.of(name.substring(separator + 1)));
+        return permission;
+    }
+
+    private static String readString(ByteBuffer cursor) {
+        byte[] bytes = new byte[Short.toUnsignedInt(cursor.getShort())];
+        cursor.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buffer, int position) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(position))];
+        buffer.get(position + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.iamsystem.security.snapshot;
+
+import com.example.iamsystem.permission.PermissionCatalog;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps an on-disk copy of the authorization state so a node can keep authenticating tokens and
+ * answering {@code /authorize} while the database is unreachable. The snapshot is exported every
+ * {@code authorization.snapshot.interval} from a single read-only transaction and mapped back in;
+ * at startup the last file is mapped before the first request and warms the permission catalog.
+ * Callers only fall back to it while it is younger than {@code authorization.snapshot.max-staleness}.
+ */
+@Component
+@Slf4j
+public class AuthorizationSnapshotService {
+
+    public static final String SNAPSHOT_AGE_HEADER = "X-Authorization-Snapshot-Age";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PermissionCatalog permissionCatalog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Path path;
+    private final int batchSize;
+    private final Duration maxStaleness;
+    private volatile AuthorizationSnapshot snapshot;
+
+    public AuthorizationSnapshotService(UserRepository userRepository,
+                                        RoleRepository roleRepository,
+                                        PermissionCatalog permissionCatalog,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${authorization.snapshot.enabled:false}") boolean enabled,
+                                        @Value("${authorization.snapshot.path:data/authorization.snapshot}") Path path,
+                                        @Value("${authorization.snapshot.batch-size:1000}") int batchSize,
+                                        @Value("${authorization.snapshot.max-staleness:PT15M}") Duration maxStaleness) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.permissionCatalog = permissionCatalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.path = path;
+        this.batchSize = batchSize;
+        this.maxStaleness = maxStaleness;
+        meterRegistry.gauge("iam.authorization.snapshot.age", this, service -> {
+            AuthorizationSnapshot current = service.snapshot;
+            return current == null ? Double.NaN : Duration.between(current.createdAt(), Instant.now()).toSeconds();
+        });
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        try {
+            AuthorizationSnapshot loaded = AuthorizationSnapshot.read(path);
+            snapshot = loaded;
+            permissionCatalog.warm(loaded.permissionNames());
+            log.info("Loaded authorization snapshot of {} users taken at {}", loaded.userCount(), loaded.createdAt());
+        } catch (IOException e) {
+            log.warn("Ignoring authorization snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${authorization.snapshot.interval:PT1M}")
+    public void export() {
+        if (!enabled) {
+            return;
+        }
+        Instant createdAt = Instant.now();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> write(createdAt));
+            AuthorizationSnapshot exported = AuthorizationSnapshot.read(path);
+            snapshot = exported;
+            log.debug("Exported authorization snapshot of {} users to {}", exported.userCount(), path);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Authorization snapshot not refreshed, database unavailable: {}", e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Could not write authorization snapshot to {}", path, e);
+        }
+    }
+
+    /**
+     * Returns the snapshot if one is loaded and still within the staleness bound.
+     */
+    public Optional<AuthorizationSnapshot> current() {
+        return current(Instant.now());
+    }
+
+    Optional<AuthorizationSnapshot> current(Instant now) {
+        AuthorizationSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (Duration.between(current.createdAt(), now).compareTo(maxStaleness) > 0) {
+            log.warn("Authorization snapshot taken at {} is older than {}, not using it", current.createdAt(), maxStaleness);
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    private void write(Instant createdAt) {
+        permissionCatalog.refresh();
+        Map<Long, String> permissions = permissionCatalog.snapshot().permissions();
+        List<SnapshotLink> permissionLinks = new ArrayList<>(roleRepository.findPermissionLinks());
+        permissionLinks.addAll(roleRepository.findInheritedPermissionLinks());
+        Map<Long, List<Long>> rolePermissions = group(permissionLinks);
+        try (AuthorizationSnapshotWriter writer = AuthorizationSnapshotWriter.open(path, createdAt, permissions, rolePermissions)) {
+            long afterId = 0;
+            List<SnapshotUserRow> page;
+            do {
+                page = userRepository.findSnapshotUsers(afterId, PageRequest.ofSize(batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = page.stream().map(SnapshotUserRow::id).toList();
+                List<SnapshotLink> roleLinks = new ArrayList<>(userRepository.findRoleLinks(ids));
+                roleLinks.addAll(userRepository.findGroupRoleLinks(ids));
+                Map<Long, List<Long>> roleIds = group(roleLinks);
+                for (SnapshotUserRow user : page) {
+                    writer.writeUser(user, roleIds.getOrDefault(user.id(), List.of()));
+                }
+                afterId = page.get(page.size() - 1).id();
+            } while (page.size() == batchSize);
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<Long, List<Long>> group(List<SnapshotLink> links) {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (SnapshotLink link : links) {
+            grouped.computeIfAbsent(link.fromId(), id -> new ArrayList<>()).add(link.toId());
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.iamsystem.security.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.ACTIVE;
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.FORMAT_VERSION;
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.HEADER_BYTES;
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.LOCKED;
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.MAGIC;
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.PASSWORD_EXPIRED;
+import static com.example.iamsystem.security.snapshot.AuthorizationSnapshot.ROOT_USER;
+
+/**
+ * Streams a snapshot into a temporary file next to the target. The header, with the payload
+ * length and checksum, is written last, and {@link #commit()} moves the file over the target
+ * atomically, so readers only ever see the previous snapshot or the complete new one.
+ */
+public final class AuthorizationSnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final CRC32 checksum = new CRC32();
+    private final DataOutputStream out;
+    private final Instant createdAt;
+    private boolean committed;
+
+    private AuthorizationSnapshotWriter(Path target, Path temporary, FileChannel channel, Instant createdAt) {
+        this.target = target;
+        this.temporary = temporary;
+        this.channel = channel;
+        this.createdAt = createdAt;
+        this.out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024), checksum));
+    }
+
+    /**
+     * Starts a snapshot with its permission names and role grants; users follow through
+     * {@link #writeUser(SnapshotUserRow, List)}.
+     */
+    public static AuthorizationSnapshotWriter open(Path target, Instant createdAt, Map<Long, String> permissions,
+                                                   Map<Long, List<Long>> rolePermissions) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        AuthorizationSnapshotWriter writer = new AuthorizationSnapshotWriter(target, temporary, channel, createdAt);
+        try {
+            channel.position(HEADER_BYTES);
+            writer.writePermissions(permissions);
+            writer.writeRolePermissions(rolePermissions);
+            return writer;
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    public void writeUser(SnapshotUserRow user, List<Long> roleIds) throws IOException {
+        out.writeLong(user.id());
+        writeString(user.username());
+        out.writeInt(user.version());
+        int flags = (user.userLocked() ? LOCKED : 0)
+                | (user.passwordExpired() ? PASSWORD_EXPIRED : 0)
+                | (user.active() ? ACTIVE : 0)
+                | (user.rootUser() ? ROOT_USER : 0);
+        out.writeByte(flags);
+        writeIds(roleIds);
+    }
+
+    public void commit() throws IOException {
+        out.flush();
+        long payloadLength = channel.position() - HEADER_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putLong(createdAt.toEpochMilli())
+                .putInt((int) checksum.getValue())
+                .putLong(payloadLength)
+                .flip();
+        channel.write(header, 0);
+        channel.force(true);
+        out.close();
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (committed) {
+            return;
+        }
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void writePermissions(Map<Long, String> permissions) throws IOException {
+        out.writeInt(permissions.size());
+        for (Map.Entry<Long, String> permission : permissions.entrySet()) {
+            out.writeLong(permission.getKey());
+            writeString(permission.getValue());
+        }
+    }
+
+    private void writeRolePermissions(Map<Long, List<Long>> rolePermissions) throws IOException {
+        out.writeInt(rolePermissions.size());
+        for (Map.Entry<Long, List<Long>> role : rolePermissions.entrySet()) {
+            out.writeLong(role.getKey());
+            writeIds(role.getValue());
+        }
+    }
+
+    private void writeIds(List<Long> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (Long id : ids) {
+            out.writeLong(id);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Value too long for an authorization snapshot: " + value.substring(0, 32) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.iamsystem.security.snapshot;
+
+public record SnapshotLink(Long fromId, Long toId) {
+}
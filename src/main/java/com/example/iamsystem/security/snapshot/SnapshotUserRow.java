@@ -0,0 +1,5 @@
+package com.example.iamsystem.security.snapshot;
+
+public record SnapshotUserRow(Long id, String username, int version, boolean userLocked, boolean passwordExpired,
+                              boolean active, boolean rootUser) {
+}
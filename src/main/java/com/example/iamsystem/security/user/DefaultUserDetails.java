@@ -6,14 +6,28 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
-import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * {@code snapshotCreatedAt} is set when the user was loaded from the authorization snapshot
+ * because the database was unavailable.
+ */
+public record DefaultUserDetails(User user, Instant snapshotCreatedAt) implements UserDetails {
 
-public record DefaultUserDetails(User user) implements UserDetails {
+    public DefaultUserDetails(User user) {
+        this(user, null);
+    }
+
+    public boolean isDegraded() {
+        return snapshotCreatedAt != null;
+    }
+
+    public Long snapshotAgeSeconds() {
+        return isDegraded() ? Duration.between(snapshotCreatedAt, Instant.now()).toSeconds() : null;
+    }
 
     public boolean isRootUser() {
         return user.isRootUser();
@@ -21,10 +35,9 @@ public record DefaultUserDetails(User user) implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(Role::getPermissions)
-                .flatMap(Set::stream)
-                .map(permission -> new SimpleGrantedAuthority(permission.getServiceName() + ":" + permission.getAction()))
+        return user.effectiveRoles()
+                .flatMap(Role::effectivePermissions)
+                .map(permission -> new SimpleGrantedAuthority(permission.permissionName()))
                 .collect(Collectors.toSet());
     }
 
@@ -40,16 +53,12 @@ public record DefaultUserDetails(User user) implements UserDetails {
 
     @Override
     public boolean isAccountNonExpired() {
-        return !user.isPasswordExpired()
-                && (Objects.isNull(user.getPasswordExpiryDate())
-                    || user.getPasswordExpiryDate().isAfter(Instant.now()));
+        return !user.isPasswordExpired();
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return !user.isUserLocked()
-                || (Objects.nonNull(user.getAccountLockedUntil())
-                    && user.getAccountLockedUntil().isBefore(Instant.now()));
+        return !user.isUserLocked();
     }
 
     @Override
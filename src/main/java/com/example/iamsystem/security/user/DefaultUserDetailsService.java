@@ -1,16 +1,20 @@
 package com.example.iamsystem.security.user;
 
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshot;
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshotService;
 import com.example.iamsystem.user.model.entity.User;
 import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.util.UserExistenceFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 
-import java.time.Instant;
 import java.util.Optional;
 
 import static com.example.iamsystem.constant.ErrorMessage.ACCOUNT_LOCKED;
@@ -21,23 +25,49 @@ import static com.example.iamsystem.constant.ErrorMessage.ACCOUNT_LOCKED;
 public class DefaultUserDetailsService implements UserDetailsService {
 
     private final UserRepository repository;
+    private final AuthorizationSnapshotService snapshotService;
+    private final UserExistenceFilter userExistenceFilter;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Attempting to load user by username: {}", username);
-        Optional<User> userOptional = repository.findByUsername(username);
+        Optional<User> userOptional = userExistenceFilter.mightContainUsername(username)
+                ? repository.findByUsername(username)
+                : Optional.empty();
         if (userOptional.isEmpty()) {
             log.warn("User not found with username: {}", username);
             throw new UsernameNotFoundException("User doesn't exist");
         }
         User user = userOptional.get();
-
-        if (user.isUserLocked() && user.getAccountLockedUntil() != null && user.getAccountLockedUntil().isAfter(Instant.now())) {
-            log.warn("Account for user '{}' is locked until: {}", username, user.getAccountLockedUntil());
-            throw new LockedException(ACCOUNT_LOCKED);
-        }
+        checkNotLocked(user);
 
         log.info("User '{}' loaded successfully.", username);
         return new DefaultUserDetails(user);
     }
+
+    /**
+     * Loads the user behind an access token. If the database is unavailable the user is read from
+     * the authorization snapshot, as long as it is within its staleness bound. Password logins keep
+     * using {@link #loadUserByUsername(String)}, since the snapshot holds no credentials.
+     */
+    public UserDetails loadUserForToken(String username) {
+        try {
+            return loadUserByUsername(username);
+        } catch (DataAccessException | TransactionException e) {
+            AuthorizationSnapshot snapshot = snapshotService.current().orElseThrow(() -> e);
+            log.warn("Database unavailable, loading user '{}' from the authorization snapshot taken at {}",
+                    username, snapshot.createdAt());
+            User user = snapshot.findUser(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User doesn't exist"));
+            checkNotLocked(user);
+            return new DefaultUserDetails(user, snapshot.createdAt());
+        }
+    }
+
+    private static void checkNotLocked(User user) {
+        if (user.isUserLocked()) {
+            log.warn("Account for user '{}' is locked until: {}", user.getUsername(), user.getAccountLockedUntil());
+            throw new LockedException(ACCOUNT_LOCKED);
+        }
+    }
 }
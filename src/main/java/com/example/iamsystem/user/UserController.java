@@ -1,9 +1,12 @@
 package com.example.iamsystem.user;
 
 import com.example.iamsystem.user.model.dto.PasswordChangeDto;
+import com.example.iamsystem.user.model.dto.TimedRoleAssignmentDto;
+import com.example.iamsystem.user.model.dto.TimedRoleDto;
 import com.example.iamsystem.user.model.dto.UserDto;
 import com.example.iamsystem.user.model.dto.UserRegistrationDto;
 import com.example.iamsystem.user.model.dto.UserRoleAttachmentDto;
+import com.example.iamsystem.user.model.dto.UserSearchPageDto;
 import com.example.iamsystem.util.authorization.RequirePermission;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -80,6 +83,26 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("/roles/timed")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = UPDATE)
+    @Operation(summary = "Assign roles to a user for a limited time (Requires: IAM:UPDATE)")
+    public ResponseEntity<Void> assignTimedRoles(@RequestBody @Valid TimedRoleAssignmentDto timedRoleAssignmentDto) {
+        log.debug("Received request to assign timed roles to user: {}", timedRoleAssignmentDto.getUsername());
+        userService.assignTimedRoles(timedRoleAssignmentDto);
+        log.info("Timed roles assigned successfully to user: {}", timedRoleAssignmentDto.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/roles/timed")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Get the timed role assignments of a user (Requires: IAM:READ)")
+    public ResponseEntity<List<TimedRoleDto>> getTimedRoles(@PathVariable Long id) {
+        log.debug("Received request to get timed roles of user with ID: {}", id);
+        List<TimedRoleDto> roles = userService.findTimedRoles(id);
+        log.info("Successfully retrieved {} timed roles of user with ID: {}", roles.size(), id);
+        return ResponseEntity.ok(roles);
+    }
+
     @GetMapping
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
     @Operation(summary = "Get all users (Requires: IAM:READ)")
@@ -100,6 +123,18 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping("/search")
+    @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
+    @Operation(summary = "Search users by username, full name or email (Requires: IAM:READ)")
+    public ResponseEntity<UserSearchPageDto> searchUsers(@RequestParam String query,
+                                                         @RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        log.debug("Received request to search users for: {}", query);
+        UserSearchPageDto users = userService.searchUsers(query, after, size);
+        log.info("Returned {} users matching: {}", users.users().size(), query);
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/by-username")
     @RequirePermission(serviceName = IAM_SERVICE_NAME, action = READ)
     @Operation(summary = "Get a user by username (Requires: IAM:READ)")
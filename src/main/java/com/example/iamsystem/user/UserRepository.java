@@ -1,6 +1,12 @@
 package com.example.iamsystem.user;
 
+import com.example.iamsystem.review.model.HolderDto;
+import com.example.iamsystem.security.snapshot.SnapshotLink;
+import com.example.iamsystem.security.snapshot.SnapshotUserRow;
+import com.example.iamsystem.user.lifecycle.UserLifecycleCandidate;
 import com.example.iamsystem.user.model.entity.User;
+import com.example.iamsystem.user.search.UserSearchRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,11 +14,15 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    boolean existsByUsername(String username);
+    boolean existsByEmail(String email);
 
     @Modifying
     @Transactional
@@ -23,4 +33,85 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Transactional
     @Query("UPDATE User u SET u.userLocked = :locked, u.accountLockedUntil = :lockedUntil WHERE u.username = :username")
     void updateAccountLockStatus(@Param("username") String username, @Param("locked") boolean locked, @Param("lockedUntil") Instant lockedUntil);
+
+    @Query("SELECT new com.example.iamsystem.user.lifecycle.UserLifecycleCandidate(u.id, u.email, u.accountLockedUntil) FROM User u " +
+            "WHERE u.userLocked = true AND u.accountLockedUntil <= :now " +
+            "AND (u.accountLockedUntil > :afterTime OR (u.accountLockedUntil = :afterTime AND u.id > :afterId)) " +
+            "ORDER BY u.accountLockedUntil, u.id")
+    List<UserLifecycleCandidate> findLocksEndedBefore(@Param("now") Instant now, @Param("afterTime") Instant afterTime,
+                                                      @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new com.example.iamsystem.user.lifecycle.UserLifecycleCandidate(u.id, u.email, u.passwordExpiryDate) FROM User u " +
+            "WHERE u.passwordExpired = false AND u.passwordExpiryDate <= :now " +
+            "AND (u.passwordExpiryDate > :afterTime OR (u.passwordExpiryDate = :afterTime AND u.id > :afterId)) " +
+            "ORDER BY u.passwordExpiryDate, u.id")
+    List<UserLifecycleCandidate> findPasswordsExpiredBefore(@Param("now") Instant now, @Param("afterTime") Instant afterTime,
+                                                            @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new com.example.iamsystem.user.lifecycle.UserLifecycleCandidate(u.id, u.email, u.passwordExpiryDate) FROM User u " +
+            "WHERE u.passwordExpired = false AND u.passwordExpiryNotifiedAt IS NULL " +
+            "AND u.passwordExpiryDate > :now AND u.passwordExpiryDate <= :noticeBefore " +
+            "AND (u.passwordExpiryDate > :afterTime OR (u.passwordExpiryDate = :afterTime AND u.id > :afterId)) " +
+            "ORDER BY u.passwordExpiryDate, u.id")
+    List<UserLifecycleCandidate> findPasswordsExpiringBetween(@Param("now") Instant now, @Param("noticeBefore") Instant noticeBefore,
+                                                              @Param("afterTime") Instant afterTime, @Param("afterId") long afterId,
+                                                              Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.userLocked = false, u.accountLockedUntil = null, u.failedLoginAttempts = 0 " +
+            "WHERE u.id IN :ids AND u.userLocked = true AND u.accountLockedUntil <= :now")
+    int unlockAccounts(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordExpired = true WHERE u.id IN :ids AND u.passwordExpired = false AND u.passwordExpiryDate <= :now")
+    int markPasswordsExpired(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordExpiryNotifiedAt = :now WHERE u.id = :id AND u.passwordExpiryNotifiedAt IS NULL")
+    int markPasswordExpiryNotified(@Param("id") Long id, @Param("now") Instant now);
+
+    @Query("SELECT new com.example.iamsystem.security.snapshot.SnapshotUserRow(u.id, u.username, u.version, u.userLocked, " +
+            "u.passwordExpired, u.active, u.isRootUser) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<SnapshotUserRow> findSnapshotUsers(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new com.example.iamsystem.security.snapshot.SnapshotUserRow(u.id, u.username, u.version, u.userLocked, " +
+            "u.passwordExpired, u.active, u.isRootUser) FROM User u WHERE u.organization.id = :organizationId AND u.id > :afterId " +
+            "ORDER BY u.id")
+    List<SnapshotUserRow> findOrganizationUsers(@Param("organizationId") Long organizationId, @Param("afterId") long afterId,
+                                                Pageable pageable);
+
+    @Query("SELECT new com.example.iamsystem.user.search.UserSearchRow(u.id, u.username, u.fullName, u.email, c.id) " +
+            "FROM User u LEFT JOIN u.createdBy c WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSearchRow> findSearchRows(@Param("afterId") long afterId, Pageable pageable);
+
+    long countByOrganizationId(Long organizationId);
+
+    @Query("SELECT new com.example.iamsystem.security.snapshot.SnapshotLink(u.id, r.id) FROM User u JOIN u.roles r " +
+            "WHERE u.id IN :ids")
+    List<SnapshotLink> findRoleLinks(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.iamsystem.security.snapshot.SnapshotLink(u.id, r.id) FROM User u JOIN u.groupRoles r " +
+            "WHERE u.id IN :ids")
+    List<SnapshotLink> findGroupRoleLinks(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u JOIN u.groupRoles r WHERE r.id = :roleId")
+    List<Long> findGroupRoleHolderIds(@Param("roleId") Long roleId);
+
+    @Query("SELECT new com.example.iamsystem.review.model.HolderDto(u.id, u.username) FROM User u " +
+            "WHERE u.id IN :ids ORDER BY u.id")
+    List<HolderDto> findHolders(@Param("ids") Collection<Long> ids);
+
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * Invalidates the users' issued tokens, which carry their authorities, the same way any change
+     * to the user row does.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.version = u.version + 1 WHERE u.id IN :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
 }
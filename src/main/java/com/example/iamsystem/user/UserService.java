@@ -1,19 +1,31 @@
 package com.example.iamsystem.user;
 
+import com.example.iamsystem.acl.ResourceAclStore;
 import com.example.iamsystem.audit.annotation.Auditable;
 import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.enums.AclPrincipalType;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.exception.InvalidPasswordException;
 import com.example.iamsystem.exception.NoAccessException;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.group.GroupRepository;
 import com.example.iamsystem.permission.PermissionService;
+import com.example.iamsystem.review.AccessIndex;
 import com.example.iamsystem.role.model.Role;
 import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.user.assignment.TimedRoleAssignment;
+import com.example.iamsystem.user.assignment.TimedRoleAssignmentService;
 import com.example.iamsystem.user.model.UserMapper;
 import com.example.iamsystem.user.model.dto.PasswordChangeDto;
+import com.example.iamsystem.user.model.dto.TimedRoleAssignmentDto;
+import com.example.iamsystem.user.model.dto.TimedRoleDto;
 import com.example.iamsystem.user.model.dto.UserDto;
 import com.example.iamsystem.user.model.dto.UserRegistrationDto;
 import com.example.iamsystem.user.model.dto.UserRoleAttachmentDto;
+import com.example.iamsystem.user.model.dto.UserSearchPageDto;
 import com.example.iamsystem.user.model.entity.User;
+import com.example.iamsystem.user.search.UserSearch;
 import com.example.iamsystem.user.util.DateUtil;
 import com.example.iamsystem.user.util.UserRoleAttachmentUtil;
 import com.example.iamsystem.user.util.UserValidator;
@@ -25,12 +37,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.example.iamsystem.constant.ErrorMessage.INVALID_OLD_PASSWORD;
+import static com.example.iamsystem.constant.ErrorMessage.INVALID_VALIDITY_PERIOD;
 import static com.example.iamsystem.constant.ErrorMessage.NO_PERMISSION;
+import static com.example.iamsystem.constant.ErrorMessage.ROLE_ALREADY_ASSIGNED;
 import static com.example.iamsystem.constant.ErrorMessage.USER_NOT_FOUND;
 import static com.example.iamsystem.constant.ErrorMessage.USER_NOT_LOGGED_IN;
 
@@ -43,6 +59,12 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final PermissionService permissionService;
+    private final GroupRepository groupRepository;
+    private final ResourceAclStore resourceAclStore;
+    private final TimedRoleAssignmentService timedRoleAssignmentService;
+    private final AccessIndex accessIndex;
+    private final ChangeLog changeLog;
+    private final UserSearch userSearch;
     private static final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
     private static final String USER_CREATE_PERMISSION = "IAM:WRITE";
     private static final String USER_UPDATE_PERMISSION = "IAM:UPDATE";
@@ -67,6 +89,8 @@ public class UserService {
         }
         user.setPasswordExpiryDate(DateUtil.calculateExpiryDate(passwordExpiryTimeInDays));
         User savedUser = userRepository.save(user);
+        accessIndex.userRegistered(savedUser.getId(), userDto.isRootUser());
+        userSearch.userRegistered(savedUser);
         log.info("User registered successfully with ID: {}", savedUser.getId());
         return userMapper.toDto(savedUser);
     }
@@ -107,11 +131,58 @@ public class UserService {
         validateUserUpdatePermission(user);
         Set<Role> roles = userRoleAttachmentUtil.validateAndRetrieveRoles(userRoleAttachmentDto.getRoleIds());
 
+        timedRoleAssignmentService.discard(user.getId(), userRoleAttachmentDto.getRoleIds());
         userRoleAttachmentUtil.assignRolesToUser(user, roles);
         userRepository.save(user);
+        accessIndex.rolesGranted(user.getId(), userRoleAttachmentDto.getRoleIds());
+        changeLog.usersChanged(List.of(user.getId()));
         log.info("Roles assigned successfully to user: {}", userRoleAttachmentDto.getUsername());
     }
 
+    @Auditable(
+            value = AuditEventType.TIMED_ROLES_ASSIGNMENT,
+            target = "#timedRoleAssignmentDto.username",
+            detailsExpression = "T(java.util.Map).of('role_ids', #timedRoleAssignmentDto.roleIds, " +
+                    "'valid_until', #timedRoleAssignmentDto.validUntil)"
+    )
+    public void assignTimedRoles(TimedRoleAssignmentDto timedRoleAssignmentDto) {
+        log.debug("Attempting to assign timed roles to user with: {}", timedRoleAssignmentDto.getUsername());
+        Instant validFrom = Objects.requireNonNullElseGet(timedRoleAssignmentDto.getValidFrom(), Instant::now);
+        if (!validFrom.isBefore(timedRoleAssignmentDto.getValidUntil())) {
+            log.warn("Rejected timed roles valid from {} until {}", validFrom, timedRoleAssignmentDto.getValidUntil());
+            throw new UserInputNotValidException(INVALID_VALIDITY_PERIOD);
+        }
+
+        User user = getUserByUsername(timedRoleAssignmentDto.getUsername());
+        validateUserUpdatePermission(user);
+        Set<Role> roles = userRoleAttachmentUtil.validateAndRetrieveRoles(timedRoleAssignmentDto.getRoleIds());
+        Set<Long> timedRoleIds = timedRoleAssignmentService.findByUser(user.getId()).stream()
+                .map(TimedRoleAssignment::getRoleId)
+                .collect(Collectors.toSet());
+        if (roles.stream().anyMatch(role -> user.getRoles().contains(role) && !timedRoleIds.contains(role.getId()))) {
+            log.warn("User '{}' already holds some of the roles permanently", user.getUsername());
+            throw new UserInputNotValidException(ROLE_ALREADY_ASSIGNED);
+        }
+
+        timedRoleAssignmentService.assign(user.getId(), timedRoleAssignmentDto.getRoleIds(), validFrom,
+                timedRoleAssignmentDto.getValidUntil());
+        log.info("Timed roles assigned successfully to user: {}", timedRoleAssignmentDto.getUsername());
+    }
+
+    public List<TimedRoleDto> findTimedRoles(Long id) {
+        log.debug("Attempting to find timed roles of user with ID: {}", id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("User not found with ID: {}", id);
+                    return new DataNotFoundException(USER_NOT_FOUND);
+                });
+        validateUserFetchPermission(user);
+        return timedRoleAssignmentService.findByUser(id).stream()
+                .map(assignment -> new TimedRoleDto(assignment.getRoleId(), assignment.getValidFrom(),
+                        assignment.getValidUntil(), assignment.isActive()))
+                .toList();
+    }
+
     @Auditable(
             value = AuditEventType.ROLES_REMOVAL,
             target = "#userRoleAttachmentDto.username",
@@ -123,8 +194,11 @@ public class UserService {
         validateUserUpdatePermission(user);
         Set<Role> roles = userRoleAttachmentUtil.validateAndRetrieveRoles(userRoleAttachmentDto.getRoleIds());
 
+        timedRoleAssignmentService.discard(user.getId(), userRoleAttachmentDto.getRoleIds());
         userRoleAttachmentUtil.removeRolesFromUser(user, roles);
         userRepository.save(user);
+        accessIndex.rolesRevoked(user.getId(), userRoleAttachmentDto.getRoleIds());
+        changeLog.usersChanged(List.of(user.getId()));
         log.info("Roles removed successfully from user: {}", userRoleAttachmentDto.getUsername());
     }
 
@@ -141,7 +215,12 @@ public class UserService {
                     return new DataNotFoundException(USER_NOT_FOUND);
                 });
         validateUserDeletionPermission(user);
+        groupRepository.deleteMemberships(id);
+        resourceAclStore.principalDeleted(AclPrincipalType.USER, id);
         userRepository.deleteById(id);
+        accessIndex.userDeleted(id);
+        changeLog.userDeleted(id);
+        userSearch.userDeleted(id);
         log.info("User with ID: {} deleted successfully", id);
     }
 
@@ -161,6 +240,17 @@ public class UserService {
         return userMapper.toDtoList(filteredUsers);
     }
 
+    public UserSearchPageDto searchUsers(String query, Long after, int size) {
+        log.debug("Attempting to search users for: {}", query);
+        User currentUser = getCurrentUser();
+        if (Objects.isNull(currentUser)) {
+            throw new NoAccessException(NO_PERMISSION);
+        }
+        UserSearchPageDto page = userSearch.search(currentUser.getId(), query, after, size);
+        log.info("Found {} users matching: {}", page.users().size(), query);
+        return page;
+    }
+
     public UserDto findUserById(Long id) {
         log.debug("Attempting to find user by ID: {}", id);
         User user = userRepository.findById(id)
@@ -337,7 +427,10 @@ public class UserService {
         userValidator.validatePasswordPolicy(newPassword);
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordExpiryDate(DateUtil.calculateExpiryDate(passwordExpiryTimeInDays));
+        user.setPasswordExpired(false);
+        user.setPasswordExpiryNotifiedAt(null);
         userRepository.save(user);
+        changeLog.usersChanged(List.of(user.getId()));
         log.info("Password updated successfully for user: {}", user.getUsername());
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.iamsystem.user.assignment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A role held by a user only between {@code validFrom} and {@code validUntil}. While
+ * {@code active}, the role is also present in {@code user_roles}, which is all permission checks read.
+ */
+@Entity
+@Table(name = "timed_role_assignments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_timed_role_assignments_user_role", columnNames = {"user_id", "role_id"}),
+        indexes = {
+                @Index(name = "idx_timed_role_assignments_valid_from", columnList = "active, valid_from"),
+                @Index(name = "idx_timed_role_assignments_valid_until", columnList = "active, valid_until")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class TimedRoleAssignment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "role_id", nullable = false)
+    private Long roleId;
+
+    @Column(name = "valid_from", nullable = false)
+    private Instant validFrom;
+
+    @Column(name = "valid_until", nullable = false)
+    private Instant validUntil;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    public TimedRoleAssignment(Long userId, Long roleId) {
+        this.userId = userId;
+        this.roleId = roleId;
+    }
+
+    /**
+     * When the assignment next changes state: its activation while pending, its expiry while active.
+     */
+    public Instant nextTransition() {
+        return active ? validUntil : validFrom;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimedRoleAssignment that = (TimedRoleAssignment) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.iamsystem.user.assignment;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TimedRoleAssignmentRepository extends JpaRepository<TimedRoleAssignment, Long> {
+
+    List<TimedRoleAssignment> findAllByUserIdOrderByValidFromAsc(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM TimedRoleAssignment a WHERE a.userId = :userId AND a.roleId IN :roleIds")
+    List<TimedRoleAssignment> findForUpdate(@Param("userId") Long userId, @Param("roleIds") Collection<Long> roleIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM TimedRoleAssignment a WHERE a.id IN :ids")
+    List<TimedRoleAssignment> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Assignments that activate or expire before {@code before}, including overdue ones.
+     */
+    @Query("SELECT a FROM TimedRoleAssignment a WHERE (a.active = false AND a.validFrom < :before) " +
+            "OR (a.active = true AND a.validUntil < :before)")
+    List<TimedRoleAssignment> findTransitionsBefore(@Param("before") Instant before);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM users u, roles r " +
+            "WHERE u.id = :userId AND r.id = :roleId AND NOT EXISTS " +
+            "(SELECT 1 FROM user_roles ur WHERE ur.user_id = :userId AND ur.role_id = :roleId)", nativeQuery = true)
+    int insertUserRole(@Param("userId") Long userId, @Param("roleId") Long roleId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id = :userId AND role_id = :roleId", nativeQuery = true)
+    int deleteUserRole(@Param("userId") Long userId, @Param("roleId") Long roleId);
+}
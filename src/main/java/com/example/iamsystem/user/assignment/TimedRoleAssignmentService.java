@@ -0,0 +1,221 @@
+package com.example.iamsystem.user.assignment;
+
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.review.AccessIndex;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.util.timer.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Activates and expires timed role assignments on schedule, so {@code user_roles} only ever holds
+ * roles that are valid now and permission checks never filter by time. Transitions due within
+ * {@code role-assignments.horizon} wait in a timing wheel advanced every {@code role-assignments.tick};
+ * later ones, and ones scheduled on other instances, are picked up every
+ * {@code role-assignments.refresh-interval}. A transition re-reads its row under a lock, so a stale
+ * timer or a second instance firing at the same time changes nothing twice.
+ * <p>
+ * Every activation and expiry bumps the user's version, which invalidates the tokens that carry
+ * the old authorities.
+ */
+@Service
+@Slf4j
+public class TimedRoleAssignmentService {
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final TimedRoleAssignmentRepository assignmentRepository;
+    private final UserRepository userRepository;
+    private final AccessIndex accessIndex;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final Map<Long, Pending> pending = new HashMap<>();
+
+    public TimedRoleAssignmentService(TimedRoleAssignmentRepository assignmentRepository,
+                                      UserRepository userRepository,
+                                      AccessIndex accessIndex,
+                                      ChangeLog changeLog,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${role-assignments.tick:PT1S}") Duration tick,
+                                      @Value("${role-assignments.horizon:PT1H}") Duration horizon) {
+        this.assignmentRepository = assignmentRepository;
+        this.userRepository = userRepository;
+        this.accessIndex = accessIndex;
+        this.changeLog = changeLog;
+        this.transactionTemplate = transactionTemplate;
+        this.horizon = horizon;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Assigns the roles between {@code validFrom} and {@code validUntil}, replacing any timed
+     * assignment the user already has for them. Roles whose window has started are granted at once.
+     */
+    public List<TimedRoleAssignment> assign(Long userId, Collection<Long> roleIds, Instant validFrom, Instant validUntil) {
+        Instant now = Instant.now();
+        List<TimedRoleAssignment> saved = transactionTemplate.execute(status -> {
+            Map<Long, TimedRoleAssignment> existing = new HashMap<>();
+            for (TimedRoleAssignment assignment : assignmentRepository.findForUpdate(userId, roleIds)) {
+                existing.put(assignment.getRoleId(), assignment);
+            }
+            boolean changed = false;
+            List<TimedRoleAssignment> assignments = new ArrayList<>();
+            for (Long roleId : roleIds) {
+                TimedRoleAssignment assignment = existing.getOrDefault(roleId, new TimedRoleAssignment(userId, roleId));
+                assignment.setValidFrom(validFrom);
+                assignment.setValidUntil(validUntil);
+                changed |= setActive(assignment, !validFrom.isAfter(now) && validUntil.isAfter(now));
+                assignments.add(assignmentRepository.save(assignment));
+            }
+            if (changed) {
+                userRepository.incrementVersions(List.of(userId));
+                changeLog.usersChanged(List.of(userId));
+            }
+            return assignments;
+        });
+        saved.forEach(this::track);
+        log.debug("Scheduled {} roles for user {} from {} until {}", saved.size(), userId, validFrom, validUntil);
+        return saved;
+    }
+
+    /**
+     * Drops the timed assignments of the roles without touching {@code user_roles}; called when the
+     * roles are assigned permanently or removed.
+     */
+    public void discard(Long userId, Collection<Long> roleIds) {
+        List<TimedRoleAssignment> discarded = transactionTemplate.execute(status -> {
+            List<TimedRoleAssignment> assignments = assignmentRepository.findForUpdate(userId, roleIds);
+            assignmentRepository.deleteAll(assignments);
+            return assignments;
+        });
+        for (TimedRoleAssignment assignment : discarded) {
+            untrack(assignment.getId());
+        }
+    }
+
+    public List<TimedRoleAssignment> findByUser(Long userId) {
+        return assignmentRepository.findAllByUserIdOrderByValidFromAsc(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${role-assignments.tick:PT1S}")
+    public void tick() {
+        advance(Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${role-assignments.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            List<TimedRoleAssignment> upcoming = assignmentRepository.findTransitionsBefore(Instant.now().plus(horizon));
+            upcoming.forEach(this::track);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Timed role assignments not refreshed, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the transitions due by {@code now} and returns how many assignments were due.
+     */
+    int advance(Instant now) {
+        List<Long> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(now.toEpochMilli(), id -> {
+                pending.remove(id);
+                due.add(id);
+            });
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<TimedRoleAssignment> remaining = transactionTemplate.execute(status -> transition(due, now));
+            remaining.forEach(this::track);
+        } catch (DataAccessException | TransactionException e) {
+            // the next refresh finds them overdue and schedules them again
+            log.warn("Timed role assignments not applied, database unavailable: {}", e.getMessage());
+        }
+        return due.size();
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    private List<TimedRoleAssignment> transition(List<Long> ids, Instant now) {
+        Set<Long> changedUsers = new HashSet<>();
+        List<TimedRoleAssignment> remaining = new ArrayList<>();
+        for (TimedRoleAssignment assignment : assignmentRepository.findAllForUpdate(ids)) {
+            boolean expired = !assignment.getValidUntil().isAfter(now);
+            if (setActive(assignment, !expired && !assignment.getValidFrom().isAfter(now))) {
+                changedUsers.add(assignment.getUserId());
+            }
+            if (expired) {
+                assignmentRepository.delete(assignment);
+            } else {
+                remaining.add(assignment);
+            }
+        }
+        if (!changedUsers.isEmpty()) {
+            userRepository.incrementVersions(changedUsers);
+            changeLog.usersChanged(changedUsers);
+            log.info("Timed role assignments changed the roles of {} users", changedUsers.size());
+        }
+        return remaining;
+    }
+
+    private boolean setActive(TimedRoleAssignment assignment, boolean active) {
+        if (assignment.isActive() == active) {
+            return false;
+        }
+        if (active) {
+            assignmentRepository.insertUserRole(assignment.getUserId(), assignment.getRoleId());
+            accessIndex.rolesGranted(assignment.getUserId(), List.of(assignment.getRoleId()));
+        } else {
+            assignmentRepository.deleteUserRole(assignment.getUserId(), assignment.getRoleId());
+            accessIndex.rolesRevoked(assignment.getUserId(), List.of(assignment.getRoleId()));
+        }
+        assignment.setActive(active);
+        return true;
+    }
+
+    private synchronized void track(TimedRoleAssignment assignment) {
+        Instant at = assignment.nextTransition();
+        Pending current = pending.get(assignment.getId());
+        if (current != null) {
+            if (current.at().equals(at)) {
+                return;
+            }
+            current.timeout().cancel();
+            pending.remove(assignment.getId());
+        }
+        if (at.isBefore(Instant.now().plus(horizon))) {
+            pending.put(assignment.getId(), new Pending(at, wheel.schedule(assignment.getId(), at.toEpochMilli())));
+        }
+    }
+
+    private synchronized void untrack(Long id) {
+        Pending current = pending.remove(id);
+        if (current != null) {
+            current.timeout().cancel();
+        }
+    }
+
+    private record Pending(Instant at, HierarchicalTimingWheel.Timeout<Long> timeout) {
+    }
+}
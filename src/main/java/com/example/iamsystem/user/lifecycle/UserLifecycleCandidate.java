@@ -0,0 +1,10 @@
+package com.example.iamsystem.user.lifecycle;
+
+import java.time.Instant;
+
+/**
+ * A user due for a lifecycle transition, together with the timestamp that made it due. The
+ * {@code (dueAt, id)} pair is the keyset cursor for the next batch.
+ */
+public record UserLifecycleCandidate(Long id, String email, Instant dueAt) {
+}
@@ -0,0 +1,138 @@
+package com.example.iamsystem.user.lifecycle;
+
+import com.example.iamsystem.mail.outbox.MailOutboxService;
+import com.example.iamsystem.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static com.example.iamsystem.constant.UserLifecycleConstants.PASSWORD_EXPIRY_NOTICE_BODY;
+import static com.example.iamsystem.constant.UserLifecycleConstants.PASSWORD_EXPIRY_NOTICE_SUBJECT;
+
+/**
+ * Moves users through time-based account states so the stored {@code user_locked} and
+ * {@code password_expired} flags can be trusted on their own: lockouts are lifted once
+ * {@code account_locked_until} has passed, passwords are marked expired once
+ * {@code password_expiry_date} has passed, and users get one notice before their password expires.
+ * <p>
+ * Each transition walks its timestamp index in keyset order, {@code (timestamp, id)}, one batch per
+ * transaction. The updates re-check their condition, so concurrent logins and password changes
+ * win over a stale batch.
+ */
+@Component
+@Slf4j
+public class UserLifecycleScheduler {
+
+    private static final DateTimeFormatter NOTICE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'")
+            .withZone(ZoneOffset.UTC);
+
+    private final UserRepository userRepository;
+    private final MailOutboxService mailOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration expiryNoticePeriod;
+
+    public UserLifecycleScheduler(UserRepository userRepository,
+                                  MailOutboxService mailOutboxService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${user.lifecycle.batch-size:500}") int batchSize,
+                                  @Value("${user.lifecycle.expiry-notice-period:P7D}") Duration expiryNoticePeriod) {
+        this.userRepository = userRepository;
+        this.mailOutboxService = mailOutboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.expiryNoticePeriod = expiryNoticePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${user.lifecycle.interval:PT30S}")
+    public void run() {
+        run(Instant.now());
+    }
+
+    void run(Instant now) {
+        int unlocked = unlockAccounts(now);
+        int expired = expirePasswords(now);
+        int notified = sendExpiryNotices(now);
+        if (unlocked > 0 || expired > 0 || notified > 0) {
+            log.info("User lifecycle: {} accounts unlocked, {} passwords expired, {} expiry notices queued",
+                    unlocked, expired, notified);
+        }
+    }
+
+    int unlockAccounts(Instant now) {
+        return scan((afterTime, afterId, page) -> userRepository.findLocksEndedBefore(now, afterTime, afterId, page),
+                batch -> userRepository.unlockAccounts(ids(batch), now));
+    }
+
+    int expirePasswords(Instant now) {
+        return scan((afterTime, afterId, page) -> userRepository.findPasswordsExpiredBefore(now, afterTime, afterId, page),
+                batch -> userRepository.markPasswordsExpired(ids(batch), now));
+    }
+
+    int sendExpiryNotices(Instant now) {
+        Instant noticeBefore = now.plus(expiryNoticePeriod);
+        return scan((afterTime, afterId, page) ->
+                        userRepository.findPasswordsExpiringBetween(now, noticeBefore, afterTime, afterId, page),
+                batch -> {
+                    int notified = 0;
+                    for (UserLifecycleCandidate candidate : batch) {
+                        // the conditional update keeps a notice from going out twice
+                        if (userRepository.markPasswordExpiryNotified(candidate.id(), now) == 1) {
+                            mailOutboxService.enqueue(candidate.email(), PASSWORD_EXPIRY_NOTICE_SUBJECT,
+                                    PASSWORD_EXPIRY_NOTICE_BODY.formatted(NOTICE_DATE_FORMAT.format(candidate.dueAt())));
+                            notified++;
+                        }
+                    }
+                    return notified;
+                });
+    }
+
+    private int scan(BatchQuery query, ToIntFunction<List<UserLifecycleCandidate>> transition) {
+        Instant afterTime = Instant.EPOCH;
+        long afterId = 0;
+        int affected = 0;
+        while (true) {
+            Instant cursorTime = afterTime;
+            long cursorId = afterId;
+            BatchResult result = transactionTemplate.execute(status -> {
+                List<UserLifecycleCandidate> batch = query.next(cursorTime, cursorId, PageRequest.ofSize(batchSize));
+                if (batch.isEmpty()) {
+                    return new BatchResult(null, 0, 0);
+                }
+                return new BatchResult(batch.get(batch.size() - 1), batch.size(), transition.applyAsInt(batch));
+            });
+            if (result == null || result.size() == 0) {
+                return affected;
+            }
+            affected += result.affected();
+            if (result.size() < batchSize) {
+                return affected;
+            }
+            afterTime = result.last().dueAt();
+            afterId = result.last().id();
+        }
+    }
+
+    private static List<Long> ids(List<UserLifecycleCandidate> batch) {
+        return batch.stream().map(UserLifecycleCandidate::id).toList();
+    }
+
+    @FunctionalInterface
+    private interface BatchQuery {
+        List<UserLifecycleCandidate> next(Instant afterTime, long afterId, Pageable page);
+    }
+
+    private record BatchResult(UserLifecycleCandidate last, int size, int affected) {
+    }
+}
@@ -18,6 +18,7 @@ public interface UserMapper {
 
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "groupRoles", ignore = true)
     User toEntity(UserRegistrationDto userDto);
 
     @Mapping(target = "roleIds", source = ".", qualifiedByName = "SetRoles")
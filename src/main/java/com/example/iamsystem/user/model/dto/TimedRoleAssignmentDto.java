@@ -0,0 +1,24 @@
+package com.example.iamsystem.user.model.dto;
+
+import com.example.iamsystem.constant.ErrorMessage;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Set;
+
+@Data
+public class TimedRoleAssignmentDto {
+    @NotNull(message = ErrorMessage.USERNAME_REQUIRED)
+    private String username;
+    @NotNull(message = ErrorMessage.ROLE_LIST_REQUIRED)
+    @NotEmpty(message = ErrorMessage.ROLE_LIST_NOT_EMPTY)
+    private Set<Long> roleIds;
+    // defaults to now
+    private Instant validFrom;
+    @NotNull(message = ErrorMessage.VALID_UNTIL_REQUIRED)
+    @Future(message = ErrorMessage.VALID_UNTIL_IN_PAST)
+    private Instant validUntil;
+}
@@ -0,0 +1,6 @@
+package com.example.iamsystem.user.model.dto;
+
+import java.time.Instant;
+
+public record TimedRoleDto(Long roleId, Instant validFrom, Instant validUntil, boolean active) {
+}
@@ -0,0 +1,4 @@
+package com.example.iamsystem.user.model.dto;
+
+public record UserSearchHitDto(Long id, String username, String fullName, String email) {
+}
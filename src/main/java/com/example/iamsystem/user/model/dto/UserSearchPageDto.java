@@ -0,0 +1,10 @@
+package com.example.iamsystem.user.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of the users matching a search, in ascending id order. {@code nextCursor} is passed as
+ * {@code after} to get the next page and is null on the last one.
+ */
+public record UserSearchPageDto(List<UserSearchHitDto> users, Long nextCursor) {
+}
@@ -2,12 +2,15 @@ package com.example.iamsystem.user.model.entity;
 
 import com.example.iamsystem.organization.model.Organization;
 import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.user.util.UserExistenceListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -28,9 +31,15 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_locked_until", columnList = "user_locked, account_locked_until"),
+        @Index(name = "idx_users_password_expiry", columnList = "password_expired, password_expiry_date"),
+        @Index(name = "idx_users_username", columnList = "username", unique = true)
+})
+@EntityListeners(UserExistenceListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -63,6 +72,8 @@ public class User implements Serializable {
     private boolean passwordExpired;
     @Column(name = "password_expiry_date")
     private Instant passwordExpiryDate;
+    @Column(name = "password_expiry_notified_at")
+    private Instant passwordExpiryNotifiedAt;
     @Column(name = "user_locked")
     private boolean userLocked;
     @Column(name = "failed_login_attempts")
@@ -79,6 +90,16 @@ public class User implements Serializable {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Set<Role> roles = new HashSet<>();
 
+    // roles granted through group memberships, materialized by GroupMembershipService
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(
+            name = "user_group_roles",
+            joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"),
+            inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Set<Role> groupRoles = new HashSet<>();
+
     @ManyToOne
     @JoinColumn(name = "created_by")
     private User createdBy;
@@ -96,6 +117,13 @@ public class User implements Serializable {
         this.roles.add(role);
     }
 
+    /**
+     * Directly assigned roles and roles granted through groups.
+     */
+    public Stream<Role> effectiveRoles() {
+        return Stream.concat(roles.stream(), groupRoles.stream()).distinct();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
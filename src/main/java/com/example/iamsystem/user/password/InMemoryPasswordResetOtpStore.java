@@ -0,0 +1,111 @@
+package com.example.iamsystem.user.password;
+
+import com.example.iamsystem.user.model.entity.User;
+import com.example.iamsystem.util.timer.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps OTPs in memory and expires them with a timing wheel, so expiry costs nothing per lookup
+ * and no sweep has to scan the whole store. OTPs are lost on restart and are not shared between
+ * instances, so this store only suits a single instance.
+ */
+@Component
+@ConditionalOnProperty(name = "password.reset.otp.store", havingValue = "memory")
+@Slf4j
+public class InMemoryPasswordResetOtpStore implements PasswordResetOtpStore {
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final Map<String, StoredOtp> otpsByCode = new HashMap<>();
+    private final Map<Long, StoredOtp> otpsByUser = new HashMap<>();
+    private final HierarchicalTimingWheel<String> expiryWheel;
+
+    public InMemoryPasswordResetOtpStore(@Value("${password.reset.otp.sweep-interval:PT1S}") Duration tick) {
+        this.expiryWheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @Override
+    public synchronized boolean put(User user, String otp, Instant expiresAt) {
+        StoredOtp existing = otpsByCode.get(otp);
+        if (existing != null && !existing.entry().userId().equals(user.getId())) {
+            return false;
+        }
+        remove(otpsByUser.get(user.getId()));
+        PasswordResetOtpEntry entry = new PasswordResetOtpEntry(otp, user.getId(), user.getEmail(), expiresAt);
+        StoredOtp stored = new StoredOtp(entry, expiryWheel.schedule(otp, expiresAt.toEpochMilli()), 0);
+        otpsByCode.put(otp, stored);
+        otpsByUser.put(user.getId(), stored);
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<PasswordResetOtpEntry> find(String otp) {
+        StoredOtp stored = otpsByCode.get(otp);
+        return stored == null ? Optional.empty() : Optional.of(stored.entry());
+    }
+
+    @Override
+    public synchronized boolean remove(String otp) {
+        return remove(otpsByCode.get(otp));
+    }
+
+    @Override
+    public synchronized boolean recordFailure(Long userId, int maxFailures) {
+        StoredOtp stored = otpsByUser.get(userId);
+        if (stored == null) {
+            return false;
+        }
+        if (stored.failures() + 1 >= maxFailures) {
+            return remove(stored);
+        }
+        StoredOtp counted = new StoredOtp(stored.entry(), stored.timeout(), stored.failures() + 1);
+        otpsByCode.put(counted.entry().otp(), counted);
+        otpsByUser.put(userId, counted);
+        return false;
+    }
+
+    public synchronized int size() {
+        return otpsByCode.size();
+    }
+
+    @Scheduled(fixedDelayString = "${password.reset.otp.sweep-interval:PT1S}")
+    public void sweep() {
+        expire(Instant.now());
+    }
+
+    synchronized int expire(Instant now) {
+        int expired = expiryWheel.advanceTo(now.toEpochMilli(), otp -> {
+            StoredOtp stored = otpsByCode.remove(otp);
+            if (stored != null) {
+                otpsByUser.remove(stored.entry().userId(), stored);
+            }
+        });
+        if (expired > 0) {
+            log.debug("Expired {} password reset OTPs", expired);
+        }
+        return expired;
+    }
+
+    private boolean remove(StoredOtp stored) {
+        if (stored == null) {
+            return false;
+        }
+        stored.timeout().cancel();
+        otpsByCode.remove(stored.entry().otp(), stored);
+        otpsByUser.remove(stored.entry().userId(), stored);
+        return true;
+    }
+
+    private record StoredOtp(PasswordResetOtpEntry entry, HierarchicalTimingWheel.Timeout<String> timeout, int failures) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.iamsystem.user.password;
+
+import com.example.iamsystem.user.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "password.reset.otp.store", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class JpaPasswordResetOtpStore implements PasswordResetOtpStore {
+
+    private final PasswordResetOTPRepository otpRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int purgeChunkSize;
+
+    public JpaPasswordResetOtpStore(PasswordResetOTPRepository otpRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${password.reset.otp.purge-chunk-size:500}") int purgeChunkSize) {
+        this.otpRepository = otpRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    @Override
+    public boolean put(User user, String otp, Instant expiresAt) {
+        otpRepository.deleteByUserId(user.getId());
+        if (otpRepository.existsByOtp(otp)) {
+            return false;
+        }
+        PasswordResetOTP resetOtp = new PasswordResetOTP();
+        resetOtp.setUser(user);
+        resetOtp.setOtp(otp);
+        resetOtp.setExpiryDate(expiresAt);
+        otpRepository.save(resetOtp);
+        return true;
+    }
+
+    @Override
+    public Optional<PasswordResetOtpEntry> find(String otp) {
+        return Optional.ofNullable(otpRepository.findByOtp(otp))
+                .map(resetOtp -> new PasswordResetOtpEntry(resetOtp.getOtp(), resetOtp.getUser().getId(),
+                        resetOtp.getUser().getEmail(), resetOtp.getExpiryDate()));
+    }
+
+    @Override
+    public boolean remove(String otp) {
+        return otpRepository.deleteByOtp(otp) > 0;
+    }
+
+    @Override
+    public boolean recordFailure(Long userId, int maxFailures) {
+        otpRepository.incrementFailedAttempts(userId);
+        return otpRepository.deleteByUserIdAndFailedAttempts(userId, maxFailures) > 0;
+    }
+
+    /**
+     * Deletes expired OTPs by primary key in small chunks, each in its own short transaction, so
+     * the purge never holds row or range locks for long.
+     */
+    @Scheduled(fixedDelayString = "${password.reset.otp.purge-interval:PT5M}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        int chunk;
+        do {
+            chunk = Objects.requireNonNullElse(transactionTemplate.execute(status -> {
+                List<Long> ids = otpRepository.findExpiredIds(now, PageRequest.ofSize(purgeChunkSize));
+                if (!ids.isEmpty()) {
+                    otpRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }), 0);
+            purged += chunk;
+        } while (chunk == purgeChunkSize);
+        if (purged > 0) {
+            log.info("Purged {} expired password reset OTPs", purged);
+        }
+    }
+}
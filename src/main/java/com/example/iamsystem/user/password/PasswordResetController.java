@@ -1,5 +1,6 @@
 package com.example.iamsystem.user.password;
 
+import com.example.iamsystem.util.ratelimit.RateLimit;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,12 +18,17 @@ public class PasswordResetController {
 
     private final PasswordResetService passwordResetService;
 
+    @RateLimit(policy = "password-reset-ip")
+    @RateLimit(policy = "password-reset-email", key = "#email")
     @PostMapping("/reset-request")
     public ResponseEntity<String> requestPasswordReset(@RequestParam("email") String email) {
         passwordResetService.createPasswordResetOtpForUser(email);
         return ResponseEntity.ok(OTP_SENT_SUCCESS);
     }
 
+    @RateLimit(policy = "password-reset-ip")
+    @RateLimit(policy = "password-reset-verify", key = "#email + '|' + #clientIp")
+    @RateLimit(policy = "password-reset-verify-email", key = "#email")
     @PostMapping("/reset")
     public ResponseEntity<String> resetPassword(@RequestParam("otp") String otp, @RequestParam("email") String email) {
         passwordResetService.resetPassword(otp, email);
@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -16,7 +17,7 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Entity
-@Table(name = "password_reset_otps")
+@Table(name = "password_reset_otp", indexes = @Index(name = "idx_password_reset_otp_expiry_date", columnList = "expiry_date"))
 @Data
 @NoArgsConstructor
 public class PasswordResetOTP {
@@ -32,6 +33,9 @@ public class PasswordResetOTP {
     @JoinColumn(nullable = false, name = "user_id")
     private User user;
 
-    @Column(nullable = false)
+    @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
+
+    @Column(name = "failed_attempts", nullable = false)
+    private int failedAttempts;
 }
@@ -1,13 +1,39 @@
 package com.example.iamsystem.user.password;
 
-import com.example.iamsystem.user.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 
 @Repository
 public interface PasswordResetOTPRepository extends JpaRepository<PasswordResetOTP, Long> {
 
     PasswordResetOTP findByOtp(String otp);
-    PasswordResetOTP findByUser(User user);
+
+    boolean existsByOtp(String otp);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetOTP o WHERE o.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetOTP o WHERE o.otp = :otp")
+    int deleteByOtp(@Param("otp") String otp);
+
+    @Modifying
+    @Query("UPDATE PasswordResetOTP o SET o.failedAttempts = o.failedAttempts + 1 WHERE o.user.id = :userId")
+    int incrementFailedAttempts(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetOTP o WHERE o.user.id = :userId AND o.failedAttempts >= :maxFailures")
+    int deleteByUserIdAndFailedAttempts(@Param("userId") Long userId, @Param("maxFailures") int maxFailures);
+
+    @Query("SELECT o.id FROM PasswordResetOTP o WHERE o.expiryDate < :instant ORDER BY o.expiryDate")
+    List<Long> findExpiredIds(@Param("instant") Instant instant, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.example.iamsystem.user.password;
+
+import java.time.Instant;
+
+public record PasswordResetOtpEntry(String otp, Long userId, String email, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
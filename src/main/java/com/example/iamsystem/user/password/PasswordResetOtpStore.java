@@ -0,0 +1,33 @@
+package com.example.iamsystem.user.password;
+
+import com.example.iamsystem.user.model.entity.User;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Storage for outstanding password reset OTPs. A user has at most one OTP, and an OTP is removed
+ * once it is used or has expired.
+ */
+public interface PasswordResetOtpStore {
+
+    /**
+     * Stores {@code otp} for the user, replacing any OTP the user already has. Returns
+     * {@code false} without storing anything if another user currently holds the same OTP.
+     */
+    boolean put(User user, String otp, Instant expiresAt);
+
+    Optional<PasswordResetOtpEntry> find(String otp);
+
+    /**
+     * Removes the OTP. Returns {@code false} if it was already removed, so concurrent resets with
+     * the same OTP cannot both succeed.
+     */
+    boolean remove(String otp);
+
+    /**
+     * Counts a failed verification against the user's outstanding OTP and removes the OTP once
+     * {@code maxFailures} verifications have failed. Returns {@code true} if it was removed.
+     */
+    boolean recordFailure(Long userId, int maxFailures);
+}
@@ -2,19 +2,21 @@ package com.example.iamsystem.user.password;
 
 import com.example.iamsystem.audit.annotation.Auditable;
 import com.example.iamsystem.audit.enums.AuditEventType;
+import com.example.iamsystem.changes.ChangeLog;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.exception.InvalidPasswordResetOTPException;
+import com.example.iamsystem.mail.outbox.MailOutboxService;
 import com.example.iamsystem.user.UserRepository;
 import com.example.iamsystem.user.model.entity.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -39,15 +41,19 @@ public class PasswordResetService {
     public static final String SYSTEM = "SYSTEM";
     public static final String OTP_GENERATED = "otp_generated";
     private final UserRepository userRepository;
-    private final PasswordResetOTPRepository otpRepository;
-    private final JavaMailSender mailSender;
+    private final PasswordResetOtpStore otpStore;
+    private final MailOutboxService mailOutboxService;
     private final PasswordEncoder passwordEncoder;
+    private final ChangeLog changeLog;
 
     @Value("${password.reset.otp.expiration.minutes}")
     private int expiryTimeInMinutes;
     @Value("${password.expiration.days}")
     private int passwordExpiryTimeInDays;
+    @Value("${password.reset.otp.max-failed-verifications:5}")
+    private int maxFailedVerifications;
 
+    private static final int MAX_OTP_ATTEMPTS = 5;
     private static final String UPPER_CASE_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
     private static final String LOWER_CASE_LETTERS = "abcdefghijklmnopqrstuvwxyz";
     private static final String NUMBERS = "0123456789";
@@ -59,62 +65,64 @@ public class PasswordResetService {
             target = "#email",
             detailsExpression = "T(java.util.Map).of('otp_generated', #result)"
     )
+    @Transactional
     public void createPasswordResetOtpForUser(String email) {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new DataNotFoundException(USER_NOT_FOUND));
 
-        // Delete any existing OTP for this user
-        PasswordResetOTP existingOtp = otpRepository.findByUser(user);
-        if (existingOtp != null) {
-            otpRepository.delete(existingOtp);
+        // Replaces any existing OTP for this user; retried if another user holds the same code
+        Instant expiresAt = Instant.now().plus(expiryTimeInMinutes, ChronoUnit.MINUTES);
+        String otp = generateOTP();
+        int attempts = 1;
+        while (!otpStore.put(user, otp, expiresAt)) {
+            if (++attempts > MAX_OTP_ATTEMPTS) {
+                throw new IllegalStateException("Could not generate a unique password reset OTP");
+            }
+            otp = generateOTP();
         }
 
-        String otp = generateOTP();
-        PasswordResetOTP myOtp = new PasswordResetOTP();
-        myOtp.setUser(user);
-        myOtp.setOtp(otp);
-        myOtp.setExpiryDate(calculateExpiryDate(expiryTimeInMinutes));
-        otpRepository.save(myOtp);
-
-        SimpleMailMessage emailMessage = new SimpleMailMessage();
-        emailMessage.setTo(user.getEmail());
-        emailMessage.setSubject(PASSWORD_RESET_REQUEST_SUBJECT);
-        emailMessage.setText(PASSWORD_RESET_REQUEST_BODY_PREFIX + otp);
-        mailSender.send(emailMessage);
+        mailOutboxService.enqueue(user.getEmail(), PASSWORD_RESET_REQUEST_SUBJECT, PASSWORD_RESET_REQUEST_BODY_PREFIX + otp);
     }
 
     @Auditable(
             value = AuditEventType.PASSWORD_RESET,
             target = "#email"
     )
+    @Transactional(noRollbackFor = InvalidPasswordResetOTPException.class)
     public void resetPassword(String otp, String email) {
-        PasswordResetOTP resetOtp = otpRepository.findByOtp(otp);
-        validateOtp(email, resetOtp);
+        PasswordResetOtpEntry resetOtp = otpStore.find(otp).orElse(null);
+        try {
+            validateOtp(email, resetOtp);
+        } catch (InvalidPasswordResetOTPException e) {
+            // committed with the failed request, so guessing burns the outstanding OTP
+            userRepository.findByEmail(email).ifPresent(user -> otpStore.recordFailure(user.getId(), maxFailedVerifications));
+            throw e;
+        }
+        if (!otpStore.remove(otp)) {
+            throw new InvalidPasswordResetOTPException(INVALID_OTP);
+        }
 
-        User user = resetOtp.getUser();
+        User user = userRepository.findById(resetOtp.userId()).orElseThrow(() -> new DataNotFoundException(USER_NOT_FOUND));
         String newPassword = generateSecurePassword();
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordExpiryDate(calculateExpiryDate(passwordExpiryTimeInDays));
+        user.setPasswordExpired(false);
+        user.setPasswordExpiryNotifiedAt(null);
         userRepository.save(user);
+        changeLog.usersChanged(List.of(user.getId()));
 
-        SimpleMailMessage emailMessage = new SimpleMailMessage();
-        emailMessage.setTo(user.getEmail());
-        emailMessage.setSubject(PASSWORD_RESET_SUCCESS_SUBJECT);
-        emailMessage.setText(PASSWORD_RESET_SUCCESS_BODY_PREFIX + newPassword);
-        mailSender.send(emailMessage);
-
-        otpRepository.delete(resetOtp);
+        mailOutboxService.enqueue(user.getEmail(), PASSWORD_RESET_SUCCESS_SUBJECT, PASSWORD_RESET_SUCCESS_BODY_PREFIX + newPassword);
     }
 
-    private void validateOtp(String email, PasswordResetOTP resetOtp) {
+    private void validateOtp(String email, PasswordResetOtpEntry resetOtp) {
         if (resetOtp == null) {
             throw new InvalidPasswordResetOTPException(INVALID_OTP);
         }
 
-        if (!resetOtp.getUser().getEmail().equals(email)) {
+        if (!resetOtp.email().equals(email)) {
             throw new InvalidPasswordResetOTPException(OTP_DOES_NOT_BELONG_TO_USER);
         }
 
-        if (resetOtp.getExpiryDate().isBefore(Instant.now())) {
+        if (resetOtp.isExpired(Instant.now())) {
             throw new InvalidPasswordResetOTPException(OTP_HAS_EXPIRED);
         }
     }
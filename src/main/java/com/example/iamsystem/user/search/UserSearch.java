@@ -0,0 +1,216 @@
+package com.example.iamsystem.user.search;
+
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.dto.UserSearchHitDto;
+import com.example.iamsystem.user.model.dto.UserSearchPageDto;
+import com.example.iamsystem.user.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static com.example.iamsystem.constant.ErrorMessage.SEARCH_QUERY_REQUIRED;
+import static com.example.iamsystem.constant.ErrorMessage.SEARCH_QUERY_TOO_LONG;
+
+/**
+ * Searches users by username, full name or email from a {@link UserSearchIndex} kept in memory, so
+ * a search never scans the users table. The index is built on first use by paging through users in
+ * id order, then kept current as users are registered and deleted; those changes are applied once
+ * committed. Changes made on other instances are picked up by a rebuild every
+ * {@code user-search.refresh-interval}, and changes committed while a rebuild runs are replayed
+ * onto the rebuilt index. Searches share a read lock; changes and the swap to a rebuilt index take
+ * the write lock.
+ * <p>
+ * User ids are kept as unsigned 32-bit values.
+ */
+@Component
+@Slf4j
+public class UserSearch {
+
+    static final int MAX_QUERY_LENGTH = 128;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final int maxPageSize;
+    private final Object buildLock = new Object();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile UserSearchIndex index;
+    private List<Consumer<UserSearchIndex>> replay;
+
+    public UserSearch(UserRepository userRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${user-search.batch-size:1000}") int batchSize,
+                      @Value("${user-search.max-page-size:100}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Lists the users in {@code rootId}'s delegation tree whose username, full name or email
+     * contains {@code query}, ignoring case, in ascending id order starting after {@code after}.
+     * Queries shorter than three characters only match the start of a username, an email or a
+     * word of the full name.
+     */
+    public UserSearchPageDto search(Long rootId, String query, Long after, int size) {
+        String normalized = validateQuery(query);
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        UserSearchIndex current = loaded();
+        List<UserSearchIndex.Entry> matches;
+        lock.readLock().lock();
+        try {
+            matches = current.search(normalized, user(rootId), after == null ? -1 : after, pageSize + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Long nextCursor = null;
+        if (matches.size() > pageSize) {
+            matches = matches.subList(0, pageSize);
+            nextCursor = matches.get(pageSize - 1).id();
+        }
+        List<UserSearchHitDto> users = matches.stream()
+                .map(entry -> new UserSearchHitDto(entry.id(), entry.username(), entry.fullName(), entry.email()))
+                .toList();
+        return new UserSearchPageDto(users, nextCursor);
+    }
+
+    @Scheduled(fixedDelayString = "${user-search.refresh-interval:PT10M}",
+            initialDelayString = "${user-search.refresh-interval:PT10M}")
+    public void refresh() {
+        if (index == null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("User search index not rebuilt, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    public void userRegistered(User user) {
+        UserSearchIndex.Entry entry = entry(new UserSearchRow(user.getId(), user.getUsername(), user.getFullName(),
+                user.getEmail(), user.getCreatedBy() == null ? null : user.getCreatedBy().getId()));
+        afterCommit(() -> apply(current -> current.add(entry)));
+    }
+
+    public void userDeleted(Long userId) {
+        afterCommit(() -> apply(current -> current.remove(user(userId))));
+    }
+
+    void rebuild() {
+        synchronized (buildLock) {
+            writeLocked(() -> replay = new ArrayList<>());
+            UserSearchIndex rebuilt;
+            try {
+                rebuilt = readOnlyTransaction.execute(status -> load());
+            } catch (RuntimeException e) {
+                writeLocked(() -> replay = null);
+                throw e;
+            }
+            writeLocked(() -> {
+                replay.forEach(change -> change.accept(rebuilt));
+                replay = null;
+                index = rebuilt;
+            });
+        }
+    }
+
+    private UserSearchIndex loaded() {
+        UserSearchIndex current = index;
+        if (current == null) {
+            synchronized (buildLock) {
+                if (index == null) {
+                    rebuild();
+                }
+            }
+            current = index;
+        }
+        return current;
+    }
+
+    private void apply(Consumer<UserSearchIndex> change) {
+        writeLocked(() -> {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (replay != null) {
+                replay.add(change);
+            }
+        });
+    }
+
+    private void writeLocked(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private UserSearchIndex load() {
+        UserSearchIndex loaded = new UserSearchIndex();
+        long afterId = 0;
+        List<UserSearchRow> page;
+        do {
+            page = userRepository.findSearchRows(afterId, PageRequest.ofSize(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(row -> loaded.add(entry(row)));
+            afterId = page.get(page.size() - 1).id();
+        } while (page.size() == batchSize);
+        log.info("User search index built for {} users", loaded.size());
+        return loaded;
+    }
+
+    private static String validateQuery(String query) {
+        String trimmed = query == null ? "" : query.strip();
+        if (trimmed.isEmpty()) {
+            throw new UserInputNotValidException(SEARCH_QUERY_REQUIRED);
+        }
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            log.warn("Rejected user search query of {} characters", trimmed.length());
+            throw new UserInputNotValidException(SEARCH_QUERY_TOO_LONG);
+        }
+        return UserSearchIndex.normalize(trimmed);
+    }
+
+    private static UserSearchIndex.Entry entry(UserSearchRow row) {
+        return new UserSearchIndex.Entry(user(row.id()), row.createdById() == null ? 0 : user(row.createdById()),
+                row.username(), row.fullName(), row.email());
+    }
+
+    private static int user(Long userId) {
+        return (int) userId.longValue();
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.iamsystem.user.search;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Trigram index over the username, full name and email of every user, as bitmaps of user ids.
+ * A query of three or more characters is matched anywhere in a field: its candidates are the users
+ * holding all of its trigrams, confirmed against the field itself. Shorter queries match the start
+ * of the username, the email or a word of the full name, through postings of their first one and
+ * two characters. Users are also linked to the user who created them, and a search is intersected
+ * with the bitmap of the caller's part of the delegation tree before any field is compared. Those
+ * bitmaps are computed on first use and kept for up to {@link #MAX_SUBTREES} roots.
+ * <p>
+ * Searches may run concurrently with each other but not with {@link #add} or {@link #remove};
+ * {@link UserSearch} guards the index with a read/write lock.
+ */
+final class UserSearchIndex {
+
+    static final int GRAM = 3;
+    static final int MAX_SUBTREES = 1024;
+
+    /**
+     * A user as indexed; {@code parent} is the creating user, 0 for none. The fields are normalized
+     * once, when the entry is created.
+     */
+    static final class Entry {
+        private final int user;
+        private final int parent;
+        private final String username;
+        private final String fullName;
+        private final String email;
+        private final List<String> fields = new ArrayList<>(3);
+        private final List<String> terms = new ArrayList<>();
+
+        Entry(int user, int parent, String username, String fullName, String email) {
+            this.user = user;
+            this.parent = parent;
+            this.username = username;
+            this.fullName = fullName;
+            this.email = email;
+            for (String field : new String[]{username, fullName, email}) {
+                if (field != null && !field.isEmpty()) {
+                    fields.add(normalize(field));
+                }
+            }
+            if (username != null && !username.isEmpty()) {
+                terms.add(normalize(username));
+            }
+            if (email != null && !email.isEmpty()) {
+                terms.add(normalize(email));
+            }
+            if (fullName != null) {
+                for (String word : normalize(fullName).split("\\s+")) {
+                    if (!word.isEmpty()) {
+                        terms.add(word);
+                    }
+                }
+            }
+        }
+
+        int user() {
+            return user;
+        }
+
+        int parent() {
+            return parent;
+        }
+
+        long id() {
+            return Integer.toUnsignedLong(user);
+        }
+
+        String username() {
+            return username;
+        }
+
+        String fullName() {
+            return fullName;
+        }
+
+        String email() {
+            return email;
+        }
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> children = new HashMap<>();
+    private final Map<Long, RoaringBitmap> grams = new HashMap<>();
+    private final Map<String, RoaringBitmap> prefixes = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> subtrees = new ConcurrentHashMap<>();
+
+    static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    void add(Entry entry) {
+        Entry previous = entries.get(entry.user());
+        remove(entry.user());
+        entries.put(entry.user(), entry);
+        if (entry.parent() != 0) {
+            children.computeIfAbsent(entry.parent(), key -> new RoaringBitmap()).add(entry.user());
+        }
+        for (long gram : grams(entry)) {
+            grams.computeIfAbsent(gram, key -> new RoaringBitmap()).add(entry.user());
+        }
+        for (String prefix : prefixes(entry)) {
+            prefixes.computeIfAbsent(prefix, key -> new RoaringBitmap()).add(entry.user());
+        }
+        if (previous == null && !children.containsKey(entry.user())) {
+            // a new leaf only joins its ancestors' subtrees
+            forEachAncestor(entry, ancestor -> {
+                RoaringBitmap subtree = subtrees.get(ancestor);
+                if (subtree != null) {
+                    subtree.add(entry.user());
+                }
+            });
+        } else {
+            subtrees.clear();
+        }
+    }
+
+    void remove(int user) {
+        Entry entry = entries.remove(user);
+        if (entry == null) {
+            return;
+        }
+        subtrees.clear();
+        RoaringBitmap siblings = children.get(entry.parent());
+        if (siblings != null) {
+            siblings.remove(user);
+            if (siblings.isEmpty()) {
+                children.remove(entry.parent());
+            }
+        }
+        for (long gram : grams(entry)) {
+            RoaringBitmap users = grams.get(gram);
+            users.remove(user);
+            if (users.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+        for (String prefix : prefixes(entry)) {
+            RoaringBitmap users = prefixes.get(prefix);
+            users.remove(user);
+            if (users.isEmpty()) {
+                prefixes.remove(prefix);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Up to {@code limit} users in {@code root}'s tree, the root included, matching the normalized
+     * {@code query}, in ascending id order starting after {@code after}.
+     */
+    List<Entry> search(String query, int root, long after, int limit) {
+        List<RoaringBitmap> postings = postings(query);
+        List<Entry> matches = new ArrayList<>();
+        if (postings.isEmpty() || after >= 0xFFFF_FFFFL || !entries.containsKey(root)) {
+            return matches;
+        }
+        postings.add(subtree(root));
+        // walk the rarest bitmap and probe the others, so a page costs no more than its candidates
+        postings.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        PeekableIntIterator iterator = postings.get(0).getIntIterator();
+        if (after >= 0) {
+            iterator.advanceIfNeeded((int) (after + 1));
+        }
+        while (iterator.hasNext() && matches.size() < limit) {
+            int user = iterator.next();
+            if (!containedInAll(postings, user)) {
+                continue;
+            }
+            Entry entry = entries.get(user);
+            if (entry != null && matches(entry, query)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    private RoaringBitmap subtree(int root) {
+        RoaringBitmap subtree = subtrees.get(root);
+        if (subtree != null) {
+            return subtree;
+        }
+        subtree = new RoaringBitmap();
+        subtree.add(root);
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            RoaringBitmap direct = children.get(pending.pop());
+            if (direct == null) {
+                continue;
+            }
+            PeekableIntIterator iterator = direct.getIntIterator();
+            while (iterator.hasNext()) {
+                int child = iterator.next();
+                // a stale parent link could form a cycle
+                if (!subtree.contains(child)) {
+                    subtree.add(child);
+                    pending.push(child);
+                }
+            }
+        }
+        if (subtrees.size() >= MAX_SUBTREES) {
+            subtrees.clear();
+        }
+        subtrees.put(root, subtree);
+        return subtree;
+    }
+
+    private void forEachAncestor(Entry entry, IntConsumer action) {
+        Entry current = entry;
+        // bounded, in case a stale parent link ever forms a cycle
+        for (int depth = 0; current != null && depth <= entries.size(); depth++) {
+            action.accept(current.user());
+            current = current.parent() == 0 ? null : entries.get(current.parent());
+        }
+    }
+
+    private List<RoaringBitmap> postings(String query) {
+        List<RoaringBitmap> postings = new ArrayList<>();
+        if (query.isEmpty()) {
+            return postings;
+        }
+        if (query.length() < GRAM) {
+            RoaringBitmap users = prefixes.get(query);
+            if (users != null) {
+                postings.add(users);
+            }
+            return postings;
+        }
+        for (long gram : grams(query, new LinkedHashSet<>())) {
+            RoaringBitmap users = grams.get(gram);
+            if (users == null) {
+                return new ArrayList<>();
+            }
+            postings.add(users);
+        }
+        return postings;
+    }
+
+    private static boolean containedInAll(List<RoaringBitmap> postings, int user) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(user)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Entry entry, String query) {
+        if (query.length() < GRAM) {
+            return entry.terms.stream().anyMatch(term -> term.startsWith(query));
+        }
+        return entry.fields.stream().anyMatch(field -> field.contains(query));
+    }
+
+    private static Set<Long> grams(Entry entry) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String field : entry.fields) {
+            grams(field, grams);
+        }
+        return grams;
+    }
+
+    private static Set<Long> grams(String value, Set<Long> grams) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static Set<String> prefixes(Entry entry) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String term : entry.terms) {
+            for (int length = 1; length < GRAM && length <= term.length(); length++) {
+                prefixes.add(term.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+}
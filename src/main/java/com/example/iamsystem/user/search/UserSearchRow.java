@@ -0,0 +1,4 @@
+package com.example.iamsystem.user.search;
+
+public record UserSearchRow(Long id, String username, String fullName, String email, Long createdById) {
+}
@@ -0,0 +1,231 @@
+package com.example.iamsystem.user.util;
+
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.search.UserSearchRow;
+import com.example.iamsystem.util.filter.ScalableBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filters of every username and email, so lookups of users that do not exist, such as
+ * registration availability checks and logins with unknown usernames, are answered without the
+ * database. A negative answer is exact; a positive one must be confirmed with a query. Until the
+ * filters are first built every answer is positive.
+ * <p>
+ * The filters are built at startup by paging through users in id order. Users inserted through JPA
+ * are added as they are persisted, users inserted on other instances are added every
+ * {@code user.existence-filter.sync-interval}, and the filters are rebuilt every
+ * {@code user.existence-filter.rebuild-interval} to drop deleted users. The sync resumes from the
+ * highest id it has read, never from a local insert that may not be committed yet, and re-reads the
+ * last {@code user.existence-filter.sync-overlap} ids before it, so a user whose insert committed
+ * after a higher id was read is still picked up.
+ * <p>
+ * The database compares values case- and accent-insensitively, with expansions such as "ß" = "ss".
+ * Stored values are folded with NFKD, without combining marks and with the common expansions, and
+ * any looked up value that is not plain ASCII is answered as a possible match rather than folded,
+ * since no fold reproduces the collation exactly.
+ */
+@Component
+@Slf4j
+public class UserExistenceFilter {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Map<String, String> EXPANSIONS = Map.of(
+            "ß", "ss", "æ", "ae", "œ", "oe", "ø", "o", "đ", "d", "ł", "l", "ı", "i", "þ", "th");
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final int syncOverlap;
+    private final int expectedUsers;
+    private final double falsePositiveRate;
+    private final Object buildLock = new Object();
+    private volatile Filters filters;
+    private List<Inserted> replay;
+
+    public UserExistenceFilter(UserRepository userRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${user.existence-filter.batch-size:1000}") int batchSize,
+                               @Value("${user.existence-filter.sync-overlap:1000}") int syncOverlap,
+                               @Value("${user.existence-filter.expected-users:100000}") int expectedUsers,
+                               @Value("${user.existence-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.syncOverlap = syncOverlap;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters current = filters;
+        return current == null || username == null || !isAscii(username)
+                || current.usernames.mightContain(fold(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || email == null || !isAscii(email)
+                || current.emails.mightContain(fold(email));
+    }
+
+    /**
+     * Adds a user as soon as it is inserted; a rollback only leaves a false positive behind. The
+     * insert may not be committed yet, so it does not move the sync cursor.
+     */
+    public synchronized void userInserted(String username, String email) {
+        if (filters != null) {
+            filters.add(username, email);
+        }
+        if (replay != null) {
+            replay.add(new Inserted(username, email));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        try {
+            rebuild();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("User existence filter not built, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.existence-filter.sync-interval:PT2S}")
+    public void sync() {
+        Filters current = filters;
+        if (current == null) {
+            return;
+        }
+        try {
+            long from = Math.max(0, current.syncedId - syncOverlap);
+            int read = readOnlyTransaction.execute(status -> load(current, from));
+            log.trace("Synced {} users into the user existence filter", read);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("User existence filter not synced, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.existence-filter.rebuild-interval:PT1H}",
+            initialDelayString = "${user.existence-filter.rebuild-interval:PT1H}")
+    public void refresh() {
+        if (filters == null) {
+            build();
+            return;
+        }
+        try {
+            rebuild();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("User existence filter not rebuilt, database unavailable: {}", e.getMessage());
+        }
+    }
+
+    void rebuild() {
+        synchronized (buildLock) {
+            Filters previous = filters;
+            long known = previous == null ? 0 : previous.usernames.size();
+            Filters rebuilt = new Filters(Math.clamp(known * 2, expectedUsers, Integer.MAX_VALUE), falsePositiveRate);
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            int users;
+            try {
+                users = readOnlyTransaction.execute(status -> load(rebuilt, 0));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    replay = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                replay.forEach(row -> rebuilt.add(row.username(), row.email()));
+                replay = null;
+                filters = rebuilt;
+            }
+            log.info("User existence filter built for {} users", users);
+        }
+    }
+
+    private int load(Filters target, long afterId) {
+        int users = 0;
+        List<UserSearchRow> page;
+        do {
+            page = userRepository.findSearchRows(afterId, PageRequest.ofSize(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (UserSearchRow row : page) {
+                target.add(row.username(), row.email());
+            }
+            users += page.size();
+            afterId = page.get(page.size() - 1).id();
+            target.syncedId = Math.max(target.syncedId, afterId);
+        } while (page.size() == batchSize);
+        return users;
+    }
+
+    static String fold(String value) {
+        String folded = value.strip().toLowerCase(Locale.ROOT);
+        if (isAscii(folded)) {
+            return folded;
+        }
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFKD)).replaceAll("");
+        for (Map.Entry<String, String> expansion : EXPANSIONS.entrySet()) {
+            folded = folded.replace(expansion.getKey(), expansion.getValue());
+        }
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String value) {
+        return value.chars().allMatch(c -> c < 0x80);
+    }
+
+    private record Inserted(String username, String email) {
+    }
+
+    private static final class Filters {
+        private final ScalableBloomFilter usernames;
+        private final ScalableBloomFilter emails;
+        // the highest id read from the database, never one only inserted locally
+        private volatile long syncedId;
+
+        Filters(int capacity, double falsePositiveRate) {
+            this.usernames = new ScalableBloomFilter(capacity, falsePositiveRate);
+            this.emails = new ScalableBloomFilter(capacity, falsePositiveRate);
+        }
+
+        /**
+         * Skips values already present, so re-reading the sync overlap does not grow the filters.
+         */
+        synchronized void add(String username, String email) {
+            if (username != null) {
+                put(usernames, fold(username));
+            }
+            if (email != null) {
+                put(emails, fold(email));
+            }
+        }
+
+        private static void put(ScalableBloomFilter filter, String value) {
+            if (!filter.mightContain(value)) {
+                filter.put(value);
+            }
+        }
+    }
+}
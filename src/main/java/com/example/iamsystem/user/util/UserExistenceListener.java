@@ -0,0 +1,24 @@
+package com.example.iamsystem.user.util;
+
+import com.example.iamsystem.user.model.entity.User;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Adds every user persisted through JPA to the {@link UserExistenceFilter}, whatever code path
+ * saved it. The filter is looked up on first use, since Hibernate creates its entity listeners
+ * before the repositories the filter depends on exist.
+ */
+public class UserExistenceListener {
+
+    private final ObjectProvider<UserExistenceFilter> userExistenceFilter;
+
+    public UserExistenceListener(ObjectProvider<UserExistenceFilter> userExistenceFilter) {
+        this.userExistenceFilter = userExistenceFilter;
+    }
+
+    @PostPersist
+    public void userPersisted(User user) {
+        userExistenceFilter.ifAvailable(filter -> filter.userInserted(user.getUsername(), user.getEmail()));
+    }
+}
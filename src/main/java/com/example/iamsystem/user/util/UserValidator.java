@@ -10,13 +10,16 @@ import org.springframework.stereotype.Component;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.example.iamsystem.constant.ErrorMessage.EMAIL_NOT_AVAILABLE;
 import static com.example.iamsystem.constant.ErrorMessage.PASSWORD_POLICY_VIOLATION;
+import static com.example.iamsystem.constant.ErrorMessage.USERNAME_NOT_AVAILABLE;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserValidator {
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
 
     private static final String PASSWORD_PATTERN = "^(?=.*\\d)(?=.*[a-z])(?=.*[A-Z])(?=.*[@#!$%^&-+=()])(?=\\S+$).{8,}$";
     private static final Pattern pattern = Pattern.compile(PASSWORD_PATTERN);
@@ -24,14 +27,14 @@ public class UserValidator {
     public void validateEmailAvailable(String email) {
         if(emailExists(email)) {
             log.error("Email already exists: {}", email);
-            throw new UserAlreadyExistsException("Email not available");
+            throw new UserAlreadyExistsException(EMAIL_NOT_AVAILABLE);
         }
     }
 
     public void validateUsernameAvailable(String username) {
         if(userExists(username)){
             log.error("Username already exists: {}", username);
-            throw new UserAlreadyExistsException("Username not available");
+            throw new UserAlreadyExistsException(USERNAME_NOT_AVAILABLE);
         }
     }
 
@@ -45,10 +48,10 @@ public class UserValidator {
     }
 
     private boolean userExists(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        return userExistenceFilter.mightContainUsername(username) && userRepository.existsByUsername(username);
     }
 
     private boolean emailExists(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return userExistenceFilter.mightContainEmail(email) && userRepository.existsByEmail(email);
     }
 }
@@ -0,0 +1,62 @@
+package com.example.iamsystem.util.filter;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe Bloom filter over strings that grows with the number of values added. Values go into
+ * the newest {@link BloomFilter}; once it holds its capacity a new one twice as large, with half
+ * the false positive rate, is added. The first filter gets half the configured rate, so the
+ * overall false positive rate stays below it however many values are added. A negative answer is
+ * exact.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private volatile BloomFilter[] layers;
+    private long capacity;
+    private double falsePositiveRate;
+    private long size;
+    private long layerSize;
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        this.capacity = Math.max(initialCapacity, 1);
+        this.falsePositiveRate = falsePositiveRate * (1 - TIGHTENING);
+        this.layers = new BloomFilter[]{BloomFilter.create((int) capacity, this.falsePositiveRate)};
+    }
+
+    public synchronized void put(String value) {
+        if (layerSize >= capacity) {
+            capacity = Math.min(capacity * GROWTH, Integer.MAX_VALUE);
+            falsePositiveRate *= TIGHTENING;
+            BloomFilter[] grown = Arrays.copyOf(layers, layers.length + 1);
+            grown[layers.length] = BloomFilter.create((int) capacity, falsePositiveRate);
+            layers = grown;
+            layerSize = 0;
+        }
+        layers[layers.length - 1].put(value);
+        layerSize++;
+        size++;
+    }
+
+    public boolean mightContain(String value) {
+        for (BloomFilter layer : layers) {
+            if (layer.mightContain(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The number of values added, duplicates included.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public int layerCount() {
+        return layers.length;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.iamsystem.util.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RateLimits.class)
+public @interface RateLimit {
+    String policy(); // Name of a policy under rate-limit.policies
+    String key() default ""; // SpEL expression for the limited key, with #clientIp available; the client IP when empty
+}
@@ -0,0 +1,183 @@
+package com.example.iamsystem.util.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: scheduling and cancelling are O(1), and advancing the clock only
+ * touches the slots it passes. Level {@code n} has slots one {@code wheelSize^n} ticks wide. A
+ * timeout sits in the lowest level whose slot block it shares with the current time, and moves
+ * down a level each time the clock enters its slot, until it fires from level 0. Levels are added
+ * on demand, so there is no horizon. Deadlines are rounded up to the next tick, so a timeout never
+ * fires early and at most one tick late.
+ * <p>
+ * Not thread-safe; callers synchronize access.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Slot<T>[]> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least two slots");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        addLevel();
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(this, item, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis} and hands every timeout that is due to {@code onExpire}.
+     * Returns the number of expired timeouts.
+     */
+    public int advanceTo(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        int expired = 0;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            Slot<T> slot = levels.get(0)[(int) Math.floorMod(currentTick, (long) wheelSize)];
+            for (Timeout<T> timeout = slot.detach(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                size--;
+                expired++;
+                onExpire.accept(timeout.item);
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade() {
+        int top = 0;
+        long span = 1;
+        while (top + 1 < levels.size() && currentTick % (span * wheelSize) == 0) {
+            span *= wheelSize;
+            top++;
+        }
+        for (int level = top; level >= 1; level--, span /= wheelSize) {
+            Slot<T> slot = levels.get(level)[(int) Math.floorMod(currentTick / span, (long) wheelSize)];
+            for (Timeout<T> timeout = slot.detach(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deadline = Math.max(timeout.deadlineTick, currentTick);
+        int level = 0;
+        long span = 1;
+        while (deadline / (span * wheelSize) != currentTick / (span * wheelSize)) {
+            span *= wheelSize;
+            level++;
+            if (level == levels.size()) {
+                addLevel();
+            }
+        }
+        levels.get(level)[(int) Math.floorMod(deadline / span, (long) wheelSize)].add(timeout);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        Slot<T>[] slots = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new Slot<>();
+        }
+        levels.add(slots);
+    }
+
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private Timeout<T> detach() {
+            Timeout<T> detached = head;
+            head = null;
+            for (Timeout<T> timeout = detached; timeout != null; timeout = timeout.next) {
+                timeout.slot = null;
+                timeout.prev = null;
+            }
+            return detached;
+        }
+    }
+
+    public static final class Timeout<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineTick;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T item, long deadlineTick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        /**
+         * Removes the timeout from the wheel. Returns {@code false} if it already fired or was cancelled.
+         */
+        public boolean cancel() {
+            if (slot == null) {
+                return false;
+            }
+            slot.remove(this);
+            wheel.size--;
+            return true;
+        }
+    }
+}
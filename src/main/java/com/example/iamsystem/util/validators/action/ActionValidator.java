@@ -5,14 +5,20 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 public class ActionValidator implements ConstraintValidator<ValidAction, String> {
+    private boolean wildcard;
+
+    @Override
+    public void initialize(ValidAction constraintAnnotation) {
+        wildcard = constraintAnnotation.wildcard();
+    }
+
     @Override
     public boolean isValid(String value, ConstraintValidatorContext constraintValidatorContext) {
         if (value == null) {
             return true;
         }
         try {
-            PermissionAction.valueOf(value);
-            return true;
+            return PermissionAction.of(value) != PermissionAction.ANY || wildcard;
         } catch (IllegalArgumentException e) {
             return false;
         }
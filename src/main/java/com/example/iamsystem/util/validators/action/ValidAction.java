@@ -14,6 +14,11 @@ import java.lang.annotation.Target;
 public @interface ValidAction {
     String message() default "Invalid action";
 
+    /**
+     * Whether {@code *}, matching every action, is accepted.
+     */
+    boolean wildcard() default false;
+
     Class<?>[] groups() default {};
 
     Class<? extends Payload>[] payload() default {};
@@ -0,0 +1,62 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.enums.AclPrincipalType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AclTableTest {
+
+    private AclTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new AclTable();
+        table.put(AclPrincipalType.USER, 1L, 1, RoaringBitmap.bitmapOf(1, 2, 3));
+        table.put(AclPrincipalType.GROUP, 10L, 1, RoaringBitmap.bitmapOf(3, 4, -1));
+        table.put(AclPrincipalType.GROUP, 11L, 1, RoaringBitmap.bitmapOf(5));
+    }
+
+    @Test
+    void isGranted_shouldCheckUserAndGroupBitmaps() {
+        assertTrue(table.isGranted(1L, List.of(), 2));
+        assertTrue(table.isGranted(2L, List.of(10L), 4));
+        assertTrue(table.isGranted(2L, List.of(10L), -1));
+        assertFalse(table.isGranted(2L, List.of(10L), 5));
+        assertFalse(table.isGranted(3L, List.of(), 1));
+    }
+
+    @Test
+    void resources_shouldUniteUserAndGroupBitmaps() {
+        RoaringBitmap resources = table.resources(1L, List.of(10L, 11L));
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, -1}, resources.toArray());
+        resources.add(100);
+        assertFalse(table.isGranted(1L, List.of(), 100));
+    }
+
+    @Test
+    void principals_shouldListUsersAndGroupsGrantedAResource() {
+        table.put(AclPrincipalType.USER, 2L, 1, RoaringBitmap.bitmapOf(3));
+
+        assertEquals(List.of(1L, 2L), table.principals(AclPrincipalType.USER, 3));
+        assertEquals(List.of(10L), table.principals(AclPrincipalType.GROUP, 3));
+        assertEquals(List.of(), table.principals(AclPrincipalType.USER, 4));
+    }
+
+    @Test
+    void put_shouldIgnoreOlderRevisions() {
+        table.put(AclPrincipalType.USER, 1L, 3, RoaringBitmap.bitmapOf(7));
+        table.put(AclPrincipalType.USER, 1L, 2, RoaringBitmap.bitmapOf(8));
+
+        assertTrue(table.isGranted(1L, List.of(), 7));
+        assertFalse(table.isGranted(1L, List.of(), 8));
+    }
+}
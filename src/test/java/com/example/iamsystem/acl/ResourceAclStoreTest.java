@@ -0,0 +1,122 @@
+package com.example.iamsystem.acl;
+
+import com.example.iamsystem.acl.model.ResourceAcl;
+import com.example.iamsystem.enums.AclPrincipalType;
+import com.example.iamsystem.permission.model.PermissionAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceAclStoreTest {
+
+    private static final AclKey DOCUMENTS = new AclKey(1L, "document", PermissionAction.UPDATE);
+
+    @Mock
+    private ResourceAclRepository aclRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ResourceAclStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResourceAclStore(aclRepository, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void grant_shouldPersistCompressedBitmapAndUpdateLoadedTable() {
+        when(aclRepository.findAllByApplicationIdAndResourceTypeAndAction(1L, "document", PermissionAction.UPDATE)).thenReturn(List.of());
+        when(aclRepository.findForUpdate(1L, "document", PermissionAction.UPDATE, AclPrincipalType.USER, 7L)).thenReturn(Optional.empty());
+        when(aclRepository.save(any(ResourceAcl.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertFalse(store.isGranted(DOCUMENTS, 7L, List.of(), 123));
+        when(aclRepository.incrementAclRevision(1L)).thenReturn(1);
+        when(aclRepository.findAclRevision(1L)).thenReturn(Optional.of(1L));
+
+        long granted = store.grant(DOCUMENTS, AclPrincipalType.USER, 7L, new int[]{123, 124, 125});
+
+        ArgumentCaptor<ResourceAcl> saved = ArgumentCaptor.forClass(ResourceAcl.class);
+        verify(aclRepository).save(saved.capture());
+        assertEquals(3, granted);
+        assertEquals(1, saved.getValue().getRevision());
+        assertArrayEquals(new int[]{123, 124, 125}, ResourceAclStore.read(saved.getValue().getResources()).toArray());
+        assertTrue(store.isGranted(DOCUMENTS, 7L, List.of(), 123));
+    }
+
+    @Test
+    void revoke_shouldRemoveFromStoredBitmap() {
+        ResourceAcl acl = acl(7L, 4, RoaringBitmap.bitmapOf(1, 2, 3));
+        when(aclRepository.findForUpdate(1L, "document", PermissionAction.UPDATE, AclPrincipalType.USER, 7L)).thenReturn(Optional.of(acl));
+        when(aclRepository.save(acl)).thenReturn(acl);
+        when(aclRepository.incrementAclRevision(1L)).thenReturn(1);
+        when(aclRepository.findAclRevision(1L)).thenReturn(Optional.of(5L));
+
+        long granted = store.revoke(DOCUMENTS, AclPrincipalType.USER, 7L, new int[]{2, 9});
+
+        assertEquals(2, granted);
+        assertEquals(5, acl.getRevision());
+        assertArrayEquals(new int[]{1, 3}, ResourceAclStore.read(acl.getResources()).toArray());
+    }
+
+    @Test
+    void refresh_shouldApplyRowsAboveLoadedRevision() {
+        when(aclRepository.findAclRevision(1L)).thenReturn(Optional.of(1L));
+        when(aclRepository.findAllByApplicationIdAndResourceTypeAndAction(1L, "document", PermissionAction.UPDATE))
+                .thenReturn(List.of(acl(7L, 1, RoaringBitmap.bitmapOf(1))));
+        assertTrue(store.isGranted(DOCUMENTS, 7L, List.of(), 1));
+        when(aclRepository.findAclRevision(1L)).thenReturn(Optional.of(3L));
+        when(aclRepository.findAllByApplicationIdAndRevisionGreaterThan(1L, 1L))
+                .thenReturn(List.of(acl(7L, 3, RoaringBitmap.bitmapOf(2))));
+
+        store.refresh();
+        store.refresh();
+
+        assertFalse(store.isGranted(DOCUMENTS, 7L, List.of(), 1));
+        assertTrue(store.isGranted(DOCUMENTS, 7L, List.of(), 2));
+        verify(aclRepository, times(1)).findAllByApplicationIdAndRevisionGreaterThan(1L, 1L);
+        verify(aclRepository, times(1)).findAllByApplicationIdAndResourceTypeAndAction(1L, "document", PermissionAction.UPDATE);
+    }
+
+    @Test
+    void refresh_shouldDropTablesOfDeletedApplication() {
+        when(aclRepository.findAclRevision(1L)).thenReturn(Optional.of(1L));
+        when(aclRepository.findAllByApplicationIdAndResourceTypeAndAction(1L, "document", PermissionAction.UPDATE))
+                .thenReturn(List.of(acl(7L, 1, RoaringBitmap.bitmapOf(1))), List.of());
+        assertTrue(store.isGranted(DOCUMENTS, 7L, List.of(), 1));
+        when(aclRepository.findAclRevision(1L)).thenReturn(Optional.empty());
+
+        store.refresh();
+
+        assertFalse(store.isGranted(DOCUMENTS, 7L, List.of(), 1));
+        verify(aclRepository, times(2)).findAllByApplicationIdAndResourceTypeAndAction(1L, "document", PermissionAction.UPDATE);
+    }
+
+    private static ResourceAcl acl(Long userId, long revision, RoaringBitmap resources) {
+        ResourceAcl acl = new ResourceAcl(1L, "document", PermissionAction.UPDATE, AclPrincipalType.USER, userId);
+        acl.setResources(ResourceAclStore.write(resources));
+        acl.setResourceCount(resources.getLongCardinality());
+        acl.setRevision(revision);
+        acl.setUpdatedAt(Instant.now());
+        return acl;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.iamsystem.catalog;
+
+import com.example.iamsystem.permission.model.PermissionDto;
+import com.example.iamsystem.role.model.RoleDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new CatalogSnapshot(1, 42, List.of(
+                new RoleDto(2L, "EDITOR", null, Set.of(11L, 10L)),
+                new RoleDto(1L, "ADMIN", null, Set.of(10L))), List.of(
+                new PermissionDto(10L, "IAM", "READ", null),
+                new PermissionDto(11L, "IAM", "WRITE", null),
+                new PermissionDto(12L, "billing", "READ", null)), objectMapper);
+    }
+
+    @Test
+    void roles_shouldSerializeInIdOrderWithAStableETag() throws Exception {
+        CatalogSnapshot same = new CatalogSnapshot(2, 42, List.of(
+                new RoleDto(1L, "ADMIN", null, Set.of(10L)),
+                new RoleDto(2L, "EDITOR", null, Set.of(10L, 11L))), List.of(), objectMapper);
+
+        JsonNode roles = objectMapper.readTree(snapshot.roles().body());
+
+        assertEquals("ADMIN", roles.get(0).get("name").asText());
+        assertEquals("[10,11]", roles.get(1).get("permissionIds").toString());
+        assertEquals(snapshot.roles().etag(), same.roles().etag());
+        assertArrayEquals(snapshot.roles().body(), same.roles().body());
+        assertNotEquals(snapshot.roles().etag(), snapshot.role(1L).orElseThrow().etag());
+    }
+
+    @Test
+    void lookups_shouldFindEntriesByIdNameAndService() throws Exception {
+        assertEquals("EDITOR", objectMapper.readTree(snapshot.role("EDITOR").orElseThrow().body()).get("name").asText());
+        assertTrue(snapshot.role(3L).isEmpty());
+        assertEquals(2, objectMapper.readTree(snapshot.servicePermissions("IAM").body()).size());
+        assertEquals("[]", new String(snapshot.servicePermissions("unknown").body()));
+    }
+
+    @Test
+    void roleChanges_shouldReportMissingRolesAsDeleted() throws Exception {
+        JsonNode delta = objectMapper.readTree(snapshot.roleChanges(List.of(3L, 2L, 2L)).body());
+
+        assertEquals(42, delta.get("version").asLong());
+        assertEquals(false, delta.get("reset").asBoolean());
+        assertEquals(1, delta.get("changed").size());
+        assertEquals("EDITOR", delta.get("changed").get(0).get("name").asText());
+        assertEquals("[3]", delta.get("deleted").toString());
+    }
+
+    @Test
+    void permissionChanges_shouldListEverythingOnReset() throws Exception {
+        JsonNode delta = objectMapper.readTree(snapshot.permissionChanges(null).body());
+
+        assertTrue(delta.get("reset").asBoolean());
+        assertEquals(3, delta.get("changed").size());
+        assertEquals(0, delta.get("deleted").size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.iamsystem.changes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WatermarkTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private Watermark watermark;
+
+    @BeforeEach
+    void setUp() {
+        watermark = new Watermark(10, Duration.ofSeconds(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void advance_shouldConfirmConsecutiveSequences() {
+        assertEquals(3, watermark.advance(List.of(11L, 12L, 13L), NOW));
+        assertEquals(13, watermark.confirmed());
+    }
+
+    @Test
+    void advance_shouldHoldBackSequencesAfterAGap() {
+        assertEquals(1, watermark.advance(List.of(11L, 13L, 14L), NOW));
+        assertEquals(11, watermark.confirmed());
+
+        assertEquals(0, watermark.advance(List.of(13L, 14L), NOW.plusSeconds(5)));
+        assertEquals(3, watermark.advance(List.of(12L, 13L, 14L), NOW.plusSeconds(6)));
+        assertEquals(14, watermark.confirmed());
+    }
+
+    @Test
+    void advance_shouldSkipAGapOnceItTimesOut() {
+        assertEquals(0, watermark.advance(List.of(12L), NOW));
+        assertEquals(0, watermark.advance(List.of(12L), NOW.plusSeconds(9)));
+
+        assertEquals(1, watermark.advance(List.of(12L), NOW.plusSeconds(10)));
+        assertEquals(12, watermark.confirmed());
+    }
+
+    @Test
+    void advance_shouldTimeEachGapFromWhenItWasFirstSeen() {
+        assertEquals(0, watermark.advance(List.of(12L), NOW));
+        assertEquals(2, watermark.advance(List.of(11L, 12L, 14L), NOW.plusSeconds(9)));
+
+        assertEquals(0, watermark.advance(List.of(14L), NOW.plusSeconds(11)));
+        assertEquals(1, watermark.advance(List.of(14L), NOW.plusSeconds(19)));
+    }
+
+    @Test
+    void skipped_shouldKeepSkippedGapsUntilLateCommitTimeout() {
+        assertEquals(0, watermark.advance(List.of(13L, 15L), NOW));
+        assertEquals(1, watermark.advance(List.of(13L, 15L), NOW.plusSeconds(10)));
+        assertEquals(1, watermark.advance(List.of(15L), NOW.plusSeconds(20)));
+
+        Watermark.Gap first = new Watermark.Gap(11, 12, NOW.plusSeconds(10));
+        Watermark.Gap second = new Watermark.Gap(14, 14, NOW.plusSeconds(20));
+        assertEquals(List.of(first, second), watermark.skipped(NOW.plusSeconds(69)));
+        assertEquals(List.of(second), watermark.skipped(NOW.plusSeconds(70)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.iamsystem.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDatasetGeneratorTest {
+
+    @Test
+    void buildDelegationTree_shouldReachRequestedDepthWithoutExceedingIt() {
+        int[] parents = SyntheticDatasetGenerator.buildDelegationTree(new SplittableRandom(1), 5_000, 6);
+
+        int maxLevel = 0;
+        for (int i = 0; i < parents.length; i++) {
+            maxLevel = Math.max(maxLevel, levelOf(parents, i));
+        }
+        assertEquals(5, maxLevel);
+    }
+
+    @Test
+    void buildDelegationTree_shouldOnlyReferenceEarlierUsers() {
+        int[] parents = SyntheticDatasetGenerator.buildDelegationTree(new SplittableRandom(1), 1_000, 4);
+
+        assertEquals(-1, parents[0]);
+        for (int i = 1; i < parents.length; i++) {
+            assertTrue(parents[i] >= 0 && parents[i] < i);
+        }
+    }
+
+    @Test
+    void buildDelegationTree_shouldBeReproducibleForSameSeed() {
+        int[] first = SyntheticDatasetGenerator.buildDelegationTree(new SplittableRandom(42), 1_000, 8);
+        int[] second = SyntheticDatasetGenerator.buildDelegationTree(new SplittableRandom(42), 1_000, 8);
+
+        assertArrayEquals(first, second);
+    }
+
+    private static int levelOf(int[] parents, int index) {
+        int level = 0;
+        while (parents[index] >= 0) {
+            index = parents[index];
+            level++;
+        }
+        return level;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.iamsystem.group;
+
+import com.example.iamsystem.group.model.GroupDto;
+import com.example.iamsystem.group.model.GroupMemberDto;
+import com.example.iamsystem.group.model.GroupRoleDto;
+import com.example.iamsystem.group.model.UserGroup;
+import com.example.iamsystem.permission.PermissionRepository;
+import com.example.iamsystem.permission.PermissionService;
+import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.example.iamsystem.constant.PermissionConstants.IAM_SERVICE_NAME;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class GroupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User admin;
+    private User member;
+    private Role auditorRole;
+    private UserGroup auditors;
+    private UserGroup reviewers;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+
+        Role adminRole = new Role();
+        adminRole.setName("ADMIN");
+        for (PermissionAction action : PermissionAction.values()) {
+            Permission permission = new Permission();
+            permission.setServiceName(IAM_SERVICE_NAME);
+            permission.setAction(action);
+            adminRole.getPermissions().add(permissionRepository.save(permission));
+        }
+        adminRole = roleRepository.save(adminRole);
+
+        Permission auditRead = new Permission();
+        auditRead.setServiceName("AUDIT");
+        auditRead.setAction(PermissionAction.READ);
+        auditorRole = new Role();
+        auditorRole.setName("AUDITOR");
+        auditorRole.getPermissions().add(permissionRepository.save(auditRead));
+        auditorRole = roleRepository.save(auditorRole);
+
+        admin = user("groupadmin");
+        admin.getRoles().add(adminRole);
+        admin = userRepository.save(admin);
+        member = userRepository.save(user("groupmember"));
+
+        auditors = new UserGroup();
+        auditors.setName("auditors");
+        auditors = groupRepository.save(auditors);
+        reviewers = new UserGroup();
+        reviewers.setName("reviewers");
+        reviewers = groupRepository.save(reviewers);
+
+        DefaultUserDetails userDetails = new DefaultUserDetails(admin);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @Test
+    void createGroup_successful() throws Exception {
+        mockMvc.perform(post("/api/groups")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupDto(null, "operators", "On-call operators", Set.of()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("operators")));
+    }
+
+    @Test
+    void membership_shouldMaterializeGroupRolesForMembers() throws Exception {
+        grantRole(auditors);
+        int version = reload(member).getVersion();
+
+        mockMvc.perform(put("/api/groups/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupMemberDto(auditors.getId(), Set.of(member.getId())))))
+                .andExpect(status().isNoContent());
+
+        User reloaded = reload(member);
+        assertEquals(Set.of(auditorRole), reloaded.getGroupRoles());
+        assertTrue(permissionService.hasPermission(reloaded, "AUDIT:READ"));
+        assertTrue(reloaded.getVersion() > version);
+
+        mockMvc.perform(delete("/api/groups/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupMemberDto(auditors.getId(), Set.of(member.getId())))))
+                .andExpect(status().isNoContent());
+
+        assertFalse(permissionService.hasPermission(reload(member), "AUDIT:READ"));
+    }
+
+    @Test
+    void roleRevocation_shouldKeepRolesGrantedByAnotherGroup() throws Exception {
+        mockMvc.perform(put("/api/groups/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupMemberDto(auditors.getId(), Set.of(member.getId())))))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/groups/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupMemberDto(reviewers.getId(), Set.of(member.getId())))))
+                .andExpect(status().isNoContent());
+        grantRole(auditors);
+        grantRole(reviewers);
+        assertEquals(Set.of(auditorRole), reload(member).getGroupRoles());
+
+        mockMvc.perform(delete("/api/groups/roles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupRoleDto(auditors.getId(), Set.of(auditorRole.getId())))))
+                .andExpect(status().isNoContent());
+        assertEquals(Set.of(auditorRole), reload(member).getGroupRoles());
+
+        mockMvc.perform(delete("/api/groups/" + reviewers.getId()))
+                .andExpect(status().isNoContent());
+        assertTrue(reload(member).getGroupRoles().isEmpty());
+    }
+
+    @Test
+    void addMembers_unknownUser() throws Exception {
+        mockMvc.perform(put("/api/groups/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupMemberDto(auditors.getId(), Set.of(member.getId(), -1L)))))
+                .andExpect(status().isNotFound());
+    }
+
+    private void grantRole(UserGroup group) throws Exception {
+        mockMvc.perform(put("/api/groups/roles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GroupRoleDto(group.getId(), Set.of(auditorRole.getId())))))
+                .andExpect(status().isNoContent());
+    }
+
+    private User reload(User user) {
+        entityManager.flush();
+        entityManager.clear();
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setActive(true);
+        user.setRoles(new HashSet<>());
+        return user;
+    }
+}
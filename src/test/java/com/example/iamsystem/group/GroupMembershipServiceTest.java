@@ -0,0 +1,99 @@
+package com.example.iamsystem.group;
+
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.review.AccessIndex;
+import com.example.iamsystem.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupMembershipServiceTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccessIndex accessIndex;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    private GroupMembershipService groupMembershipService;
+
+    @BeforeEach
+    void setUp() {
+        groupMembershipService = new GroupMembershipService(groupRepository, userRepository, accessIndex, changeLog, 2);
+    }
+
+    @Test
+    void addMembers_shouldApplyBatchesAndInvalidateOnlyChangedUsers() {
+        when(groupRepository.insertMembers(eq(1L), anyList())).thenReturn(2, 1);
+        when(groupRepository.materializeForMembers(eq(1L), anyList())).thenReturn(2, 0);
+
+        int added = groupMembershipService.addMembers(1L, List.of(10L, 11L, 12L));
+
+        assertEquals(3, added);
+        verify(groupRepository).insertMembers(1L, List.of(10L, 11L));
+        verify(groupRepository).insertMembers(1L, List.of(12L));
+        verify(userRepository).incrementVersions(List.of(10L, 11L));
+        verify(userRepository, never()).incrementVersions(List.of(12L));
+    }
+
+    @Test
+    void removeMembers_shouldSkipPruningWhenGroupGrantsNoRoles() {
+        when(groupRepository.findRoleIds(1L)).thenReturn(List.of());
+        when(groupRepository.deleteMembers(eq(1L), anyList())).thenReturn(1);
+
+        groupMembershipService.removeMembers(1L, Set.of(10L));
+
+        verify(groupRepository, never()).pruneForMembers(any(), any());
+        verify(userRepository, never()).incrementVersions(any());
+    }
+
+    @Test
+    void grantRoles_shouldInvalidateMembersPageByPage() {
+        when(groupRepository.insertRoles(1L, Set.of(5L))).thenReturn(1);
+        when(groupRepository.materializeForRoles(1L, Set.of(5L))).thenReturn(3);
+        when(groupRepository.findMemberIds(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of(10L, 11L));
+        when(groupRepository.findMemberIds(eq(1L), eq(11L), any(Pageable.class))).thenReturn(List.of(12L));
+
+        groupMembershipService.grantRoles(1L, Set.of(5L));
+
+        verify(userRepository).incrementVersions(List.of(10L, 11L));
+        verify(userRepository).incrementVersions(List.of(12L));
+        verify(changeLog).usersChanged(List.of(10L, 11L));
+        verify(changeLog).usersChanged(List.of(12L));
+        verify(groupRepository, times(2)).findMemberIds(eq(1L), anyLong(), any(Pageable.class));
+        verify(accessIndex).groupRolesChanged(Set.of(5L));
+    }
+
+    @Test
+    void revokeRoles_shouldNotInvalidateWhenNothingWasPruned() {
+        when(groupRepository.deleteRoles(1L, Set.of(5L))).thenReturn(1);
+        when(groupRepository.pruneForGroup(1L, Set.of(5L))).thenReturn(0);
+
+        groupMembershipService.revokeRoles(1L, Set.of(5L));
+
+        verify(userRepository, never()).incrementVersions(any());
+    }
+}
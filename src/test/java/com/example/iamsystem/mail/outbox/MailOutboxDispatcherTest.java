@@ -0,0 +1,120 @@
+package com.example.iamsystem.mail.outbox;
+
+import com.example.iamsystem.enums.MailOutboxStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private MailOutboxRepository outboxRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new MailOutboxDispatcher(outboxRepository, mailSender,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+                50, 3, Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofDays(7));
+    }
+
+    @Test
+    void dispatchBatch_shouldSendWholeBatchInOneCallAndClearBodies() {
+        MailOutboxMessage first = message(1L, "first@example.com");
+        MailOutboxMessage second = message(2L, "second@example.com");
+        when(outboxRepository.findDue(eq(MailOutboxStatus.PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+
+        assertEquals(2, dispatcher.dispatchBatch(NOW));
+
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+        for (MailOutboxMessage message : List.of(first, second)) {
+            assertEquals(MailOutboxStatus.SENT, message.getStatus());
+            assertEquals(NOW, message.getSentAt());
+            assertNull(message.getBody());
+        }
+    }
+
+    @Test
+    void dispatchBatch_shouldRetryOnlyRejectedMessages() {
+        MailOutboxMessage accepted = message(1L, "accepted@example.com");
+        MailOutboxMessage rejected = message(2L, "rejected@example.com");
+        when(outboxRepository.findDue(eq(MailOutboxStatus.PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(accepted, rejected));
+        doAnswer(invocation -> {
+            SimpleMailMessage rejectedMail = invocation.getArgument(1);
+            throw new MailSendException(Map.of(rejectedMail, new Exception("550 Mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        dispatcher.dispatchBatch(NOW);
+
+        assertEquals(MailOutboxStatus.SENT, accepted.getStatus());
+        assertEquals(MailOutboxStatus.PENDING, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertEquals(NOW.plusSeconds(30), rejected.getNextAttemptAt());
+        assertEquals("550 Mailbox unavailable", rejected.getLastError());
+        assertNotNull(rejected.getBody());
+    }
+
+    @Test
+    void dispatchBatch_shouldGiveUpAfterMaxAttempts() {
+        MailOutboxMessage message = message(1L, "user@example.com");
+        message.setAttempts(2);
+        when(outboxRepository.findDue(eq(MailOutboxStatus.PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        dispatcher.dispatchBatch(NOW);
+
+        assertEquals(MailOutboxStatus.FAILED, message.getStatus());
+        assertEquals(3, message.getAttempts());
+        assertNull(message.getBody());
+    }
+
+    @Test
+    void backoff_shouldDoublePerAttemptUpToMaximum() {
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoff(40));
+    }
+
+    private static MailOutboxMessage message(Long id, String recipient) {
+        MailOutboxMessage message = new MailOutboxMessage(recipient, "Subject", "Your OTP is: 123456", NOW);
+        message.setId(id);
+        return message;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.iamsystem.mail.outbox;
+
+import com.example.iamsystem.enums.MailOutboxStatus;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=127.0.0.1",
+        "spring.mail.port=3025",
+        "mail.smtp.starttls=false",
+        "mail.outbox.poll-interval=PT1H",
+        "mail.outbox.batch-size=2"
+})
+class MailOutboxIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test@example.com", "testpassword"));
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private MailOutboxRepository outboxRepository;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void dispatch_shouldDeliverQueuedMessagesInBatches() throws Exception {
+        mailOutboxService.enqueue("alice@example.com", "Password Reset Request", "Your OTP is: 111111");
+        mailOutboxService.enqueue("bob@example.com", "Password Reset Request", "Your OTP is: 222222");
+        mailOutboxService.enqueue("carol@example.com", "Password Reset Request", "Your OTP is: 333333");
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        Set<String> recipients = new HashSet<>();
+        for (MimeMessage message : received) {
+            recipients.add(message.getAllRecipients()[0].toString());
+        }
+        assertEquals(Set.of("alice@example.com", "bob@example.com", "carol@example.com"), recipients);
+
+        for (MailOutboxMessage message : outboxRepository.findAll()) {
+            assertEquals(MailOutboxStatus.SENT, message.getStatus());
+            assertNull(message.getBody());
+        }
+    }
+}
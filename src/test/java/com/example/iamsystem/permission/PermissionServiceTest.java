@@ -1,9 +1,11 @@
 package com.example.iamsystem.permission;
 
+import com.example.iamsystem.changes.ChangeLog;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.permission.model.Permission;
 import com.example.iamsystem.permission.model.PermissionAction;
 import com.example.iamsystem.permission.model.PermissionDto;
+import com.example.iamsystem.review.AccessIndex;
 import com.example.iamsystem.role.model.Role;
 import com.example.iamsystem.security.user.DefaultUserDetails;
 import com.example.iamsystem.user.model.entity.User;
@@ -18,8 +20,6 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.Instant;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -41,6 +41,15 @@ class PermissionServiceTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private PermissionCatalog permissionCatalog;
+
+    @Mock
+    private AccessIndex accessIndex;
+
+    @Mock
+    private ChangeLog changeLog;
+
     @InjectMocks
     private PermissionService permissionService;
 
@@ -113,24 +122,6 @@ class PermissionServiceTest {
         assertThrows(com.example.iamsystem.exception.PermissionAlreadyExistsException.class, () -> permissionService.savePermission(permissionDto));
     }
 
-    @Test
-    void getPermissionById_returnsPermission() {
-        when(permissionRepository.findById(1L)).thenReturn(Optional.of(permission));
-
-        PermissionDto result = permissionService.getPermissionById(1L);
-
-        assertNotNull(result);
-        assertEquals(permissionDto.getServiceName(), result.getServiceName());
-        assertEquals(permissionDto.getAction(), result.getAction());
-    }
-
-    @Test
-    void getPermissionById_throwsExceptionWhenNotFound() {
-        when(permissionRepository.findById(1L)).thenReturn(Optional.empty());
-
-        assertThrows(DataNotFoundException.class, () -> permissionService.getPermissionById(1L));
-    }
-
     @Test
     void updatePermission_updatesAndReturnsPermission() {
         when(permissionRepository.findById(1L)).thenReturn(Optional.of(permission));
@@ -167,27 +158,6 @@ class PermissionServiceTest {
         assertThrows(DataNotFoundException.class, () -> permissionService.deletePermissionById(1L));
     }
 
-    @Test
-    void getPermissionByName_returnsPermissionService() {
-        when(permissionRepository.findAllByServiceName("TEST_SERVICE")).thenReturn(List.of(permission));
-
-        List<PermissionDto> result = permissionService.getPermissionByServiceName("TEST_SERVICE");
-
-        assertNotNull(result);
-        assertEquals(permissionDto.getServiceName(), result.getFirst().getServiceName());
-        assertEquals(permissionDto.getAction(), result.getFirst().getAction());
-    }
-
-    @Test
-    void getAllPermissions_returnsListOfPermissions() {
-        when(permissionRepository.findAll()).thenReturn(Collections.singletonList(permission));
-
-        List<PermissionDto> result = permissionService.getAllPermissions();
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-    }
-
     @Test
     void testHasPermission_whenUserHasProvidedPermission_thenReturnTrue() {
         setupSecurityContext();
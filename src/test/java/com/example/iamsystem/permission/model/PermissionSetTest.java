@@ -0,0 +1,74 @@
+package com.example.iamsystem.permission.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionSetTest {
+
+    @Test
+    void grants_shouldMatchConcretePermissions() {
+        PermissionSet set = set(permission("billing", PermissionAction.READ));
+
+        assertTrue(set.grants("billing:READ"));
+        assertFalse(set.grants("billing:WRITE"));
+        assertFalse(set.grants("billing.invoices:READ"));
+    }
+
+    @Test
+    void grants_shouldExpandServiceWildcardToEveryAction() {
+        PermissionSet set = set(permission("billing", PermissionAction.ANY));
+
+        assertTrue(set.grants("billing:READ"));
+        assertTrue(set.grants("billing:DELETE"));
+        assertFalse(set.grants("billing:ANY"));
+        assertFalse(set.grants("billing:PURGE"));
+        assertFalse(set.grants("payments:READ"));
+    }
+
+    @Test
+    void grants_shouldMatchActionAcrossAllServices() {
+        PermissionSet set = set(permission("*", PermissionAction.READ));
+
+        assertTrue(set.grants("billing:READ"));
+        assertTrue(set.grants("billing.invoices:READ"));
+        assertFalse(set.grants("billing:WRITE"));
+        assertTrue(set(permission("*", PermissionAction.ANY)).grants("audit:DELETE"));
+    }
+
+    @Test
+    void grants_shouldMatchServicesBelowPrefixOnly() {
+        PermissionSet set = set(permission("billing.*", PermissionAction.READ),
+                permission("reports.*", PermissionAction.ANY));
+
+        assertTrue(set.grants("billing.invoices:READ"));
+        assertTrue(set.grants("billing.invoices.lines:READ"));
+        assertFalse(set.grants("billing:READ"));
+        assertFalse(set.grants("billing.invoices:WRITE"));
+        assertFalse(set.grants("billingx.invoices:READ"));
+        assertTrue(set.grants("reports.monthly:DELETE"));
+    }
+
+    @Test
+    void grants_shouldRejectMalformedPermissions() {
+        PermissionSet set = set(permission("*", PermissionAction.ANY));
+
+        assertFalse(set.grants("billing"));
+        assertFalse(set.grants("billing:"));
+        assertFalse(PermissionSet.EMPTY.grants("billing:READ"));
+    }
+
+    private static PermissionSet set(Permission... permissions) {
+        return PermissionSet.of(Stream.of(permissions));
+    }
+
+    private static Permission permission(String serviceName, PermissionAction action) {
+        Permission permission = new Permission();
+        permission.setServiceName(serviceName);
+        permission.setAction(action);
+        return permission;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.iamsystem.policy.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-05T10:00:00Z");
+
+    @Test
+    void evaluate_shouldLetDenyOverridePermit() {
+        PolicyIndex index = PolicyIndex.build(PolicyParser.parse(1L, "docs", """
+                permit DOCS:READ when resource.owner == user.username
+                deny DOCS:* when resource.classified
+                """));
+
+        PolicyDecision permitted = index.evaluate(request("DOCS:READ", 1L, Map.of("owner", "alice")));
+        PolicyDecision denied = index.evaluate(request("DOCS:READ", 1L, Map.of("owner", "alice", "classified", "true")));
+
+        assertEquals(PolicyEffect.PERMIT, permitted.effect());
+        assertEquals(1, permitted.rule().line());
+        assertEquals(PolicyEffect.DENY, denied.effect());
+        assertEquals(2, denied.rule().line());
+        assertFalse(denied.authorized(true));
+    }
+
+    @Test
+    void evaluate_shouldFallBackToRolesWhenNoRuleApplies() {
+        PolicyIndex index = PolicyIndex.build(PolicyParser.parse(1L, "docs", "permit DOCS:READ when user.organization == 42"));
+
+        PolicyDecision decision = index.evaluate(request("DOCS:WRITE", 42L, Map.of()));
+
+        assertEquals(PolicyEffect.NOT_APPLICABLE, decision.effect());
+        assertNull(decision.rule());
+        assertTrue(decision.authorized(true));
+        assertFalse(decision.authorized(false));
+        assertEquals(PolicyEffect.NOT_APPLICABLE, PolicyIndex.EMPTY.evaluate(request("DOCS:READ", 42L, Map.of())).effect());
+    }
+
+    @Test
+    void evaluate_shouldOnlyTestRulesOfTheMatchingBranch() {
+        List<PolicyRule> rules = new ArrayList<>();
+        for (int organization = 0; organization < 100; organization++) {
+            rules.addAll(PolicyParser.parse((long) organization, "org" + organization,
+                    "permit DOCS:READ when user.organization == " + organization + " and resource.level <= 3"));
+        }
+        rules.addAll(PolicyParser.parse(100L, "global", "deny * when not user.active"));
+        PolicyIndex index = PolicyIndex.build(rules);
+
+        PolicyDecision decision = index.evaluate(request("DOCS:READ", 42L, Map.of("level", "1")));
+
+        assertEquals(PolicyEffect.PERMIT, decision.effect());
+        assertEquals(42L, decision.rule().policyId());
+        assertTrue(decision.evaluatedRules() <= 2);
+        assertEquals(101, index.size());
+    }
+
+    private static AccessRequest request(String permission, Long organizationId, Map<String, String> resource) {
+        return AccessRequest.of(1L, "alice", organizationId, false, false, true, permission, resource, null,
+                NOW, ZoneOffset.UTC);
+    }
+}
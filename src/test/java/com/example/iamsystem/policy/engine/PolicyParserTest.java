@@ -0,0 +1,81 @@
+package com.example.iamsystem.policy.engine;
+
+import com.example.iamsystem.exception.UserInputNotValidException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyParserTest {
+
+    private static final Instant MONDAY_TEN_AM = Instant.parse("2026-01-05T10:00:00Z");
+
+    @Test
+    void parse_shouldCompileOneRulePerLineSkippingComments() {
+        List<PolicyRule> rules = PolicyParser.parse(1L, "docs", """
+                # documents
+                permit DOCS:READ when resource.owner == user.username
+
+                deny DOCS:* when env.ip not within "10.0.0.0/8"
+                """);
+
+        assertEquals(2, rules.size());
+        assertEquals(PolicyEffect.PERMIT, rules.get(0).effect());
+        assertEquals("DOCS:READ", rules.get(0).target());
+        assertEquals(2, rules.get(0).line());
+        assertEquals(PolicyEffect.DENY, rules.get(1).effect());
+        assertEquals("DOCS:*", rules.get(1).target());
+        assertEquals(4, rules.get(1).line());
+    }
+
+    @Test
+    void conditions_shouldCompareUserResourceAndEnvironmentAttributes() {
+        PolicyRule rule = single("permit REPORTS:READ when user.organization == 42 and resource.level <= 3 "
+                + "and resource.kind in [\"a\", \"b\"] and env.hour in 9..17 and env.dayOfWeek < 6");
+
+        assertTrue(rule.matches(request("REPORTS:READ", 42L, Map.of("level", "2", "kind", "b"), null)));
+        assertFalse(rule.matches(request("REPORTS:READ", 7L, Map.of("level", "2", "kind", "b"), null)));
+        assertFalse(rule.matches(request("REPORTS:READ", 42L, Map.of("level", "5", "kind", "b"), null)));
+        assertFalse(rule.matches(request("REPORTS:READ", 42L, Map.of("level", "2", "kind", "c"), null)));
+        assertFalse(rule.matches(request("REPORTS:READ", 42L, Map.of("kind", "b"), null)));
+    }
+
+    @Test
+    void conditions_shouldSupportBooleanOperatorsAndNetworks() {
+        PolicyRule rule = single("deny * when not user.active or (env.ip not within \"10.0.0.0/8\" and not user.superUser)");
+
+        assertFalse(rule.matches(request("DOCS:READ", 1L, Map.of(), "10.1.2.3")));
+        assertTrue(rule.matches(request("DOCS:READ", 1L, Map.of(), "192.168.1.1")));
+        assertTrue(rule.matches(request("DOCS:READ", 1L, Map.of(), null)));
+    }
+
+    @Test
+    void parse_shouldReportLineAndColumnOfErrors() {
+        UserInputNotValidException unknownAction = assertThrows(UserInputNotValidException.class,
+                () -> PolicyParser.parse(1L, "bad", "# header\npermit DOCS:FLY"));
+        assertTrue(unknownAction.getMessage().startsWith("Policy 'bad' line 2"));
+
+        assertThrows(UserInputNotValidException.class, () -> PolicyParser.parse(1L, "bad", "allow *"));
+        assertThrows(UserInputNotValidException.class, () -> PolicyParser.parse(1L, "bad", "permit * when user.nope == 1"));
+        assertThrows(UserInputNotValidException.class, () -> PolicyParser.parse(1L, "bad", "permit * when env.hour <"));
+        assertThrows(UserInputNotValidException.class, () -> PolicyParser.parse(1L, "bad", "permit * when env.ip within \"300.1.1.1/8\""));
+    }
+
+    private static PolicyRule single(String source) {
+        List<PolicyRule> rules = PolicyParser.parse(1L, "test", source);
+        assertEquals(1, rules.size());
+        return rules.get(0);
+    }
+
+    private static AccessRequest request(String permission, Long organizationId, Map<String, String> resource, String ip) {
+        return AccessRequest.of(1L, "alice", organizationId, false, false, true, permission, resource, ip,
+                MONDAY_TEN_AM, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.iamsystem.review;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HolderIndexTest {
+
+    private HolderIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HolderIndex();
+        index.setPermissions(1L, Set.of("IAM:DELETE"));
+        index.setPermissions(2L, Set.of("IAM:*"));
+        index.setPermissions(3L, Set.of("billing.*:READ"));
+        index.setPermissions(4L, Set.of("*:*"));
+        index.grant(1L, 10);
+        index.grant(2L, 11);
+        index.grant(3L, 12);
+        index.setGroupHolders(1L, RoaringBitmap.bitmapOf(13, 10));
+        index.setRoot(1, true);
+    }
+
+    @Test
+    void roles_shouldIncludeRolesGrantingMatchingWildcards() {
+        assertEquals(List.of(1L, 2L, 4L), index.roles("IAM:DELETE"));
+        assertEquals(List.of(3L, 4L), index.roles("billing.invoices:READ"));
+        assertEquals(List.of(4L), index.roles("billing:READ"));
+    }
+
+    @Test
+    void holders_shouldCombineDirectGroupAndRootHolders() {
+        RoaringBitmap holders = index.holders(index.roles("IAM:DELETE"), true);
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 10, 11, 13), holders);
+        assertEquals(RoaringBitmap.bitmapOf(10, 13), index.holders(List.of(1L), false));
+    }
+
+    @Test
+    void holders_shouldReturnCopyThatIsNotAffectedByLaterChanges() {
+        RoaringBitmap holders = index.holders(List.of(2L), false);
+
+        index.grant(2L, 14);
+
+        assertEquals(RoaringBitmap.bitmapOf(11), holders);
+        assertEquals(RoaringBitmap.bitmapOf(11, 14), index.holders(List.of(2L), false));
+    }
+
+    @Test
+    void setPermissions_shouldReplacePreviousPermissions() {
+        index.setPermissions(2L, Set.of("IAM:READ"));
+
+        assertEquals(List.of(1L, 4L), index.roles("IAM:DELETE"));
+        assertEquals(List.of(2L, 4L), index.roles("IAM:READ"));
+    }
+
+    @Test
+    void replacePermissions_shouldDropRolesMissingFromTheNewMapping() {
+        index.replacePermissions(Map.of(1L, Set.of("IAM:DELETE")));
+
+        assertEquals(List.of(1L), index.roles("IAM:DELETE"));
+        assertTrue(index.roles("billing.invoices:READ").isEmpty());
+    }
+
+    @Test
+    void removeUserAndRole_shouldDropThemFromHolders() {
+        index.revoke(1L, 10);
+        assertEquals(RoaringBitmap.bitmapOf(10, 13), index.holders(List.of(1L), false));
+
+        index.removeUser(10);
+        index.removeRole(2L);
+
+        assertEquals(List.of(1L, 4L), index.roles("IAM:DELETE"));
+        assertEquals(RoaringBitmap.bitmapOf(1, 13), index.holders(index.roles("IAM:DELETE"), true));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.iamsystem.review.matrix;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessMatrixFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ranges_shouldCollapseConsecutiveColumns() {
+        assertEquals("", AccessMatrixFile.ranges(new RoaringBitmap()));
+        assertEquals("0-2,5,7-8", AccessMatrixFile.ranges(RoaringBitmap.bitmapOf(0, 1, 2, 5, 7, 8)));
+    }
+
+    @Test
+    void readRoles_shouldReturnRolesWrittenToMatrix() throws IOException {
+        Path path = directory.resolve("matrix.tsv.gz");
+        try (AccessMatrixFile file = AccessMatrixFile.create(path)) {
+            file.header(1L, Instant.EPOCH, 1, 2);
+            file.column(0, "IAM:READ");
+            file.column(1, "IAM:WRITE");
+            file.role(7L, "Editor", List.of("IAM:READ", "IAM:WRITE"));
+            file.role(8L, "Empty", List.of());
+            file.user(3L, "alice", List.of(7L), RoaringBitmap.bitmapOf(0, 1));
+        }
+
+        assertEquals(Map.of(7L, Set.of("IAM:READ", "IAM:WRITE"), 8L, Set.of()), AccessMatrixFile.readRoles(path));
+        assertEquals("U\t3\talice\t7\t0-1", lines(path).get(5));
+    }
+
+    @Test
+    void diff_shouldWriteOnlyChangedRoles() throws IOException {
+        Path path = directory.resolve("diff.tsv.gz");
+        try (AccessMatrixFile file = AccessMatrixFile.create(path)) {
+            assertFalse(file.diff(7L, Set.of("IAM:READ"), List.of("IAM:READ")));
+            assertTrue(file.diff(8L, Set.of("IAM:READ"), List.of("IAM:WRITE")));
+        }
+
+        assertEquals(List.of("D\t8\t+IAM:WRITE,-IAM:READ"), lines(path));
+    }
+
+    private static List<String> lines(Path path) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
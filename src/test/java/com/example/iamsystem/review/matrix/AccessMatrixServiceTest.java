@@ -0,0 +1,128 @@
+package com.example.iamsystem.review.matrix;
+
+import com.example.iamsystem.exception.NoAccessException;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.organization.model.Organization;
+import com.example.iamsystem.organization.model.OrganizationRepository;
+import com.example.iamsystem.permission.PermissionCatalog;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AccessMatrixServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OrganizationRepository organizationRepository;
+    private AccessMatrixService accessMatrixService;
+
+    @BeforeEach
+    void setUp() {
+        organizationRepository = mock(OrganizationRepository.class);
+        // holds every export at the start of its transaction until the test ends
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            release.await();
+            throw new IllegalStateException("released");
+        });
+        accessMatrixService = new AccessMatrixService(mock(PermissionCatalog.class), mock(UserRepository.class),
+                mock(RoleRepository.class), organizationRepository, new TransactionTemplate(transactionManager),
+                directory, 1000, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        accessMatrixService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void start_shouldRejectUserOfAnotherOrganization() {
+        authenticate(user(2L, false));
+
+        assertThrows(NoAccessException.class, () -> accessMatrixService.start(1L));
+        verifyNoInteractions(organizationRepository);
+    }
+
+    @Test
+    void status_shouldRejectJobOfAnotherOrganization() {
+        authenticate(user(null, true));
+        when(organizationRepository.existsById(1L)).thenReturn(true);
+        String jobId = accessMatrixService.start(1L).id();
+
+        authenticate(user(2L, false));
+
+        assertThrows(NoAccessException.class, () -> accessMatrixService.status(jobId));
+        assertThrows(NoAccessException.class, () -> accessMatrixService.file(jobId));
+    }
+
+    @Test
+    void start_shouldRejectSecondExportOfOrganization() {
+        authenticate(user(null, true));
+        when(organizationRepository.existsById(1L)).thenReturn(true);
+        when(organizationRepository.existsById(2L)).thenReturn(true);
+        accessMatrixService.start(1L);
+
+        assertThrows(UserInputNotValidException.class, () -> accessMatrixService.start(1L));
+        accessMatrixService.start(2L);
+    }
+
+    @Test
+    void prune_shouldKeepLatestMatricesOfOrganization() throws IOException {
+        for (String name : List.of("access-matrix-1-100.tsv.gz", "access-matrix-1-300.tsv.gz",
+                "access-matrix-1-200.tsv.gz", "access-matrix-2-50.tsv.gz")) {
+            Files.createFile(directory.resolve(name));
+        }
+
+        accessMatrixService.prune(1L);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("access-matrix-1-200.tsv.gz", "access-matrix-1-300.tsv.gz", "access-matrix-2-50.tsv.gz"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    private static User user(Long organizationId, boolean superUser) {
+        User user = new User();
+        user.setUsername("auditor");
+        user.setSuperUser(superUser);
+        if (organizationId != null) {
+            Organization organization = new Organization();
+            organization.setId(organizationId);
+            user.setOrganization(organization);
+        }
+        return user;
+    }
+
+    private static void authenticate(User user) {
+        DefaultUserDetails userDetails = new DefaultUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, List.of()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.iamsystem.review.matrix;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PermissionColumnsTest {
+
+    private final PermissionColumns columns = new PermissionColumns(
+            List.of("IAM:WRITE", "IAM:READ", "billing.invoices:READ", "billing:READ", "IAM:*"),
+            Map.of(1L, Set.of("IAM:READ"),
+                    2L, Set.of("IAM:*"),
+                    3L, Set.of("billing.*:READ"),
+                    4L, Set.of("*:READ")));
+
+    @Test
+    void columns_shouldListConcretePermissionsInNameOrder() {
+        assertEquals(List.of("IAM:READ", "IAM:WRITE", "billing.invoices:READ", "billing:READ"), columns.names());
+    }
+
+    @Test
+    void role_shouldExpandWildcardGrants() {
+        assertEquals(List.of("IAM:READ"), columns.roleNames(1L));
+        assertEquals(List.of("IAM:READ", "IAM:WRITE"), columns.roleNames(2L));
+        assertEquals(List.of("billing.invoices:READ"), columns.roleNames(3L));
+        assertEquals(List.of("IAM:READ", "billing.invoices:READ", "billing:READ"), columns.roleNames(4L));
+        assertEquals(List.of(), columns.roleNames(5L));
+    }
+
+    @Test
+    void user_shouldUniteRoleColumns() {
+        assertEquals(RoaringBitmap.bitmapOf(0, 1, 2), columns.user(List.of(2L, 3L), false));
+        assertEquals(RoaringBitmap.bitmapOf(), columns.user(List.of(5L), false));
+    }
+
+    @Test
+    void user_shouldGrantRootUsersEveryColumn() {
+        assertEquals(RoaringBitmap.bitmapOf(0, 1, 2, 3), columns.user(List.of(), true));
+    }
+}
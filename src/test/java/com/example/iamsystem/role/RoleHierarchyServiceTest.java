@@ -0,0 +1,153 @@
+package com.example.iamsystem.role;
+
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.permission.model.Permission;
+import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.review.AccessIndex;
+import com.example.iamsystem.role.model.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleHierarchyServiceTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private AccessIndex accessIndex;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @InjectMocks
+    private RoleHierarchyService roleHierarchyService;
+
+    private Role admin;
+    private Role editor;
+    private Role viewer;
+    private Permission read;
+    private Permission write;
+
+    @BeforeEach
+    void setUp() {
+        read = permission(1L, PermissionAction.READ);
+        write = permission(2L, PermissionAction.WRITE);
+        admin = role(1L, write);
+        editor = role(2L);
+        viewer = role(3L, read);
+    }
+
+    @Test
+    void addParents_shouldPropagateAncestorsAndPermissionsToDescendants() {
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of());
+        roleHierarchyService.addParents(editor, List.of(viewer));
+
+        when(roleRepository.findDescendants(1L)).thenReturn(List.of());
+        roleHierarchyService.addParents(admin, List.of(editor));
+
+        assertEquals(Set.of(2L, 3L), admin.getAncestorRoleIds());
+        assertTrue(admin.grants("TEST:READ"));
+        assertTrue(admin.grants("TEST:WRITE"));
+        assertFalse(editor.grants("TEST:WRITE"));
+    }
+
+    @Test
+    void addParents_shouldUpdateExistingDescendants() {
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of());
+        roleHierarchyService.addParents(admin, List.of(editor));
+
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of(admin));
+        roleHierarchyService.addParents(editor, List.of(viewer));
+
+        assertEquals(Set.of(2L, 3L), admin.getAncestorRoleIds());
+        assertEquals(Set.of(read), admin.getInheritedPermissions());
+    }
+
+    @Test
+    void addParents_shouldRejectCycles() {
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of());
+        roleHierarchyService.addParents(admin, List.of(editor));
+
+        assertThrows(UserInputNotValidException.class, () -> roleHierarchyService.addParents(editor, List.of(admin)));
+        assertThrows(UserInputNotValidException.class, () -> roleHierarchyService.addParents(editor, List.of(editor)));
+        assertTrue(editor.getParentRoles().isEmpty());
+    }
+
+    @Test
+    void removeParents_shouldRecomputeDescendants() {
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of());
+        roleHierarchyService.addParents(editor, List.of(viewer));
+        when(roleRepository.findDescendants(1L)).thenReturn(List.of());
+        roleHierarchyService.addParents(admin, List.of(editor));
+
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of(admin));
+        roleHierarchyService.removeParents(editor, List.of(viewer));
+
+        assertTrue(editor.getAncestorRoleIds().isEmpty());
+        assertEquals(Set.of(2L), admin.getAncestorRoleIds());
+        assertTrue(admin.getInheritedPermissions().isEmpty());
+    }
+
+    @Test
+    void permissionChanges_shouldReachDescendants() {
+        when(roleRepository.findDescendants(1L)).thenReturn(List.of());
+        roleHierarchyService.addParents(admin, List.of(viewer));
+        when(roleRepository.findDescendants(3L)).thenReturn(List.of(admin));
+
+        viewer.getPermissions().add(write);
+        roleHierarchyService.permissionsAdded(viewer, List.of(write));
+        assertEquals(Set.of(read, write), admin.getInheritedPermissions());
+
+        viewer.getPermissions().remove(read);
+        roleHierarchyService.permissionsRemoved(viewer);
+        assertEquals(Set.of(write), admin.getInheritedPermissions());
+    }
+
+    @Test
+    void roleDeleted_shouldRemoveInheritedPermissionsFromDescendants() {
+        when(roleRepository.findDescendants(2L)).thenReturn(List.of());
+        roleHierarchyService.addParents(editor, List.of(viewer));
+        when(roleRepository.findDescendants(1L)).thenReturn(List.of());
+        roleHierarchyService.addParents(admin, List.of(editor));
+
+        when(roleRepository.findDescendants(3L)).thenReturn(List.of(editor, admin));
+        roleHierarchyService.roleDeleted(viewer);
+
+        assertTrue(editor.getParentRoles().isEmpty());
+        assertTrue(editor.getAncestorRoleIds().isEmpty());
+        assertTrue(editor.getInheritedPermissions().isEmpty());
+        assertEquals(Set.of(2L), admin.getAncestorRoleIds());
+        assertTrue(admin.getInheritedPermissions().isEmpty());
+        assertFalse(admin.grants("TEST:READ"));
+    }
+
+    private static Role role(Long id, Permission... permissions) {
+        Role role = new Role();
+        role.setId(id);
+        role.getPermissions().addAll(List.of(permissions));
+        return role;
+    }
+
+    private static Permission permission(Long id, PermissionAction action) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setServiceName("TEST");
+        permission.setAction(action);
+        return permission;
+    }
+}
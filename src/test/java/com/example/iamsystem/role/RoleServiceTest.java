@@ -1,19 +1,24 @@
 package com.example.iamsystem.role;
 
+import com.example.iamsystem.changes.ChangeLog;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.permission.PermissionRepository;
 import com.example.iamsystem.permission.model.Permission;
 import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.review.AccessIndex;
 import com.example.iamsystem.role.model.Role;
 import com.example.iamsystem.role.model.RoleDto;
+import com.example.iamsystem.role.model.RoleParentDto;
 import com.example.iamsystem.role.model.RolePermissionDto;
 import com.example.iamsystem.user.model.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,7 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,7 +46,18 @@ class RoleServiceTest {
     @Mock
     private PermissionRepository permissionRepository;
 
-    @InjectMocks
+    @Mock
+    private RoleHierarchyService roleHierarchyService;
+
+    @Mock
+    private AccessIndex accessIndex;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private RoleService roleService;
 
     private Role role;
@@ -54,6 +70,8 @@ class RoleServiceTest {
 
     @BeforeEach
     void setUp() {
+        roleService = new RoleService(roleRepository, permissionRepository, roleHierarchyService, accessIndex, changeLog,
+                new TransactionTemplate(transactionManager));
         roleDto = new RoleDto();
         roleDto.setId(1L);
         roleDto.setName("ROLE_USER");
@@ -103,42 +121,23 @@ class RoleServiceTest {
     }
 
     @Test
-    void deleteRole_deletesRole() {
-        doNothing().when(roleRepository).deleteById(1L);
-
-        roleService.deleteRole(1L);
-
-        verify(roleRepository, times(1)).deleteById(1L);
-    }
-
-    @Test
-    void getRole_returnsRole() {
+    void deleteRole_unlinksHierarchyAndDeletesRole() {
         when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
 
-        RoleDto result = roleService.getRole(1L);
+        roleService.deleteRole(1L);
 
-        assertNotNull(result);
-        assertEquals(roleDto.getName(), result.getName());
+        verify(roleHierarchyService).roleDeleted(role);
+        verify(roleRepository, times(1)).delete(role);
+        verify(accessIndex).roleDeleted(1L);
+        verify(changeLog).roleDeleted(1L);
     }
 
     @Test
-    void getRoleByName_returnsRole() {
-        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
+    void deleteRole_throwsExceptionWhenRoleNotFound() {
+        when(roleRepository.findById(1L)).thenReturn(Optional.empty());
 
-        RoleDto result = roleService.getRoleByName("ROLE_USER");
-
-        assertNotNull(result);
-        assertEquals(roleDto.getName(), result.getName());
-    }
-
-    @Test
-    void getRoles_returnsListOfRoles() {
-        when(roleRepository.findAll()).thenReturn(Collections.singletonList(role));
-
-        List<RoleDto> result = roleService.getRoles();
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertThrows(DataNotFoundException.class, () -> roleService.deleteRole(1L));
+        verify(roleRepository, times(0)).delete(any(Role.class));
     }
 
     @Test
@@ -186,4 +185,41 @@ class RoleServiceTest {
 
         assertThrows(DataNotFoundException.class, () -> roleService.removePermissions(rolePermissionDto));
     }
-}
\ No newline at end of file
+
+    @Test
+    void assignParents_delegatesToHierarchy() {
+        Role parent = new Role();
+        parent.setId(2L);
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(roleRepository.findAllById(Set.of(2L))).thenReturn(List.of(parent));
+
+        roleService.assignParents(new RoleParentDto(1L, Set.of(2L)));
+
+        verify(roleHierarchyService).addParents(role, List.of(parent));
+        verify(roleRepository).save(role);
+    }
+
+    @Test
+    void assignParents_retriesAfterConcurrentHierarchyChange() {
+        Role parent = new Role();
+        parent.setId(2L);
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(roleRepository.findAllById(Set.of(2L))).thenReturn(List.of(parent));
+        doThrow(new ObjectOptimisticLockingFailureException(Role.class, 2L))
+                .doNothing()
+                .when(roleHierarchyService).addParents(role, List.of(parent));
+
+        roleService.assignParents(new RoleParentDto(1L, Set.of(2L)));
+
+        verify(roleHierarchyService, times(2)).addParents(role, List.of(parent));
+        verify(roleRepository).save(role);
+    }
+
+    @Test
+    void assignParents_throwsExceptionWhenParentNotFound() {
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(roleRepository.findAllById(Set.of(2L))).thenReturn(List.of());
+
+        assertThrows(DataNotFoundException.class, () -> roleService.assignParents(new RoleParentDto(1L, Set.of(2L))));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.iamsystem.security.decision;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DecisionCodecTest {
+
+    @Test
+    void parsePermission_shouldAcceptServiceAndKnownAction() {
+        assertEquals("IAM:READ", DecisionCodec.parsePermission(bytes(" IAM:READ\n")));
+    }
+
+    @Test
+    void parsePermission_shouldRejectMalformedInput() {
+        assertNull(DecisionCodec.parsePermission(bytes("IAM")));
+        assertNull(DecisionCodec.parsePermission(bytes(":READ")));
+        assertNull(DecisionCodec.parsePermission(bytes("IAM:")));
+        assertNull(DecisionCodec.parsePermission(bytes("IAM:READ:WRITE")));
+        assertNull(DecisionCodec.parsePermission(bytes("IAM:EXECUTE")));
+    }
+
+    @Test
+    void parseResource_shouldReadAttributeLinesAfterPermission() {
+        byte[] body = bytes("IAM:READ\nowner = alice\ndepartment=finance\n");
+
+        assertEquals("IAM:READ", DecisionCodec.parsePermission(body));
+        assertEquals(Map.of("owner", "alice", "department", "finance"), DecisionCodec.parseResource(body));
+        assertNull(DecisionCodec.parseResource(bytes("IAM:READ\n")));
+        assertThrows(IllegalArgumentException.class, () -> DecisionCodec.parseResource(bytes("IAM:READ\nowner")));
+    }
+
+    @Test
+    void extractBearerToken_shouldStripPrefix() {
+        assertEquals("abc.def.ghi", DecisionCodec.extractBearerToken("Bearer abc.def.ghi"));
+        assertNull(DecisionCodec.extractBearerToken("Basic abc"));
+        assertNull(DecisionCodec.extractBearerToken("Bearer "));
+        assertNull(DecisionCodec.extractBearerToken(null));
+    }
+
+    @Test
+    void readBody_shouldRejectOversizedBodies() {
+        byte[] oversized = new byte[DecisionCodec.MAX_BODY_BYTES + 1];
+
+        assertThrows(IllegalArgumentException.class, () -> DecisionCodec.readBody(new ByteArrayInputStream(oversized)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
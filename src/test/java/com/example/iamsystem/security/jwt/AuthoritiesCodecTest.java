@@ -0,0 +1,73 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.AuthoritiesEncoding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthoritiesCodecTest {
+
+    @ParameterizedTest
+    @EnumSource(value = AuthoritiesEncoding.class, names = {"BITMAP", "DELTA", "COMPACT"})
+    void decode_shouldReturnSortedDistinctIds(AuthoritiesEncoding encoding) {
+        long[] decoded = AuthoritiesCodec.decode(AuthoritiesCodec.encode(List.of(42L, 7L, 1_000_000L, 7L, 8L), encoding));
+
+        assertArrayEquals(new long[]{7, 8, 42, 1_000_000}, decoded);
+    }
+
+    @Test
+    void decode_shouldHandleNoPermissions() {
+        assertEquals(0, AuthoritiesCodec.decode(AuthoritiesCodec.encode(List.of(), AuthoritiesEncoding.COMPACT)).length);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void encode_shouldBeSmallerThanListedAuthorities(int permissionCount) {
+        TreeSet<Long> ids = randomIds(permissionCount, 5_000);
+        String listed = ids.stream()
+                .map(id -> "{\"authority\":\"service-" + id + ":READ\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        String compact = AuthoritiesCodec.encode(ids, AuthoritiesEncoding.COMPACT);
+
+        assertArrayEquals(ids.stream().mapToLong(Long::longValue).toArray(), AuthoritiesCodec.decode(compact));
+        assertTrue(compact.length() * 5 < listed.length(),
+                "compact " + compact.length() + " bytes vs listed " + listed.length() + " bytes");
+    }
+
+    @Test
+    void encode_compactShouldPickTheSmallerFormat() {
+        TreeSet<Long> dense = randomIds(1_000, 2_000);
+        TreeSet<Long> sparse = randomIds(10, 100_000);
+
+        assertEquals(AuthoritiesCodec.encode(dense, AuthoritiesEncoding.BITMAP), AuthoritiesCodec.encode(dense, AuthoritiesEncoding.COMPACT));
+        assertEquals(AuthoritiesCodec.encode(sparse, AuthoritiesEncoding.DELTA), AuthoritiesCodec.encode(sparse, AuthoritiesEncoding.COMPACT));
+    }
+
+    @Test
+    void decode_shouldRejectMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> AuthoritiesCodec.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> AuthoritiesCodec.decode("CQ"));
+        assertThrows(IllegalArgumentException.class, () -> AuthoritiesCodec.decode("AoA"));
+    }
+
+    private static TreeSet<Long> randomIds(int count, int maxId) {
+        SplittableRandom random = new SplittableRandom(count);
+        TreeSet<Long> ids = new TreeSet<>();
+        while (ids.size() < count) {
+            ids.add(1L + random.nextInt(maxId));
+        }
+        return ids;
+    }
+}
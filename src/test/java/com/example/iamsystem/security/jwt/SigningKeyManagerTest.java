@@ -0,0 +1,96 @@
+package com.example.iamsystem.security.jwt;
+
+import com.example.iamsystem.enums.SigningAlgorithm;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.PublicJwk;
+import org.junit.jupiter.api.Test;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SigningKeyManagerTest {
+
+    @Test
+    void rotate_shouldPromotePublishedKeyAndKeepPreviousKeyDuringOverlap() {
+        SigningKeyManager manager = manager(SigningAlgorithm.ED25519, Duration.ofMinutes(10), new InMemorySigningKeyStore());
+        String previous = manager.currentKey().id();
+        List<String> publishedBeforeRotation = publishedKeyIds(manager);
+
+        manager.rotate();
+
+        String current = manager.currentKey().id();
+        assertNotEquals(previous, current);
+        assertTrue(publishedBeforeRotation.contains(current));
+        assertNotNull(manager.verificationKey(previous));
+        assertTrue(publishedKeyIds(manager).contains(previous));
+    }
+
+    @Test
+    void rotate_shouldDropRetiredKeysAfterOverlap() {
+        SigningKeyManager manager = manager(SigningAlgorithm.ES256, Duration.ZERO, new InMemorySigningKeyStore());
+        String previous = manager.currentKey().id();
+
+        manager.rotate();
+
+        assertNull(manager.verificationKey(previous));
+        assertEquals(2, publishedKeyIds(manager).size());
+    }
+
+    @Test
+    void currentKey_shouldSignTokensVerifiableWithPublishedKey() {
+        SigningKeyManager manager = manager(SigningAlgorithm.ES256, Duration.ofMinutes(10), new InMemorySigningKeyStore());
+        SigningKeyManager.SigningKey key = manager.currentKey();
+
+        String token = Jwts.builder().subject("alice").header().keyId(key.id()).and().signWith(key.signingKey()).compact();
+
+        assertInstanceOf(PublicKey.class, manager.verificationKey(key.id()));
+        assertEquals("alice", Jwts.parser().verifyWith((PublicKey) manager.verificationKey(key.id())).build()
+                .parseSignedClaims(token).getPayload().getSubject());
+    }
+
+    @Test
+    void hmacMode_shouldPublishNoKeysAndIgnoreRotation() {
+        SigningKeyManager manager = manager(SigningAlgorithm.HS256, Duration.ofMinutes(10), new InMemorySigningKeyStore());
+        SigningKeyManager.SigningKey key = manager.currentKey();
+
+        manager.rotate();
+
+        assertSame(key, manager.currentKey());
+        assertTrue(publishedKeyIds(manager).isEmpty());
+    }
+
+    @Test
+    void instancesSharingStore_shouldSignWithAndPublishSameKeys() {
+        InMemorySigningKeyStore store = new InMemorySigningKeyStore();
+        SigningKeyManager first = manager(SigningAlgorithm.ED25519, Duration.ofMinutes(10), store);
+        SigningKeyManager second = manager(SigningAlgorithm.ED25519, Duration.ofMinutes(10), store);
+        assertEquals(first.currentKey().id(), second.currentKey().id());
+
+        first.rotate();
+        second.refresh();
+
+        assertEquals(first.currentKey().id(), second.currentKey().id());
+        assertEquals(publishedKeyIds(first), publishedKeyIds(second));
+        assertEquals(3, publishedKeyIds(second).size());
+    }
+
+    private static SigningKeyManager manager(SigningAlgorithm algorithm, Duration overlap, SigningKeyStore store) {
+        return new SigningKeyManager(algorithm, Duration.ofHours(24), overlap, store);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> publishedKeyIds(SigningKeyManager manager) {
+        Map<String, Object> keySet = manager.publicKeySet();
+        return ((List<PublicJwk<?>>) keySet.get("keys")).stream().map(PublicJwk::getId).toList();
+    }
+}
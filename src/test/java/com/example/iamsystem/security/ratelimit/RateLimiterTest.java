@@ -0,0 +1,84 @@
+package com.example.iamsystem.security.ratelimit;
+
+import com.example.iamsystem.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+    private RateLimitProperties.Policy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setMaxKeys(10);
+        policy = new RateLimitProperties.Policy(5, Duration.ofSeconds(5), 0);
+        properties.setPolicies(Map.of("test", policy));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenReportWaitUntilNextToken() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("key", policy, 0));
+        }
+
+        assertEquals(SECOND, rateLimiter.tryAcquire("key", policy, 0));
+        assertEquals(SECOND / 2, rateLimiter.tryAcquire("key", policy, SECOND / 2));
+        assertEquals(0, rateLimiter.tryAcquire("key", policy, SECOND));
+        assertTrue(rateLimiter.tryAcquire("key", policy, SECOND) > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldTrackKeysIndependently() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("first", policy, 0);
+        }
+
+        assertTrue(rateLimiter.tryAcquire("first", policy, 0) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("second", policy, 0));
+    }
+
+    @Test
+    void tryAcquire_shouldEvictRefilledBucketsWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("key-" + i, policy, 0);
+        }
+
+        rateLimiter.tryAcquire("late", policy, 10 * SECOND);
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void acquire_shouldThrowWithRetryAfterAndCountRejection() {
+        properties.setPolicies(Map.of("test", new RateLimitProperties.Policy(1, Duration.ofHours(1), 0)));
+        rateLimiter.acquire("test", "10.0.0.1");
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire("test", "10.0.0.1"));
+
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofMinutes(59)) > 0);
+        assertEquals(1.0, meterRegistry.get("iam.rate_limit.rejected").tag("policy", "test").counter().count());
+    }
+
+    @Test
+    void acquire_shouldRejectUnknownPolicy() {
+        assertThrows(IllegalStateException.class, () -> rateLimiter.acquire("unknown", "key"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.iamsystem.security.revocation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:30Z");
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(4, 0.01);
+    }
+
+    @Test
+    void isRevoked_shouldOnlyMatchRevokedTokenIds() {
+        Instant expiresAt = NOW.plus(Duration.ofMinutes(5));
+        store.revoke("token-1", expiresAt);
+
+        assertTrue(store.isRevoked("token-1", expiresAt));
+        assertFalse(store.isRevoked("token-2", expiresAt));
+        assertFalse(store.isRevoked(null, expiresAt));
+    }
+
+    @Test
+    void evictExpired_shouldDropOnlyBucketsWhoseTokensHaveAllExpired() {
+        Instant expiresSoon = NOW.plus(Duration.ofSeconds(10));
+        Instant expiresLater = NOW.plus(Duration.ofHours(24));
+        store.revoke("access", expiresSoon);
+        store.revoke("refresh", expiresLater);
+
+        assertEquals(0, store.evictExpired(NOW.plus(Duration.ofSeconds(20))));
+        assertEquals(1, store.evictExpired(NOW.plus(Duration.ofMinutes(1))));
+
+        assertFalse(store.isRevoked("access", expiresSoon));
+        assertTrue(store.isRevoked("refresh", expiresLater));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void revoke_shouldKeepAnsweringCorrectlyBeyondExpectedCapacity() {
+        Instant expiresAt = NOW.plus(Duration.ofMinutes(5));
+        for (int i = 0; i < 100; i++) {
+            store.revoke("token-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.isRevoked("token-" + i, expiresAt));
+        }
+        assertEquals(100, store.size());
+    }
+}
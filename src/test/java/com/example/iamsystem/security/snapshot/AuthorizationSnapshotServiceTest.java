@@ -0,0 +1,79 @@
+package com.example.iamsystem.security.snapshot;
+
+import com.example.iamsystem.permission.PermissionCatalog;
+import com.example.iamsystem.role.RoleRepository;
+import com.example.iamsystem.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationSnapshotServiceTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(15);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionCatalog permissionCatalog;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_shouldMapSnapshotAndWarmPermissionCatalog() throws IOException {
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Path path = directory.resolve("authorization.snapshot");
+        try (AuthorizationSnapshotWriter writer = AuthorizationSnapshotWriter.open(path, createdAt,
+                Map.of(1L, "IAM:READ"), Map.of())) {
+            writer.writeUser(new SnapshotUserRow(1L, "alice", 0, false, false, true, false), List.of());
+            writer.commit();
+        }
+        AuthorizationSnapshotService service = service(path);
+
+        service.load();
+
+        verify(permissionCatalog).warm(Map.of(1L, "IAM:READ"));
+        assertEquals(createdAt, service.current(createdAt.plus(MAX_STALENESS)).orElseThrow().createdAt());
+        assertTrue(service.current(createdAt.plus(MAX_STALENESS).plusSeconds(1)).isEmpty());
+    }
+
+    @Test
+    void load_shouldIgnoreCorruptedSnapshot() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        Files.writeString(path, "not a snapshot, but long enough to have a header");
+        AuthorizationSnapshotService service = service(path);
+
+        service.load();
+
+        assertTrue(service.current().isEmpty());
+        verifyNoInteractions(permissionCatalog);
+    }
+
+    private AuthorizationSnapshotService service(Path path) {
+        return new AuthorizationSnapshotService(userRepository, roleRepository, permissionCatalog,
+                new TransactionTemplate(), new SimpleMeterRegistry(), true, path, 100, MAX_STALENESS);
+    }
+}
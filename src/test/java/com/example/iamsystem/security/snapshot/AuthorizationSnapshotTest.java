@@ -0,0 +1,127 @@
+package com.example.iamsystem.security.snapshot;
+
+import com.example.iamsystem.role.model.Role;
+import com.example.iamsystem.user.model.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorizationSnapshotTest {
+
+    private static final Instant CREATED_AT = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldReturnWrittenUsersWithTheirPermissions() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        write(path, 1000);
+
+        AuthorizationSnapshot snapshot = AuthorizationSnapshot.read(path);
+
+        assertEquals(CREATED_AT, snapshot.createdAt());
+        assertEquals(1000, snapshot.userCount());
+        assertEquals(Map.of(1L, "IAM:READ", 2L, "IAM:WRITE"), snapshot.permissionNames());
+
+        User admin = snapshot.findUser("user-0").orElseThrow();
+        assertEquals(100L, admin.getId());
+        assertEquals(3, admin.getVersion());
+        assertTrue(admin.isActive());
+        assertFalse(admin.isUserLocked());
+        assertEquals(Set.of("IAM:READ", "IAM:WRITE"), permissionNames(admin));
+
+        User locked = snapshot.findUser("user-1").orElseThrow();
+        assertTrue(locked.isUserLocked());
+        assertTrue(locked.isPasswordExpired());
+        assertEquals(Set.of("IAM:READ"), permissionNames(locked));
+
+        assertTrue(snapshot.findUser("user-999").isPresent());
+        assertTrue(snapshot.findUser("missing").isEmpty());
+    }
+
+    @Test
+    void commit_shouldReplacePreviousSnapshot() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        write(path, 10);
+        AuthorizationSnapshot previous = AuthorizationSnapshot.read(path);
+
+        write(path, 2);
+
+        assertEquals(2, AuthorizationSnapshot.read(path).userCount());
+        assertTrue(previous.findUser("user-9").isPresent());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void read_shouldRejectCorruptedSnapshot() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        write(path, 10);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        IOException exception = assertThrows(IOException.class, () -> AuthorizationSnapshot.read(path));
+        assertTrue(exception.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void read_shouldRejectTruncatedSnapshot() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        write(path, 10);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertThrows(IOException.class, () -> AuthorizationSnapshot.read(path));
+    }
+
+    @Test
+    void close_shouldDiscardUncommittedSnapshot() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        try (AuthorizationSnapshotWriter writer = AuthorizationSnapshotWriter.open(path, CREATED_AT, Map.of(), Map.of())) {
+            writer.writeUser(new SnapshotUserRow(1L, "user", 0, false, false, true, false), List.of());
+        }
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static void write(Path path, int users) throws IOException {
+        Map<Long, String> permissions = Map.of(1L, "IAM:READ", 2L, "IAM:WRITE");
+        Map<Long, List<Long>> rolePermissions = Map.of(10L, List.of(1L, 2L), 11L, List.of(1L));
+        try (AuthorizationSnapshotWriter writer = AuthorizationSnapshotWriter.open(path, CREATED_AT, permissions, rolePermissions)) {
+            for (int i = 0; i < users; i++) {
+                boolean locked = i % 2 == 1;
+                writer.writeUser(new SnapshotUserRow(100L + i, "user-" + i, 3, locked, locked, true, false),
+                        locked ? List.of(11L) : List.of(10L, 11L));
+            }
+            writer.commit();
+        }
+    }
+
+    private static Set<String> permissionNames(User user) {
+        return user.getRoles().stream()
+                .map(Role::getPermissions)
+                .flatMap(Set::stream)
+                .map(permission -> permission.getServiceName() + ":" + permission.getAction())
+                .collect(Collectors.toSet());
+    }
+}
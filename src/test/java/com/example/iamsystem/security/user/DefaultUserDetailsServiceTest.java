@@ -0,0 +1,139 @@
+package com.example.iamsystem.security.user;
+
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshot;
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshotService;
+import com.example.iamsystem.security.snapshot.AuthorizationSnapshotWriter;
+import com.example.iamsystem.security.snapshot.SnapshotUserRow;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.entity.User;
+import com.example.iamsystem.user.util.UserExistenceFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private AuthorizationSnapshotService snapshotService;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @InjectMocks
+    private DefaultUserDetailsService userDetailsService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userExistenceFilter.mightContainUsername(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void loadUserForToken_shouldUseDatabaseWhenAvailable() {
+        User user = new User();
+        user.setUsername("alice");
+        when(repository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        DefaultUserDetails userDetails = (DefaultUserDetails) userDetailsService.loadUserForToken("alice");
+
+        assertSame(user, userDetails.user());
+        assertFalse(userDetails.isDegraded());
+        verifyNoInteractions(snapshotService);
+    }
+
+    @Test
+    void loadUserForToken_shouldFallBackToSnapshotWhenDatabaseIsDown() throws IOException {
+        DataAccessResourceFailureException outage = new DataAccessResourceFailureException("Connection refused");
+        when(repository.findByUsername("alice")).thenThrow(outage);
+        AuthorizationSnapshot snapshot = snapshot();
+        when(snapshotService.current()).thenReturn(Optional.of(snapshot));
+
+        DefaultUserDetails userDetails = (DefaultUserDetails) userDetailsService.loadUserForToken("alice");
+
+        assertTrue(userDetails.isDegraded());
+        assertEquals(snapshot.createdAt(), userDetails.snapshotCreatedAt());
+        assertNotNull(userDetails.snapshotAgeSeconds());
+        assertEquals(7, userDetails.user().getVersion());
+        assertEquals(Set.of(new SimpleGrantedAuthority("IAM:READ")), Set.copyOf(userDetails.getAuthorities()));
+    }
+
+    @Test
+    void loadUserForToken_shouldRejectLockedOrUnknownUsersFromSnapshot() throws IOException {
+        when(repository.findByUsername("bob")).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(repository.findByUsername("carol")).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(snapshotService.current()).thenReturn(Optional.of(snapshot()));
+
+        assertThrows(LockedException.class, () -> userDetailsService.loadUserForToken("bob"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserForToken("carol"));
+    }
+
+    @Test
+    void loadUserForToken_shouldRethrowWhenNoUsableSnapshot() {
+        DataAccessResourceFailureException outage = new DataAccessResourceFailureException("Connection refused");
+        when(repository.findByUsername("alice")).thenThrow(outage);
+        when(snapshotService.current()).thenReturn(Optional.empty());
+
+        assertSame(outage, assertThrows(DataAccessResourceFailureException.class,
+                () -> userDetailsService.loadUserForToken("alice")));
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotFallBackToSnapshot() {
+        when(repository.findByUsername("alice")).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> userDetailsService.loadUserByUsername("alice"));
+        verifyNoInteractions(snapshotService);
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotQueryDatabaseForUsernamesNotInFilter() {
+        when(userExistenceFilter.mightContainUsername("mallory")).thenReturn(false);
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("mallory"));
+        verifyNoInteractions(repository);
+    }
+
+    private AuthorizationSnapshot snapshot() throws IOException {
+        Path path = directory.resolve("authorization.snapshot");
+        try (AuthorizationSnapshotWriter writer = AuthorizationSnapshotWriter.open(path, Instant.now(),
+                Map.of(1L, "IAM:READ"), Map.of(10L, List.of(1L)))) {
+            writer.writeUser(new SnapshotUserRow(1L, "alice", 7, false, false, true, false), List.of(10L));
+            writer.writeUser(new SnapshotUserRow(2L, "bob", 0, true, false, true, false), List.of(10L));
+            writer.commit();
+        }
+        return AuthorizationSnapshot.read(path);
+    }
+}
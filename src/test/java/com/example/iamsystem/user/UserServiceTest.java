@@ -1,19 +1,29 @@
 package com.example.iamsystem.user;
 
+import com.example.iamsystem.acl.ResourceAclStore;
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.enums.AclPrincipalType;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.exception.InvalidPasswordException;
 import com.example.iamsystem.exception.NoAccessException;
 import com.example.iamsystem.exception.UserAlreadyExistsException;
+import com.example.iamsystem.exception.UserInputNotValidException;
+import com.example.iamsystem.group.GroupRepository;
 import com.example.iamsystem.permission.PermissionService;
 import com.example.iamsystem.permission.model.Permission;
 import com.example.iamsystem.permission.model.PermissionAction;
+import com.example.iamsystem.review.AccessIndex;
 import com.example.iamsystem.role.model.Role;
 import com.example.iamsystem.security.user.DefaultUserDetails;
+import com.example.iamsystem.user.assignment.TimedRoleAssignmentService;
 import com.example.iamsystem.user.model.dto.PasswordChangeDto;
+import com.example.iamsystem.user.model.dto.TimedRoleAssignmentDto;
 import com.example.iamsystem.user.model.dto.UserDto;
 import com.example.iamsystem.user.model.dto.UserRegistrationDto;
 import com.example.iamsystem.user.model.dto.UserRoleAttachmentDto;
+import com.example.iamsystem.user.model.dto.UserSearchPageDto;
 import com.example.iamsystem.user.model.entity.User;
+import com.example.iamsystem.user.search.UserSearch;
 import com.example.iamsystem.user.util.UserRoleAttachmentUtil;
 import com.example.iamsystem.user.util.UserValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +47,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anySet;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doNothing;
@@ -48,6 +59,15 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
+    @Mock
+    private AccessIndex accessIndex;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @Mock
+    private UserSearch userSearch;
+
     @InjectMocks
     private UserService userService;
 
@@ -66,6 +86,15 @@ class UserServiceTest {
     @Mock
     private PermissionService permissionService;
 
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private ResourceAclStore resourceAclStore;
+
+    @Mock
+    private TimedRoleAssignmentService timedRoleAssignmentService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -164,6 +193,7 @@ class UserServiceTest {
         verify(userValidator).validateEmailAvailable(anyString());
         verify(passwordEncoder).encode(anyString());
         verify(userRepository).save(any(User.class));
+        verify(userSearch).userRegistered(user);
     }
 
     @Test
@@ -237,6 +267,7 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).save(user);
+        verify(changeLog).usersChanged(List.of(user.getId()));
     }
 
     @Test
@@ -255,6 +286,7 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).save(childUser);
+        verify(changeLog).usersChanged(List.of(childUser.getId()));
     }
 
     @Test
@@ -319,9 +351,51 @@ class UserServiceTest {
         // Act & Assert
         userService.assignRoles(userRoleAttachmentDto);
         verify(userRoleAttachmentUtil).validateAndRetrieveRoles(anySet());
+        verify(timedRoleAssignmentService).discard(1L, roleIds);
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void assignTimedRoles_successfulAssignment() {
+        mockSecurityContext(user);
+        Role onCall = new Role();
+        onCall.setId(2L);
+        onCall.setName("ON_CALL");
+        Instant validUntil = Instant.now().plusSeconds(3600);
+        TimedRoleAssignmentDto timedRoleAssignmentDto = timedRoleAssignmentDto(Set.of(2L), null, validUntil);
+        when(permissionService.hasPermission(anyString())).thenReturn(true);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(userRoleAttachmentUtil.validateAndRetrieveRoles(anySet())).thenReturn(Set.of(onCall));
+        when(timedRoleAssignmentService.findByUser(1L)).thenReturn(List.of());
+
+        userService.assignTimedRoles(timedRoleAssignmentDto);
+
+        verify(timedRoleAssignmentService).assign(eq(1L), eq(Set.of(2L)), any(Instant.class), eq(validUntil));
+        verify(userRepository, times(0)).save(any(User.class));
+    }
+
+    @Test
+    void assignTimedRoles_whenRoleAssignedPermanently_thenThrowsException() {
+        mockSecurityContext(user);
+        TimedRoleAssignmentDto timedRoleAssignmentDto = timedRoleAssignmentDto(Set.of(1L), null, Instant.now().plusSeconds(3600));
+        when(permissionService.hasPermission(anyString())).thenReturn(true);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(userRoleAttachmentUtil.validateAndRetrieveRoles(anySet())).thenReturn(roles);
+        when(timedRoleAssignmentService.findByUser(1L)).thenReturn(List.of());
+
+        assertThrows(UserInputNotValidException.class, () -> userService.assignTimedRoles(timedRoleAssignmentDto));
+        verify(timedRoleAssignmentService, times(0)).assign(anyLong(), anySet(), any(), any());
+    }
+
+    @Test
+    void assignTimedRoles_whenPeriodEndsBeforeItStarts_thenThrowsException() {
+        Instant validUntil = Instant.now().plusSeconds(3600);
+        TimedRoleAssignmentDto timedRoleAssignmentDto = timedRoleAssignmentDto(Set.of(2L), validUntil.plusSeconds(1), validUntil);
+
+        assertThrows(UserInputNotValidException.class, () -> userService.assignTimedRoles(timedRoleAssignmentDto));
+        verify(userRepository, times(0)).findByUsername(anyString());
+    }
+
     @Test
     void assignRoles_whenDoNotHaveUpdatePermission_thenThrowsException() {
         // Arrange
@@ -577,7 +651,9 @@ class UserServiceTest {
 
         userService.deleteUser(2L);
 
+        verify(resourceAclStore).principalDeleted(AclPrincipalType.USER, 2L);
         verify(userRepository, times(1)).deleteById(2L);
+        verify(userSearch).userDeleted(2L);
     }
 
     @Test
@@ -611,6 +687,31 @@ class UserServiceTest {
         verify(userRepository, times(0)).deleteById(1L);
     }
 
+    @Test
+    void searchUsers_shouldSearchWithinCurrentUsersTree() {
+        mockSecurityContext(user);
+        UserSearchPageDto page = new UserSearchPageDto(List.of(), null);
+        when(userSearch.search(1L, "ali", 5L, 20)).thenReturn(page);
+
+        assertEquals(page, userService.searchUsers("ali", 5L, 20));
+    }
+
+    @Test
+    void searchUsers_whenNoLoggedInUser_thenThrowsException() {
+        mockSecurityContext(null);
+
+        assertThrows(NoAccessException.class, () -> userService.searchUsers("ali", null, 20));
+    }
+
+    private static TimedRoleAssignmentDto timedRoleAssignmentDto(Set<Long> roleIds, Instant validFrom, Instant validUntil) {
+        TimedRoleAssignmentDto timedRoleAssignmentDto = new TimedRoleAssignmentDto();
+        timedRoleAssignmentDto.setUsername("testUser");
+        timedRoleAssignmentDto.setRoleIds(roleIds);
+        timedRoleAssignmentDto.setValidFrom(validFrom);
+        timedRoleAssignmentDto.setValidUntil(validUntil);
+        return timedRoleAssignmentDto;
+    }
+
     private void mockSecurityContext(User user) {
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -0,0 +1,146 @@
+package com.example.iamsystem.user.assignment;
+
+import com.example.iamsystem.changes.ChangeLog;
+import com.example.iamsystem.review.AccessIndex;
+import com.example.iamsystem.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimedRoleAssignmentServiceTest {
+
+    @Mock
+    private TimedRoleAssignmentRepository assignmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccessIndex accessIndex;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TimedRoleAssignmentService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TimedRoleAssignmentService(assignmentRepository, userRepository, accessIndex, changeLog,
+                new TransactionTemplate(transactionManager), Duration.ofMillis(100), Duration.ofHours(1));
+    }
+
+    @Test
+    void assign_shouldGrantStartedWindowAtOnceAndScheduleExpiry() {
+        Instant now = Instant.now();
+        when(assignmentRepository.findForUpdate(7L, Set.of(3L))).thenReturn(List.of());
+        when(assignmentRepository.save(any(TimedRoleAssignment.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
+
+        List<TimedRoleAssignment> assigned = service.assign(7L, Set.of(3L), now.minusSeconds(1), now.plusSeconds(60));
+
+        assertTrue(assigned.get(0).isActive());
+        verify(assignmentRepository).insertUserRole(7L, 3L);
+        verify(userRepository).incrementVersions(List.of(7L));
+        assertEquals(1, service.pendingCount());
+    }
+
+    @Test
+    void assign_shouldOnlyScheduleFutureWindow() {
+        Instant now = Instant.now();
+        when(assignmentRepository.findForUpdate(7L, Set.of(3L))).thenReturn(List.of());
+        when(assignmentRepository.save(any(TimedRoleAssignment.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
+
+        List<TimedRoleAssignment> assigned = service.assign(7L, Set.of(3L), now.plusSeconds(60), now.plusSeconds(120));
+
+        assertFalse(assigned.get(0).isActive());
+        verify(assignmentRepository, never()).insertUserRole(any(), any());
+        verify(userRepository, never()).incrementVersions(any());
+        assertEquals(1, service.pendingCount());
+    }
+
+    @Test
+    void advance_shouldActivateAndThenExpireOnTime() {
+        Instant now = Instant.now();
+        TimedRoleAssignment assignment = assignment(now.plusMillis(200), now.plusMillis(400));
+        when(assignmentRepository.findTransitionsBefore(any())).thenReturn(List.of(assignment));
+        when(assignmentRepository.findAllForUpdate(List.of(1L))).thenReturn(List.of(assignment));
+        service.refresh();
+
+        assertEquals(0, service.advance(now.plusMillis(100)));
+        assertEquals(1, service.advance(now.plusMillis(300)));
+        assertTrue(assignment.isActive());
+        verify(assignmentRepository).insertUserRole(7L, 3L);
+
+        assertEquals(1, service.advance(now.plusMillis(500)));
+        assertFalse(assignment.isActive());
+        verify(assignmentRepository).deleteUserRole(7L, 3L);
+        verify(accessIndex).rolesRevoked(7L, List.of(3L));
+        verify(assignmentRepository).delete(assignment);
+        verify(userRepository, times(2)).incrementVersions(Set.of(7L));
+        verify(changeLog, times(2)).usersChanged(Set.of(7L));
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void advance_shouldDropWindowThatPassedWhileNoInstanceWasRunning() {
+        Instant now = Instant.now();
+        TimedRoleAssignment assignment = assignment(now.minusSeconds(120), now.minusSeconds(60));
+        when(assignmentRepository.findTransitionsBefore(any())).thenReturn(List.of(assignment));
+        when(assignmentRepository.findAllForUpdate(List.of(1L))).thenReturn(List.of(assignment));
+        service.refresh();
+
+        assertEquals(1, service.advance(now.plusSeconds(1)));
+
+        verify(assignmentRepository, never()).insertUserRole(any(), any());
+        verify(assignmentRepository).delete(assignment);
+        verify(userRepository, never()).incrementVersions(any());
+    }
+
+    @Test
+    void discard_shouldCancelPendingTransition() {
+        Instant now = Instant.now();
+        TimedRoleAssignment assignment = assignment(now.plusSeconds(60), now.plusSeconds(120));
+        when(assignmentRepository.findTransitionsBefore(any())).thenReturn(List.of(assignment));
+        when(assignmentRepository.findForUpdate(7L, List.of(3L))).thenReturn(List.of(assignment));
+        service.refresh();
+
+        service.discard(7L, List.of(3L));
+
+        verify(assignmentRepository).deleteAll(List.of(assignment));
+        assertEquals(0, service.pendingCount());
+        assertEquals(0, service.advance(now.plusSeconds(90)));
+    }
+
+    private static TimedRoleAssignment assignment(Instant validFrom, Instant validUntil) {
+        TimedRoleAssignment assignment = withId(new TimedRoleAssignment(7L, 3L), 1L);
+        assignment.setValidFrom(validFrom);
+        assignment.setValidUntil(validUntil);
+        return assignment;
+    }
+
+    private static TimedRoleAssignment withId(TimedRoleAssignment assignment, Long id) {
+        assignment.setId(id);
+        return assignment;
+    }
+}
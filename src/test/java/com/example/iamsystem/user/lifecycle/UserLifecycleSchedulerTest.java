@@ -0,0 +1,125 @@
+package com.example.iamsystem.user.lifecycle;
+
+import com.example.iamsystem.enums.MailOutboxStatus;
+import com.example.iamsystem.mail.outbox.MailOutboxMessage;
+import com.example.iamsystem.mail.outbox.MailOutboxRepository;
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.model.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "user.lifecycle.interval=PT1H",
+        "user.lifecycle.batch-size=2",
+        "mail.outbox.poll-interval=PT1H"
+})
+@Sql("/sql/delete_user_role.sql")
+class UserLifecycleSchedulerTest {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private UserLifecycleScheduler scheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MailOutboxRepository outboxRepository;
+
+    private final List<Long> createdUsers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(createdUsers);
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void unlockAccounts_shouldLiftEveryLockThatHasEnded() {
+        List<User> ended = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ended.add(lockedUser("ended" + i, NOW.minusSeconds(60L * i + 1)));
+        }
+        User active = lockedUser("active", NOW.plusSeconds(600));
+
+        assertEquals(5, scheduler.unlockAccounts(NOW));
+
+        for (User user : ended) {
+            User reloaded = userRepository.findById(user.getId()).orElseThrow();
+            assertFalse(reloaded.isUserLocked());
+            assertNull(reloaded.getAccountLockedUntil());
+            assertEquals(0, reloaded.getFailedLoginAttempts());
+        }
+        assertTrue(userRepository.findById(active.getId()).orElseThrow().isUserLocked());
+    }
+
+    @Test
+    void expirePasswords_shouldMarkOnlyPasswordsPastTheirExpiryDate() {
+        User expired = userWithPasswordExpiry("expired", NOW.minus(1, ChronoUnit.DAYS));
+        User valid = userWithPasswordExpiry("valid", NOW.plus(30, ChronoUnit.DAYS));
+
+        assertEquals(1, scheduler.expirePasswords(NOW));
+
+        assertTrue(userRepository.findById(expired.getId()).orElseThrow().isPasswordExpired());
+        assertFalse(userRepository.findById(valid.getId()).orElseThrow().isPasswordExpired());
+    }
+
+    @Test
+    void sendExpiryNotices_shouldQueueOneNoticePerUser() {
+        User expiringSoon = userWithPasswordExpiry("soon", NOW.plus(3, ChronoUnit.DAYS));
+        userWithPasswordExpiry("later", NOW.plus(30, ChronoUnit.DAYS));
+
+        assertEquals(1, scheduler.sendExpiryNotices(NOW));
+        assertEquals(0, scheduler.sendExpiryNotices(NOW.plusSeconds(60)));
+
+        assertNotNull(userRepository.findById(expiringSoon.getId()).orElseThrow().getPasswordExpiryNotifiedAt());
+        List<MailOutboxMessage> queued = outboxRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals("soon@example.com", queued.get(0).getRecipient());
+        assertEquals(MailOutboxStatus.PENDING, queued.get(0).getStatus());
+    }
+
+    private User lockedUser(String username, Instant lockedUntil) {
+        User user = newUser(username);
+        user.setUserLocked(true);
+        user.setFailedLoginAttempts(5);
+        user.setAccountLockedUntil(lockedUntil);
+        return save(user);
+    }
+
+    private User userWithPasswordExpiry(String username, Instant passwordExpiryDate) {
+        User user = newUser(username);
+        user.setPasswordExpiryDate(passwordExpiryDate);
+        return save(user);
+    }
+
+    private static User newUser(String username) {
+        User user = new User();
+        user.setUsername("lifecycle-" + username);
+        user.setPassword("encodedPassword");
+        user.setEmail(username + "@example.com");
+        user.setActive(true);
+        return user;
+    }
+
+    private User save(User user) {
+        User saved = userRepository.save(user);
+        createdUsers.add(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.iamsystem.user.password;
+
+import com.example.iamsystem.user.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryPasswordResetOtpStoreTest {
+
+    private InMemoryPasswordResetOtpStore store;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryPasswordResetOtpStore(Duration.ofSeconds(1));
+        user = user(1L, "test@example.com");
+    }
+
+    @Test
+    void put_shouldReplaceExistingOtpOfUser() {
+        Instant expiresAt = Instant.now().plusSeconds(300);
+        assertTrue(store.put(user, "111111", expiresAt));
+        assertTrue(store.put(user, "222222", expiresAt));
+
+        assertTrue(store.find("111111").isEmpty());
+        assertEquals("test@example.com", store.find("222222").orElseThrow().email());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void put_shouldRejectOtpHeldByAnotherUser() {
+        Instant expiresAt = Instant.now().plusSeconds(300);
+        assertTrue(store.put(user, "111111", expiresAt));
+
+        assertFalse(store.put(user(2L, "other@example.com"), "111111", expiresAt));
+        assertEquals(1L, store.find("111111").orElseThrow().userId());
+    }
+
+    @Test
+    void remove_shouldSucceedOnlyOnce() {
+        store.put(user, "111111", Instant.now().plusSeconds(300));
+
+        assertTrue(store.remove("111111"));
+        assertFalse(store.remove("111111"));
+    }
+
+    @Test
+    void recordFailure_shouldRemoveOtpAfterMaxFailures() {
+        store.put(user, "111111", Instant.now().plusSeconds(300));
+
+        assertFalse(store.recordFailure(1L, 3));
+        assertFalse(store.recordFailure(1L, 3));
+        assertTrue(store.find("111111").isPresent());
+        assertTrue(store.recordFailure(1L, 3));
+
+        assertTrue(store.find("111111").isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void expire_shouldDropOtpsOncePastTheirDeadline() {
+        Instant now = Instant.now();
+        store.put(user, "111111", now.plusSeconds(60));
+        store.put(user(2L, "other@example.com"), "222222", now.plusSeconds(600));
+
+        assertEquals(0, store.expire(now.plusSeconds(30)));
+        assertEquals(1, store.expire(now.plusSeconds(62)));
+
+        assertTrue(store.find("111111").isEmpty());
+        assertTrue(store.find("222222").isPresent());
+    }
+
+    private static User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.iamsystem.user.password;
 
+import com.example.iamsystem.changes.ChangeLog;
 import com.example.iamsystem.exception.DataNotFoundException;
 import com.example.iamsystem.exception.InvalidPasswordResetOTPException;
+import com.example.iamsystem.mail.outbox.MailOutboxService;
 import com.example.iamsystem.user.UserRepository;
 import com.example.iamsystem.user.model.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,18 +12,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
-import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,16 +37,19 @@ class PasswordResetServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordResetOTPRepository otpRepository;
+    private PasswordResetOtpStore otpStore;
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ChangeLog changeLog;
+
     private User user;
-    private PasswordResetOTP passwordResetOTP;
+    private PasswordResetOtpEntry resetOtp;
 
     @BeforeEach
     void setUp() {
@@ -55,26 +59,19 @@ class PasswordResetServiceTest {
         user.setEmail("test@example.com");
         user.setPassword("encodedPassword");
 
-        passwordResetOTP = new PasswordResetOTP();
-        passwordResetOTP.setId(1L);
-        passwordResetOTP.setOtp("123456");
-        passwordResetOTP.setUser(user);
-        passwordResetOTP.setExpiryDate(new Date(System.currentTimeMillis() + 3600000).toInstant()); // 1 hour from now
+        resetOtp = new PasswordResetOtpEntry("123456", user.getId(), user.getEmail(), Instant.now().plusSeconds(3600));
     }
 
     @Test
     void createPasswordResetOtpForUser_successful() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(otpRepository.findByUser(any(User.class))).thenReturn(null);
-        when(otpRepository.save(any(PasswordResetOTP.class))).thenReturn(passwordResetOTP);
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        when(otpStore.put(eq(user), anyString(), any(Instant.class))).thenReturn(true);
 
         passwordResetService.createPasswordResetOtpForUser(user.getEmail());
 
         verify(userRepository, times(1)).findByEmail(user.getEmail());
-        verify(otpRepository, times(1)).findByUser(user);
-        verify(otpRepository, times(1)).save(any(PasswordResetOTP.class));
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(otpStore, times(1)).put(eq(user), anyString(), any(Instant.class));
+        verify(mailOutboxService, times(1)).enqueue(eq(user.getEmail()), anyString(), anyString());
     }
 
     @Test
@@ -84,88 +81,102 @@ class PasswordResetServiceTest {
         assertThrows(DataNotFoundException.class, () -> passwordResetService.createPasswordResetOtpForUser(user.getEmail()));
 
         verify(userRepository, times(1)).findByEmail(user.getEmail());
-        verify(otpRepository, times(0)).findByUser(any(User.class));
-        verify(otpRepository, times(0)).save(any(PasswordResetOTP.class));
-        verify(mailSender, times(0)).send(any(SimpleMailMessage.class));
+        verify(otpStore, times(0)).put(any(User.class), anyString(), any(Instant.class));
+        verify(mailOutboxService, times(0)).enqueue(anyString(), anyString(), anyString());
     }
 
     @Test
-    void createPasswordResetOtpForUser_existingOtpDeleted() {
+    void createPasswordResetOtpForUser_otpInUseRetried() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(otpRepository.findByUser(any(User.class))).thenReturn(passwordResetOTP);
-        doNothing().when(otpRepository).delete(any(PasswordResetOTP.class));
-        when(otpRepository.save(any(PasswordResetOTP.class))).thenReturn(passwordResetOTP);
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        when(otpStore.put(eq(user), anyString(), any(Instant.class))).thenReturn(false, true);
 
         passwordResetService.createPasswordResetOtpForUser(user.getEmail());
 
-        verify(userRepository, times(1)).findByEmail(user.getEmail());
-        verify(otpRepository, times(1)).findByUser(user);
-        verify(otpRepository, times(1)).delete(passwordResetOTP);
-        verify(otpRepository, times(1)).save(any(PasswordResetOTP.class));
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(otpStore, times(2)).put(eq(user), anyString(), any(Instant.class));
+        verify(mailOutboxService, times(1)).enqueue(eq(user.getEmail()), anyString(), anyString());
     }
 
     @Test
     void resetPassword_successful() {
-        passwordResetOTP.setExpiryDate(Instant.now().plusSeconds(1000));
-        when(otpRepository.findByOtp(anyString())).thenReturn(passwordResetOTP);
+        when(otpStore.find(anyString())).thenReturn(Optional.of(resetOtp));
+        when(otpStore.remove(resetOtp.otp())).thenReturn(true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
-        doNothing().when(otpRepository).delete(any(PasswordResetOTP.class));
 
-        passwordResetService.resetPassword(passwordResetOTP.getOtp(), user.getEmail());
+        passwordResetService.resetPassword(resetOtp.otp(), user.getEmail());
 
-        verify(otpRepository, times(1)).findByOtp(passwordResetOTP.getOtp());
+        verify(otpStore, times(1)).find(resetOtp.otp());
+        verify(otpStore, times(1)).remove(resetOtp.otp());
         verify(passwordEncoder, times(1)).encode(anyString());
         verify(userRepository, times(1)).save(user);
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
-        verify(otpRepository, times(1)).delete(passwordResetOTP);
+        verify(changeLog, times(1)).usersChanged(List.of(user.getId()));
+        verify(mailOutboxService, times(1)).enqueue(eq(user.getEmail()), anyString(), anyString());
     }
 
     @Test
     void resetPassword_invalidOtp() {
-        when(otpRepository.findByOtp(anyString())).thenReturn(null);
+        when(otpStore.find(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword("wrongotp", user.getEmail()));
+
+        verify(otpStore, times(1)).find(anyString());
+        verify(passwordEncoder, times(0)).encode(anyString());
+        verify(userRepository, times(0)).save(any(User.class));
+        verify(mailOutboxService, times(0)).enqueue(anyString(), anyString(), anyString());
+        verify(otpStore, times(0)).remove(anyString());
+    }
+
+    @Test
+    void resetPassword_invalidOtpCountsFailureAgainstOutstandingOtp() {
+        when(otpStore.find(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
 
         assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword("wrongotp", user.getEmail()));
 
-        verify(otpRepository, times(1)).findByOtp(anyString());
+        verify(otpStore, times(1)).recordFailure(eq(user.getId()), anyInt());
+        verify(otpStore, times(0)).remove(anyString());
+    }
+
+    @Test
+    void resetPassword_otpAlreadyUsed() {
+        when(otpStore.find(anyString())).thenReturn(Optional.of(resetOtp));
+        when(otpStore.remove(resetOtp.otp())).thenReturn(false);
+
+        assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword(resetOtp.otp(), user.getEmail()));
+
         verify(passwordEncoder, times(0)).encode(anyString());
         verify(userRepository, times(0)).save(any(User.class));
-        verify(mailSender, times(0)).send(any(SimpleMailMessage.class));
-        verify(otpRepository, times(0)).delete(any(PasswordResetOTP.class));
+        verify(mailOutboxService, times(0)).enqueue(anyString(), anyString(), anyString());
     }
 
     @Test
     void resetPassword_otpDoesNotBelongToUser() {
-        User anotherUser = new User();
-        anotherUser.setEmail("another@example.com");
-        passwordResetOTP.setUser(anotherUser);
+        resetOtp = new PasswordResetOtpEntry("123456", 2L, "another@example.com", Instant.now().plusSeconds(3600));
 
-        when(otpRepository.findByOtp(anyString())).thenReturn(passwordResetOTP);
+        when(otpStore.find(anyString())).thenReturn(Optional.of(resetOtp));
 
-        assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword(passwordResetOTP.getOtp(), user.getEmail()));
+        assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword(resetOtp.otp(), user.getEmail()));
 
-        verify(otpRepository, times(1)).findByOtp(anyString());
+        verify(otpStore, times(1)).find(anyString());
         verify(passwordEncoder, times(0)).encode(anyString());
         verify(userRepository, times(0)).save(any(User.class));
-        verify(mailSender, times(0)).send(any(SimpleMailMessage.class));
-        verify(otpRepository, times(0)).delete(any(PasswordResetOTP.class));
+        verify(mailOutboxService, times(0)).enqueue(anyString(), anyString(), anyString());
+        verify(otpStore, times(0)).remove(anyString());
     }
 
     @Test
     void resetPassword_otpExpired() {
-        passwordResetOTP.setExpiryDate(Instant.now().minusSeconds(1000));
+        resetOtp = new PasswordResetOtpEntry("123456", user.getId(), user.getEmail(), Instant.now().minusSeconds(1000));
 
-        when(otpRepository.findByOtp(anyString())).thenReturn(passwordResetOTP);
+        when(otpStore.find(anyString())).thenReturn(Optional.of(resetOtp));
 
-        assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword(passwordResetOTP.getOtp(), user.getEmail()));
+        assertThrows(InvalidPasswordResetOTPException.class, () -> passwordResetService.resetPassword(resetOtp.otp(), user.getEmail()));
 
-        verify(otpRepository, times(1)).findByOtp(anyString());
+        verify(otpStore, times(1)).find(anyString());
         verify(passwordEncoder, times(0)).encode(anyString());
         verify(userRepository, times(0)).save(any(User.class));
-        verify(mailSender, times(0)).send(any(SimpleMailMessage.class));
-        verify(otpRepository, times(0)).delete(any(PasswordResetOTP.class));
+        verify(mailOutboxService, times(0)).enqueue(anyString(), anyString(), anyString());
+        verify(otpStore, times(0)).remove(anyString());
     }
 }
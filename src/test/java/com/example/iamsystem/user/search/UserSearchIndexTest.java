@@ -0,0 +1,81 @@
+package com.example.iamsystem.user.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        index.add(new UserSearchIndex.Entry(1, 0, "root", "Root Admin", "root@example.com"));
+        index.add(new UserSearchIndex.Entry(2, 1, "alice", "Alice Walker", "alice@example.com"));
+        index.add(new UserSearchIndex.Entry(3, 2, "bob", "Bob Malik", "bob@corp.io"));
+        index.add(new UserSearchIndex.Entry(4, 0, "malcolm", "Malcolm Other", "malcolm@other.org"));
+        index.add(new UserSearchIndex.Entry(5, 1, "carol", null, "CAROL@Example.com"));
+    }
+
+    @Test
+    void search_shouldMatchSubstringOfAnyFieldIgnoringCase() {
+        assertEquals(List.of(2L, 3L), ids(index.search("ali", 1, -1, 10)));
+        assertEquals(List.of(1L, 2L, 5L), ids(index.search("example.com", 1, -1, 10)));
+        assertEquals(List.of(5L), ids(index.search("carol@ex", 1, -1, 10)));
+    }
+
+    @Test
+    void search_shouldOnlyReturnUsersInRootsTree() {
+        assertEquals(List.of(3L), ids(index.search("mal", 1, -1, 10)));
+        assertEquals(List.of(4L), ids(index.search("mal", 4, -1, 10)));
+        assertEquals(List.of(3L), ids(index.search("bob", 2, -1, 10)));
+        assertTrue(index.search("root", 2, -1, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchShortQueriesAsPrefixOfTerms() {
+        assertEquals(List.of(3L), ids(index.search("m", 1, -1, 10)));
+        assertEquals(List.of(2L), ids(index.search("wa", 1, -1, 10)));
+        assertTrue(index.search("li", 1, -1, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldPageAfterCursor() {
+        assertEquals(List.of(1L, 2L), ids(index.search("example", 1, -1, 2)));
+        assertEquals(List.of(5L), ids(index.search("example", 1, 2, 2)));
+        assertTrue(index.search("example", 1, 5, 2).isEmpty());
+    }
+
+    @Test
+    void search_shouldKeepSubtreesCurrentAsUsersChange() {
+        assertEquals(List.of(3L), ids(index.search("mal", 1, -1, 10)));
+
+        index.add(new UserSearchIndex.Entry(6, 3, "malory", null, "malory@corp.io"));
+        assertEquals(List.of(3L, 6L), ids(index.search("mal", 1, -1, 10)));
+        assertEquals(List.of(3L, 6L), ids(index.search("mal", 2, -1, 10)));
+
+        index.remove(2);
+        assertTrue(index.search("mal", 1, -1, 10).isEmpty());
+
+        index.add(new UserSearchIndex.Entry(2, 1, "alice", "Alice Walker", "alice@example.com"));
+        assertEquals(List.of(3L, 6L), ids(index.search("mal", 1, -1, 10)));
+    }
+
+    @Test
+    void remove_shouldDropUserFromEveryPosting() {
+        index.remove(2);
+
+        assertTrue(index.search("alice", 1, -1, 10).isEmpty());
+        assertTrue(index.search("w", 1, -1, 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    private static List<Long> ids(List<UserSearchIndex.Entry> entries) {
+        return entries.stream().map(UserSearchIndex.Entry::id).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.iamsystem.user.util;
+
+import com.example.iamsystem.user.UserRepository;
+import com.example.iamsystem.user.search.UserSearchRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserExistenceFilter userExistenceFilter;
+
+    @BeforeEach
+    void setUp() {
+        userExistenceFilter = new UserExistenceFilter(userRepository, new TransactionTemplate(transactionManager),
+                100, 2, 100, 0.01);
+    }
+
+    @Test
+    void sync_shouldRereadOverlapAndIgnoreLocalInserts() {
+        when(userRepository.findSearchRows(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new UserSearchRow(1L, "alice", null, "alice@example.com", null),
+                new UserSearchRow(5L, "erin", null, "erin@example.com", null)));
+        userExistenceFilter.build();
+        userExistenceFilter.userInserted("mallory", "mallory@example.com");
+
+        // user 4 committed after user 5 was read
+        when(userRepository.findSearchRows(eq(3L), any(Pageable.class))).thenReturn(List.of(
+                new UserSearchRow(4L, "dave", null, "dave@example.com", null),
+                new UserSearchRow(5L, "erin", null, "erin@example.com", null)));
+        userExistenceFilter.sync();
+
+        verify(userRepository).findSearchRows(eq(3L), any(Pageable.class));
+        assertTrue(userExistenceFilter.mightContainUsername("Dave"));
+        assertTrue(userExistenceFilter.mightContainEmail("mallory@example.com"));
+        assertFalse(userExistenceFilter.mightContainUsername("zed"));
+    }
+
+    @Test
+    void mightContain_shouldFoldLikeTheCollation() {
+        when(userRepository.findSearchRows(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new UserSearchRow(1L, "Straße", null, "ＢＯＢ@example.com", null)));
+        userExistenceFilter.build();
+
+        assertTrue(userExistenceFilter.mightContainUsername("STRASSE"));
+        assertTrue(userExistenceFilter.mightContainEmail("bob@example.com"));
+        // not folded, so never a false negative
+        assertTrue(userExistenceFilter.mightContainUsername("zoë"));
+        assertFalse(userExistenceFilter.mightContainUsername("zoe"));
+    }
+
+    @Test
+    void mightContain_shouldAnswerTrueUntilBuilt() {
+        assertTrue(userExistenceFilter.mightContainUsername("anyone"));
+        assertTrue(userExistenceFilter.mightContainEmail("anyone@example.com"));
+    }
+}
@@ -2,15 +2,12 @@ package com.example.iamsystem.user.util;
 
 import com.example.iamsystem.exception.UserAlreadyExistsException;
 import com.example.iamsystem.user.UserRepository;
-import com.example.iamsystem.user.model.entity.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
-
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +17,9 @@ class UserValidatorTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
     @InjectMocks
     private UserValidator userValidator;
 
@@ -28,51 +28,79 @@ class UserValidatorTest {
     void validateEmailAvailable_whenEmailExists_shouldThrowException() {
         // Arrange
         String email = "test@example.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(new User()));
+        when(userExistenceFilter.mightContainEmail(email)).thenReturn(true);
+        when(userRepository.existsByEmail(email)).thenReturn(true);
 
         // Act & Assert
         assertThrows(UserAlreadyExistsException.class, () -> userValidator.validateEmailAvailable(email));
 
         // Verify logging behavior
-        verify(userRepository, times(1)).findByEmail(email);
+        verify(userRepository, times(1)).existsByEmail(email);
     }
 
     @Test
     void validateEmailAvailable_whenEmailDoesNotExist_shouldNotThrowException() {
         // Arrange
         String email = "test@example.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userExistenceFilter.mightContainEmail(email)).thenReturn(true);
+        when(userRepository.existsByEmail(email)).thenReturn(false);
 
         // Act & Assert
         userValidator.validateEmailAvailable(email);
 
         // Verify logging behavior
-        verify(userRepository, times(1)).findByEmail(email);
+        verify(userRepository, times(1)).existsByEmail(email);
+    }
+
+    @Test
+    void validateEmailAvailable_whenEmailNotInFilter_shouldNotQueryDatabase() {
+        // Arrange
+        String email = "test@example.com";
+        when(userExistenceFilter.mightContainEmail(email)).thenReturn(false);
+
+        // Act & Assert
+        userValidator.validateEmailAvailable(email);
+
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void validateUsernameAvailable_whenUsernameExists_shouldThrowException() {
         // Arrange
         String username = "testuser";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(new User()));
+        when(userExistenceFilter.mightContainUsername(username)).thenReturn(true);
+        when(userRepository.existsByUsername(username)).thenReturn(true);
 
         // Act & Assert
         assertThrows(UserAlreadyExistsException.class, () -> userValidator.validateUsernameAvailable(username));
 
         // Verify logging behavior
-        verify(userRepository, times(1)).findByUsername(username);
+        verify(userRepository, times(1)).existsByUsername(username);
     }
 
     @Test
     void validateUsernameAvailable_whenUsernameDoesNotExist_shouldNotThrowException() {
         // Arrange
         String username = "testuser";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(userExistenceFilter.mightContainUsername(username)).thenReturn(true);
+        when(userRepository.existsByUsername(username)).thenReturn(false);
 
         // Act & Assert
         userValidator.validateUsernameAvailable(username);
 
         // Verify logging behavior
-        verify(userRepository, times(1)).findByUsername(username);
+        verify(userRepository, times(1)).existsByUsername(username);
+    }
+
+    @Test
+    void validateUsernameAvailable_whenUsernameNotInFilter_shouldNotQueryDatabase() {
+        // Arrange
+        String username = "testuser";
+        when(userExistenceFilter.mightContainUsername(username)).thenReturn(false);
+
+        // Act & Assert
+        userValidator.validateUsernameAvailable(username);
+
+        verifyNoInteractions(userRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.iamsystem.util.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advanceTo_shouldFireEachTimeoutWithinOneTickOfItsDeadline() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = random.nextLong(1, 200_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        for (long now = 0; now <= 200_010; now += 10) {
+            long time = now;
+            wheel.advanceTo(now, item -> firedAt.put(item, time));
+        }
+
+        assertEquals(deadlines.size(), firedAt.size());
+        deadlines.forEach((item, deadline) -> {
+            long fired = firedAt.get(item);
+            assertTrue(fired >= deadline && fired < deadline + 10, "item " + item + " fired at " + fired);
+        });
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_shouldFireEverythingDueAfterALargeJump() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 64, 0);
+        wheel.schedule("soon", 5_000);
+        wheel.schedule("later", 3_600_000);
+        wheel.schedule("next-year", 31_536_000_000L);
+
+        List<String> fired = new ArrayList<>();
+        assertEquals(2, wheel.advanceTo(86_400_000, fired::add));
+
+        assertEquals(List.of("soon", "later"), fired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cancel_shouldPreventTimeoutFromFiring() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 500);
+        wheel.schedule("kept", 500);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(1_000, fired::add);
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    void schedule_shouldFirePastDeadlinesOnNextTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1_000);
+        wheel.schedule("overdue", 0);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(1_010, fired::add);
+
+        assertEquals(List.of("overdue"), fired);
+    }
+}